@@ -71,6 +71,14 @@ android {
 	defaultConfig {
 		minSdk = 23
 	}
+	testOptions {
+		// the Follower logs through android.util.Log, which only has stubs in local unit tests
+		unitTests.isReturnDefaultValues = true
+		// the benchmarks under com.pedropathing.benchmark are skipped unless this is run with -Pbenchmark=true
+		unitTests.all {
+			it.systemProperty("pedro.benchmark", project.findProperty("benchmark") ?: "false")
+		}
+	}
 }
 
 dependencies {
@@ -81,6 +89,12 @@ dependencies {
 	compileOnly("org.firstinspires.ftc:OnBotJava:10.2.0")
 	compileOnly("com.acmerobotics.dashboard:dashboard:0.4.16")
 
+	testImplementation("junit:junit:4.13.2")
+	testImplementation("org.firstinspires.ftc:RobotCore:10.2.0")
+	testImplementation("org.firstinspires.ftc:Hardware:10.2.0")
+	testImplementation("org.firstinspires.ftc:FtcCommon:10.2.0")
+	testImplementation("com.acmerobotics.dashboard:dashboard:0.4.16")
+
 	implementation("org.apache.commons:commons-math3:3.6.1")
 	dokkaHtmlPlugin("org.jetbrains.dokka:kotlin-as-java-plugin:1.9.20")
 	dokkaGfmPlugin("org.jetbrains.dokka:kotlin-as-java-plugin:1.9.20")
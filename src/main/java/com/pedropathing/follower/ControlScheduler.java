@@ -0,0 +1,510 @@
+package com.pedropathing.follower;
+
+import com.pedropathing.localization.Pose;
+import com.pedropathing.localization.PoseSnapshotBuffer;
+import com.pedropathing.pathgen.Vector;
+import com.pedropathing.util.TimingHistogram;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This is the ControlScheduler class. This runs the Follower's update on its own thread at a fixed
+ * rate, so the time between control updates stays the same no matter what else the OpMode is doing,
+ * like vision, telemetry, or other subsystems, and the PIDFs always see about the same time step.
+ *
+ * Each update is started at a deadline, and the deadlines are a fixed period apart. The thread
+ * sleeps until a little before the deadline, and then spins for the rest of the time, since sleeping
+ * usually wakes up late. How late each update started, which is the jitter, and how long each
+ * update took are recorded into TimingHistograms. If an update runs past the next deadline, that is
+ * counted as an overrun and the next update starts right away.
+ *
+ * The Follower isn't safe to use from two threads at once, so while this is running, anything that
+ * changes what the Follower is doing, like following a Path, should be posted to this as a command,
+ * which is run on the control thread right before the next update. The teleop movement vectors
+ * have their own slot that only keeps the newest values, so they can be set every loop without
+ * building up. The pose, velocity, and whether the Follower is busy are published after every
+ * update, and can be read from any thread without waiting.
+ *
+ * Like the LocalizationThread, this stops itself if nothing has used it in a while, so it doesn't
+ * keep driving the robot after the OpMode that started it has ended. When that happens, the
+ * Follower stops following and the drive motors are stopped.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class ControlScheduler implements Runnable {
+    // The thread stops itself if nothing uses it for this long, in nanoseconds
+    private final long IDLE_TIMEOUT = 1000000000L;
+
+    private final Follower follower;
+    private final ConcurrentLinkedQueue<Runnable> commands = new ConcurrentLinkedQueue<>();
+    private final PoseSnapshotBuffer buffer = new PoseSnapshotBuffer();
+
+    // These are only used on the control thread
+    private final Pose pose = new Pose();
+    private final Vector velocity = new Vector();
+
+    // The newest teleop movement vectors, which are only used while holding the lock on teleopLock
+    private final Object teleopLock = new Object();
+    private boolean teleopPending;
+    private double teleopForward;
+    private double teleopLateral;
+    private double teleopHeading;
+    private boolean teleopRobotCentric;
+
+    // These are only recorded into and read while holding the lock on themselves
+    private final TimingHistogram jitterHistogram = new TimingHistogram();
+    private final TimingHistogram updateHistogram = new TimingHistogram();
+
+    private volatile long periodNano;
+    private volatile long spinTimeNano = 200000;
+    private volatile boolean running;
+    private volatile boolean busy;
+    private volatile long lastUseTime;
+    private volatile long updates;
+    private final AtomicLong overruns = new AtomicLong();
+    private volatile RuntimeException failure;
+    private volatile Thread thread;
+
+    /**
+     * This creates a new ControlScheduler for a Follower. This doesn't start the thread.
+     *
+     * @param follower the Follower to update.
+     * @param rateHz how many times per second to update the Follower.
+     */
+    public ControlScheduler(Follower follower, double rateHz) {
+        this.follower = follower;
+        setRate(rateHz);
+    }
+
+    /**
+     * This sets how many times per second the Follower is updated.
+     *
+     * @param rateHz the update rate, in updates per second.
+     */
+    public void setRate(double rateHz) {
+        periodNano = (long) (1e9 / rateHz);
+    }
+
+    /**
+     * This sets how long before each deadline the thread stops sleeping and starts spinning. Longer
+     * times start the updates closer to their deadlines, but use more of a CPU core. Zero turns
+     * spinning off.
+     *
+     * @param spinTimeNano the time to spin for, in nanoseconds.
+     */
+    public void setSpinTime(long spinTimeNano) {
+        this.spinTimeNano = spinTimeNano;
+    }
+
+    /**
+     * This starts the thread, if it isn't running already. The Follower's current pose is
+     * published first, so there is always something to read.
+     */
+    public synchronized void start() {
+        if (running) return;
+        failure = null;
+        lastUseTime = System.nanoTime();
+        publish();
+        running = true;
+        thread = new Thread(this, "Pedro Pathing Control");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.start();
+    }
+
+    /**
+     * This stops the thread and waits for it to finish the update it is on, so the Follower is
+     * never updated from two threads at once once this returns. The Follower keeps doing what it
+     * was doing, so it can go back to being updated in the OpMode. Any failure is cleared, since
+     * the OpMode is taking the Follower back.
+     */
+    public void stop() {
+        Thread stopping;
+        synchronized (this) {
+            running = false;
+            failure = null;
+            stopping = thread;
+        }
+        // the control thread can't wait for itself, but it won't start another update after this
+        if (stopping == null || stopping == Thread.currentThread()) return;
+
+        stopping.interrupt();
+        boolean interrupted = false;
+        while (stopping.isAlive()) {
+            try {
+                stopping.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        synchronized (this) {
+            if (thread == stopping) {
+                thread = null;
+            }
+        }
+        runLeftoverCommands();
+    }
+
+    /**
+     * This returns whether the thread is running.
+     *
+     * @return returns if the thread is running.
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * This returns whether this is being called from the control thread.
+     *
+     * @return returns if the current thread is the control thread.
+     */
+    public boolean isControlThread() {
+        return Thread.currentThread() == thread;
+    }
+
+    /**
+     * This updates the Follower at the fixed rate until the thread is stopped, nothing has used it
+     * in a while, or the Follower throws an exception.
+     */
+    @Override
+    public void run() {
+        long deadline = System.nanoTime();
+        // a thread that was told to stop but hasn't finished yet won't keep going after a new one starts
+        while (running && thread == Thread.currentThread() && !Thread.currentThread().isInterrupted()) {
+            long start = waitUntil(deadline);
+
+            try {
+                runCommands();
+                follower.update();
+                publish();
+            } catch (RuntimeException e) {
+                failure = e;
+                stopFollower();
+                stopSelf();
+                break;
+            }
+            updates++;
+
+            long end = System.nanoTime();
+            synchronized (jitterHistogram) {
+                jitterHistogram.record(start - deadline);
+            }
+            synchronized (updateHistogram) {
+                updateHistogram.record(end - start);
+            }
+
+            if (end - lastUseTime > IDLE_TIMEOUT) {
+                stopFollower();
+                stopSelf();
+                break;
+            }
+
+            deadline += periodNano;
+            if (end > deadline) {
+                overruns.incrementAndGet();
+                deadline = end;
+            }
+        }
+    }
+
+    /**
+     * This sleeps until a little before the deadline, and then spins until the deadline.
+     *
+     * @param deadline the time to wait until, from System.nanoTime().
+     * @return returns the time the wait ended, from System.nanoTime().
+     */
+    private long waitUntil(long deadline) {
+        long now = System.nanoTime();
+        long sleepTime = deadline - spinTimeNano - now;
+        if (sleepTime > 0) {
+            LockSupport.parkNanos(sleepTime);
+        }
+        now = System.nanoTime();
+        while (now < deadline && !Thread.currentThread().isInterrupted()) {
+            now = System.nanoTime();
+        }
+        return now;
+    }
+
+    /**
+     * This marks the thread as stopped from inside the thread, unless a new thread has already been
+     * started in its place, and then runs any commands that were posted before it stopped.
+     */
+    private synchronized void stopSelf() {
+        if (thread == Thread.currentThread()) {
+            running = false;
+            runLeftoverCommands();
+        }
+    }
+
+    /**
+     * This runs the commands and teleop movement vectors that were posted but never run because the
+     * thread stopped, so nothing posted is lost. Since nothing is posted once the thread isn't
+     * running, this runs everything that was posted before anything the OpMode does afterwards. If
+     * a command throws an exception, the rest still run, and the first exception is kept as the
+     * failure if there isn't one already.
+     */
+    private synchronized void runLeftoverCommands() {
+        Runnable command;
+        while ((command = commands.poll()) != null) {
+            try {
+                command.run();
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+
+        synchronized (teleopLock) {
+            if (teleopPending) {
+                teleopPending = false;
+                follower.setTeleOpMovementVectors(teleopForward, teleopLateral, teleopHeading, teleopRobotCentric);
+            }
+        }
+    }
+
+    /**
+     * This stops the Follower and the drive motors when the thread stops itself, so the robot
+     * doesn't keep driving with nothing updating it.
+     */
+    private void stopFollower() {
+        try {
+            follower.breakFollowing();
+        } catch (RuntimeException ignored) {
+        }
+    }
+
+    /**
+     * This runs the commands that have been posted, in the order they were posted, and then sets
+     * the newest teleop movement vectors if there are new ones.
+     */
+    private void runCommands() {
+        Runnable command;
+        while ((command = commands.poll()) != null) {
+            command.run();
+        }
+
+        synchronized (teleopLock) {
+            if (teleopPending) {
+                follower.setTeleOpMovementVectors(teleopForward, teleopLateral, teleopHeading, teleopRobotCentric);
+                teleopPending = false;
+            }
+        }
+    }
+
+    /**
+     * This publishes the Follower's pose, velocity, and whether it is busy. While there are
+     * commands waiting to run, the busy state they set when they were posted is kept instead.
+     */
+    private void publish() {
+        follower.getPoseInto(pose);
+        follower.getVelocityInto(velocity);
+        buffer.write(pose, velocity, System.nanoTime());
+        if (commands.isEmpty()) {
+            busy = follower.isBusy();
+        }
+    }
+
+    /**
+     * This marks that the OpMode is still using the scheduler, so the thread doesn't stop itself.
+     * Everything that sends commands to or reads from the scheduler does this already.
+     */
+    public void keepAlive() {
+        lastUseTime = System.nanoTime();
+    }
+
+    /**
+     * This posts a command to run on the control thread right before the next update. Commands
+     * are run in the order they were posted. Anything that changes what the Follower is doing, like
+     * following a Path or starting teleop, should be done through this while the thread is running.
+     * If the thread isn't running, the command is run right away instead.
+     *
+     * @param command the command to run.
+     */
+    public void post(Runnable command) {
+        if (!enqueue(command)) {
+            command.run();
+        }
+    }
+
+    /**
+     * This posts a command to run on the control thread right before the next update, like
+     * post(Runnable), and makes isBusy return the specified value until the command has run and the
+     * Follower has been updated. This way, checking isBusy right after posting a Path to follow
+     * doesn't see the Follower as done with the last one.
+     *
+     * @param command the command to run.
+     * @param busyAfter whether the Follower will be busy once the command has run.
+     */
+    public void post(Runnable command, boolean busyAfter) {
+        synchronized (this) {
+            if (enqueue(command)) {
+                // this is set after the command is added, so a publish from before the command ran can't overwrite it
+                busy = busyAfter;
+                return;
+            }
+        }
+        command.run();
+    }
+
+    /**
+     * This adds a command to run on the control thread if the thread is running. This is done while
+     * holding the lock, so the thread can't stop between checking and adding, which would leave the
+     * command sitting there without ever running.
+     *
+     * @param command the command to add.
+     * @return returns whether the command was added, or false if it should be run right away instead.
+     */
+    private synchronized boolean enqueue(Runnable command) {
+        lastUseTime = System.nanoTime();
+        if (!running) return false;
+        commands.add(command);
+        return true;
+    }
+
+    /**
+     * This sets the teleop movement vectors for the next update. Only the newest values are kept,
+     * so this can be called every loop.
+     *
+     * @param forwardDrive determines the forward drive vector for the robot in teleop.
+     * @param lateralDrive determines the lateral drive vector for the robot in teleop.
+     * @param heading determines the heading vector for the robot in teleop.
+     * @param robotCentric sets if the movement will be field or robot centric
+     */
+    public void setTeleOpMovementVectors(double forwardDrive, double lateralDrive, double heading, boolean robotCentric) {
+        lastUseTime = System.nanoTime();
+        synchronized (this) {
+            if (running) {
+                synchronized (teleopLock) {
+                    teleopForward = forwardDrive;
+                    teleopLateral = lateralDrive;
+                    teleopHeading = heading;
+                    teleopRobotCentric = robotCentric;
+                    teleopPending = true;
+                }
+                return;
+            }
+        }
+        follower.setTeleOpMovementVectors(forwardDrive, lateralDrive, heading, robotCentric);
+    }
+
+    /**
+     * This reads the pose and velocity published after the latest update into the specified Pose
+     * and Vector, without waiting on the control thread.
+     *
+     * @param pose the Pose to put the pose into.
+     * @param velocity the Vector to put the velocity into.
+     * @return returns the time the pose was published at, in nanoseconds.
+     */
+    public long read(Pose pose, Vector velocity) {
+        lastUseTime = System.nanoTime();
+        return buffer.read(pose, velocity);
+    }
+
+    /**
+     * This returns whether the Follower was busy as of the latest update.
+     *
+     * @return returns if the Follower is busy.
+     */
+    public boolean isBusy() {
+        lastUseTime = System.nanoTime();
+        return busy;
+    }
+
+    /**
+     * This returns a percentile of how late the updates started after their deadlines.
+     *
+     * @param percentile the percentile, from 0 to 100.
+     * @return returns the jitter at that percentile, in nanoseconds.
+     */
+    public long getJitterPercentile(double percentile) {
+        synchronized (jitterHistogram) {
+            return jitterHistogram.getPercentile(percentile);
+        }
+    }
+
+    /**
+     * This returns the latest any update has started after its deadline.
+     *
+     * @return returns the longest jitter, in nanoseconds.
+     */
+    public long getMaximumJitter() {
+        synchronized (jitterHistogram) {
+            return jitterHistogram.getMaximum();
+        }
+    }
+
+    /**
+     * This returns a percentile of how long the updates took.
+     *
+     * @param percentile the percentile, from 0 to 100.
+     * @return returns the update time at that percentile, in nanoseconds.
+     */
+    public long getUpdateTimePercentile(double percentile) {
+        synchronized (updateHistogram) {
+            return updateHistogram.getPercentile(percentile);
+        }
+    }
+
+    /**
+     * This returns the longest any update has taken.
+     *
+     * @return returns the longest update time, in nanoseconds.
+     */
+    public long getMaximumUpdateTime() {
+        synchronized (updateHistogram) {
+            return updateHistogram.getMaximum();
+        }
+    }
+
+    /**
+     * This clears the jitter and update time histograms and the overrun count.
+     */
+    public void resetStatistics() {
+        synchronized (jitterHistogram) {
+            jitterHistogram.reset();
+        }
+        synchronized (updateHistogram) {
+            updateHistogram.reset();
+        }
+        overruns.set(0);
+    }
+
+    /**
+     * This returns the exception the Follower threw that stopped the thread, if there was one. While
+     * this is set, Follower.update throws it again, so the OpMode finds out the Follower stopped.
+     * This is cleared when the thread is started or stopped.
+     *
+     * @return returns the exception, or null if the Follower hasn't thrown one.
+     */
+    public RuntimeException getFailure() {
+        return failure;
+    }
+
+    /**
+     * This returns the number of times the Follower has been updated by the thread.
+     *
+     * @return returns the number of updates.
+     */
+    public long getUpdateCount() {
+        return updates;
+    }
+
+    /**
+     * This returns the number of times an update ran past the next update's deadline.
+     *
+     * @return returns the number of overruns.
+     */
+    public long getOverrunCount() {
+        return overruns.get();
+    }
+}
@@ -17,9 +17,16 @@ import com.pedropathing.pathgen.Vector;
 public class DriveVectorScaler {
     // This is ordered left front, left back, right front, right back. These are also normalized.
     private Vector[] mecanumVectors;
-    private Vector[] servoDirections;
     private double maxPowerScaling = 1;
 
+    // These are reused on every call so that finding the drive powers doesn't create any new objects
+    private final double[] wheelPowers = new double[4];
+    private final Vector[] mecanumVectorsCopy = new Vector[]{new Vector(), new Vector(), new Vector(), new Vector()};
+    private final Vector[] truePathingVectors = new Vector[]{new Vector(), new Vector()};
+    private final Vector leftSideVector = new Vector();
+    private final Vector rightSideVector = new Vector();
+    private final Vector scaledVector = new Vector();
+
     /**
      * This creates a new DriveVectorScaler, which takes in various movement vectors and outputs
      * the wheel drive powers necessary to move in the intended direction, given the true movement
@@ -36,11 +43,6 @@ public class DriveVectorScaler {
                 new Vector(copiedFrontLeftVector.getMagnitude(), 2*Math.PI-copiedFrontLeftVector.getTheta()),
                 new Vector(copiedFrontLeftVector.getMagnitude(), 2*Math.PI-copiedFrontLeftVector.getTheta()),
                 new Vector(copiedFrontLeftVector.getMagnitude(), copiedFrontLeftVector.getTheta())};
-        servoDirections = new Vector[]{
-            new Vector(1,copiedFrontLeftVector.getTheta()),
-            new Vector(1,2*Math.PI-copiedFrontLeftVector.getTheta()),
-            new Vector(1,2*Math.PI-copiedFrontLeftVector.getTheta()),
-            new Vector(1,copiedFrontLeftVector.getTheta())};
     }
 
     /**
@@ -60,76 +62,61 @@ public class DriveVectorScaler {
      * @param robotHeading this is the current heading of the robot, which is used to calculate how
      *                     much power to allocate to each wheel.
      * @return this returns an Array of doubles with a length of 4, which contains the wheel powers.
+     *         This Array is reused, so it is overwritten the next time this is called.
      */
-    public double[][] getDrivePowers(Vector correctivePower, Vector headingPower, Vector pathingPower, double robotHeading) {
+    public double[] getDrivePowers(Vector correctivePower, Vector headingPower, Vector pathingPower, double robotHeading) {
         // clamps down the magnitudes of the input vectors
         if (correctivePower.getMagnitude() > maxPowerScaling) correctivePower.setMagnitude(maxPowerScaling);
         if (headingPower.getMagnitude() > maxPowerScaling) headingPower.setMagnitude(maxPowerScaling);
         if (pathingPower.getMagnitude() > maxPowerScaling) pathingPower.setMagnitude(maxPowerScaling);
 
-        // the powers for the wheel vectors
-        double [] wheelPowers = new double[4];
-        double [] servoDirections = new double[4];
-
-        // This contains a copy of the mecanum wheel vectors
-        Vector[] mecanumVectorsCopy = new Vector[4];
-        Vector[] servoDirectionsCopy = new Vector[4];
-
-        // this contains the pathing vectors, one for each side (heading control requires 2)
-        Vector[] truePathingVectors = new Vector[2];
-
         if (correctivePower.getMagnitude() == maxPowerScaling) {
             // checks for corrective power equal to max power scaling in magnitude. if equal, then set pathing power to that
-            truePathingVectors[0] = MathFunctions.copyVector(correctivePower);
-            truePathingVectors[1] = MathFunctions.copyVector(correctivePower);
+            MathFunctions.copyVectorInto(correctivePower, truePathingVectors[0]);
+            MathFunctions.copyVectorInto(correctivePower, truePathingVectors[1]);
         } else {
             // corrective power did not take up all the power, so add on heading power
-            Vector leftSideVector = MathFunctions.subtractVectors(correctivePower, headingPower);
-            Vector rightSideVector = MathFunctions.addVectors(correctivePower, headingPower);
+            MathFunctions.subtractVectorsInto(correctivePower, headingPower, leftSideVector);
+            MathFunctions.addVectorsInto(correctivePower, headingPower, rightSideVector);
 
             if (leftSideVector.getMagnitude() > maxPowerScaling || rightSideVector.getMagnitude() > maxPowerScaling) {
                 //if the combined corrective and heading power is greater than 1, then scale down heading power
-                double headingScalingFactor = Math.min(findNormalizingScaling(correctivePower, headingPower), findNormalizingScaling(correctivePower, MathFunctions.scalarMultiplyVector(headingPower, -1)));
-                truePathingVectors[0] = MathFunctions.subtractVectors(correctivePower, MathFunctions.scalarMultiplyVector(headingPower, headingScalingFactor));
-                truePathingVectors[1] = MathFunctions.addVectors(correctivePower, MathFunctions.scalarMultiplyVector(headingPower, headingScalingFactor));
+                double headingScalingFactor = Math.min(findNormalizingScaling(correctivePower, headingPower), findNormalizingScaling(correctivePower, MathFunctions.scalarMultiplyVectorInto(headingPower, -1, scaledVector)));
+                MathFunctions.scalarMultiplyVectorInto(headingPower, headingScalingFactor, scaledVector);
+                MathFunctions.subtractVectorsInto(correctivePower, scaledVector, truePathingVectors[0]);
+                MathFunctions.addVectorsInto(correctivePower, scaledVector, truePathingVectors[1]);
             } else {
                 // if we're here then we can add on some drive power but scaled down to 1
-                Vector leftSideVectorWithPathing = MathFunctions.addVectors(leftSideVector, pathingPower);
-                Vector rightSideVectorWithPathing = MathFunctions.addVectors(rightSideVector, pathingPower);
+                MathFunctions.addVectorsInto(leftSideVector, pathingPower, truePathingVectors[0]);
+                MathFunctions.addVectorsInto(rightSideVector, pathingPower, truePathingVectors[1]);
 
-                if (leftSideVectorWithPathing.getMagnitude() > maxPowerScaling || rightSideVectorWithPathing.getMagnitude() > maxPowerScaling) {
+                if (truePathingVectors[0].getMagnitude() > maxPowerScaling || truePathingVectors[1].getMagnitude() > maxPowerScaling) {
                     // too much power now, so we scale down the pathing vector
                     double pathingScalingFactor = Math.min(findNormalizingScaling(leftSideVector, pathingPower), findNormalizingScaling(rightSideVector, pathingPower));
-                    truePathingVectors[0] = MathFunctions.addVectors(leftSideVector, MathFunctions.scalarMultiplyVector(pathingPower, pathingScalingFactor));
-                    truePathingVectors[1] = MathFunctions.addVectors(rightSideVector, MathFunctions.scalarMultiplyVector(pathingPower, pathingScalingFactor));
-                } else {
-                    // just add the vectors together and you get the final vector
-                    truePathingVectors[0] = MathFunctions.copyVector(leftSideVectorWithPathing);
-                    truePathingVectors[1] = MathFunctions.copyVector(rightSideVectorWithPathing);
+                    MathFunctions.scalarMultiplyVectorInto(pathingPower, pathingScalingFactor, scaledVector);
+                    MathFunctions.addVectorsInto(leftSideVector, scaledVector, truePathingVectors[0]);
+                    MathFunctions.addVectorsInto(rightSideVector, scaledVector, truePathingVectors[1]);
                 }
+                // otherwise, just adding the vectors together gets the final vectors
             }
         }
 
-        truePathingVectors[0] = MathFunctions.scalarMultiplyVector(truePathingVectors[0], 2.0);
-        truePathingVectors[1] = MathFunctions.scalarMultiplyVector(truePathingVectors[1], 2.0);
+        MathFunctions.scalarMultiplyVectorInto(truePathingVectors[0], 2.0, truePathingVectors[0]);
+        MathFunctions.scalarMultiplyVectorInto(truePathingVectors[1], 2.0, truePathingVectors[1]);
 
+        // rotate the mecanum wheel vectors into the field frame so they line up with the pathing vectors
+        double cosHeading = Math.cos(robotHeading);
+        double sinHeading = Math.sin(robotHeading);
         for (int i = 0; i < mecanumVectorsCopy.length; i++) {
-            // this copies the vectors from mecanumVectors but creates new references for them
-            mecanumVectorsCopy[i] = MathFunctions.copyVector(mecanumVectors[i]);
-            servoDirectionsCopy[i] = MathFunctions.copyVector(servoDirections[i]);
-
-            //mecanumVectorsCopy[i].rotateVector(robotHeading);
+            mecanumVectorsCopy[i].setOrthogonalComponents(mecanumVectors[i].getXComponent() * cosHeading - mecanumVectors[i].getYComponent() * sinHeading,
+                    mecanumVectors[i].getXComponent() * sinHeading + mecanumVectors[i].getYComponent() * cosHeading);
         }
 
-        wheelPowers[0] = (mecanumVectorsCopy[0].getMagnitude()+truePathingVectors[0].getMagnitude());
-        wheelPowers[1] = (mecanumVectorsCopy[1].getMagnitude()+truePathingVectors[0].getMagnitude());
-        wheelPowers[2] = (mecanumVectorsCopy[2].getMagnitude()+truePathingVectors[1].getMagnitude());
-        wheelPowers[3] = (mecanumVectorsCopy[3].getMagnitude()+truePathingVectors[1].getMagnitude());
-
-        servoDirections[0].setTheta(pathingPower.getTheta());
-        servoDirections[1].setTheta(2*Math.PI - pathingPower.getTheta());
-        servoDirections[2].setTheta(2*Math.PI - pathingPower.getTheta());
-        servoDirections[3].setTheta(pathingPower.getTheta());
+        // each side's pathing vector is split into the two wheel vectors on that side of the robot
+        wheelPowers[0] = (mecanumVectorsCopy[1].getXComponent()*truePathingVectors[0].getYComponent() - truePathingVectors[0].getXComponent()*mecanumVectorsCopy[1].getYComponent()) / (mecanumVectorsCopy[1].getXComponent()*mecanumVectorsCopy[0].getYComponent() - mecanumVectorsCopy[0].getXComponent()*mecanumVectorsCopy[1].getYComponent());
+        wheelPowers[1] = (mecanumVectorsCopy[0].getXComponent()*truePathingVectors[0].getYComponent() - truePathingVectors[0].getXComponent()*mecanumVectorsCopy[0].getYComponent()) / (mecanumVectorsCopy[0].getXComponent()*mecanumVectorsCopy[1].getYComponent() - mecanumVectorsCopy[1].getXComponent()*mecanumVectorsCopy[0].getYComponent());
+        wheelPowers[2] = (mecanumVectorsCopy[3].getXComponent()*truePathingVectors[1].getYComponent() - truePathingVectors[1].getXComponent()*mecanumVectorsCopy[3].getYComponent()) / (mecanumVectorsCopy[3].getXComponent()*mecanumVectorsCopy[2].getYComponent() - mecanumVectorsCopy[2].getXComponent()*mecanumVectorsCopy[3].getYComponent());
+        wheelPowers[3] = (mecanumVectorsCopy[2].getXComponent()*truePathingVectors[1].getYComponent() - truePathingVectors[1].getXComponent()*mecanumVectorsCopy[2].getYComponent()) / (mecanumVectorsCopy[2].getXComponent()*mecanumVectorsCopy[3].getYComponent() - mecanumVectorsCopy[3].getXComponent()*mecanumVectorsCopy[2].getYComponent());
 
         double wheelPowerMax = Math.max(Math.max(Math.abs(wheelPowers[0]), Math.abs(wheelPowers[1])), Math.max(Math.abs(wheelPowers[2]), Math.abs(wheelPowers[3])));
         if (wheelPowerMax > maxPowerScaling) {
@@ -139,7 +126,7 @@ public class DriveVectorScaler {
             wheelPowers[3] = (wheelPowers[3] / wheelPowerMax) * maxPowerScaling;
         }
 
-        return new Vector[][]{wheelPowers,servoDirections};
+        return wheelPowers;
     }
 
     /**
@@ -8,8 +8,12 @@ import static com.pedropathing.follower.FollowerConstants.forwardZeroPowerAccele
 import static com.pedropathing.follower.FollowerConstants.headingPIDFFeedForward;
 import static com.pedropathing.follower.FollowerConstants.headingPIDFSwitch;
 import static com.pedropathing.follower.FollowerConstants.lateralZeroPowerAcceleration;
+import static com.pedropathing.follower.FollowerConstants.localizationThreadRate;
 import static com.pedropathing.follower.FollowerConstants.leftFrontMotorName;
 import static com.pedropathing.follower.FollowerConstants.leftRearMotorName;
+import static com.pedropathing.follower.FollowerConstants.manageBulkReads;
+import static com.pedropathing.follower.FollowerConstants.motionProfileAccelerationFeedForward;
+import static com.pedropathing.follower.FollowerConstants.motionProfileMaxDeceleration;
 import static com.pedropathing.follower.FollowerConstants.nominalVoltage;
 import static com.pedropathing.follower.FollowerConstants.rightFrontMotorName;
 import static com.pedropathing.follower.FollowerConstants.rightRearMotorName;
@@ -22,16 +26,25 @@ import static com.pedropathing.follower.FollowerConstants.secondaryHeadingPIDFFe
 import static com.pedropathing.follower.FollowerConstants.secondaryTranslationalPIDFFeedForward;
 import static com.pedropathing.follower.FollowerConstants.translationalPIDFFeedForward;
 import static com.pedropathing.follower.FollowerConstants.translationalPIDFSwitch;
+import static com.pedropathing.follower.FollowerConstants.useAsyncLocalization;
+import static com.pedropathing.follower.FollowerConstants.useContinuousPathChainTransitions;
+import static com.pedropathing.follower.FollowerConstants.useLoopProfiling;
+import static com.pedropathing.follower.FollowerConstants.useMotionProfile;
 import static com.pedropathing.follower.FollowerConstants.useSecondaryDrivePID;
 import static com.pedropathing.follower.FollowerConstants.useSecondaryHeadingPID;
 import static com.pedropathing.follower.FollowerConstants.useSecondaryTranslationalPID;
 import static com.pedropathing.follower.FollowerConstants.useVoltageCompensationInAuto;
 import static com.pedropathing.follower.FollowerConstants.useVoltageCompensationInTeleOp;
+import static com.pedropathing.follower.FollowerConstants.xMovement;
+import static com.pedropathing.follower.FollowerConstants.yMovement;
 
 import android.util.Log;
 
 import com.acmerobotics.dashboard.config.Config;
 import com.acmerobotics.dashboard.telemetry.MultipleTelemetry;
+import com.pedropathing.util.BulkReadManager;
+import com.pedropathing.util.CallbackExecutor;
+import com.pedropathing.util.Clock;
 import com.pedropathing.util.Constants;
 import com.pedropathing.util.CustomFilteredPIDFCoefficients;
 import com.pedropathing.util.CustomPIDFCoefficients;
@@ -47,9 +60,9 @@ import com.pedropathing.localization.Pose;
 import com.pedropathing.localization.PoseUpdater;
 import com.pedropathing.pathgen.BezierPoint;
 import com.pedropathing.pathgen.MathFunctions;
+import com.pedropathing.pathgen.MotionProfile;
 import com.pedropathing.pathgen.Path;
 import com.pedropathing.pathgen.PathBuilder;
-import com.pedropathing.pathgen.PathCallback;
 import com.pedropathing.pathgen.PathChain;
 import com.pedropathing.pathgen.Point;
 import com.pedropathing.pathgen.Vector;
@@ -57,10 +70,12 @@ import com.pedropathing.util.DashboardPoseTracker;
 import com.pedropathing.util.Drawing;
 import com.pedropathing.util.FilteredPIDFController;
 import com.pedropathing.util.KalmanFilter;
+import com.pedropathing.util.LoopProfile;
 import com.pedropathing.util.PIDFController;
+import com.pedropathing.util.Timer;
+import com.pedropathing.util.VelocityEstimator;
 import com.qualcomm.robotcore.util.ElapsedTime;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -88,7 +103,12 @@ public class Follower {
     public PoseUpdater poseUpdater;
     private DashboardPoseTracker dashboardPoseTracker;
 
-    private Pose closestPose;
+    private final LoopProfile loopProfile = new LoopProfile();
+    private BulkReadManager bulkReadManager;
+    private MotorOutputCache motorOutputCache;
+    private ControlScheduler controlScheduler;
+
+    private final Pose closestPose = new Pose();
 
     private Path currentPath;
 
@@ -99,15 +119,20 @@ public class Follower {
 
     private int chainIndex;
 
-    private long[] pathStartTimes;
 
     private boolean followingPathChain;
+    private boolean waitingForCallbacks;
     private boolean holdingPosition;
     private boolean isBusy, isTurning;
     private boolean reachedParametricPathEnd;
     private boolean holdPositionAtEnd;
     private boolean teleopDrive;
 
+    // After a continuous PathChain transition, the closest point is searched for near the last one
+    // instead of over the whole Path, starting from where the robot carried on past the last Path
+    private boolean searchNearClosestPoint;
+    private double continuedTValue;
+
     private double globalMaxPower = 1;
     private double previousSecondaryTranslationalIntegral;
     private double previousTranslationalIntegral;
@@ -121,12 +146,10 @@ public class Follower {
     private double[] drivePowers;
     private double[] teleopDriveValues;
 
-    private ArrayList<Vector> velocities = new ArrayList<>();
-    private ArrayList<Vector> accelerations = new ArrayList<>();
+    private VelocityEstimator velocityEstimator;
 
-    private Vector averageVelocity;
-    private Vector averagePreviousVelocity;
-    private Vector averageAcceleration;
+    private final Vector averageVelocity = new Vector();
+    private final Vector averageAcceleration = new Vector();
     private Vector secondaryTranslationalIntegralVector;
     private Vector translationalIntegralVector;
     private Vector teleopDriveVector;
@@ -137,6 +160,32 @@ public class Follower {
     public Vector centripetalVector;
     public Vector correctiveVector;
 
+    // These are reused on every loop so that following a Path doesn't create any new objects
+    private final Pose robotPose = new Pose();
+    private final Vector robotVelocity = new Vector();
+    private final Vector zeroVector = new Vector();
+    private final Vector tangentVector = new Vector();
+    private final Vector unitTangentVector = new Vector();
+    private final Vector endTangentVector = new Vector();
+    private final Vector offsetVector = new Vector();
+    private final Vector distanceToGoalVector = new Vector();
+    private final Vector projectedVelocityVector = new Vector();
+    private final Vector robotHeadingVector = new Vector();
+    private final Vector forwardHeadingVector = new Vector();
+    private final Vector lateralHeadingVector = new Vector();
+    private final Vector forwardVelocityErrorVector = new Vector();
+    private final Vector lateralVelocityErrorVector = new Vector();
+    private final Vector velocityErrorVector = new Vector();
+    private final Vector projectionVector = new Vector();
+    private final Vector normalVector = new Vector();
+    private final Vector integralStepVector = new Vector();
+    private final Vector drivePowerVector = new Vector();
+    private final Vector headingPowerVector = new Vector();
+    private final Vector translationalPowerVector = new Vector();
+    private final Vector centripetalPowerVector = new Vector();
+    private final Vector correctivePowerVector = new Vector();
+    private double robotHeadingVectorHeading = Double.NaN;
+
     private double centripetalScaling;
 
     private PIDFController secondaryTranslationalPIDF;
@@ -152,6 +201,7 @@ public class Follower {
     private double[] driveErrors;
     private double rawDriveError;
     private double previousRawDriveError;
+    private double driveFeedForward;
     private double turnHeadingErrorThreshold;
 
     public static boolean drawOnDashboard = true;
@@ -173,7 +223,7 @@ public class Follower {
 
     private boolean logDebug = true;
 
-    private ElapsedTime zeroVelocityDetectedTimer;
+    private Timer zeroVelocityDetectedTimer;
 
     /**
      * This creates a new Follower given a HardwareMap.
@@ -205,6 +255,8 @@ public class Follower {
         Constants.setConstants(FConstants, LConstants);
         BEZIER_CURVE_SEARCH_LIMIT = FollowerConstants.BEZIER_CURVE_SEARCH_LIMIT;
         AVERAGED_VELOCITY_SAMPLE_NUMBER = FollowerConstants.AVERAGED_VELOCITY_SAMPLE_NUMBER;
+        velocityEstimator = new VelocityEstimator(AVERAGED_VELOCITY_SAMPLE_NUMBER, FollowerConstants.velocityEstimatorMode);
+        velocityEstimator.setAlphaBeta(FollowerConstants.velocityEstimatorAlpha, FollowerConstants.velocityEstimatorBeta);
         holdPointTranslationalScaling = FollowerConstants.holdPointTranslationalScaling;
         holdPointHeadingScaling = FollowerConstants.holdPointHeadingScaling;
         centripetalScaling = FollowerConstants.centripetalScaling;
@@ -228,33 +280,7 @@ public class Follower {
      */
     public void initialize() {
         poseUpdater = new PoseUpdater(hardwareMap);
-        driveVectorScaler = new DriveVectorScaler(FollowerConstants.frontLeftVector);
-
-        voltageSensor = hardwareMap.voltageSensor.iterator().next();
-        voltageTimer.reset();
-
-        leftFront = hardwareMap.get(DcMotorEx.class, leftFrontMotorName);
-        leftRear = hardwareMap.get(DcMotorEx.class, leftRearMotorName);
-        rightRear = hardwareMap.get(DcMotorEx.class, rightRearMotorName);
-        rightFront = hardwareMap.get(DcMotorEx.class, rightFrontMotorName);
-        leftFront.setDirection(leftFrontMotorDirection);
-        leftRear.setDirection(leftRearMotorDirection);
-        rightFront.setDirection(rightFrontMotorDirection);
-        rightRear.setDirection(rightRearMotorDirection);
-
-        motors = Arrays.asList(leftFront, leftRear, rightFront, rightRear);
-
-        for (DcMotorEx motor : motors) {
-            MotorConfigurationType motorConfigurationType = motor.getMotorType().clone();
-            motorConfigurationType.setAchieveableMaxRPMFraction(1.0);
-            motor.setMotorType(motorConfigurationType);
-        }
-
-        setMotorsToFloat();
-
-        dashboardPoseTracker = new DashboardPoseTracker(poseUpdater);
-
-        breakFollowing();
+        initializeDrivetrain();
     }
 
     /**
@@ -267,6 +293,15 @@ public class Follower {
 
     public void initialize(Localizer localizer) {
         poseUpdater = new PoseUpdater(hardwareMap, localizer);
+        initializeDrivetrain();
+    }
+
+    /**
+     * This sets up everything that is the same for both ways of initializing the Follower, once the
+     * PoseUpdater has been made. This makes the DriveVectorScaler, sets up the drive motors, the
+     * bulk reads, and the motor output cache, and starts the localization thread if it is used.
+     */
+    private void initializeDrivetrain() {
         driveVectorScaler = new DriveVectorScaler(FollowerConstants.frontLeftVector);
 
         voltageSensor = hardwareMap.voltageSensor.iterator().next();
@@ -293,6 +328,18 @@ public class Follower {
 
         dashboardPoseTracker = new DashboardPoseTracker(poseUpdater);
 
+        loopProfile.setEnabled(useLoopProfiling);
+        poseUpdater.setLoopProfile(loopProfile);
+
+        // the localization thread reads the hubs on its own schedule, so it can't share one bulk read per update
+        bulkReadManager = BulkReadManager.get(hardwareMap);
+        bulkReadManager.setManaging(manageBulkReads && !useAsyncLocalization);
+        motorOutputCache = new MotorOutputCache(motors, bulkReadManager);
+
+        if (useAsyncLocalization) {
+            poseUpdater.startLocalizationThread(localizationThreadRate);
+        }
+
         breakFollowing();
     }
 
@@ -323,7 +370,17 @@ public class Follower {
      *
      * @param set This caps the motor power from [0, 1].
      */
-    public void setMaxPower(double set) {
+    public void setMaxPower(final double set) {
+        if (isControlledByScheduler()) {
+            controlScheduler.post(new Runnable() {
+                @Override
+                public void run() {
+                    setMaxPower(set);
+                }
+            });
+            return;
+        }
+
         globalMaxPower = set;
         driveVectorScaler.setMaxPowerScaling(set);
     }
@@ -347,18 +404,67 @@ public class Follower {
      * @return returns the pose
      */
     public Pose getPose() {
+        if (isControlledByScheduler()) {
+            Pose pose = new Pose();
+            controlScheduler.read(pose, new Vector());
+            return pose;
+        }
         return poseUpdater.getPose();
     }
 
+    /**
+     * This puts the current pose into the specified Pose, instead of creating a new one.
+     *
+     * @param out the Pose to put the current pose into.
+     * @return returns the Pose passed in, which now holds the current pose.
+     */
+    public Pose getPoseInto(Pose out) {
+        return poseUpdater.getPoseInto(out);
+    }
+
+    /**
+     * This puts the current velocity into the specified Vector, instead of creating a new one.
+     *
+     * @param out the Vector to put the current velocity into.
+     * @return returns the Vector passed in, which now holds the current velocity.
+     */
+    public Vector getVelocityInto(Vector out) {
+        return poseUpdater.getVelocityInto(out);
+    }
+
     /**
      * This sets the current pose in the PoseUpdater without using offsets.
      *
      * @param pose The pose to set the current pose to.
      */
-    public void setPose(Pose pose) {
+    public void setPose(final Pose pose) {
+        if (isControlledByScheduler()) {
+            controlScheduler.post(new Runnable() {
+                @Override
+                public void run() {
+                    setPose(pose);
+                }
+            });
+            return;
+        }
+
         poseUpdater.setPose(pose);
     }
 
+    /**
+     * This applies a pose measurement that was taken a while ago, like one from a camera, by
+     * blending it into the pose the robot was at when it was taken and adding the movement since
+     * then back on.
+     *
+     * @param pose the measured pose.
+     * @param captureTimeNanos the time the measurement was taken at, from System.nanoTime().
+     * @param weight how much to trust the measurement, from 0 to 1.
+     * @return returns whether the measurement was applied.
+     */
+    public boolean addDelayedMeasurement(Pose pose, long captureTimeNanos, double weight) {
+        return poseUpdater.addDelayedMeasurement(pose, captureTimeNanos, weight);
+    }
+
     /**
      * This returns the current velocity of the robot as a Vector.
      *
@@ -391,7 +497,17 @@ public class Follower {
      *
      * @param pose the pose to set the starting pose to.
      */
-    public void setStartingPose(Pose pose) {
+    public void setStartingPose(final Pose pose) {
+        if (isControlledByScheduler()) {
+            controlScheduler.post(new Runnable() {
+                @Override
+                public void run() {
+                    setStartingPose(pose);
+                }
+            });
+            return;
+        }
+
         poseUpdater.setStartingPose(pose);
     }
 
@@ -402,7 +518,17 @@ public class Follower {
      *
      * @param set The pose to set the current pose to.
      */
-    public void setCurrentPoseWithOffset(Pose set) {
+    public void setCurrentPoseWithOffset(final Pose set) {
+        if (isControlledByScheduler()) {
+            controlScheduler.post(new Runnable() {
+                @Override
+                public void run() {
+                    setCurrentPoseWithOffset(set);
+                }
+            });
+            return;
+        }
+
         poseUpdater.setCurrentPoseWithOffset(set);
     }
 
@@ -411,7 +537,17 @@ public class Follower {
      *
      * @param xOffset This sets the offset.
      */
-    public void setXOffset(double xOffset) {
+    public void setXOffset(final double xOffset) {
+        if (isControlledByScheduler()) {
+            controlScheduler.post(new Runnable() {
+                @Override
+                public void run() {
+                    setXOffset(xOffset);
+                }
+            });
+            return;
+        }
+
         poseUpdater.setXOffset(xOffset);
     }
 
@@ -420,7 +556,17 @@ public class Follower {
      *
      * @param yOffset This sets the offset.
      */
-    public void setYOffset(double yOffset) {
+    public void setYOffset(final double yOffset) {
+        if (isControlledByScheduler()) {
+            controlScheduler.post(new Runnable() {
+                @Override
+                public void run() {
+                    setYOffset(yOffset);
+                }
+            });
+            return;
+        }
+
         poseUpdater.setYOffset(yOffset);
     }
 
@@ -429,7 +575,17 @@ public class Follower {
      *
      * @param headingOffset This sets the offset.
      */
-    public void setHeadingOffset(double headingOffset) {
+    public void setHeadingOffset(final double headingOffset) {
+        if (isControlledByScheduler()) {
+            controlScheduler.post(new Runnable() {
+                @Override
+                public void run() {
+                    setHeadingOffset(headingOffset);
+                }
+            });
+            return;
+        }
+
         poseUpdater.setHeadingOffset(headingOffset);
     }
 
@@ -466,6 +622,16 @@ public class Follower {
      * PoseUpdater thinks your pose would be, not the pose you reset to.
      */
     public void resetOffset() {
+        if (isControlledByScheduler()) {
+            controlScheduler.post(new Runnable() {
+                @Override
+                public void run() {
+                    resetOffset();
+                }
+            });
+            return;
+        }
+
         poseUpdater.resetOffset();
     }
 
@@ -475,14 +641,24 @@ public class Follower {
      * @param point   the Point to stay at.
      * @param heading the heading to face.
      */
-    public void holdPoint(BezierPoint point, double heading) {
+    public void holdPoint(final BezierPoint point, final double heading) {
+        if (isControlledByScheduler()) {
+            controlScheduler.post(new Runnable() {
+                @Override
+                public void run() {
+                    holdPoint(point, heading);
+                }
+            }, false);
+            return;
+        }
+
         breakFollowing();
         holdingPosition = true;
         isBusy = false;
         followingPathChain = false;
         currentPath = new Path(point);
         currentPath.setConstantHeadingInterpolation(heading);
-        closestPose = currentPath.getClosestPoint(poseUpdater.getPose(), 1);
+        currentPath.getClosestPoint(poseUpdater.getPoseInto(robotPose), 1, closestPose);
     }
 
     /**
@@ -511,14 +687,25 @@ public class Follower {
      * @param path the Path to follow.
      * @param holdEnd this makes the Follower hold the last Point on the Path.
      */
-    public void followPath(Path path, boolean holdEnd) {
+    public void followPath(final Path path, final boolean holdEnd) {
+        if (isControlledByScheduler()) {
+            controlScheduler.post(new Runnable() {
+                @Override
+                public void run() {
+                    followPath(path, holdEnd);
+                }
+            }, true);
+            return;
+        }
+
         driveVectorScaler.setMaxPowerScaling(globalMaxPower);
         breakFollowing();
         holdPositionAtEnd = holdEnd;
         isBusy = true;
         followingPathChain = false;
         currentPath = path;
-        closestPose = currentPath.getClosestPoint(poseUpdater.getPose(), BEZIER_CURVE_SEARCH_LIMIT);
+        if (useMotionProfile) currentPath.getMotionProfile();
+        currentPath.getClosestPoint(poseUpdater.getPoseInto(robotPose), BEZIER_CURVE_SEARCH_LIMIT, closestPose);
     }
 
     /**
@@ -558,35 +745,66 @@ public class Follower {
      * @param maxPower the max power of the Follower for this path
      * @param holdEnd this makes the Follower hold the last Point on the PathChain.
      */
-    public void followPath(PathChain pathChain, double maxPower, boolean holdEnd) {
+    public void followPath(final PathChain pathChain, final double maxPower, final boolean holdEnd) {
+        if (isControlledByScheduler()) {
+            controlScheduler.post(new Runnable() {
+                @Override
+                public void run() {
+                    followPath(pathChain, maxPower, holdEnd);
+                }
+            }, true);
+            return;
+        }
+
         driveVectorScaler.setMaxPowerScaling(maxPower);
         breakFollowing();
         holdPositionAtEnd = holdEnd;
-        pathStartTimes = new long[pathChain.size()];
-        pathStartTimes[0] = System.currentTimeMillis();
         isBusy = true;
         followingPathChain = true;
         chainIndex = 0;
         currentPathChain = pathChain;
         currentPath = pathChain.getPath(chainIndex);
-        closestPose = currentPath.getClosestPoint(poseUpdater.getPose(), BEZIER_CURVE_SEARCH_LIMIT);
+        if (useMotionProfile) currentPathChain.getMotionProfile(chainIndex);
+        currentPath.getClosestPoint(poseUpdater.getPoseInto(robotPose), BEZIER_CURVE_SEARCH_LIMIT, closestPose);
         currentPathChain.resetCallbacks();
+        currentPathChain.getCallbackScheduler().startPath(chainIndex, Clock.currentTimeMillis());
     }
 
     /**
      * Resumes pathing
      */
     public void resumePathFollowing() {
-        pathStartTimes = new long[currentPathChain.size()];
-        pathStartTimes[0] = System.currentTimeMillis();
+        if (isControlledByScheduler()) {
+            controlScheduler.post(new Runnable() {
+                @Override
+                public void run() {
+                    resumePathFollowing();
+                }
+            }, true);
+            return;
+        }
+
+        if (followingPathChain) {
+            currentPathChain.getCallbackScheduler().restartPaths(chainIndex, Clock.currentTimeMillis());
+        }
         isBusy = true;
-        closestPose = currentPath.getClosestPoint(poseUpdater.getPose(), BEZIER_CURVE_SEARCH_LIMIT);
+        currentPath.getClosestPoint(poseUpdater.getPoseInto(robotPose), BEZIER_CURVE_SEARCH_LIMIT, closestPose);
     }
 
     /**
      * This starts teleop drive control.
      */
     public void startTeleopDrive() {
+        if (isControlledByScheduler()) {
+            controlScheduler.post(new Runnable() {
+                @Override
+                public void run() {
+                    startTeleopDrive();
+                }
+            }, false);
+            return;
+        }
+
         breakFollowing();
         teleopDrive = true;
 
@@ -595,14 +813,68 @@ public class Follower {
         }
     }
 
+    /**
+     * This starts updating the Follower on its own thread at a fixed rate. While it is running,
+     * calling update does nothing. Following a Path or PathChain, holding a Point, turning, starting
+     * and driving in teleop, resuming and breaking following, setting the pose, offsets, max power,
+     * and PIDF coefficients are all posted to the ControlScheduler for you, so they run on the
+     * control thread, and getPose and isBusy read what the ControlScheduler published after its
+     * latest update. Anything else that changes what the Follower is doing should be posted to the
+     * ControlScheduler.
+     *
+     * @param rateHz how many times per second to update the Follower.
+     * @return returns the ControlScheduler.
+     */
+    public ControlScheduler startControlScheduler(double rateHz) {
+        if (controlScheduler == null) {
+            controlScheduler = new ControlScheduler(this, rateHz);
+        } else {
+            controlScheduler.setRate(rateHz);
+        }
+        controlScheduler.start();
+        return controlScheduler;
+    }
+
+    /**
+     * This stops the control scheduler, if there is one, and goes back to updating the Follower in
+     * update.
+     */
+    public void stopControlScheduler() {
+        if (controlScheduler != null) {
+            controlScheduler.stop();
+        }
+    }
+
+    /**
+     * This returns the ControlScheduler updating the Follower.
+     *
+     * @return returns the ControlScheduler, or null if one was never started.
+     */
+    public ControlScheduler getControlScheduler() {
+        return controlScheduler;
+    }
+
+    /**
+     * This returns whether the ControlScheduler is updating the Follower and this is being called
+     * from some other thread, in which case the Follower must not be changed directly.
+     *
+     * @return returns if the call has to go through the ControlScheduler.
+     */
+    private boolean isControlledByScheduler() {
+        return controlScheduler != null && controlScheduler.isRunning() && !controlScheduler.isControlThread();
+    }
+
     /**
      * Calls an update to the PoseUpdater, which updates the robot's current position estimate.
      */
     public void updatePose() {
+        long stageStart = loopProfile.start();
         poseUpdater.update();
+        stageStart = loopProfile.record(LoopProfile.POSE_UPDATE, stageStart);
 
         if (drawOnDashboard) {
             dashboardPoseTracker.update();
+            loopProfile.record(LoopProfile.DASHBOARD, stageStart);
         }
     }
 
@@ -611,26 +883,35 @@ public class Follower {
      * This also updates all the Follower's PIDFs, which updates the motor powers.
      */
     public void update() {
+        // while the control scheduler is running, it is the only thing that updates the Follower
+        if (isControlledByScheduler()) {
+            controlScheduler.keepAlive();
+            return;
+        }
+        // if the control thread stopped because the Follower threw, the OpMode has to find out
+        if (controlScheduler != null && !controlScheduler.isControlThread() && controlScheduler.getFailure() != null) {
+            throw new RuntimeException("The control scheduler stopped because the Follower threw an exception", controlScheduler.getFailure());
+        }
+
+        long loopStart = loopProfile.start();
+        bulkReadManager.startLoop();
         updatePose();
 
         if (!teleopDrive) {
             if (currentPath != null) {
                 if (holdingPosition) {
-                    closestPose = currentPath.getClosestPoint(poseUpdater.getPose(), 1);
-
-                    drivePowers = driveVectorScaler.getDrivePowers(MathFunctions.scalarMultiplyVector(getTranslationalCorrection(), holdPointTranslationalScaling), MathFunctions.scalarMultiplyVector(getHeadingVector(), holdPointHeadingScaling), new Vector(), poseUpdater.getPose().getHeading());
+                    long stageStart = loopProfile.start();
+                    currentPath.getClosestPoint(poseUpdater.getPoseInto(robotPose), 1, closestPose);
+                    stageStart = loopProfile.record(LoopProfile.CLOSEST_POINT, stageStart);
 
-                    for (int i = 0; i < motors.size(); i++) {
-                        if (Math.abs(motors.get(i).getPower() - drivePowers[i]) > FollowerConstants.motorCachingThreshold) {
-                            double voltageNormalized = getVoltageNormalized();
+                    Vector translationalCorrection = calculateTranslationalCorrection();
+                    Vector headingCorrection = calculateHeadingVector();
+                    stageStart = loopProfile.record(LoopProfile.CORRECTION_VECTORS, stageStart);
+                    drivePowers = driveVectorScaler.getDrivePowers(MathFunctions.scalarMultiplyVectorInto(translationalCorrection, holdPointTranslationalScaling, translationalCorrection), MathFunctions.scalarMultiplyVectorInto(headingCorrection, holdPointHeadingScaling, headingCorrection), zeroVector, poseUpdater.getPoseInto(robotPose).getHeading());
+                    stageStart = loopProfile.record(LoopProfile.DRIVE_POWERS, stageStart);
 
-                            if (useVoltageCompensationInAuto) {
-                                motors.get(i).setPower(drivePowers[i] * voltageNormalized);
-                            } else {
-                                motors.get(i).setPower(drivePowers[i]);
-                            }
-                        }
-                    }
+                    motorOutputCache.setPowers(drivePowers, useVoltageCompensationInAuto ? getVoltageNormalized() : 1);
+                    loopProfile.record(LoopProfile.MOTOR_WRITES, stageStart);
 
                     if(headingError < turnHeadingErrorThreshold && isTurning) {
                         isTurning = false;
@@ -638,63 +919,80 @@ public class Follower {
                     }
                 } else {
                     if (isBusy) {
-                        closestPose = currentPath.getClosestPoint(poseUpdater.getPose(), BEZIER_CURVE_SEARCH_LIMIT);
-
-                        if (followingPathChain) updateCallbacks();
+                        long stageStart = loopProfile.start();
+                        if (searchNearClosestPoint) {
+                            currentPath.getClosestPointNear(poseUpdater.getPoseInto(robotPose), currentPath.getClosestPointTValue(), BEZIER_CURVE_SEARCH_LIMIT, closestPose);
+                        } else {
+                            currentPath.getClosestPoint(poseUpdater.getPoseInto(robotPose), BEZIER_CURVE_SEARCH_LIMIT, closestPose);
+                        }
+                        stageStart = loopProfile.record(LoopProfile.CLOSEST_POINT, stageStart);
 
-                        drivePowers = driveVectorScaler.getDrivePowers(getCorrectiveVector(), getHeadingVector(), getDriveVector(), poseUpdater.getPose().getHeading());
+                        if (followingPathChain) {
+                            updateCallbacks();
+                            waitingForCallbacks = currentPathChain.getCallbackScheduler().isWaitingForCallbacks(chainIndex);
+                            stageStart = loopProfile.record(LoopProfile.CALLBACKS, stageStart);
+                        }
 
-                        for (int i = 0; i < motors.size(); i++) {
-                            if (Math.abs(motors.get(i).getPower() - drivePowers[i]) > FollowerConstants.motorCachingThreshold) {
-                                double voltageNormalized = getVoltageNormalized();
+                        Vector correctivePower = calculateCorrectiveVector();
+                        Vector headingPower = calculateHeadingVector();
+                        Vector pathingPower = calculateDriveVector();
+                        stageStart = loopProfile.record(LoopProfile.CORRECTION_VECTORS, stageStart);
+                        drivePowers = driveVectorScaler.getDrivePowers(correctivePower, headingPower, pathingPower, poseUpdater.getPoseInto(robotPose).getHeading());
+                        stageStart = loopProfile.record(LoopProfile.DRIVE_POWERS, stageStart);
 
-                                if (useVoltageCompensationInAuto) {
-                                    motors.get(i).setPower(drivePowers[i] * voltageNormalized);
-                                } else {
-                                    motors.get(i).setPower(drivePowers[i]);
-                                }
-                            }
-                        }
+                        motorOutputCache.setPowers(drivePowers, useVoltageCompensationInAuto ? getVoltageNormalized() : 1);
+                        loopProfile.record(LoopProfile.MOTOR_WRITES, stageStart);
                     }
 
                     // try to fix the robot stop near the end issue
                     // if robot is almost reach the end and velocity is close to zero
                     // then, break the following if other criteria meet
-                    if (poseUpdater.getVelocity().getMagnitude() < 1.0 && currentPath.getClosestPointTValue() > 0.8
-                            && zeroVelocityDetectedTimer == null && isBusy) {
-                        zeroVelocityDetectedTimer = new ElapsedTime(ElapsedTime.Resolution.MILLISECONDS);
+                    // the robot is meant to be stopped while it waits for a PathCallback, so that isn't being stuck
+                    if (poseUpdater.getVelocityInto(robotVelocity).getMagnitude() < 1.0 && currentPath.getClosestPointTValue() > 0.8
+                            && zeroVelocityDetectedTimer == null && isBusy && !waitingForCallbacks) {
+                        zeroVelocityDetectedTimer = new Timer();
                         Log.d("Follower_logger", "!!!! Robot stuck !!!!");
 
                         debugLog();
                     }
 
                     if (currentPath.isAtParametricEnd() ||
-                            (zeroVelocityDetectedTimer != null && zeroVelocityDetectedTimer.milliseconds() > 500.0)) {
-                        if (followingPathChain && chainIndex < currentPathChain.size() - 1) {
+                            (zeroVelocityDetectedTimer != null && zeroVelocityDetectedTimer.getElapsedTime() > 500)) {
+                        if (followingPathChain && chainIndex < currentPathChain.size() - 1 && waitingForCallbacks) {
+                            // Not at last path, but a callback still has to finish, so stay stopped at the end of this one
+                        } else if (followingPathChain && chainIndex < currentPathChain.size() - 1) {
 
                             if (logDebug) {
                                 Log.d("Follower_logger", "chainIndex: " + chainIndex + " | Pose: " + getPose());
                             }
                             // Not at last path, keep going
-                            breakFollowing();
-                            pathStartTimes[chainIndex] = System.currentTimeMillis();
+                            if (useContinuousPathChainTransitions) {
+                                continueToNextPath();
+                            } else {
+                                breakFollowing();
+                            }
                             isBusy = true;
                             followingPathChain = true;
                             chainIndex++;
+                            currentPathChain.getCallbackScheduler().startPath(chainIndex, Clock.currentTimeMillis());
                             currentPath = currentPathChain.getPath(chainIndex);
-                            closestPose = currentPath.getClosestPoint(poseUpdater.getPose(), BEZIER_CURVE_SEARCH_LIMIT);
+                            if (searchNearClosestPoint) {
+                                currentPath.getClosestPointNear(poseUpdater.getPoseInto(robotPose), continuedTValue, BEZIER_CURVE_SEARCH_LIMIT, closestPose);
+                            } else {
+                                currentPath.getClosestPoint(poseUpdater.getPoseInto(robotPose), BEZIER_CURVE_SEARCH_LIMIT, closestPose);
+                            }
                         } else {
                             // At last path, run some end detection stuff
                             // set isBusy to false if at end
                             if (!reachedParametricPathEnd) {
                                 reachedParametricPathEnd = true;
-                                reachedParametricPathEndTime = System.currentTimeMillis();
+                                reachedParametricPathEndTime = Clock.currentTimeMillis();
                             }
 
-                            if ((System.currentTimeMillis() - reachedParametricPathEndTime > currentPath.getPathEndTimeoutConstraint()) ||
-                                    (poseUpdater.getVelocity().getMagnitude() < currentPath.getPathEndVelocityConstraint()
-                                            && MathFunctions.distance(poseUpdater.getPose(), closestPose) < currentPath.getPathEndTranslationalConstraint() &&
-                                            MathFunctions.getSmallestAngleDifference(poseUpdater.getPose().getHeading(), currentPath.getClosestPointHeadingGoal()) < currentPath.getPathEndHeadingConstraint())) {
+                            if ((Clock.currentTimeMillis() - reachedParametricPathEndTime > currentPath.getPathEndTimeoutConstraint()) ||
+                                    (poseUpdater.getVelocityInto(robotVelocity).getMagnitude() < currentPath.getPathEndVelocityConstraint()
+                                            && MathFunctions.distance(poseUpdater.getPoseInto(robotPose), closestPose) < currentPath.getPathEndTranslationalConstraint() &&
+                                            MathFunctions.getSmallestAngleDifference(robotPose.getHeading(), currentPath.getClosestPointHeadingGoal()) < currentPath.getPathEndHeadingConstraint())) {
                                 if (holdPositionAtEnd) {
                                     holdPositionAtEnd = false;
                                     holdPoint(new BezierPoint(currentPath.getLastControlPoint()), currentPath.getHeadingGoal(1));
@@ -720,25 +1018,20 @@ public class Follower {
                 }
             }
         } else {
-            velocities.add(poseUpdater.getVelocity());
-            velocities.remove(velocities.get(velocities.size() - 1));
-
+            velocityEstimator.addSample(poseUpdater.getPoseTime(), poseUpdater.getVelocityInto(robotVelocity));
             calculateAveragedVelocityAndAcceleration();
 
-            drivePowers = driveVectorScaler.getDrivePowers(getCentripetalForceCorrection(), teleopHeadingVector, teleopDriveVector, poseUpdater.getPose().getHeading());
+            long stageStart = loopProfile.start();
+            Vector correctivePower = calculateCentripetalForceCorrection();
+            stageStart = loopProfile.record(LoopProfile.CORRECTION_VECTORS, stageStart);
+            drivePowers = driveVectorScaler.getDrivePowers(correctivePower, teleopHeadingVector, teleopDriveVector, poseUpdater.getPoseInto(robotPose).getHeading());
+            stageStart = loopProfile.record(LoopProfile.DRIVE_POWERS, stageStart);
 
-            for (int i = 0; i < motors.size(); i++) {
-                if (Math.abs(motors.get(i).getPower() - drivePowers[i]) > FollowerConstants.motorCachingThreshold) {
-                    double voltageNormalized = getVoltageNormalized();
-
-                    if (useVoltageCompensationInTeleOp) {
-                        motors.get(i).setPower(drivePowers[i] * voltageNormalized);
-                    } else {
-                        motors.get(i).setPower(drivePowers[i]);
-                    }
-                }
-            }
+            motorOutputCache.setPowers(drivePowers, useVoltageCompensationInTeleOp ? getVoltageNormalized() : 1);
+            loopProfile.record(LoopProfile.MOTOR_WRITES, stageStart);
         }
+
+        loopProfile.record(LoopProfile.TOTAL, loopStart);
     }
 
     /**
@@ -765,6 +1058,11 @@ public class Follower {
      * @param robotCentric sets if the movement will be field or robot centric
      */
     public void setTeleOpMovementVectors(double forwardDrive, double lateralDrive, double heading, boolean robotCentric) {
+        if (isControlledByScheduler()) {
+            controlScheduler.setTeleOpMovementVectors(forwardDrive, lateralDrive, heading, robotCentric);
+            return;
+        }
+
         teleopDriveValues[0] = MathFunctions.clamp(forwardDrive, -1, 1);
         teleopDriveValues[1] = MathFunctions.clamp(lateralDrive, -1, 1);
         teleopDriveValues[2] = MathFunctions.clamp(heading, -1, 1);
@@ -779,65 +1077,76 @@ public class Follower {
     }
 
     /**
-     * This calculates an averaged approximate velocity and acceleration. This is used for a
-     * real-time correction of centripetal force, which is used in teleop.
+     * This calculates an averaged approximate velocity and acceleration from the velocity samples
+     * in the VelocityEstimator. This is used for a real-time correction of centripetal force, which
+     * is used in teleop.
      */
     public void calculateAveragedVelocityAndAcceleration() {
-        averageVelocity = new Vector();
-        averagePreviousVelocity = new Vector();
-
-        for (int i = 0; i < velocities.size() / 2; i++) {
-            averageVelocity = MathFunctions.addVectors(averageVelocity, velocities.get(i));
-        }
-        averageVelocity = MathFunctions.scalarMultiplyVector(averageVelocity, 1.0 / ((double) velocities.size() / 2));
-
-        for (int i = velocities.size() / 2; i < velocities.size(); i++) {
-            averagePreviousVelocity = MathFunctions.addVectors(averagePreviousVelocity, velocities.get(i));
-        }
-        averagePreviousVelocity = MathFunctions.scalarMultiplyVector(averagePreviousVelocity, 1.0 / ((double) velocities.size() / 2));
-
-        accelerations.add(MathFunctions.subtractVectors(averageVelocity, averagePreviousVelocity));
-        accelerations.remove(accelerations.size() - 1);
-
-        averageAcceleration = new Vector();
+        velocityEstimator.getVelocityInto(averageVelocity);
+        velocityEstimator.getAccelerationInto(averageAcceleration);
+    }
 
-        for (int i = 0; i < accelerations.size(); i++) {
-            averageAcceleration = MathFunctions.addVectors(averageAcceleration, accelerations.get(i));
-        }
-        averageAcceleration = MathFunctions.scalarMultiplyVector(averageAcceleration, 1.0 / accelerations.size());
+    /**
+     * This returns the VelocityEstimator that smooths the velocity and estimates the acceleration
+     * for the centripetal correction in teleop.
+     *
+     * @return returns the VelocityEstimator.
+     */
+    public VelocityEstimator getVelocityEstimator() {
+        return velocityEstimator;
     }
 
     /**
      * This checks if any PathCallbacks should be run right now, and runs them if applicable.
      */
     public void updateCallbacks() {
-        for (PathCallback callback : currentPathChain.getCallbacks()) {
-            if (!callback.hasBeenRun()) {
-                if (callback.getType() == PathCallback.PARAMETRIC) {
-                    // parametric call back
-                    if (chainIndex == callback.getIndex() && (getCurrentTValue() >= callback.getStartCondition() || MathFunctions.roughlyEquals(getCurrentTValue(), callback.getStartCondition()))) {
-                        callback.run();
-                    }
-                } else {
-                    // time based call back
-                    if (chainIndex >= callback.getIndex() && System.currentTimeMillis() - pathStartTimes[callback.getIndex()] > callback.getStartCondition()) {
-                        callback.run();
-                    }
+        currentPathChain.getCallbackScheduler().update(chainIndex, getCurrentTValue(), Clock.currentTimeMillis());
+    }
 
-                }
-            }
-        }
+    /**
+     * This gets ready to move on to the next Path in the PathChain without stopping. Unlike
+     * breakFollowing(), the PIDFs, their integrals, and the drive error filter keep their state,
+     * and nothing is written to the motors, so the powers carry on smoothly from the end of one
+     * Path to the start of the next. Only the things that belong to a single Path are reset.
+     *
+     * The closest point on the next Path is searched for starting from how far the robot has gone
+     * past the end of the current Path along its end tangent, and from then on near the last
+     * closest point. Searching the whole next Path could jump to some later part of it that comes
+     * back near the robot, like on a PathChain that loops back over itself, and then skip that Path.
+     */
+    private void continueToNextPath() {
+        holdingPosition = false;
+        reachedParametricPathEnd = false;
+        zeroVelocityDetectedTimer = null;
+
+        poseUpdater.getPoseInto(robotPose);
+        offsetVector.setOrthogonalComponents(robotPose.getX() - currentPath.getLastControlPoint().getX(), robotPose.getY() - currentPath.getLastControlPoint().getY());
+        double distancePastEnd = MathFunctions.dotProduct(currentPath.getEndTangentInto(endTangentVector), offsetVector);
+        continuedTValue = distancePastEnd > 0 ? currentPathChain.getPath(chainIndex + 1).getTAtArcLength(distancePastEnd) : 0;
+        searchNearClosestPoint = true;
     }
 
     /**
      * This resets the PIDFs and stops following the current Path.
      */
     public void breakFollowing() {
+        if (isControlledByScheduler()) {
+            controlScheduler.post(new Runnable() {
+                @Override
+                public void run() {
+                    breakFollowing();
+                }
+            }, false);
+            return;
+        }
+
         teleopDrive = false;
         setMotorsToFloat();
         holdingPosition = false;
+        searchNearClosestPoint = false;
         isBusy = false;
         reachedParametricPathEnd = false;
+        waitingForCallbacks = false;
         secondaryDrivePIDF.reset();
         drivePIDF.reset();
         secondaryHeadingPIDF.reset();
@@ -859,39 +1168,60 @@ public class Follower {
         headingError = 0;
         rawDriveError = 0;
         previousRawDriveError = 0;
+        driveFeedForward = 0;
         driveErrors = new double[2];
         for (int i = 0; i < driveErrors.length; i++) {
             driveErrors[i] = 0;
         }
         driveKalmanFilter.reset();
 
-        for (int i = 0; i < AVERAGED_VELOCITY_SAMPLE_NUMBER; i++) {
-            velocities.add(new Vector());
-        }
-        for (int i = 0; i < AVERAGED_VELOCITY_SAMPLE_NUMBER / 2; i++) {
-            accelerations.add(new Vector());
-        }
+        velocityEstimator.reset();
         calculateAveragedVelocityAndAcceleration();
         teleopDriveValues = new double[3];
         teleopDriveVector = new Vector();
         teleopHeadingVector = new Vector();
 
-        for (int i = 0; i < motors.size(); i++) {
-            motors.get(i).setPower(0);
-        }
+        motorOutputCache.stop();
 
         zeroVelocityDetectedTimer = null;
     }
 
+    /**
+     * This stops the control scheduler if it is running, stops following, stops the drive motors,
+     * stops the localization thread and the IMU thread if they are being used, and stops any
+     * PathCallbacks still running on other threads. This should be called when the OpMode is done
+     * with the Follower.
+     */
+    public void close() {
+        stopControlScheduler();
+        breakFollowing();
+        poseUpdater.stopLocalizationThread();
+        poseUpdater.stopIMUSampler();
+        CallbackExecutor.shutdown();
+    }
+
     /**
      * This returns if the Follower is currently following a Path or a PathChain.
      *
      * @return returns if the Follower is busy.
      */
     public boolean isBusy() {
+        if (isControlledByScheduler()) {
+            return controlScheduler.isBusy();
+        }
         return isBusy;
     }
 
+    /**
+     * This returns whether the Follower is waiting at the end of a Path in a PathChain for a
+     * PathCallback to finish before it moves on to the next Path.
+     *
+     * @return returns if the Follower is waiting for a PathCallback.
+     */
+    public boolean isWaitingForCallbacks() {
+        return waitingForCallbacks;
+    }
+
     /**
      * This returns a Vector in the direction the robot must go to move along the path. This Vector
      * takes into account the projected position of the robot to calculate how much power is needed.
@@ -901,9 +1231,20 @@ public class Follower {
      * @return returns the drive vector.
      */
     public Vector getDriveVector() {
-        if (!useDrive) return new Vector();
-        if (followingPathChain && chainIndex < currentPathChain.size() - 1) {
-            return new Vector(driveVectorScaler.getMaxPowerScaling(), currentPath.getClosestPointTangentVector().getTheta());
+        return MathFunctions.copyVector(calculateDriveVector());
+    }
+
+    /**
+     * This calculates the drive vector, just like getDriveVector(), except that the Vector returned
+     * is reused every time this is called instead of being a new copy.
+     *
+     * @return returns the drive vector, which is overwritten the next time this is called.
+     */
+    private Vector calculateDriveVector() {
+        if (!useDrive) return MathFunctions.copyVectorInto(zeroVector, drivePowerVector);
+        if (followingPathChain && chainIndex < currentPathChain.size() - 1 && !useMotionProfile && !waitingForCallbacks) {
+            MathFunctions.normalizeVectorInto(currentPath.getClosestPointTangentVectorInto(tangentVector), unitTangentVector);
+            return MathFunctions.scalarMultiplyVectorInto(unitTangentVector, driveVectorScaler.getMaxPowerScaling(), drivePowerVector);
         }
 
         driveError = getDriveVelocityError();
@@ -911,13 +1252,29 @@ public class Follower {
         if (Math.abs(driveError) < drivePIDFSwitch && useSecondaryDrivePID) {
             // Log.d("Follower_logger_secondary::", "In secondary drive PIDF");
             secondaryDrivePIDF.updateError(driveError);
-            driveVector = new Vector(MathFunctions.clamp(secondaryDrivePIDF.runPIDF() + secondaryDrivePIDFFeedForward * MathFunctions.getSign(driveError), -driveVectorScaler.getMaxPowerScaling(), driveVectorScaler.getMaxPowerScaling()), currentPath.getClosestPointTangentVector().getTheta());
-            return MathFunctions.copyVector(driveVector);
+            MathFunctions.scalarMultiplyVectorInto(unitTangentVector, MathFunctions.clamp(secondaryDrivePIDF.runPIDF() + driveFeedForward + secondaryDrivePIDFFeedForward * MathFunctions.getSign(driveError), -driveVectorScaler.getMaxPowerScaling(), driveVectorScaler.getMaxPowerScaling()), driveVector);
+            return MathFunctions.copyVectorInto(driveVector, drivePowerVector);
         }
 
         drivePIDF.updateError(driveError);
-        driveVector = new Vector(MathFunctions.clamp(drivePIDF.runPIDF() + drivePIDFFeedForward * MathFunctions.getSign(driveError), -driveVectorScaler.getMaxPowerScaling(), driveVectorScaler.getMaxPowerScaling()), currentPath.getClosestPointTangentVector().getTheta());
-        return MathFunctions.copyVector(driveVector);
+        MathFunctions.scalarMultiplyVectorInto(unitTangentVector, MathFunctions.clamp(drivePIDF.runPIDF() + driveFeedForward + drivePIDFFeedForward * MathFunctions.getSign(driveError), -driveVectorScaler.getMaxPowerScaling(), driveVectorScaler.getMaxPowerScaling()), driveVector);
+        return MathFunctions.copyVectorInto(driveVector, drivePowerVector);
+    }
+
+    /**
+     * This returns a unit Vector pointing in the direction of the robot's heading. This is only
+     * recalculated when the heading changes, so the heading and drive vectors can both use it
+     * without finding the sine and cosine of the heading every time.
+     *
+     * @param heading the heading of the robot.
+     * @return returns the unit Vector in the direction of the heading.
+     */
+    private Vector getRobotHeadingVector(double heading) {
+        if (heading != robotHeadingVectorHeading) {
+            robotHeadingVector.setComponents(1.0, heading);
+            robotHeadingVectorHeading = heading;
+        }
+        return robotHeadingVector;
     }
 
     /**
@@ -927,38 +1284,95 @@ public class Follower {
      * @return returns the projected velocity.
      */
     public double getDriveVelocityError() {
+        if (useMotionProfile) return getMotionProfileVelocityError();
+        driveFeedForward = 0;
+        poseUpdater.getPoseInto(robotPose);
+
         double distanceToGoal;
         if (!currentPath.isAtParametricEnd()) {
-            distanceToGoal = currentPath.length() * (1 - currentPath.getClosestPointTValue());
+            distanceToGoal = currentPath.getDistanceRemaining();
         } else {
-            Vector offset = new Vector();
-            offset.setOrthogonalComponents(getPose().getX() - currentPath.getLastControlPoint().getX(), getPose().getY() - currentPath.getLastControlPoint().getY());
-            distanceToGoal = MathFunctions.dotProduct(currentPath.getEndTangent(), offset);
+            offsetVector.setOrthogonalComponents(robotPose.getX() - currentPath.getLastControlPoint().getX(), robotPose.getY() - currentPath.getLastControlPoint().getY());
+            distanceToGoal = MathFunctions.dotProduct(currentPath.getEndTangentInto(endTangentVector), offsetVector);
         }
 
-        Vector distanceToGoalVector = MathFunctions.scalarMultiplyVector(MathFunctions.normalizeVector(currentPath.getClosestPointTangentVector()), distanceToGoal);
-        Vector velocity = new Vector(MathFunctions.dotProduct(getVelocity(), MathFunctions.normalizeVector(currentPath.getClosestPointTangentVector())), currentPath.getClosestPointTangentVector().getTheta());
+        currentPath.getClosestPointTangentVectorInto(tangentVector);
+        MathFunctions.normalizeVectorInto(tangentVector, unitTangentVector);
+        MathFunctions.scalarMultiplyVectorInto(unitTangentVector, distanceToGoal, distanceToGoalVector);
+        MathFunctions.scalarMultiplyVectorInto(unitTangentVector, MathFunctions.dotProduct(poseUpdater.getVelocityInto(robotVelocity), unitTangentVector), projectedVelocityVector);
 
-        Vector forwardHeadingVector = new Vector(1.0, poseUpdater.getPose().getHeading());
+        MathFunctions.copyVectorInto(getRobotHeadingVector(robotPose.getHeading()), forwardHeadingVector);
 
-        double forwardVelocity = MathFunctions.dotProduct(forwardHeadingVector, velocity);
+        double forwardVelocity = MathFunctions.dotProduct(forwardHeadingVector, projectedVelocityVector);
         double forwardDistanceToGoal = MathFunctions.dotProduct(forwardHeadingVector, distanceToGoalVector);
         double forwardVelocityGoal = MathFunctions.getSign(forwardDistanceToGoal) * Math.sqrt(Math.abs(-2 * currentPath.getZeroPowerAccelerationMultiplier() * forwardZeroPowerAcceleration * (forwardDistanceToGoal <= 0 ? 1 : -1) * forwardDistanceToGoal));
         double forwardVelocityZeroPowerDecay = forwardVelocity - MathFunctions.getSign(forwardDistanceToGoal) * Math.sqrt(Math.abs(Math.pow(forwardVelocity, 2) + 2 * forwardZeroPowerAcceleration * Math.abs(forwardDistanceToGoal)));
 
-        Vector lateralHeadingVector = new Vector(1.0, poseUpdater.getPose().getHeading() - Math.PI / 2);
-        double lateralVelocity = MathFunctions.dotProduct(lateralHeadingVector, velocity);
+        lateralHeadingVector.setOrthogonalComponents(forwardHeadingVector.getYComponent(), -forwardHeadingVector.getXComponent());
+        double lateralVelocity = MathFunctions.dotProduct(lateralHeadingVector, projectedVelocityVector);
         double lateralDistanceToGoal = MathFunctions.dotProduct(lateralHeadingVector, distanceToGoalVector);
 
         double lateralVelocityGoal = MathFunctions.getSign(lateralDistanceToGoal) * Math.sqrt(Math.abs(-2 * currentPath.getZeroPowerAccelerationMultiplier() * lateralZeroPowerAcceleration * (lateralDistanceToGoal <= 0 ? 1 : -1) * lateralDistanceToGoal));
         double lateralVelocityZeroPowerDecay = lateralVelocity - MathFunctions.getSign(lateralDistanceToGoal) * Math.sqrt(Math.abs(Math.pow(lateralVelocity, 2) + 2 * lateralZeroPowerAcceleration * Math.abs(lateralDistanceToGoal)));
 
-        Vector forwardVelocityError = new Vector(forwardVelocityGoal - forwardVelocityZeroPowerDecay - forwardVelocity, forwardHeadingVector.getTheta());
-        Vector lateralVelocityError = new Vector(lateralVelocityGoal - lateralVelocityZeroPowerDecay - lateralVelocity, lateralHeadingVector.getTheta());
-        Vector velocityErrorVector = MathFunctions.addVectors(forwardVelocityError, lateralVelocityError);
+        MathFunctions.scalarMultiplyVectorInto(forwardHeadingVector, forwardVelocityGoal - forwardVelocityZeroPowerDecay - forwardVelocity, forwardVelocityErrorVector);
+        MathFunctions.scalarMultiplyVectorInto(lateralHeadingVector, lateralVelocityGoal - lateralVelocityZeroPowerDecay - lateralVelocity, lateralVelocityErrorVector);
+        MathFunctions.addVectorsInto(forwardVelocityErrorVector, lateralVelocityErrorVector, velocityErrorVector);
+
+        return filterDriveError(velocityErrorVector.getMagnitude() * MathFunctions.getSign(MathFunctions.dotProduct(velocityErrorVector, tangentVector)));
+    }
+
+    /**
+     * This returns the difference between the velocity in the current Path's MotionProfile at the
+     * closest Point and the robot's velocity along the Path. This also sets the drive feedforward
+     * to the power needed to go at the MotionProfile's velocity and acceleration, so the drive PIDF
+     * only has to correct for what the feedforward misses. Once the robot is past the end of a Path
+     * that ends at rest, the velocity is whatever gets it back to the end at the max deceleration.
+     *
+     * @return returns the velocity error.
+     */
+    private double getMotionProfileVelocityError() {
+        MotionProfile profile = followingPathChain ? currentPathChain.getMotionProfile(chainIndex) : currentPath.getMotionProfile();
+        poseUpdater.getPoseInto(robotPose);
+
+        currentPath.getClosestPointTangentVectorInto(tangentVector);
+        MathFunctions.normalizeVectorInto(tangentVector, unitTangentVector);
+        double velocity = MathFunctions.dotProduct(poseUpdater.getVelocityInto(robotVelocity), unitTangentVector);
+
+        double velocityGoal;
+        double accelerationGoal;
+        if (currentPath.isAtParametricEnd() && (profile.getEndVelocity() == 0 || waitingForCallbacks)) {
+            offsetVector.setOrthogonalComponents(currentPath.getLastControlPoint().getX() - robotPose.getX(), currentPath.getLastControlPoint().getY() - robotPose.getY());
+            MathFunctions.normalizeVectorInto(currentPath.getEndTangentInto(endTangentVector), endTangentVector);
+            double distanceToGoal = MathFunctions.dotProduct(endTangentVector, offsetVector);
+            velocityGoal = MathFunctions.getSign(distanceToGoal) * Math.sqrt(2 * motionProfileMaxDeceleration * Math.abs(distanceToGoal));
+            accelerationGoal = 0;
+        } else {
+            double arcLength = currentPath.length() - currentPath.getDistanceRemaining();
+            velocityGoal = profile.getVelocity(arcLength);
+            accelerationGoal = profile.getAcceleration(arcLength);
+        }
+
+        // the power needed for a velocity depends on how much of it is forward and how much is strafing
+        Vector heading = getRobotHeadingVector(robotPose.getHeading());
+        double forward = MathFunctions.dotProduct(heading, unitTangentVector);
+        double lateral = heading.getYComponent() * unitTangentVector.getXComponent() - heading.getXComponent() * unitTangentVector.getYComponent();
+        double powerPerVelocity = Math.hypot(forward / xMovement, lateral / yMovement);
+        // the robot slows down on its own when the power is lowered, so only speeding up is fed forward
+        driveFeedForward = velocityGoal * powerPerVelocity + Math.max(0, accelerationGoal) * motionProfileAccelerationFeedForward;
 
+        return filterDriveError(velocityGoal - velocity);
+    }
+
+    /**
+     * This runs a raw drive error through the drive error Kalman filter.
+     *
+     * @param error the raw drive error.
+     * @return returns the filtered drive error.
+     */
+    private double filterDriveError(double error) {
         previousRawDriveError = rawDriveError;
-        rawDriveError = velocityErrorVector.getMagnitude() * MathFunctions.getSign(MathFunctions.dotProduct(velocityErrorVector, currentPath.getClosestPointTangentVector()));
+        rawDriveError = error;
 
         double projection = 2 * driveErrors[1] - driveErrors[0];
 
@@ -971,6 +1385,7 @@ public class Follower {
 
         return driveKalmanFilter.getState();
     }
+
     /**
      * This returns a Vector in the direction of the robot that contains the heading correction
      * as its magnitude. Positive heading correction turns the robot counter-clockwise, and negative
@@ -982,8 +1397,20 @@ public class Follower {
      * @return returns the heading vector.
      */
     public Vector getHeadingVector() {
-        if (!useHeading) return new Vector();
-        headingError = MathFunctions.getTurnDirection(poseUpdater.getPose().getHeading(), currentPath.getClosestPointHeadingGoal()) * MathFunctions.getSmallestAngleDifference(poseUpdater.getPose().getHeading(), currentPath.getClosestPointHeadingGoal());
+        return MathFunctions.copyVector(calculateHeadingVector());
+    }
+
+    /**
+     * This calculates the heading vector, just like getHeadingVector(), except that the Vector
+     * returned is reused every time this is called instead of being a new copy.
+     *
+     * @return returns the heading vector, which is overwritten the next time this is called.
+     */
+    private Vector calculateHeadingVector() {
+        if (!useHeading) return MathFunctions.copyVectorInto(zeroVector, headingPowerVector);
+        double heading = poseUpdater.getPoseInto(robotPose).getHeading();
+        double headingGoal = currentPath.getClosestPointHeadingGoal();
+        headingError = MathFunctions.getTurnDirection(heading, headingGoal) * MathFunctions.getSmallestAngleDifference(heading, headingGoal);
         if (Math.abs(headingError) < headingPIDFSwitch && useSecondaryHeadingPID) {
 //            if(logDebug) {
 //                Log.d("Follower_logger", "using secondary heading PIDF controller, error: "
@@ -991,12 +1418,12 @@ public class Follower {
 //
 //            }
             secondaryHeadingPIDF.updateError(headingError);
-            headingVector = new Vector(MathFunctions.clamp(secondaryHeadingPIDF.runPIDF() + secondaryHeadingPIDFFeedForward * MathFunctions.getTurnDirection(poseUpdater.getPose().getHeading(), currentPath.getClosestPointHeadingGoal()), -driveVectorScaler.getMaxPowerScaling(), driveVectorScaler.getMaxPowerScaling()), poseUpdater.getPose().getHeading());
-            return MathFunctions.copyVector(headingVector);
+            MathFunctions.scalarMultiplyVectorInto(getRobotHeadingVector(heading), MathFunctions.clamp(secondaryHeadingPIDF.runPIDF() + secondaryHeadingPIDFFeedForward * MathFunctions.getTurnDirection(heading, headingGoal), -driveVectorScaler.getMaxPowerScaling(), driveVectorScaler.getMaxPowerScaling()), headingVector);
+            return MathFunctions.copyVectorInto(headingVector, headingPowerVector);
         }
         headingPIDF.updateError(headingError);
-        headingVector = new Vector(MathFunctions.clamp(headingPIDF.runPIDF() + headingPIDFFeedForward * MathFunctions.getTurnDirection(poseUpdater.getPose().getHeading(), currentPath.getClosestPointHeadingGoal()), -driveVectorScaler.getMaxPowerScaling(), driveVectorScaler.getMaxPowerScaling()), poseUpdater.getPose().getHeading());
-        return MathFunctions.copyVector(headingVector);
+        MathFunctions.scalarMultiplyVectorInto(getRobotHeadingVector(heading), MathFunctions.clamp(headingPIDF.runPIDF() + headingPIDFFeedForward * MathFunctions.getTurnDirection(heading, headingGoal), -driveVectorScaler.getMaxPowerScaling(), driveVectorScaler.getMaxPowerScaling()), headingVector);
+        return MathFunctions.copyVectorInto(headingVector, headingPowerVector);
     }
 
     /**
@@ -1008,15 +1435,25 @@ public class Follower {
      * @return returns the corrective vector.
      */
     public Vector getCorrectiveVector() {
-        Vector centripetal = getCentripetalForceCorrection();
-        Vector translational = getTranslationalCorrection();
-        Vector corrective = MathFunctions.addVectors(centripetal, translational);
+        return MathFunctions.copyVector(calculateCorrectiveVector());
+    }
+
+    /**
+     * This calculates the corrective vector, just like getCorrectiveVector(), except that the
+     * Vector returned is reused every time this is called instead of being a new copy.
+     *
+     * @return returns the corrective vector, which is overwritten the next time this is called.
+     */
+    private Vector calculateCorrectiveVector() {
+        Vector centripetal = calculateCentripetalForceCorrection();
+        Vector translational = calculateTranslationalCorrection();
+        Vector corrective = MathFunctions.addVectorsInto(centripetal, translational, correctivePowerVector);
 
         if (corrective.getMagnitude() > driveVectorScaler.getMaxPowerScaling()) {
-            return MathFunctions.addVectors(centripetal, MathFunctions.scalarMultiplyVector(translational, driveVectorScaler.findNormalizingScaling(centripetal, translational)));
+            return MathFunctions.addVectorsInto(centripetal, MathFunctions.scalarMultiplyVectorInto(translational, driveVectorScaler.findNormalizingScaling(centripetal, translational), translational), correctivePowerVector);
         }
 
-        correctiveVector = MathFunctions.copyVector(corrective);
+        MathFunctions.copyVectorInto(corrective, correctiveVector);
 
         return corrective;
     }
@@ -1030,40 +1467,59 @@ public class Follower {
      * @return returns the translational correction vector.
      */
     public Vector getTranslationalCorrection() {
-        if (!useTranslational) return new Vector();
-        Vector translationalVector = new Vector();
-        double x = closestPose.getX() - poseUpdater.getPose().getX();
-        double y = closestPose.getY() - poseUpdater.getPose().getY();
+        return MathFunctions.copyVector(calculateTranslationalCorrection());
+    }
+
+    /**
+     * This calculates the translational correction, just like getTranslationalCorrection(), except
+     * that the Vector returned is reused every time this is called instead of being a new copy.
+     *
+     * @return returns the translational correction vector, which is overwritten the next time this is called.
+     */
+    private Vector calculateTranslationalCorrection() {
+        if (!useTranslational) return MathFunctions.copyVectorInto(zeroVector, translationalPowerVector);
+        Vector translationalVector = translationalPowerVector;
+        poseUpdater.getPoseInto(robotPose);
+        double x = closestPose.getX() - robotPose.getX();
+        double y = closestPose.getY() - robotPose.getY();
         translationalVector.setOrthogonalComponents(x, y);
 
         if (!(currentPath.isAtParametricEnd() || currentPath.isAtParametricStart())) {
-            translationalVector = MathFunctions.subtractVectors(translationalVector, new Vector(MathFunctions.dotProduct(translationalVector, MathFunctions.normalizeVector(currentPath.getClosestPointTangentVector())), currentPath.getClosestPointTangentVector().getTheta()));
+            currentPath.getClosestPointTangentVectorInto(tangentVector);
+            MathFunctions.normalizeVectorInto(tangentVector, unitTangentVector);
+
+            MathFunctions.scalarMultiplyVectorInto(unitTangentVector, MathFunctions.dotProduct(translationalVector, unitTangentVector), projectionVector);
+            MathFunctions.subtractVectorsInto(translationalVector, projectionVector, translationalVector);
 
-            secondaryTranslationalIntegralVector = MathFunctions.subtractVectors(secondaryTranslationalIntegralVector, new Vector(MathFunctions.dotProduct(secondaryTranslationalIntegralVector, MathFunctions.normalizeVector(currentPath.getClosestPointTangentVector())), currentPath.getClosestPointTangentVector().getTheta()));
-            translationalIntegralVector = MathFunctions.subtractVectors(translationalIntegralVector, new Vector(MathFunctions.dotProduct(translationalIntegralVector, MathFunctions.normalizeVector(currentPath.getClosestPointTangentVector())), currentPath.getClosestPointTangentVector().getTheta()));
+            MathFunctions.scalarMultiplyVectorInto(unitTangentVector, MathFunctions.dotProduct(secondaryTranslationalIntegralVector, unitTangentVector), projectionVector);
+            MathFunctions.subtractVectorsInto(secondaryTranslationalIntegralVector, projectionVector, secondaryTranslationalIntegralVector);
+            MathFunctions.scalarMultiplyVectorInto(unitTangentVector, MathFunctions.dotProduct(translationalIntegralVector, unitTangentVector), projectionVector);
+            MathFunctions.subtractVectorsInto(translationalIntegralVector, projectionVector, translationalIntegralVector);
         }
 
-        if (MathFunctions.distance(poseUpdater.getPose(), closestPose) < translationalPIDFSwitch && useSecondaryTranslationalPID) {
+        if (MathFunctions.distance(robotPose, closestPose) < translationalPIDFSwitch && useSecondaryTranslationalPID) {
             secondaryTranslationalIntegral.updateError(translationalVector.getMagnitude());
-            secondaryTranslationalIntegralVector = MathFunctions.addVectors(secondaryTranslationalIntegralVector, new Vector(secondaryTranslationalIntegral.runPIDF() - previousSecondaryTranslationalIntegral, translationalVector.getTheta()));
+            integralStepVector.setComponents(secondaryTranslationalIntegral.runPIDF() - previousSecondaryTranslationalIntegral, translationalVector.getTheta());
+            MathFunctions.addVectorsInto(secondaryTranslationalIntegralVector, integralStepVector, secondaryTranslationalIntegralVector);
             previousSecondaryTranslationalIntegral = secondaryTranslationalIntegral.runPIDF();
 
             secondaryTranslationalPIDF.updateError(translationalVector.getMagnitude());
             translationalVector.setMagnitude(secondaryTranslationalPIDF.runPIDF() + secondaryTranslationalPIDFFeedForward);
-            translationalVector = MathFunctions.addVectors(translationalVector, secondaryTranslationalIntegralVector);
+            MathFunctions.addVectorsInto(translationalVector, secondaryTranslationalIntegralVector, translationalVector);
         } else {
             translationalIntegral.updateError(translationalVector.getMagnitude());
-            translationalIntegralVector = MathFunctions.addVectors(translationalIntegralVector, new Vector(translationalIntegral.runPIDF() - previousTranslationalIntegral, translationalVector.getTheta()));
+            integralStepVector.setComponents(translationalIntegral.runPIDF() - previousTranslationalIntegral, translationalVector.getTheta());
+            MathFunctions.addVectorsInto(translationalIntegralVector, integralStepVector, translationalIntegralVector);
             previousTranslationalIntegral = translationalIntegral.runPIDF();
 
             translationalPIDF.updateError(translationalVector.getMagnitude());
             translationalVector.setMagnitude(translationalPIDF.runPIDF() + translationalPIDFFeedForward);
-            translationalVector = MathFunctions.addVectors(translationalVector, translationalIntegralVector);
+            MathFunctions.addVectorsInto(translationalVector, translationalIntegralVector, translationalVector);
         }
 
         translationalVector.setMagnitude(MathFunctions.clamp(translationalVector.getMagnitude(), 0, driveVectorScaler.getMaxPowerScaling()));
 
-        this.translationalVector = MathFunctions.copyVector(translationalVector);
+        MathFunctions.copyVectorInto(translationalVector, this.translationalVector);
 
         return translationalVector;
     }
@@ -1090,18 +1546,31 @@ public class Follower {
      * @return returns the centripetal force correction vector.
      */
     public Vector getCentripetalForceCorrection() {
-        if (!useCentripetal) return new Vector();
+        return MathFunctions.copyVector(calculateCentripetalForceCorrection());
+    }
+
+    /**
+     * This calculates the centripetal force correction, just like getCentripetalForceCorrection(),
+     * except that the Vector returned is reused every time this is called instead of being a new copy.
+     *
+     * @return returns the centripetal force correction vector, which is overwritten the next time this is called.
+     */
+    private Vector calculateCentripetalForceCorrection() {
+        if (!useCentripetal) return MathFunctions.copyVectorInto(zeroVector, centripetalPowerVector);
         double curvature;
         if (!teleopDrive) {
             curvature = currentPath.getClosestPointCurvature();
+            currentPath.getClosestPointTangentVectorInto(tangentVector);
         } else {
-            double yPrime = averageVelocity.getYComponent() / averageVelocity.getXComponent();
-            double yDoublePrime = averageAcceleration.getYComponent() / averageVelocity.getXComponent();
-            curvature = (yDoublePrime) / (Math.pow(Math.sqrt(1 + Math.pow(yPrime, 2)), 3));
+            // in teleop there is no Path, so the curve the robot is driving along is used instead
+            curvature = velocityEstimator.getCurvature();
+            MathFunctions.copyVectorInto(averageVelocity, tangentVector);
         }
-        if (Double.isNaN(curvature)) return new Vector();
-        centripetalVector = new Vector(MathFunctions.clamp(centripetalScaling * FollowerConstants.mass * Math.pow(MathFunctions.dotProduct(poseUpdater.getVelocity(), MathFunctions.normalizeVector(currentPath.getClosestPointTangentVector())), 2) * curvature, -driveVectorScaler.getMaxPowerScaling(), driveVectorScaler.getMaxPowerScaling()), currentPath.getClosestPointTangentVector().getTheta() + Math.PI / 2 * MathFunctions.getSign(currentPath.getClosestPointNormalVector().getTheta()));
-        return centripetalVector;
+        if (Double.isNaN(curvature)) return MathFunctions.copyVectorInto(zeroVector, centripetalPowerVector);
+        MathFunctions.normalizeVectorInto(tangentVector, unitTangentVector);
+        normalVector.setOrthogonalComponents(-unitTangentVector.getYComponent(), unitTangentVector.getXComponent());
+        MathFunctions.scalarMultiplyVectorInto(normalVector, MathFunctions.clamp(centripetalScaling * FollowerConstants.mass * Math.pow(MathFunctions.dotProduct(poseUpdater.getVelocityInto(robotVelocity), unitTangentVector), 2) * curvature, -driveVectorScaler.getMaxPowerScaling(), driveVectorScaler.getMaxPowerScaling()), centripetalVector);
+        return MathFunctions.copyVectorInto(centripetalVector, centripetalPowerVector);
     }
 
     /**
@@ -1112,7 +1581,7 @@ public class Follower {
      * @return returns the closest pose.
      */
     public Pose getClosestPose() {
-        return closestPose;
+        return closestPose.copy();
     }
 
     /**
@@ -1190,6 +1659,12 @@ public class Follower {
         telemetry.addData("velocity magnitude", getVelocity().getMagnitude());
         telemetry.addData("velocity heading", getVelocity().getTheta());
         driveKalmanFilter.debug(telemetry);
+        if (loopProfile.isEnabled()) {
+            loopProfile.debug(telemetry);
+        }
+        if (bulkReadManager.isManaging()) {
+            bulkReadManager.debug(telemetry);
+        }
         telemetry.update();
         if (drawOnDashboard) {
             Drawing.drawDebug(this);
@@ -1224,6 +1699,39 @@ public class Follower {
         return currentPath;
     }
 
+    /**
+     * This returns the LoopProfile, which times each stage of the update when it is enabled. The
+     * profile is off by default, and can be turned on with useLoopProfiling in the FollowerConstants
+     * or by enabling it here.
+     *
+     * @return returns the LoopProfile.
+     */
+    public LoopProfile getLoopProfile() {
+        return loopProfile;
+    }
+
+    /**
+     * This returns the BulkReadManager, which clears the bulk caches of the hubs at the start of
+     * each update when managing is turned on, and counts the reads and writes done each loop.
+     * Managing is off by default, and can be turned on with manageBulkReads in the
+     * FollowerConstants or by turning it on here.
+     *
+     * @return returns the BulkReadManager.
+     */
+    public BulkReadManager getBulkReadManager() {
+        return bulkReadManager;
+    }
+
+    /**
+     * This returns the MotorOutputCache, which keeps track of the last power written to each drive
+     * motor so that powers that barely changed aren't written again.
+     *
+     * @return returns the MotorOutputCache.
+     */
+    public MotorOutputCache getMotorOutputCache() {
+        return motorOutputCache;
+    }
+
     /**
      * This returns the pose tracker for the robot to draw on the Dashboard.
      *
@@ -1246,7 +1754,7 @@ public class Follower {
                 + " | closestPose:" + closestPose
                 + " | Pose: " + getPose()
                 + " | t-value: " + String.format("%3.5f",currentPath.getClosestPointTValue())
-                + " | zeroVelocityTimer: " +  String.format("%3.2f",(zeroVelocityDetectedTimer==null?0.0: zeroVelocityDetectedTimer.milliseconds()))
+                + " | zeroVelocityTimer: " +  String.format("%3.2f",(zeroVelocityDetectedTimer==null?0.0: (double) zeroVelocityDetectedTimer.getElapsedTime()))
                 + " | velocity: " + String.format("%3.2f",poseUpdater.getVelocity().getMagnitude())
                 + " | distance: " +  String.format("%3.2f",MathFunctions.distance(poseUpdater.getPose(), closestPose))
                 + " | heading (degree): " +  String.format("%3.2f",Math.toDegrees(MathFunctions.getSmallestAngleDifference(poseUpdater.getPose().getHeading(), currentPath.getClosestPointHeadingGoal())))
@@ -1309,7 +1817,17 @@ public class Follower {
      * @param radians the amount of radians to turn
      * @param isLeft true if turning left, false if turning right
      */
-    public void turn(double radians, boolean isLeft) {
+    public void turn(final double radians, final boolean isLeft) {
+        if (isControlledByScheduler()) {
+            controlScheduler.post(new Runnable() {
+                @Override
+                public void run() {
+                    turn(radians, isLeft);
+                }
+            }, true);
+            return;
+        }
+
         Pose temp = new Pose(getPose().getX(), getPose().getY(), getPose().getHeading() + (isLeft ? radians : -radians));
         holdPoint(temp);
         isTurning = true;
@@ -1319,7 +1837,17 @@ public class Follower {
     /** Turns to a specific heading
      * @param radians the heading in radians to turn to
      */
-    public void turnTo(double radians) {
+    public void turnTo(final double radians) {
+        if (isControlledByScheduler()) {
+            controlScheduler.post(new Runnable() {
+                @Override
+                public void run() {
+                    turnTo(radians);
+                }
+            }, true);
+            return;
+        }
+
         holdPoint(new Pose(getPose().getX(), getPose().getY(), Math.toRadians(radians)));
         isTurning = true;
         isBusy = true;
@@ -1350,7 +1878,17 @@ public class Follower {
      *
      * @param set PIDF coefficients you would like to set.
      */
-    public void setHeadingPIDF(CustomPIDFCoefficients set){
+    public void setHeadingPIDF(final CustomPIDFCoefficients set){
+        if (isControlledByScheduler()) {
+            controlScheduler.post(new Runnable() {
+                @Override
+                public void run() {
+                    setHeadingPIDF(set);
+                }
+            });
+            return;
+        }
+
         headingPIDF.setCoefficients(set);
     }
 
@@ -1360,7 +1898,17 @@ public class Follower {
      *
      * @param set PIDF coefficients you would like to set.
      */
-    public void setTranslationalPIDF(CustomPIDFCoefficients set){
+    public void setTranslationalPIDF(final CustomPIDFCoefficients set){
+        if (isControlledByScheduler()) {
+            controlScheduler.post(new Runnable() {
+                @Override
+                public void run() {
+                    setTranslationalPIDF(set);
+                }
+            });
+            return;
+        }
+
         translationalPIDF.setCoefficients(set);
     }
 
@@ -1370,7 +1918,17 @@ public class Follower {
      *
      * @param set PIDF coefficients you would like to set.
      */
-    public void setDrivePIDF(CustomFilteredPIDFCoefficients set){
+    public void setDrivePIDF(final CustomFilteredPIDFCoefficients set){
+        if (isControlledByScheduler()) {
+            controlScheduler.post(new Runnable() {
+                @Override
+                public void run() {
+                    setDrivePIDF(set);
+                }
+            });
+            return;
+        }
+
         drivePIDF.setCoefficients(set);
     }
 
@@ -1380,7 +1938,17 @@ public class Follower {
      *
      * @param set PIDF coefficients you would like to set.
      */
-    public void setSecondaryHeadingPIDF(CustomPIDFCoefficients set){
+    public void setSecondaryHeadingPIDF(final CustomPIDFCoefficients set){
+        if (isControlledByScheduler()) {
+            controlScheduler.post(new Runnable() {
+                @Override
+                public void run() {
+                    setSecondaryHeadingPIDF(set);
+                }
+            });
+            return;
+        }
+
         secondaryHeadingPIDF.setCoefficients(set);
     }
 
@@ -1390,7 +1958,17 @@ public class Follower {
      *
      * @param set PIDF coefficients you would like to set.
      */
-    public void setSecondaryTranslationalPIDF(CustomPIDFCoefficients set){
+    public void setSecondaryTranslationalPIDF(final CustomPIDFCoefficients set){
+        if (isControlledByScheduler()) {
+            controlScheduler.post(new Runnable() {
+                @Override
+                public void run() {
+                    setSecondaryTranslationalPIDF(set);
+                }
+            });
+            return;
+        }
+
         secondaryTranslationalPIDF.setCoefficients(set);
     }
 
@@ -1400,7 +1978,17 @@ public class Follower {
      *
      * @param set PIDF coefficients you would like to set.
      */
-    public void setSecondaryDrivePIDF(CustomFilteredPIDFCoefficients set){
+    public void setSecondaryDrivePIDF(final CustomFilteredPIDFCoefficients set){
+        if (isControlledByScheduler()) {
+            controlScheduler.post(new Runnable() {
+                @Override
+                public void run() {
+                    setSecondaryDrivePIDF(set);
+                }
+            });
+            return;
+        }
+
         secondaryDrivePIDF.setCoefficients(set);
     }
 
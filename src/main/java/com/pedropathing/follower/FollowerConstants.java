@@ -10,6 +10,7 @@ import com.pedropathing.pathgen.Vector;
 import com.pedropathing.util.CustomFilteredPIDFCoefficients;
 import com.pedropathing.util.CustomPIDFCoefficients;
 import com.pedropathing.util.KalmanFilterParameters;
+import com.pedropathing.util.VelocityEstimator;
 
 /**
  * This is the FollowerConstants class. It holds many constants and parameters for various parts of
@@ -66,6 +67,11 @@ public class FollowerConstants {
      *  Default Value: 0.01 */
     public static double motorCachingThreshold = 0.01;
 
+    /** Time (in seconds) before a motor's power is written again even if it hasn't changed
+     *  Set this to a negative number to only write the power when it changes
+     *  Default Value: 0.5 */
+    public static double motorCachingRefreshSeconds = 0.5;
+
     /** The Forward Velocity of the Robot - Different for each robot
      *  Default Value: 81.34056 */
     public static double xMovement = 81.34056;
@@ -176,6 +182,40 @@ public class FollowerConstants {
     public static double zeroPowerAccelerationMultiplier = 4;
 
 
+    /** Whether the drive control follows the MotionProfile made for each Path, instead of
+     * decelerating with the zero power acceleration. This also slows the robot down for tight
+     * curves in the middle of PathChains.
+     *  Default Value: false */
+    public static boolean useMotionProfile = false;
+
+    /** The max velocity of the MotionProfile in inches/second
+     * This should be less than xMovement and yMovement, so there is power left over to correct with
+     *  Default Value: 60 */
+    public static double motionProfileMaxVelocity = 60;
+
+    /** The max acceleration of the MotionProfile in inches/second^2
+     *  Default Value: 60 */
+    public static double motionProfileMaxAcceleration = 60;
+
+    /** The max deceleration of the MotionProfile in inches/second^2 (should be positive)
+     *  Default Value: 60 */
+    public static double motionProfileMaxDeceleration = 60;
+
+    /** The max centripetal acceleration of the MotionProfile in inches/second^2, which limits
+     * how fast the robot goes around curves
+     *  Default Value: 60 */
+    public static double motionProfileMaxCentripetalAcceleration = 60;
+
+    /** The most arc length between samples of the MotionProfile in inches
+     *  Default Value: 0.5 */
+    public static double motionProfileSampleSpacing = 0.5;
+
+    /** Power added on to the drive power for each inch/second^2 of acceleration in the MotionProfile
+     * This is only added while speeding up, since the robot slows down on its own when the power is lowered
+     *  Default Value: 0.004 */
+    public static double motionProfileAccelerationFeedForward = 0.004;
+
+
     /** When the robot is at the end of its current Path or PathChain and the velocity goes below
      * this value, then end the Path. This is in inches/second.
      * This can be custom set for each Path.
@@ -206,9 +246,11 @@ public class FollowerConstants {
      *  Default Value: 500 */
     public static double pathEndTimeoutConstraint = 500;
 
-    /** This is how many steps the BezierCurve class uses to approximate the length of a BezierCurve.
-     * @see #BEZIER_CURVE_SEARCH_LIMIT
+    /** This used to be how many steps the BezierCurve class used to approximate the length of a BezierCurve.
+     * BezierCurves now build an adaptive arc length table instead, so this is no longer used.
+     * @deprecated BezierCurve lengths are integrated with adaptive Gauss-Legendre quadrature.
      *  Default Value: 1000 */
+    @Deprecated
     public static int APPROXIMATION_STEPS = 1000;
 
     /** This scales the translational error correction power when the Follower is holding a Point.
@@ -226,9 +268,26 @@ public class FollowerConstants {
      *  Default Value: 8 */
     public static int AVERAGED_VELOCITY_SAMPLE_NUMBER = 8;
 
+    /** This is how the velocity and acceleration for the on the fly centripetal correction are estimated
+     * from the velocity samples. VelocityEstimator.MOVING_AVERAGE averages each half of the samples,
+     * VelocityEstimator.SAVITZKY_GOLAY fits a parabola through them, and VelocityEstimator.ALPHA_BETA
+     * uses an alpha-beta filter
+     * @see #AVERAGED_VELOCITY_SAMPLE_NUMBER
+     *  Default Value: VelocityEstimator.MOVING_AVERAGE */
+    public static int velocityEstimatorMode = VelocityEstimator.MOVING_AVERAGE;
+
+    /** This is how far the alpha-beta velocity estimate moves toward each velocity sample, from 0 to 1
+     * @see #velocityEstimatorMode
+     *  Default Value: 0.5 */
+    public static double velocityEstimatorAlpha = 0.5;
+
+    /** This is how far the alpha-beta acceleration estimate moves toward what each velocity sample says, from 0 to 1
+     * @see #velocityEstimatorMode
+     *  Default Value: 0.1 */
+    public static double velocityEstimatorBeta = 0.1;
+
     /** This is the number of steps the search for the closest point uses. More steps lead to bigger
      * accuracy. However, more steps also take more time.
-     * @see #APPROXIMATION_STEPS
      *  Default Value: 10 */
     public static int BEZIER_CURVE_SEARCH_LIMIT = 10;
 
@@ -325,6 +384,13 @@ public class FollowerConstants {
      *  Default Value: true */
     public static boolean automaticHoldEnd = true;
 
+    /** Boolean that determines if the Follower moves on to the next Path in a PathChain without stopping
+     *  With this on, the PIDFs keep their state and the motors aren't stopped between Paths, so there is no stutter
+     *  With this off, everything is reset at the start of each Path like at the start of the PathChain
+     *  This is off by default, so turn it on once your PIDFs are tuned to see if it helps your PathChains
+     *  Default Value: false */
+    public static boolean useContinuousPathChainTransitions = false;
+
     /** Use voltage compensation to linearly scale motor powers in Auto
      *  Requires fully re-tuning if you set it to true
      *  Default Value: false */
@@ -350,4 +416,37 @@ public class FollowerConstants {
      *  In Radians
      *  Default Value: 0.01 */
     public static double turnHeadingErrorThreshold = 0.01;
+
+    /** Time each stage of the Follower's update and keep track of the timings in the loop profile
+     *  This can also be turned on and off later through the Follower's loop profile
+     *  Default Value: false */
+    public static boolean useLoopProfiling = false;
+
+    /** Put the hubs into the manual bulk caching mode and clear the bulk caches once at the start of each update
+     *  With this on, all the encoder reads in a loop share one bulk read per hub
+     *  Default Value: false */
+    public static boolean manageBulkReads = false;
+
+    /** Update the localizer on its own thread instead of in the Follower's update
+     *  With this on, the Follower reads the latest pose without waiting on the localizer's hardware
+     *  This turns off manageBulkReads, since the thread reads the hubs on its own schedule
+     *  Default Value: false */
+    public static boolean useAsyncLocalization = false;
+
+    /** How many times per second the localization thread updates the localizer
+     *  Default Value: 250 */
+    public static double localizationThreadRate = 250;
+
+    /** How many of the most recent poses the Pose Updater keeps, for applying measurements that show up late
+     *  This has to cover the latency of the slowest measurement, like a camera, at the loop rate
+     *  Default Value: 200 */
+    public static int poseHistorySize = 200;
+
+    /** How many threads the worker pool for PathCallbacks that don't run inline has
+     *  Default Value: 2 */
+    public static int callbackWorkerThreads = 2;
+
+    /** How many PathCallbacks can wait in the worker pool's queue before more are turned away
+     *  Default Value: 16 */
+    public static int callbackQueueSize = 16;
 }
@@ -0,0 +1,201 @@
+package com.pedropathing.follower;
+
+import com.pedropathing.util.BulkReadManager;
+import com.pedropathing.util.Clock;
+import com.qualcomm.robotcore.hardware.DcMotorEx;
+
+import java.util.List;
+
+/**
+ * This is the MotorOutputCache class. This keeps track of the last power written to each drive
+ * motor, so the Follower can skip writing powers that barely changed without having to read the
+ * power back from the hub, which would be another transaction with the hub for every motor.
+ *
+ * Each loop, the powers for every motor are handed over at once. The voltage compensation is
+ * applied to all of them together, then every motor whose power changed by more than its
+ * threshold since it was last written gets written, one after another. A motor is also written if
+ * it hasn't been written in longer than the refresh interval, so a write that somehow got lost on
+ * the way to the hub doesn't stay lost.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class MotorOutputCache {
+    private final DcMotorEx[] motors;
+    private final BulkReadManager bulkReadManager;
+
+    private final double[] lastPowers;
+    private final long[] lastWriteTimes;
+    private final double[] thresholds;
+
+    private long refreshIntervalNano;
+    private int lastWriteCount;
+    private long totalWrites;
+    private long totalSkips;
+
+    /**
+     * This creates a new MotorOutputCache for a list of motors. Every motor starts off with the
+     * threshold and refresh interval from the FollowerConstants, and with no power known, so the
+     * first power set on each motor is always written.
+     *
+     * @param motors the motors, in the same order as the powers that will be set.
+     * @param bulkReadManager the BulkReadManager to write through, so the writes are counted.
+     */
+    public MotorOutputCache(List<DcMotorEx> motors, BulkReadManager bulkReadManager) {
+        this.motors = motors.toArray(new DcMotorEx[0]);
+        this.bulkReadManager = bulkReadManager;
+        lastPowers = new double[this.motors.length];
+        lastWriteTimes = new long[this.motors.length];
+        thresholds = new double[this.motors.length];
+        for (int i = 0; i < thresholds.length; i++) {
+            thresholds[i] = FollowerConstants.motorCachingThreshold;
+        }
+        setRefreshInterval(FollowerConstants.motorCachingRefreshSeconds);
+        invalidate();
+    }
+
+    /**
+     * This sets the powers of the motors, multiplied by the voltage compensation. Only the motors
+     * whose power changed by more than their threshold, or that haven't been written in longer than
+     * the refresh interval, are actually written.
+     *
+     * @param powers the powers for the motors, in the same order as the motors.
+     * @param voltageScaling what to multiply every power by, which is 1 for no voltage compensation.
+     * @return returns the number of motors written.
+     */
+    public int setPowers(double[] powers, double voltageScaling) {
+        long now = Clock.nanoTime();
+        int writes = 0;
+        for (int i = 0; i < motors.length; i++) {
+            double power = powers[i] * voltageScaling;
+            if (Math.abs(power - lastPowers[i]) > thresholds[i] || Double.isNaN(lastPowers[i])
+                    || (refreshIntervalNano >= 0 && now - lastWriteTimes[i] > refreshIntervalNano)) {
+                write(i, power, now);
+                writes++;
+            } else {
+                totalSkips++;
+            }
+        }
+        lastWriteCount = writes;
+        return writes;
+    }
+
+    /**
+     * This sets the power of every motor to zero, writing all of them no matter what was written
+     * before.
+     */
+    public void stop() {
+        long now = Clock.nanoTime();
+        for (int i = 0; i < motors.length; i++) {
+            write(i, 0, now);
+        }
+        lastWriteCount = motors.length;
+    }
+
+    /**
+     * This writes a power to a motor and remembers it.
+     *
+     * @param index the index of the motor.
+     * @param power the power to write.
+     * @param now the current time, in nanoseconds.
+     */
+    private void write(int index, double power, long now) {
+        bulkReadManager.setPower(motors[index], power);
+        lastPowers[index] = power;
+        lastWriteTimes[index] = now;
+        totalWrites++;
+    }
+
+    /**
+     * This forgets the last powers written, so the next power set on every motor is written. This
+     * should be used if something other than this sets the powers of the motors.
+     */
+    public void invalidate() {
+        for (int i = 0; i < lastPowers.length; i++) {
+            lastPowers[i] = Double.NaN;
+        }
+    }
+
+    /**
+     * This sets how much the power of a motor has to change by before it is written again.
+     *
+     * @param index the index of the motor, in the same order as the motors.
+     * @param threshold the threshold.
+     */
+    public void setThreshold(int index, double threshold) {
+        thresholds[index] = threshold;
+    }
+
+    /**
+     * This sets how much the power of every motor has to change by before it is written again.
+     *
+     * @param threshold the threshold.
+     */
+    public void setThreshold(double threshold) {
+        for (int i = 0; i < thresholds.length; i++) {
+            thresholds[i] = threshold;
+        }
+    }
+
+    /**
+     * This returns how much the power of a motor has to change by before it is written again.
+     *
+     * @param index the index of the motor, in the same order as the motors.
+     * @return returns the threshold.
+     */
+    public double getThreshold(int index) {
+        return thresholds[index];
+    }
+
+    /**
+     * This sets the longest a motor can go without being written, even if its power hasn't
+     * changed. A negative interval means the motors are only written when their powers change.
+     *
+     * @param seconds the refresh interval, in seconds.
+     */
+    public void setRefreshInterval(double seconds) {
+        if (seconds < 0) {
+            refreshIntervalNano = -1;
+        } else {
+            refreshIntervalNano = (long) (seconds * 1e9);
+        }
+    }
+
+    /**
+     * This returns the last power written to a motor.
+     *
+     * @param index the index of the motor, in the same order as the motors.
+     * @return returns the last power written, or NaN if nothing has been written since the last
+     *         invalidate.
+     */
+    public double getLastPower(int index) {
+        return lastPowers[index];
+    }
+
+    /**
+     * This returns the number of motors written the last time the powers were set.
+     *
+     * @return returns the number of motors written.
+     */
+    public int getLastWriteCount() {
+        return lastWriteCount;
+    }
+
+    /**
+     * This returns the total number of motor writes done.
+     *
+     * @return returns the number of writes.
+     */
+    public long getTotalWrites() {
+        return totalWrites;
+    }
+
+    /**
+     * This returns the total number of motor writes skipped because the power didn't change enough.
+     *
+     * @return returns the number of writes skipped.
+     */
+    public long getTotalSkips() {
+        return totalSkips;
+    }
+}
@@ -1,5 +1,6 @@
 package com.pedropathing.localization;
 
+import com.pedropathing.util.BulkReadManager;
 import com.qualcomm.robotcore.hardware.DcMotor;
 import com.qualcomm.robotcore.hardware.DcMotorEx;
 import com.qualcomm.robotcore.hardware.DcMotorSimple;
@@ -13,6 +14,7 @@ import com.qualcomm.robotcore.hardware.DcMotorSimple;
  */
 public class Encoder {
     private DcMotorEx motor;
+    private BulkReadManager bulkReadManager;
     private double previousPosition;
     private double currentPosition;
     private double multiplier;
@@ -25,7 +27,19 @@ public class Encoder {
      * @param setMotor the motor this will be tracking
      */
     public Encoder(DcMotorEx setMotor) {
+        this(setMotor, null);
+    }
+
+    /**
+     * This creates a new Encoder from a DcMotorEx that reads its position through a BulkReadManager,
+     * so that all the Encoders on a hub share one bulk read each loop.
+     *
+     * @param setMotor the motor this will be tracking
+     * @param setBulkReadManager the BulkReadManager to read through, or null to read the motor directly
+     */
+    public Encoder(DcMotorEx setMotor, BulkReadManager setBulkReadManager) {
         motor = setMotor;
+        bulkReadManager = setBulkReadManager;
         multiplier = FORWARD;
         reset();
     }
@@ -46,8 +60,13 @@ public class Encoder {
      */
     public void reset() {
         motor.setMode(DcMotor.RunMode.STOP_AND_RESET_ENCODER);
-        previousPosition = motor.getCurrentPosition();
-        currentPosition = motor.getCurrentPosition();
+        // the bulk cache still has the position from before the reset, so this has to skip it
+        if (bulkReadManager != null) {
+            previousPosition = bulkReadManager.getFreshCurrentPosition(motor);
+        } else {
+            previousPosition = motor.getCurrentPosition();
+        }
+        currentPosition = previousPosition;
         motor.setMode(DcMotor.RunMode.RUN_WITHOUT_ENCODER);
     }
 
@@ -56,7 +75,11 @@ public class Encoder {
      */
     public void update() {
         previousPosition = currentPosition;
-        currentPosition = motor.getCurrentPosition();
+        if (bulkReadManager != null) {
+            currentPosition = bulkReadManager.getCurrentPosition(motor);
+        } else {
+            currentPosition = motor.getCurrentPosition();
+        }
     }
 
     /**
@@ -0,0 +1,82 @@
+package com.pedropathing.localization;
+
+/**
+ * This is the IMUSample class. This holds one sample from an IMUSampler: the yaw, the total yaw,
+ * the time it was taken at, and how many samples had been taken by then. IMUSampler.read() fills
+ * one of these in, so a localizer can keep one around and reuse it every loop.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class IMUSample {
+    private double yaw;
+    private double totalYaw;
+    private long sampleTime;
+    private long sampleCount;
+    private boolean failing;
+
+    /**
+     * This sets every value of the sample at once.
+     *
+     * @param yaw the yaw, in radians.
+     * @param totalYaw the total yaw, in radians.
+     * @param sampleTime the time the sample was taken at, in nanoseconds.
+     * @param sampleCount the number of samples taken, counting this one.
+     * @param failing whether the IMU was failing when this was read.
+     */
+    void set(double yaw, double totalYaw, long sampleTime, long sampleCount, boolean failing) {
+        this.yaw = yaw;
+        this.totalYaw = totalYaw;
+        this.sampleTime = sampleTime;
+        this.sampleCount = sampleCount;
+        this.failing = failing;
+    }
+
+    /**
+     * This returns the yaw of the sample, between -pi and pi radians.
+     *
+     * @return returns the yaw, in radians.
+     */
+    public double getYaw() {
+        return yaw;
+    }
+
+    /**
+     * This returns the total yaw of the sample, which is how far the IMU had turned in total, not
+     * clamped between -pi and pi radians and not changed by resets.
+     *
+     * @return returns the total yaw, in radians.
+     */
+    public double getTotalYaw() {
+        return totalYaw;
+    }
+
+    /**
+     * This returns the time the sample was taken at, from the Clock.
+     *
+     * @return returns the time of the sample, in nanoseconds.
+     */
+    public long getSampleTime() {
+        return sampleTime;
+    }
+
+    /**
+     * This returns the number of samples that had been taken, counting this one. If this is the
+     * same as the last sample's, there hasn't been a new sample.
+     *
+     * @return returns the number of samples.
+     */
+    public long getSampleCount() {
+        return sampleCount;
+    }
+
+    /**
+     * This returns whether the IMU was failing when this was read. If it was, this is the last
+     * sample that worked, and it won't change until the IMU works again.
+     *
+     * @return returns if the IMU was failing.
+     */
+    public boolean isFailing() {
+        return failing;
+    }
+}
@@ -0,0 +1,340 @@
+package com.pedropathing.localization;
+
+import com.pedropathing.pathgen.MathFunctions;
+import com.pedropathing.util.Clock;
+import com.qualcomm.robotcore.hardware.IMU;
+
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This is the IMUSampler class. This reads the yaw of an IMU on its own thread at a fixed rate, so
+ * that the slow I2C read of the IMU never holds up the loop. Every sample is time stamped, and the
+ * latest one can be read at any time without waiting.
+ *
+ * Along with the latest yaw, this keeps track of the total yaw, which is how far the IMU has turned
+ * in total, not clamped between -pi and pi radians. The total yaw doesn't jump when the yaw is
+ * reset, so something that only cares about how much the robot turned between two samples can use
+ * the difference in total yaw and never has to worry about resets or the yaw wrapping around.
+ *
+ * Like the LocalizationThread, the thread stops itself if nothing has read from it in a while, so it
+ * doesn't keep running after the OpMode that started it has ended, and it gets started again the
+ * next time it is read from.
+ *
+ * A read that throws is tried again on the next sample, so one bad I2C transaction doesn't stop the
+ * thread. If the IMU keeps throwing, the sampler marks itself as failing and keeps trying on the
+ * thread, just less often, so whoever asks for the yaw never waits on the broken IMU. While it is
+ * failing, reads keep returning the last sample that worked, and both getFailure and the
+ * IMUSample's failing flag say so. Once a read works again, the failure is cleared.
+ *
+ * The yaw, total yaw, time, and sample count of each sample are published together through a
+ * sequence lock, the same way the PoseSnapshotBuffer does it, so read() never mixes up two samples.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class IMUSampler implements Runnable {
+    // The thread stops itself if nothing reads from it for this long, in nanoseconds
+    private final long IDLE_TIMEOUT = 1000000000L;
+
+    // The sampler is marked as failing after this many failed reads in a row
+    private final int MAX_CONSECUTIVE_FAILURES = 5;
+
+    // While the sampler is failing, the IMU is only tried this often, in nanoseconds
+    private final long FAILURE_RETRY_PERIOD = 100000000L;
+
+    private final IMU imu;
+
+    private volatile long periodNano;
+    private volatile boolean running;
+    private volatile boolean resetRequested;
+    private volatile long lastReadTime;
+    private volatile RuntimeException failure;
+    private volatile Thread thread;
+    private int consecutiveFailures;
+
+    // Only one thread at a time can take samples, since the sequence lock only allows one writer
+    private final Object sampleLock = new Object();
+
+    // These are published through a sequence lock. Every field is volatile so that reads and
+    // writes of them can't be moved past the sequence number.
+    private volatile long sequence;
+    private volatile double yaw;
+    private volatile double totalYaw;
+    private volatile long sampleTime;
+    private volatile long samples;
+
+    /**
+     * This creates a new IMUSampler for an IMU. This doesn't start the thread.
+     *
+     * @param imu the IMU to read from.
+     * @param rateHz how many times per second to read the IMU.
+     */
+    public IMUSampler(IMU imu, double rateHz) {
+        this.imu = imu;
+        setRate(rateHz);
+    }
+
+    /**
+     * This sets how many times per second the IMU is read. If a read takes longer than this allows,
+     * the next read starts right away.
+     *
+     * @param rateHz the sample rate, in samples per second.
+     */
+    public void setRate(double rateHz) {
+        periodNano = (long) (1e9 / rateHz);
+    }
+
+    /**
+     * This starts the thread, if it isn't running already. The first time this is called, the IMU
+     * is read once first, so there is always a sample to read. If that read throws, the sampler
+     * starts off failing and the thread keeps trying. Starting the thread again after it stopped
+     * never reads the IMU here, so it never waits on the IMU.
+     */
+    public synchronized void start() {
+        if (running) return;
+        lastReadTime = System.nanoTime();
+        if (samples == 0 && failure == null) {
+            try {
+                sample();
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+        }
+        consecutiveFailures = 0;
+        running = true;
+        thread = new Thread(this, "Pedro Pathing IMU");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * This stops the thread and waits a little bit for it to finish the read it is on.
+     */
+    public synchronized void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+    }
+
+    /**
+     * This returns whether the thread is running.
+     *
+     * @return returns if the thread is running.
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * This reads the IMU at the fixed rate until the thread is stopped or nothing has read from it
+     * in a while. While the IMU is failing, it is read less often.
+     */
+    @Override
+    public void run() {
+        long nextSampleTime = System.nanoTime();
+        while (running && thread == Thread.currentThread() && !Thread.currentThread().isInterrupted()) {
+            try {
+                if (resetRequested) {
+                    resetYawNow();
+                } else {
+                    sample();
+                }
+                consecutiveFailures = 0;
+                failure = null;
+            } catch (RuntimeException e) {
+                // a failed read is tried again on the next sample, and the sampler is only marked
+                // as failing if the IMU keeps failing
+                if (++consecutiveFailures >= MAX_CONSECUTIVE_FAILURES) {
+                    failure = e;
+                }
+            }
+
+            long now = System.nanoTime();
+            if (now - lastReadTime > IDLE_TIMEOUT) {
+                stopSelf();
+                break;
+            }
+
+            nextSampleTime += failure != null ? Math.max(periodNano, FAILURE_RETRY_PERIOD) : periodNano;
+            if (nextSampleTime > now) {
+                LockSupport.parkNanos(nextSampleTime - now);
+            } else {
+                nextSampleTime = now;
+            }
+        }
+    }
+
+    /**
+     * This marks the thread as stopped from inside the thread, unless a new thread has already been
+     * started in its place.
+     */
+    private synchronized void stopSelf() {
+        if (thread == Thread.currentThread()) {
+            running = false;
+        }
+    }
+
+    /**
+     * This reads the IMU once and publishes the sample. The total yaw goes up by the smallest
+     * difference between this yaw and the last one.
+     */
+    private void sample() {
+        synchronized (sampleLock) {
+            double newYaw = imu.getRobotYawPitchRollAngles().getYaw(AngleUnit.RADIANS);
+            double newTotalYaw = totalYaw;
+            if (samples > 0) {
+                newTotalYaw += MathFunctions.getTurnDirection(yaw, newYaw) * MathFunctions.getSmallestAngleDifference(newYaw, yaw);
+            }
+            publish(newYaw, newTotalYaw, Clock.nanoTime());
+        }
+    }
+
+    /**
+     * This resets the yaw of the IMU and publishes a sample from right after the reset, without
+     * changing the total yaw.
+     */
+    private void resetYawNow() {
+        synchronized (sampleLock) {
+            resetRequested = false;
+            imu.resetYaw();
+            publish(imu.getRobotYawPitchRollAngles().getYaw(AngleUnit.RADIANS), totalYaw, Clock.nanoTime());
+        }
+    }
+
+    /**
+     * This publishes a new sample through the sequence lock. This must only be called while
+     * holding the sample lock.
+     *
+     * @param newYaw the yaw, in radians.
+     * @param newTotalYaw the total yaw, in radians.
+     * @param newSampleTime the time the sample was taken at, in nanoseconds.
+     */
+    private void publish(double newYaw, double newTotalYaw, long newSampleTime) {
+        long next = sequence + 1;
+        sequence = next;
+        yaw = newYaw;
+        totalYaw = newTotalYaw;
+        sampleTime = newSampleTime;
+        samples = samples + 1;
+        sequence = next + 1;
+    }
+
+    /**
+     * This resets the yaw of the IMU. If the thread is running, the reset is done on the thread
+     * before its next sample, so this doesn't wait on the IMU, and the latest yaw will still be from
+     * before the reset until then. The total yaw isn't changed by a reset.
+     */
+    public synchronized void resetYaw() {
+        if (running) {
+            resetRequested = true;
+        } else {
+            resetYawNow();
+        }
+    }
+
+    /**
+     * This marks that something has read from the sampler, and starts the thread back up if it
+     * stopped itself.
+     */
+    private void markRead() {
+        lastReadTime = System.nanoTime();
+        if (!running) {
+            start();
+        }
+    }
+
+    /**
+     * This reads the latest sample into the specified IMUSample. The yaw, total yaw, time, and
+     * sample count always all come from the same sample. If the sampler is failing, this is the
+     * last sample that worked, and the IMUSample is marked as failing.
+     *
+     * @param sample the IMUSample to put the latest sample into.
+     * @return returns the same IMUSample that was passed in.
+     */
+    public IMUSample read(IMUSample sample) {
+        markRead();
+        while (true) {
+            long start = sequence;
+            if ((start & 1) == 0) {
+                double readYaw = yaw;
+                double readTotalYaw = totalYaw;
+                long readSampleTime = sampleTime;
+                long readSamples = samples;
+                if (sequence == start) {
+                    sample.set(readYaw, readTotalYaw, readSampleTime, readSamples, failure != null);
+                    return sample;
+                }
+            }
+            Thread.yield();
+        }
+    }
+
+    /**
+     * This returns the yaw of the latest sample, between -pi and pi radians.
+     *
+     * @return returns the latest yaw, in radians.
+     */
+    public double getYaw() {
+        markRead();
+        return yaw;
+    }
+
+    /**
+     * This returns the total yaw of the latest sample, which is how far the IMU has turned in total,
+     * not clamped between -pi and pi radians and not changed by resets.
+     *
+     * @return returns the latest total yaw, in radians.
+     */
+    public double getTotalYaw() {
+        markRead();
+        return totalYaw;
+    }
+
+    /**
+     * This returns the time the latest sample was taken at, from the Clock.
+     *
+     * @return returns the time of the latest sample, in nanoseconds.
+     */
+    public long getSampleTime() {
+        return sampleTime;
+    }
+
+    /**
+     * This returns the number of samples taken so far. If this hasn't changed since the last time
+     * it was checked, there hasn't been a new sample.
+     *
+     * @return returns the number of samples.
+     */
+    public long getSampleCount() {
+        markRead();
+        return samples;
+    }
+
+    /**
+     * This returns the exception the IMU last threw, if the sampler is failing because the IMU has
+     * thrown too many times in a row. This is cleared once a read works again.
+     *
+     * @return returns the exception, or null if the sampler isn't failing.
+     */
+    public RuntimeException getFailure() {
+        return failure;
+    }
+
+    /**
+     * This returns the IMU being read from.
+     *
+     * @return returns the IMU.
+     */
+    public IMU getIMU() {
+        return imu;
+    }
+}
@@ -0,0 +1,212 @@
+package com.pedropathing.localization;
+
+import com.pedropathing.pathgen.Vector;
+import com.pedropathing.util.Clock;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This is the LocalizationThread class. This runs a Localizer's update on its own thread at a fixed
+ * rate, so that slow reads from the localizer's hardware don't hold up the Follower's loop, and the
+ * Follower's loop doesn't hold up the localizer. After every update, the pose, velocity, and the
+ * time they were measured at are published through a PoseSnapshotBuffer, which the PoseUpdater
+ * reads from without ever having to wait on the localizer.
+ *
+ * Anything else that touches the Localizer while the thread is running, like setting the pose,
+ * has to be done while holding the lock, which the PoseUpdater takes care of. The thread stops
+ * itself if nothing has read from it in a while, so it doesn't keep running after the OpMode that
+ * started it has ended. It gets started again the next time the PoseUpdater is updated.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class LocalizationThread implements Runnable {
+    // The thread stops itself if nothing reads from it for this long, in nanoseconds
+    private final long IDLE_TIMEOUT = 1000000000L;
+
+    private final Localizer localizer;
+    private final Object lock;
+    private final PoseSnapshotBuffer buffer = new PoseSnapshotBuffer();
+
+    // These are only used while holding the lock
+    private final Pose pose = new Pose();
+    private final Vector velocity = new Vector();
+
+    private volatile long periodNano;
+    private volatile boolean running;
+    private volatile long lastReadTime;
+    private volatile long updates;
+    private volatile long overruns;
+    private volatile RuntimeException failure;
+    private volatile Thread thread;
+
+    /**
+     * This creates a new LocalizationThread for a Localizer. This doesn't start the thread.
+     *
+     * @param localizer the Localizer to update.
+     * @param lock the lock that everything touching the Localizer holds.
+     * @param rateHz how many times per second to update the Localizer.
+     */
+    public LocalizationThread(Localizer localizer, Object lock, double rateHz) {
+        this.localizer = localizer;
+        this.lock = lock;
+        setRate(rateHz);
+    }
+
+    /**
+     * This sets how many times per second the Localizer is updated. If an update takes longer than
+     * this allows, the next update starts right away.
+     *
+     * @param rateHz the update rate, in updates per second.
+     */
+    public void setRate(double rateHz) {
+        periodNano = (long) (1e9 / rateHz);
+    }
+
+    /**
+     * This starts the thread, if it isn't running already. The current pose of the Localizer is
+     * published first, so there is always something to read.
+     */
+    public synchronized void start() {
+        if (running) return;
+        failure = null;
+        publish();
+        lastReadTime = System.nanoTime();
+        running = true;
+        thread = new Thread(this, "Pedro Pathing Localization");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.start();
+    }
+
+    /**
+     * This stops the thread and waits a little bit for it to finish the update it is on.
+     */
+    public synchronized void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+    }
+
+    /**
+     * This returns whether the thread is running.
+     *
+     * @return returns if the thread is running.
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * This updates the Localizer at the fixed rate until the thread is stopped, nothing has read
+     * from it in a while, or the Localizer throws an exception.
+     */
+    @Override
+    public void run() {
+        long nextUpdateTime = System.nanoTime();
+        // a thread that was told to stop but hasn't finished yet won't keep going after a new one starts
+        while (running && thread == Thread.currentThread() && !Thread.currentThread().isInterrupted()) {
+            try {
+                synchronized (lock) {
+                    localizer.update();
+                    publishLocked();
+                }
+            } catch (RuntimeException e) {
+                failure = e;
+                stopSelf();
+                break;
+            }
+            updates++;
+
+            long now = System.nanoTime();
+            if (now - lastReadTime > IDLE_TIMEOUT) {
+                stopSelf();
+                break;
+            }
+
+            nextUpdateTime += periodNano;
+            if (nextUpdateTime > now) {
+                LockSupport.parkNanos(nextUpdateTime - now);
+            } else {
+                nextUpdateTime = now;
+                overruns++;
+            }
+        }
+    }
+
+    /**
+     * This marks the thread as stopped from inside the thread, unless a new thread has already been
+     * started in its place.
+     */
+    private synchronized void stopSelf() {
+        if (thread == Thread.currentThread()) {
+            running = false;
+        }
+    }
+
+    /**
+     * This publishes the current pose and velocity of the Localizer. This is used after the pose
+     * is set from outside the thread, so the next read sees the new pose right away.
+     */
+    public void publish() {
+        synchronized (lock) {
+            publishLocked();
+        }
+    }
+
+    /**
+     * This publishes the current pose and velocity of the Localizer. The lock must be held.
+     */
+    private void publishLocked() {
+        localizer.getPoseInto(pose);
+        localizer.getVelocityVectorInto(velocity);
+        buffer.write(pose, velocity, Clock.nanoTime());
+    }
+
+    /**
+     * This reads the latest published pose and velocity into the specified Pose and Vector,
+     * without waiting on the Localizer.
+     *
+     * @param pose the Pose to put the pose into.
+     * @param velocity the Vector to put the velocity into.
+     * @return returns the time the pose was measured at, in nanoseconds.
+     */
+    public long read(Pose pose, Vector velocity) {
+        lastReadTime = System.nanoTime();
+        return buffer.read(pose, velocity);
+    }
+
+    /**
+     * This returns the exception the Localizer threw that stopped the thread, if there was one.
+     *
+     * @return returns the exception, or null if the Localizer hasn't thrown one.
+     */
+    public RuntimeException getFailure() {
+        return failure;
+    }
+
+    /**
+     * This returns the number of times the Localizer has been updated by the thread.
+     *
+     * @return returns the number of updates.
+     */
+    public long getUpdateCount() {
+        return updates;
+    }
+
+    /**
+     * This returns the number of times an update took longer than the update period.
+     *
+     * @return returns the number of overruns.
+     */
+    public long getOverrunCount() {
+        return overruns;
+    }
+}
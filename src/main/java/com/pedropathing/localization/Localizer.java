@@ -2,6 +2,7 @@ package com.pedropathing.localization;
 
 import com.qualcomm.robotcore.hardware.IMU;
 
+import com.pedropathing.pathgen.MathFunctions;
 import com.pedropathing.pathgen.Vector;
 
 /**
@@ -35,6 +36,31 @@ public abstract class Localizer {
      */
     public abstract Vector getVelocityVector();
 
+    /**
+     * This puts the current pose estimate from the Localizer into the specified Pose. By default,
+     * this copies the Pose from getPose(), so Localizers that can fill in the Pose without creating
+     * a new one should override this.
+     *
+     * @param out the Pose to put the pose estimate into.
+     * @return returns the Pose passed in, which now holds the pose estimate.
+     */
+    public Pose getPoseInto(Pose out) {
+        out.set(getPose());
+        return out;
+    }
+
+    /**
+     * This puts the current velocity estimate from the Localizer into the specified Vector. By
+     * default, this copies the Vector from getVelocityVector(), so Localizers that can fill in the
+     * Vector without creating a new one should override this.
+     *
+     * @param out the Vector to put the velocity estimate into.
+     * @return returns the Vector passed in, which now holds the velocity estimate.
+     */
+    public Vector getVelocityVectorInto(Vector out) {
+        return MathFunctions.copyVectorInto(getVelocityVector(), out);
+    }
+
     /**
      * This sets the start pose of the Localizer. Changing the start pose should move the robot as if
      * all its previous movements were displacing it from its new start pose.
@@ -103,6 +129,15 @@ public abstract class Localizer {
         return null;
     }
 
+    /**
+     * This is overridden to return the IMUSampler, if the IMU is read on its own thread.
+     *
+     * @return returns the IMUSampler if it exists
+     */
+    public IMUSampler getIMUSampler() {
+        return null;
+    }
+
     /**
      * This returns whether if any component of robot's position is NaN.
      *
@@ -6,5 +6,6 @@ public enum Localizers {
     THREE_WHEEL,
     THREE_WHEEL_IMU,
     OTOS,
-    PINPOINT
+    PINPOINT,
+    FUSION
 }
@@ -8,17 +8,36 @@ import java.util.Arrays;
  * MathFunctions class can absolutely be used there as well. It's similar to Mats in OpenCV if you've
  * used them before, but with more limited functionality.
  *
+ * The elements are stored in one flat Array of doubles, one row after another, so getting and
+ * setting single elements doesn't copy anything. The operations that take an output Matrix write
+ * their result into it instead of making a new Matrix, and the output can be one of the inputs.
+ * Once a Matrix has been used for an operation of a certain size, doing it again doesn't create
+ * anything, so these are safe to use every loop, like in a filter. The solve and invert methods are
+ * meant for the small matrices used in pose filters, and use an LU decomposition with partial
+ * pivoting, or a Cholesky decomposition for symmetric positive definite matrices like covariances.
+ *
  * @author Anyi Lin - 10158 Scott's Bots
  * @version 1.0, 4/2/2024
  */
 public class Matrix {
-    private double[][] matrix;
+    // A pivot smaller than this means the Matrix is treated as singular
+    private static final double SINGULAR_THRESHOLD = 1e-12;
+
+    private double[] data;
+    private int rows;
+    private int columns;
+
+    // These are reused between operations so they don't have to be made every time
+    private double[] scratch;
+    private double[] decomposition;
+    private double[] column;
+    private int[] pivots;
 
     /**
      * This creates a new Matrix of width and height 0.
      */
     public Matrix() {
-        matrix = new double[0][0];
+        this(0, 0);
     }
 
     /**
@@ -28,7 +47,9 @@ public class Matrix {
      * @param columns the number of columns, or width
      */
     public Matrix(int rows, int columns) {
-        matrix = new double[rows][columns];
+        this.rows = rows;
+        this.columns = columns;
+        data = new double[rows * columns];
     }
 
     /**
@@ -38,6 +59,7 @@ public class Matrix {
      * @param setMatrix the 2D Array of doubles
      */
     public Matrix(double[][] setMatrix) {
+        data = new double[0];
         setMatrix(setMatrix);
     }
 
@@ -47,9 +69,23 @@ public class Matrix {
      * @param setMatrix the Matrix input.
      */
     public Matrix(Matrix setMatrix) {
+        data = new double[0];
         setMatrix(setMatrix);
     }
 
+    /**
+     * This creates a new square identity Matrix, with ones along the diagonal and zeros everywhere
+     * else.
+     *
+     * @param size the number of rows and columns
+     * @return returns the identity Matrix
+     */
+    public static Matrix identity(int size) {
+        Matrix returnMatrix = new Matrix(size, size);
+        returnMatrix.setIdentity();
+        return returnMatrix;
+    }
+
     /**
      * This creates a copy of a 2D Array of doubles that references entirely new memory locations
      * from the original 2D Array of doubles, so no issues with mutability.
@@ -66,12 +102,17 @@ public class Matrix {
     }
 
     /**
-     * This returns a deep copy of the 2D Array that this Matrix is based on.
+     * This returns a copy of this Matrix as a 2D Array. Since the Matrix is stored as one flat
+     * Array, this makes a new 2D Array every time, so use get(row, column) when possible.
      *
      * @return returns the 2D Array of doubles this Matrix is built on
      */
     public double[][] getMatrix() {
-        return deepCopy(matrix);
+        double[][] returnMatrix = new double[rows][columns];
+        for (int i = 0; i < rows; i++) {
+            System.arraycopy(data, i * columns, returnMatrix[i], 0, columns);
+        }
+        return returnMatrix;
     }
 
     /**
@@ -81,7 +122,7 @@ public class Matrix {
      * @return returns the row of the Matrix specified
      */
     public double[] get(int row) {
-        return Arrays.copyOf(matrix[row], matrix[row].length);
+        return Arrays.copyOfRange(data, row * columns, (row + 1) * columns);
     }
 
     /**
@@ -92,53 +133,73 @@ public class Matrix {
      * @return returns the element of the Matrix specified
      */
     public double get(int row, int column) {
-        return get(row)[column];
+        return data[row * columns + column];
     }
 
     /**
-     * This returns the number of rows of the Matrix, as determined by the length of the 2D Array.
-     * If the Matrix/2D Array is not rectangular, issues arise.
+     * This returns the number of rows of the Matrix.
      *
      * @return returns the number of rows in the Matrix
      */
     public int getRows() {
-        return matrix.length;
+        return rows;
     }
 
     /**
-     * This returns the number of columns of the Matrix, as determined by the length of the first Array
-     * in the 2D Array. If the Matrix/2D Array is not rectangular, issues arise.
+     * This returns the number of columns of the Matrix.
      *
      * @return returns the number of columns in the Matrix
      */
     public int getColumns() {
-        return matrix[0].length;
+        return columns;
+    }
+
+    /**
+     * This changes the size of this Matrix. The elements are left as whatever was there before, so
+     * they should all be set afterwards. Nothing new is made if the number of elements stays the same.
+     *
+     * @param setRows the new number of rows
+     * @param setColumns the new number of columns
+     */
+    public void setSize(int setRows, int setColumns) {
+        if (data.length != setRows * setColumns) {
+            data = new double[setRows * setColumns];
+        }
+        rows = setRows;
+        columns = setColumns;
     }
 
     /**
-     * This sets the 2D Array of this Matrix to a copy of the 2D Array of another Matrix.
+     * This sets the elements of this Matrix to copies of the elements of another Matrix, changing
+     * the size of this Matrix to match.
      *
      * @param setMatrix the Matrix to copy from
      * @return returns if the operation was successful
      */
     public boolean setMatrix(Matrix setMatrix) {
-        return setMatrix(setMatrix.getMatrix());
+        if (setMatrix == this) return true;
+        setSize(setMatrix.rows, setMatrix.columns);
+        System.arraycopy(setMatrix.data, 0, data, 0, data.length);
+        return true;
     }
 
     /**
-     * This sets the 2D Array of this Matrix to a copy of a specified 2D Array.
+     * This sets the elements of this Matrix to copies of the elements of a specified 2D Array.
      *
      * @param setMatrix the 2D Array to copy from
      * @return returns if the operation was successful
      */
     public boolean setMatrix(double[][] setMatrix) {
-        int columns = setMatrix[0].length;
+        int setColumns = setMatrix.length == 0 ? 0 : setMatrix[0].length;
         for (int i = 0; i < setMatrix.length; i++) {
-            if (setMatrix[i].length != columns) {
+            if (setMatrix[i].length != setColumns) {
                 return false;
             }
         }
-        matrix = deepCopy(setMatrix);
+        setSize(setMatrix.length, setColumns);
+        for (int i = 0; i < rows; i++) {
+            System.arraycopy(setMatrix[i], 0, data, i * columns, columns);
+        }
         return true;
     }
 
@@ -153,7 +214,7 @@ public class Matrix {
         if (input.length != getColumns()) {
             return false;
         }
-        matrix[row] = Arrays.copyOf(input, input.length);
+        System.arraycopy(input, 0, data, row * columns, columns);
         return true;
     }
 
@@ -166,10 +227,28 @@ public class Matrix {
      * @return returns if the operation was successful
      */
     public boolean set(int row, int column, double input) {
-        matrix[row][column] = input;
+        data[row * columns + column] = input;
         return true;
     }
 
+    /**
+     * This sets every element of the Matrix to zero.
+     */
+    public void setZero() {
+        Arrays.fill(data, 0);
+    }
+
+    /**
+     * This sets the Matrix to the identity, with ones along the diagonal and zeros everywhere else.
+     * This doesn't need the Matrix to be square.
+     */
+    public void setIdentity() {
+        Arrays.fill(data, 0);
+        for (int i = 0; i < Math.min(rows, columns); i++) {
+            data[i * columns + i] = 1;
+        }
+    }
+
     /**
      * This adds a Matrix to this Matrix.
      *
@@ -177,15 +256,27 @@ public class Matrix {
      * @return returns if the operation was successful
      */
     public boolean add(Matrix input) {
-        if (input.getRows() == getRows() && input.getColumns() == getColumns()) {
-            for (int i = 0; i < getRows(); i++) {
-                for (int j = 0; j < getColumns(); j++) {
-                    set(i, j, get(i,j) + input.get(i,j));
-                }
-            }
-            return true;
+        return add(this, input, this);
+    }
+
+    /**
+     * This adds two Matrices together and puts the sum into an output Matrix. The output can be one
+     * of the inputs.
+     *
+     * @param one the first Matrix to add
+     * @param two the second Matrix to add
+     * @param output the Matrix to put the sum into
+     * @return returns if the operation was successful
+     */
+    public static boolean add(Matrix one, Matrix two, Matrix output) {
+        if (one.rows != two.rows || one.columns != two.columns) {
+            return false;
+        }
+        output.setSize(one.rows, one.columns);
+        for (int i = 0; i < output.data.length; i++) {
+            output.data[i] = one.data[i] + two.data[i];
         }
-        return false;
+        return true;
     }
 
     /**
@@ -195,15 +286,27 @@ public class Matrix {
      * @return returns if the operation was successful
      */
     public boolean subtract(Matrix input) {
-        if (input.getRows() == getRows() && input.getColumns() == getColumns()) {
-            for (int i = 0; i < getRows(); i++) {
-                for (int j = 0; j < getColumns(); j++) {
-                    set(i, j, get(i,j) - input.get(i,j));
-                }
-            }
-            return true;
+        return subtract(this, input, this);
+    }
+
+    /**
+     * This subtracts one Matrix from another and puts the difference into an output Matrix. The
+     * output can be one of the inputs.
+     *
+     * @param one the Matrix to subtract from
+     * @param two the Matrix to subtract
+     * @param output the Matrix to put the difference into
+     * @return returns if the operation was successful
+     */
+    public static boolean subtract(Matrix one, Matrix two, Matrix output) {
+        if (one.rows != two.rows || one.columns != two.columns) {
+            return false;
         }
-        return false;
+        output.setSize(one.rows, one.columns);
+        for (int i = 0; i < output.data.length; i++) {
+            output.data[i] = one.data[i] - two.data[i];
+        }
+        return true;
     }
 
     /**
@@ -213,10 +316,8 @@ public class Matrix {
      * @return returns if the operation was successful
      */
     public boolean scalarMultiply(double scalar) {
-        for (int i = 0; i < getRows(); i++) {
-            for (int j = 0; j < getColumns(); j++) {
-                set(i, j, scalar * get(i,j));
-            }
+        for (int i = 0; i < data.length; i++) {
+            data[i] *= scalar;
         }
         return true;
     }
@@ -237,21 +338,7 @@ public class Matrix {
      * @return returns if the operation was successful
      */
     public boolean multiply(Matrix input) {
-        if (getColumns() == input.getRows()) {
-            Matrix product = new Matrix(getRows(), input.getColumns());
-            for (int i = 0; i < product.getRows(); i++) {
-                for (int j = 0; j < product.getColumns(); j++) {
-                    double value = 0;
-                    for (int k = 0; k < get(i).length; k++) {
-                        value += get(i, k) * input.get(k, j);
-                    }
-                    product.set(i, j, value);
-                }
-            }
-            setMatrix(product);
-            return true;
-        }
-        return false;
+        return multiply(this, input, this);
     }
 
     /**
@@ -263,11 +350,358 @@ public class Matrix {
      * @return returns if the operation was successful
      */
     public static Matrix multiply(Matrix one, Matrix two) {
-        Matrix returnMatrix = new Matrix(one);
-        if (returnMatrix.multiply(two)) {
+        Matrix returnMatrix = new Matrix(one.rows, two.columns);
+        if (multiply(one, two, returnMatrix)) {
             return returnMatrix;
         } else {
             return new Matrix();
         }
     }
+
+    /**
+     * This multiplies two Matrices together and puts the product into an output Matrix. The output
+     * can be one of the inputs.
+     *
+     * @param one the first Matrix to multiply
+     * @param two the second Matrix to multiply
+     * @param output the Matrix to put the product into
+     * @return returns if the operation was successful
+     */
+    public static boolean multiply(Matrix one, Matrix two, Matrix output) {
+        if (one.columns != two.rows) {
+            return false;
+        }
+        double[] product = output.getScratch(one.rows * two.columns);
+        for (int i = 0; i < one.rows; i++) {
+            for (int j = 0; j < two.columns; j++) {
+                double value = 0;
+                for (int k = 0; k < one.columns; k++) {
+                    value += one.data[i * one.columns + k] * two.data[k * two.columns + j];
+                }
+                product[i * two.columns + j] = value;
+            }
+        }
+        output.swapScratch(one.rows, two.columns);
+        return true;
+    }
+
+    /**
+     * This multiplies a Matrix by the transpose of another Matrix and puts the product into an
+     * output Matrix, without making the transpose. The output can be one of the inputs. This comes
+     * up a lot in filters, like in the A * P * A^T of a covariance update.
+     *
+     * @param one the first Matrix to multiply
+     * @param two the Matrix whose transpose is multiplied
+     * @param output the Matrix to put the product into
+     * @return returns if the operation was successful
+     */
+    public static boolean multiplyTransposed(Matrix one, Matrix two, Matrix output) {
+        if (one.columns != two.columns) {
+            return false;
+        }
+        double[] product = output.getScratch(one.rows * two.rows);
+        for (int i = 0; i < one.rows; i++) {
+            for (int j = 0; j < two.rows; j++) {
+                double value = 0;
+                for (int k = 0; k < one.columns; k++) {
+                    value += one.data[i * one.columns + k] * two.data[j * two.columns + k];
+                }
+                product[i * two.rows + j] = value;
+            }
+        }
+        output.swapScratch(one.rows, two.rows);
+        return true;
+    }
+
+    /**
+     * This transposes this Matrix, flipping it across its diagonal.
+     *
+     * @return returns if the operation was successful
+     */
+    public boolean transpose() {
+        return transpose(this, this);
+    }
+
+    /**
+     * This puts the transpose of a Matrix into an output Matrix. The output can be the input.
+     *
+     * @param input the Matrix to transpose
+     * @param output the Matrix to put the transpose into
+     * @return returns if the operation was successful
+     */
+    public static boolean transpose(Matrix input, Matrix output) {
+        double[] transposed = output.getScratch(input.data.length);
+        for (int i = 0; i < input.rows; i++) {
+            for (int j = 0; j < input.columns; j++) {
+                transposed[j * input.rows + i] = input.data[i * input.columns + j];
+            }
+        }
+        output.swapScratch(input.columns, input.rows);
+        return true;
+    }
+
+    /**
+     * This returns the scratch Array, making sure it has the right number of elements. This is
+     * where results are put before they are swapped in, so an input can also be the output.
+     *
+     * @param length the number of elements needed
+     * @return returns the scratch Array
+     */
+    private double[] getScratch(int length) {
+        if (scratch == null || scratch.length != length) {
+            scratch = new double[length];
+        }
+        return scratch;
+    }
+
+    /**
+     * This swaps the scratch Array in as the elements of this Matrix, and keeps the old elements as
+     * the next scratch Array.
+     *
+     * @param setRows the number of rows of the result in the scratch Array
+     * @param setColumns the number of columns of the result in the scratch Array
+     */
+    private void swapScratch(int setRows, int setColumns) {
+        double[] temp = data;
+        data = scratch;
+        scratch = temp;
+        rows = setRows;
+        columns = setColumns;
+    }
+
+    /**
+     * This makes sure the Arrays used for decompositions are big enough for this Matrix.
+     */
+    private void prepareDecomposition() {
+        if (decomposition == null || decomposition.length != data.length) {
+            decomposition = new double[data.length];
+            column = new double[rows];
+            pivots = new int[rows];
+        }
+    }
+
+    /**
+     * This finds the LU decomposition of this Matrix with partial pivoting, and keeps it for solving.
+     * The lower and upper triangular parts are stored together, with the ones along the diagonal of
+     * the lower part left out.
+     *
+     * @return returns false if the Matrix isn't square or is singular
+     */
+    private boolean decomposeLU() {
+        if (rows != columns) return false;
+        int n = rows;
+        prepareDecomposition();
+        double[] lu = decomposition;
+        System.arraycopy(data, 0, lu, 0, data.length);
+        for (int i = 0; i < n; i++) {
+            pivots[i] = i;
+        }
+
+        for (int k = 0; k < n; k++) {
+            int pivot = k;
+            double largest = Math.abs(lu[k * n + k]);
+            for (int i = k + 1; i < n; i++) {
+                double value = Math.abs(lu[i * n + k]);
+                if (value > largest) {
+                    largest = value;
+                    pivot = i;
+                }
+            }
+            if (largest < SINGULAR_THRESHOLD) return false;
+
+            if (pivot != k) {
+                for (int j = 0; j < n; j++) {
+                    double temp = lu[k * n + j];
+                    lu[k * n + j] = lu[pivot * n + j];
+                    lu[pivot * n + j] = temp;
+                }
+                int temp = pivots[k];
+                pivots[k] = pivots[pivot];
+                pivots[pivot] = temp;
+            }
+
+            double diagonal = lu[k * n + k];
+            for (int i = k + 1; i < n; i++) {
+                double factor = lu[i * n + k] / diagonal;
+                lu[i * n + k] = factor;
+                if (factor != 0) {
+                    for (int j = k + 1; j < n; j++) {
+                        lu[i * n + j] -= factor * lu[k * n + j];
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This solves for the column Array using the LU decomposition, in place. The column must
+     * already be put in the order of the pivots.
+     */
+    private void solveColumnLU() {
+        int n = rows;
+        double[] lu = decomposition;
+        for (int i = 1; i < n; i++) {
+            double value = column[i];
+            for (int k = 0; k < i; k++) {
+                value -= lu[i * n + k] * column[k];
+            }
+            column[i] = value;
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            double value = column[i];
+            for (int k = i + 1; k < n; k++) {
+                value -= lu[i * n + k] * column[k];
+            }
+            column[i] = value / lu[i * n + i];
+        }
+    }
+
+    /**
+     * This finds the Cholesky decomposition of this Matrix, which is a lower triangular Matrix L
+     * where L * L^T is this Matrix, and keeps it for solving. Only the lower triangle of this Matrix
+     * is read, since it is assumed to be symmetric.
+     *
+     * @return returns false if the Matrix isn't square or isn't positive definite
+     */
+    private boolean decomposeCholesky() {
+        if (rows != columns) return false;
+        int n = rows;
+        prepareDecomposition();
+        double[] l = decomposition;
+        for (int j = 0; j < n; j++) {
+            double sum = data[j * n + j];
+            for (int k = 0; k < j; k++) {
+                sum -= l[j * n + k] * l[j * n + k];
+            }
+            if (sum < SINGULAR_THRESHOLD) return false;
+            double diagonal = Math.sqrt(sum);
+            l[j * n + j] = diagonal;
+            for (int i = j + 1; i < n; i++) {
+                double value = data[i * n + j];
+                for (int k = 0; k < j; k++) {
+                    value -= l[i * n + k] * l[j * n + k];
+                }
+                l[i * n + j] = value / diagonal;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This solves for the column Array using the Cholesky decomposition, in place.
+     */
+    private void solveColumnCholesky() {
+        int n = rows;
+        double[] l = decomposition;
+        for (int i = 0; i < n; i++) {
+            double value = column[i];
+            for (int k = 0; k < i; k++) {
+                value -= l[i * n + k] * column[k];
+            }
+            column[i] = value / l[i * n + i];
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            double value = column[i];
+            for (int k = i + 1; k < n; k++) {
+                value -= l[k * n + i] * column[k];
+            }
+            column[i] = value / l[i * n + i];
+        }
+    }
+
+    /**
+     * This solves this Matrix * X = B for X, using an LU decomposition with partial pivoting, and
+     * puts X into an output Matrix. This Matrix must be square. The output can be B.
+     *
+     * @param b the Matrix on the right side, with the same number of rows as this Matrix
+     * @param output the Matrix to put X into
+     * @return returns false if this Matrix is singular or the sizes don't match
+     */
+    public boolean solve(Matrix b, Matrix output) {
+        if (b.rows != rows || !decomposeLU()) return false;
+        int bColumns = b.columns;
+        output.setSize(rows, bColumns);
+        for (int j = 0; j < bColumns; j++) {
+            for (int i = 0; i < rows; i++) {
+                column[i] = b.data[pivots[i] * bColumns + j];
+            }
+            solveColumnLU();
+            for (int i = 0; i < rows; i++) {
+                output.data[i * bColumns + j] = column[i];
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This solves this Matrix * X = B for X, using a Cholesky decomposition, and puts X into an
+     * output Matrix. This Matrix must be symmetric and positive definite, like a covariance, and is
+     * about twice as fast as solve for those. The output can be B.
+     *
+     * @param b the Matrix on the right side, with the same number of rows as this Matrix
+     * @param output the Matrix to put X into
+     * @return returns false if this Matrix isn't positive definite or the sizes don't match
+     */
+    public boolean choleskySolve(Matrix b, Matrix output) {
+        if (b.rows != rows || !decomposeCholesky()) return false;
+        int bColumns = b.columns;
+        output.setSize(rows, bColumns);
+        for (int j = 0; j < bColumns; j++) {
+            for (int i = 0; i < rows; i++) {
+                column[i] = b.data[i * bColumns + j];
+            }
+            solveColumnCholesky();
+            for (int i = 0; i < rows; i++) {
+                output.data[i * bColumns + j] = column[i];
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This puts the inverse of this Matrix into an output Matrix, using an LU decomposition with
+     * partial pivoting. The output can be this Matrix.
+     *
+     * @param output the Matrix to put the inverse into
+     * @return returns false if this Matrix isn't square or is singular
+     */
+    public boolean invert(Matrix output) {
+        if (!decomposeLU()) return false;
+        int n = rows;
+        output.setSize(n, n);
+        for (int j = 0; j < n; j++) {
+            for (int i = 0; i < n; i++) {
+                column[i] = pivots[i] == j ? 1 : 0;
+            }
+            solveColumnLU();
+            for (int i = 0; i < n; i++) {
+                output.data[i * n + j] = column[i];
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This puts the inverse of this Matrix into an output Matrix, using a Cholesky decomposition.
+     * This Matrix must be symmetric and positive definite. The output can be this Matrix.
+     *
+     * @param output the Matrix to put the inverse into
+     * @return returns false if this Matrix isn't positive definite
+     */
+    public boolean choleskyInvert(Matrix output) {
+        if (!decomposeCholesky()) return false;
+        int n = rows;
+        output.setSize(n, n);
+        for (int j = 0; j < n; j++) {
+            for (int i = 0; i < n; i++) {
+                column[i] = i == j ? 1 : 0;
+            }
+            solveColumnCholesky();
+            for (int i = 0; i < n; i++) {
+                output.data[i * n + j] = column[i];
+            }
+        }
+        return true;
+    }
 }
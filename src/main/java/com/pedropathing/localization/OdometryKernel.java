@@ -0,0 +1,97 @@
+package com.pedropathing.localization;
+
+/**
+ * This is the OdometryKernel class. This does the pose exponential math that all the wheel
+ * localizers share, which turns how much the robot moved from its own perspective into how much it
+ * moved on the field, assuming it moved along an arc with a constant curvature since the last update.
+ *
+ * This used to be done by multiplying together a rotation Matrix, a transformation Matrix, and a
+ * Matrix of the robot's movement, which made four new Matrices every update. Since only the 2x2
+ * rotation parts of those Matrices do anything, the same thing is written out here with plain
+ * doubles, so updating doesn't create anything and the sine and cosine of each angle are only
+ * found once.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class OdometryKernel {
+    // Below this change in heading, in radians, the series expansion of the pose exponential is used
+    private final double SMALL_ANGLE = 0.001;
+
+    private double deltaX;
+    private double deltaY;
+    private double deltaHeading;
+
+    /**
+     * This calculates how much the robot moved on the field from how much it moved from its own
+     * perspective, using the pose exponential. The results can be gotten with getDeltaX,
+     * getDeltaY, and getDeltaHeading.
+     *
+     * @param heading the heading of the robot before it moved, in radians.
+     * @param robotDeltaX how far the robot moved forward, in inches.
+     * @param robotDeltaY how far the robot moved to the left, in inches.
+     * @param robotDeltaHeading how much the robot turned, in radians.
+     */
+    public void calculateGlobalDeltas(double heading, double robotDeltaX, double robotDeltaY, double robotDeltaHeading) {
+        double sinTerm;
+        double cosTerm;
+        if (Math.abs(robotDeltaHeading) < SMALL_ANGLE) {
+            sinTerm = 1.0 - (robotDeltaHeading * robotDeltaHeading / 6.0);
+            cosTerm = robotDeltaHeading / 2.0;
+        } else {
+            sinTerm = Math.sin(robotDeltaHeading) / robotDeltaHeading;
+            cosTerm = (1.0 - Math.cos(robotDeltaHeading)) / robotDeltaHeading;
+        }
+
+        double arcX = sinTerm * robotDeltaX - cosTerm * robotDeltaY;
+        double arcY = cosTerm * robotDeltaX + sinTerm * robotDeltaY;
+
+        double cos = Math.cos(heading);
+        double sin = Math.sin(heading);
+        deltaX = cos * arcX - sin * arcY;
+        deltaY = sin * arcX + cos * arcY;
+        deltaHeading = robotDeltaHeading;
+    }
+
+    /**
+     * This adds the last calculated field movement onto a displacement Pose, and sets a velocity
+     * Pose to that movement divided by the time it took.
+     *
+     * @param displacementPose the displacement Pose to add the movement onto.
+     * @param velocity the velocity Pose to set.
+     * @param deltaTimeNano the time since the last update, in nanoseconds.
+     */
+    public void integrate(Pose displacementPose, Pose velocity, long deltaTimeNano) {
+        displacementPose.set(displacementPose.getX() + deltaX, displacementPose.getY() + deltaY, displacementPose.getHeading() + deltaHeading);
+
+        double deltaTimeSeconds = deltaTimeNano / Math.pow(10.0, 9);
+        velocity.set(deltaX / deltaTimeSeconds, deltaY / deltaTimeSeconds, deltaHeading / deltaTimeSeconds);
+    }
+
+    /**
+     * This returns how far the robot moved along the field's x axis in the last calculation.
+     *
+     * @return returns the change in x, in inches.
+     */
+    public double getDeltaX() {
+        return deltaX;
+    }
+
+    /**
+     * This returns how far the robot moved along the field's y axis in the last calculation.
+     *
+     * @return returns the change in y, in inches.
+     */
+    public double getDeltaY() {
+        return deltaY;
+    }
+
+    /**
+     * This returns how much the robot turned in the last calculation.
+     *
+     * @return returns the change in heading, in radians.
+     */
+    public double getDeltaHeading() {
+        return deltaHeading;
+    }
+}
@@ -104,6 +104,29 @@ public class Pose {
         heading = MathFunctions.normalizeAngle(set);
     }
 
+    /**
+     * This sets the x, y, and heading values all at once.
+     *
+     * @param setX the x value
+     * @param setY the y value
+     * @param setHeading the heading value
+     */
+    public void set(double setX, double setY, double setHeading) {
+        setX(setX);
+        setY(setY);
+        setHeading(setHeading);
+    }
+
+    /**
+     * This sets the x, y, and heading values to those of another Pose, without creating a new
+     * Pose. The coordinate system is not changed.
+     *
+     * @param pose the Pose to copy the values of
+     */
+    public void set(Pose pose) {
+        set(pose.getX(), pose.getY(), pose.getHeading());
+    }
+
     /**
      * This returns the x value.
      *
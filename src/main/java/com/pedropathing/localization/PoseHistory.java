@@ -0,0 +1,182 @@
+package com.pedropathing.localization;
+
+import com.pedropathing.pathgen.MathFunctions;
+
+/**
+ * This is the PoseHistory class. This keeps the last few poses the robot was at, along with the
+ * time each one was measured at, in a fixed size ring buffer of plain doubles, so recording a pose
+ * every loop doesn't create anything.
+ *
+ * This is used to apply measurements that show up late, like vision measurements that are only
+ * ready a while after the camera frame was captured. The pose the robot was at when the frame was
+ * captured is looked up, the measurement is blended into that pose, and then every pose after it is
+ * moved the same way the blended pose was. Moving a later pose like this gives the same result as
+ * adding all the odometry movement since then back onto the blended pose, with that movement turned
+ * by the heading correction, but it only has to touch each later pose once.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class PoseHistory {
+    private final long[] times;
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] headings;
+
+    // The index the next pose is written to, and how many poses are stored
+    private int head;
+    private int size;
+
+    /**
+     * This creates a new PoseHistory that holds up to the specified number of poses. Once it is
+     * full, adding a pose overwrites the oldest one.
+     *
+     * @param capacity the most poses that can be stored.
+     */
+    public PoseHistory(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("A PoseHistory has to be able to hold at least one pose");
+        }
+        times = new long[capacity];
+        xs = new double[capacity];
+        ys = new double[capacity];
+        headings = new double[capacity];
+    }
+
+    /**
+     * This adds a pose to the history. The poses have to be added in the order they were measured.
+     *
+     * @param timeNano the time the pose was measured at, in nanoseconds.
+     * @param pose the pose.
+     */
+    public void add(long timeNano, Pose pose) {
+        times[head] = timeNano;
+        xs[head] = pose.getX();
+        ys[head] = pose.getY();
+        headings[head] = pose.getHeading();
+        head = (head + 1) % times.length;
+        if (size < times.length) size++;
+    }
+
+    /**
+     * This removes every pose from the history.
+     */
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * This returns how many poses are stored.
+     *
+     * @return returns the number of poses.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * This returns the most poses that can be stored.
+     *
+     * @return returns the capacity.
+     */
+    public int getCapacity() {
+        return times.length;
+    }
+
+    /**
+     * This returns the index in the arrays of a pose, counting back from the newest one.
+     *
+     * @param age how many poses back to go, with 0 being the newest pose.
+     * @return returns the index of the pose.
+     */
+    private int indexOf(int age) {
+        return (head - 1 - age + 2 * times.length) % times.length;
+    }
+
+    /**
+     * This puts the pose the robot was at at the specified time into a Pose, interpolating between
+     * the poses on either side of that time. Times after the newest pose give the newest pose.
+     *
+     * @param timeNano the time to find the pose at, in nanoseconds.
+     * @param out the Pose to put the pose into.
+     * @return returns false, and leaves the Pose alone, if the time is before the oldest pose.
+     */
+    public boolean getPoseAt(long timeNano, Pose out) {
+        if (size == 0 || timeNano < times[indexOf(size - 1)]) return false;
+
+        int after = indexOf(0);
+        if (timeNano >= times[after]) {
+            out.set(xs[after], ys[after], headings[after]);
+            return true;
+        }
+
+        for (int age = 1; age < size; age++) {
+            int before = indexOf(age);
+            if (times[before] <= timeNano) {
+                double fraction = (double) (timeNano - times[before]) / (times[after] - times[before]);
+                out.set(xs[before] + fraction * (xs[after] - xs[before]),
+                        ys[before] + fraction * (ys[after] - ys[before]),
+                        headings[before] + fraction * getHeadingChange(headings[before], headings[after]));
+                return true;
+            }
+            after = before;
+        }
+        return false;
+    }
+
+    /**
+     * This moves every pose measured after the specified time the same way that a pose from that
+     * time was moved by a correction, which is the same as adding the odometry movement since then
+     * back onto the corrected pose.
+     *
+     * @param timeNano the time of the correction, in nanoseconds.
+     * @param historical the pose at the time of the correction, before it was corrected.
+     * @param corrected the pose at the time of the correction, after it was corrected.
+     */
+    public void correct(long timeNano, Pose historical, Pose corrected) {
+        double headingChange = getHeadingChange(historical.getHeading(), corrected.getHeading());
+        double cos = Math.cos(headingChange);
+        double sin = Math.sin(headingChange);
+
+        for (int age = 0; age < size; age++) {
+            int index = indexOf(age);
+            if (times[index] <= timeNano) break;
+            double deltaX = xs[index] - historical.getX();
+            double deltaY = ys[index] - historical.getY();
+            xs[index] = corrected.getX() + cos * deltaX - sin * deltaY;
+            ys[index] = corrected.getY() + sin * deltaX + cos * deltaY;
+            headings[index] += headingChange;
+        }
+    }
+
+    /**
+     * This moves a Pose from after a correction the same way that the pose at the time of the
+     * correction was moved.
+     *
+     * @param pose the Pose to move. This is changed in place.
+     * @param historical the pose at the time of the correction, before it was corrected.
+     * @param corrected the pose at the time of the correction, after it was corrected.
+     * @return returns the Pose passed in, which has now been moved.
+     */
+    public static Pose applyCorrection(Pose pose, Pose historical, Pose corrected) {
+        double headingChange = getHeadingChange(historical.getHeading(), corrected.getHeading());
+        double cos = Math.cos(headingChange);
+        double sin = Math.sin(headingChange);
+        double deltaX = pose.getX() - historical.getX();
+        double deltaY = pose.getY() - historical.getY();
+        pose.set(corrected.getX() + cos * deltaX - sin * deltaY, corrected.getY() + sin * deltaX + cos * deltaY, pose.getHeading() + headingChange);
+        return pose;
+    }
+
+    /**
+     * This returns the signed smallest change in heading that turns one heading into another.
+     *
+     * @param from the starting heading, in radians.
+     * @param to the ending heading, in radians.
+     * @return returns the change in heading, in radians, positive being counter clockwise.
+     */
+    public static double getHeadingChange(double from, double to) {
+        return MathFunctions.getTurnDirection(from, to) * MathFunctions.getSmallestAngleDifference(to, from);
+    }
+}
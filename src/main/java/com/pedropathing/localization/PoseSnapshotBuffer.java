@@ -0,0 +1,85 @@
+package com.pedropathing.localization;
+
+import com.pedropathing.pathgen.Vector;
+
+/**
+ * This is the PoseSnapshotBuffer class. This hands a pose, velocity, and time stamp from one thread
+ * to another without either thread ever having to wait on a lock. It is a sequence lock: the
+ * writing thread bumps a sequence number to an odd number before writing and back to an even
+ * number after, and a reading thread reads the sequence number before and after copying the values
+ * out. If the two sequence numbers don't match, or the first one is odd, the write happened in the
+ * middle of the read, so the read is tried again.
+ *
+ * Only one thread can write at a time, but any number of threads can read. Writing never waits,
+ * and reading only has to try again if it overlaps a write, which takes a few nanoseconds. Nothing
+ * is created when writing or reading, so this can be used every loop without making garbage.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class PoseSnapshotBuffer {
+    // Every field is volatile so that reads and writes of them can't be moved past the sequence number
+    private volatile long sequence;
+    private volatile double x;
+    private volatile double y;
+    private volatile double heading;
+    private volatile double xVelocity;
+    private volatile double yVelocity;
+    private volatile long timeNano;
+
+    /**
+     * This writes a new snapshot. This must only be called from one thread at a time.
+     *
+     * @param pose the pose.
+     * @param velocity the velocity.
+     * @param timeNano the time the pose was measured at, in nanoseconds.
+     */
+    public void write(Pose pose, Vector velocity, long timeNano) {
+        long next = sequence + 1;
+        sequence = next;
+        x = pose.getX();
+        y = pose.getY();
+        heading = pose.getHeading();
+        xVelocity = velocity.getXComponent();
+        yVelocity = velocity.getYComponent();
+        this.timeNano = timeNano;
+        sequence = next + 1;
+    }
+
+    /**
+     * This reads the latest snapshot into the specified Pose and Vector. The pose, velocity, and
+     * time stamp always all come from the same write.
+     *
+     * @param pose the Pose to put the pose into.
+     * @param velocity the Vector to put the velocity into.
+     * @return returns the time the pose was measured at, in nanoseconds.
+     */
+    public long read(Pose pose, Vector velocity) {
+        while (true) {
+            long start = sequence;
+            if ((start & 1) == 0) {
+                double readX = x;
+                double readY = y;
+                double readHeading = heading;
+                double readXVelocity = xVelocity;
+                double readYVelocity = yVelocity;
+                long readTimeNano = timeNano;
+                if (sequence == start) {
+                    pose.set(readX, readY, readHeading);
+                    velocity.setOrthogonalComponents(readXVelocity, readYVelocity);
+                    return readTimeNano;
+                }
+            }
+            Thread.yield();
+        }
+    }
+
+    /**
+     * This returns the number of snapshots written so far.
+     *
+     * @return returns the number of snapshots written.
+     */
+    public long getWriteCount() {
+        return sequence / 2;
+    }
+}
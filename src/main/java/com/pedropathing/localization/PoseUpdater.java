@@ -1,11 +1,15 @@
 package com.pedropathing.localization;
 import static com.pedropathing.follower.FollowerConstants.localizers;
+import static com.pedropathing.follower.FollowerConstants.poseHistorySize;
 
+import com.pedropathing.util.Clock;
 import com.pedropathing.util.Constants;
+import com.pedropathing.util.LoopProfile;
 import com.qualcomm.robotcore.hardware.HardwareMap;
 import com.qualcomm.robotcore.hardware.IMU;
 import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
 import com.pedropathing.localization.localizers.DriveEncoderLocalizer;
+import com.pedropathing.localization.localizers.FusionLocalizer;
 import com.pedropathing.localization.localizers.OTOSLocalizer;
 import com.pedropathing.localization.localizers.PinpointLocalizer;
 import com.pedropathing.localization.localizers.ThreeWheelIMULocalizer;
@@ -29,17 +33,23 @@ public class PoseUpdater {
 
     private IMU imu;
 
+    private IMUSampler imuSampler;
+
     private Localizer localizer;
 
     private Pose startingPose = new Pose(0,0,0);
 
-    private Pose currentPose = startingPose;
+    private final Pose currentPose = new Pose();
+
+    private final Pose previousPose = new Pose();
 
-    private Pose previousPose = startingPose;
+    private final Vector currentVelocity = new Vector();
 
-    private Vector currentVelocity = new Vector();
+    // These say whether the current pose and velocity have been read from the localizer since the last update
+    private boolean currentPoseCached = true;
+    private boolean currentVelocityCached = true;
 
-    private Vector previousVelocity = new Vector();
+    private final Vector previousVelocity = new Vector();
 
     private Vector currentAcceleration = new Vector();
 
@@ -47,9 +57,20 @@ public class PoseUpdater {
     private double yOffset = 0;
     private double headingOffset = 0;
 
+    private LoopProfile loopProfile = new LoopProfile();
+
+    // Everything that touches the localizer holds this lock, so the localization thread can't update it at the same time
+    private final Object localizerLock = new Object();
+    private LocalizationThread localizationThread;
+
     private long previousPoseTime;
     private long currentPoseTime;
 
+    // The raw poses from the last few updates, for applying measurements that show up late
+    private PoseHistory poseHistory;
+    private final Pose historicalPose = new Pose();
+    private final Pose correctedPose = new Pose();
+
     /**
      * Creates a new PoseUpdater from a HardwareMap and a Localizer.
      *
@@ -72,6 +93,8 @@ public class PoseUpdater {
         }
 
         imu = localizer.getIMU();
+        imuSampler = localizer.getIMUSampler();
+        poseHistory = new PoseHistory(poseHistorySize);
     }
 
     /**
@@ -103,6 +126,8 @@ public class PoseUpdater {
         }
 
         imu = localizer.getIMU();
+        imuSampler = localizer.getIMUSampler();
+        poseHistory = new PoseHistory(poseHistorySize);
     }
 
     /**
@@ -115,7 +140,18 @@ public class PoseUpdater {
     }
 
     private static Localizer createLocalizer(HardwareMap hardwareMap) {
-        switch (localizers) {
+        return createLocalizer(hardwareMap, localizers);
+    }
+
+    /**
+     * This creates a new Localizer of the specified type from a HardwareMap.
+     *
+     * @param hardwareMap the HardwareMap
+     * @param type the type of Localizer to create
+     * @return returns the new Localizer
+     */
+    public static Localizer createLocalizer(HardwareMap hardwareMap, Localizers type) {
+        switch (type) {
             case DRIVE_ENCODERS:
                 return new DriveEncoderLocalizer(hardwareMap);
             case TWO_WHEEL:
@@ -128,6 +164,8 @@ public class PoseUpdater {
                 return new OTOSLocalizer(hardwareMap);
             case PINPOINT:
                 return new PinpointLocalizer(hardwareMap);
+            case FUSION:
+                return new FusionLocalizer(hardwareMap);
             default:
                 throw new IllegalArgumentException("Unsupported localizer type");
         }
@@ -137,17 +175,103 @@ public class PoseUpdater {
     /**
      * This updates the robot's pose, as well as updating the previous pose, velocity, and
      * acceleration. The cache for the current pose, velocity, and acceleration is cleared, and
-     * the time stamps are updated as well.
+     * the time stamps are updated as well. The new raw pose is added to the pose history.
      */
     public void update() {
-        previousVelocity = getVelocity();
-        previousPose = applyOffset(getRawPose());
-        currentPose = null;
-        currentVelocity = null;
+        getVelocityInto(previousVelocity);
+        getPoseInto(previousPose);
+        currentPoseCached = false;
+        currentVelocityCached = false;
         currentAcceleration = null;
         previousPoseTime = currentPoseTime;
-        currentPoseTime = System.nanoTime();
-        localizer.update();
+
+        long localizerStart = loopProfile.start();
+        if (localizationThread != null) {
+            if (!localizationThread.isRunning()) {
+                if (localizationThread.getFailure() != null) {
+                    throw new RuntimeException("The localization thread stopped because the localizer threw an exception", localizationThread.getFailure());
+                }
+                localizationThread.start();
+            }
+            currentPoseTime = localizationThread.read(currentPose, currentVelocity);
+            currentPoseCached = true;
+            currentVelocityCached = true;
+        } else {
+            currentPoseTime = Clock.nanoTime();
+            localizer.update();
+        }
+        loopProfile.record(LoopProfile.LOCALIZER, localizerStart);
+
+        poseHistory.add(currentPoseTime, getRawPose());
+    }
+
+    /**
+     * This starts updating the localizer on its own thread at a fixed rate, instead of in update.
+     * After this, update just reads the latest pose and velocity the thread published, so it never
+     * has to wait on the localizer's hardware. If the thread stops itself because update wasn't
+     * called for a while, it is started again on the next update.
+     *
+     * @param rateHz how many times per second to update the localizer.
+     */
+    public void startLocalizationThread(double rateHz) {
+        if (localizationThread == null) {
+            localizationThread = new LocalizationThread(localizer, localizerLock, rateHz);
+        } else {
+            localizationThread.setRate(rateHz);
+        }
+        localizationThread.start();
+        currentPoseTime = localizationThread.read(currentPose, currentVelocity);
+        currentPoseCached = true;
+        currentVelocityCached = true;
+    }
+
+    /**
+     * This stops the localization thread, if there is one, and goes back to updating the localizer
+     * in update.
+     */
+    public void stopLocalizationThread() {
+        if (localizationThread != null) {
+            localizationThread.stop();
+            localizationThread = null;
+        }
+    }
+
+    /**
+     * This stops the thread reading the IMU, if the localizer reads the IMU on its own thread. The
+     * thread starts again the next time the localizer reads from it.
+     */
+    public void stopIMUSampler() {
+        if (imuSampler != null) {
+            imuSampler.stop();
+        }
+    }
+
+    /**
+     * This returns the LocalizationThread updating the localizer.
+     *
+     * @return returns the LocalizationThread, or null if the localizer is updated in update.
+     */
+    public LocalizationThread getLocalizationThread() {
+        return localizationThread;
+    }
+
+    /**
+     * This publishes the localizer's pose right away if the localization thread is being used, so
+     * that the next update sees a pose that was just set.
+     */
+    private void publishPose() {
+        if (localizationThread != null) {
+            localizationThread.publish();
+        }
+    }
+
+    /**
+     * This sets the LoopProfile that the time taken by the localizer update is recorded into.
+     *
+     * @param loopProfile the LoopProfile to record into.
+     */
+    public void setLoopProfile(LoopProfile loopProfile) {
+        this.loopProfile = loopProfile;
     }
 
     /**
@@ -157,10 +281,14 @@ public class PoseUpdater {
      */
     public void setStartingPose(Pose set) {
         startingPose = set;
-        previousPose = startingPose;
-        previousPoseTime = System.nanoTime();
-        currentPoseTime = System.nanoTime();
-        localizer.setStartPose(set);
+        previousPose.set(startingPose);
+        previousPoseTime = Clock.nanoTime();
+        currentPoseTime = Clock.nanoTime();
+        synchronized (localizerLock) {
+            localizer.setStartPose(set);
+        }
+        poseHistory.clear();
+        publishPose();
     }
 
     /**
@@ -238,7 +366,20 @@ public class PoseUpdater {
      * @return This returns a new Pose with the offset applied.
      */
     public Pose applyOffset(Pose pose) {
-        return new Pose(pose.getX()+xOffset, pose.getY()+yOffset, pose.getHeading()+headingOffset);
+        return applyOffset(pose, new Pose());
+    }
+
+    /**
+     * This applies the offset to a specified Pose and puts the result into another Pose, instead
+     * of creating a new one.
+     *
+     * @param pose The pose to be offset.
+     * @param out The Pose to put the result into. This can be the same as the pose to be offset.
+     * @return This returns the Pose passed in as out, with the offset pose in it.
+     */
+    public Pose applyOffset(Pose pose, Pose out) {
+        out.set(pose.getX()+xOffset, pose.getY()+yOffset, pose.getHeading()+headingOffset);
+        return out;
     }
 
     /**
@@ -260,12 +401,19 @@ public class PoseUpdater {
      * @return returns the current pose.
      */
     public Pose getPose() {
-        if (currentPose == null) {
-            currentPose = localizer.getPose();
-            return applyOffset(currentPose);
-        } else {
-            return applyOffset(currentPose);
-        }
+        return getPoseInto(new Pose());
+    }
+
+    /**
+     * This puts the current pose, with offsets applied, into the specified Pose. This is the same
+     * as getPose(), except that no new Pose is created, so this can be called every loop without
+     * creating any garbage.
+     *
+     * @param out the Pose to put the current pose into.
+     * @return returns the Pose passed in, which now holds the current pose.
+     */
+    public Pose getPoseInto(Pose out) {
+        return applyOffset(getRawPose(), out);
     }
 
     /**
@@ -276,12 +424,13 @@ public class PoseUpdater {
      * @return returns the raw pose.
      */
     public Pose getRawPose() {
-        if (currentPose == null) {
-            currentPose = localizer.getPose();
-            return currentPose;
-        } else {
-            return currentPose;
+        if (!currentPoseCached) {
+            synchronized (localizerLock) {
+                localizer.getPoseInto(currentPose);
+            }
+            currentPoseCached = true;
         }
+        return currentPose;
     }
 
     /**
@@ -291,7 +440,69 @@ public class PoseUpdater {
      */
     public void setPose(Pose set) {
         resetOffset();
-        localizer.setPose(set);
+        synchronized (localizerLock) {
+            localizer.setPose(set);
+        }
+        poseHistory.clear();
+        publishPose();
+    }
+
+    /**
+     * This applies a pose measurement that was taken a while ago, like one from a camera, where the
+     * pose is only ready some time after the frame was captured. The measurement is blended into the
+     * pose the robot was at when it was captured, and the movement since then is added back on, so
+     * the current pose doesn't jump backwards to where the robot used to be.
+     *
+     * Measurements from before the oldest pose in the pose history are ignored. Measurements should
+     * be added in the order they were captured.
+     *
+     * @param pose the measured pose, with offsets applied like the pose from getPose().
+     * @param captureTimeNanos the time the measurement was taken at, from System.nanoTime(), or
+     *                         Clock.nanoTime() in a simulation.
+     * @param weight how much to trust the measurement, from 0 for not at all to 1 for taking the
+     *               measurement as it is.
+     * @return returns whether the measurement was applied.
+     */
+    public boolean addDelayedMeasurement(Pose pose, long captureTimeNanos, double weight) {
+        if (weight < 0 || weight > 1) {
+            throw new IllegalArgumentException("The weight of a measurement has to be between 0 and 1");
+        }
+        if (!poseHistory.getPoseAt(captureTimeNanos, historicalPose)) {
+            return false;
+        }
+
+        double measuredHeading = pose.getHeading() - headingOffset;
+        correctedPose.set(historicalPose.getX() + weight * (pose.getX() - xOffset - historicalPose.getX()),
+                historicalPose.getY() + weight * (pose.getY() - yOffset - historicalPose.getY()),
+                historicalPose.getHeading() + weight * PoseHistory.getHeadingChange(historicalPose.getHeading(), measuredHeading));
+
+        synchronized (localizerLock) {
+            localizer.getPoseInto(currentPose);
+            PoseHistory.applyCorrection(currentPose, historicalPose, correctedPose);
+            localizer.setPose(currentPose);
+        }
+        currentPoseCached = true;
+        poseHistory.correct(captureTimeNanos, historicalPose, correctedPose);
+        publishPose();
+        return true;
+    }
+
+    /**
+     * This returns the PoseHistory that holds the raw poses from the last few updates.
+     *
+     * @return returns the PoseHistory.
+     */
+    public PoseHistory getPoseHistory() {
+        return poseHistory;
+    }
+
+    /**
+     * This returns the time the current pose was measured at.
+     *
+     * @return returns the time of the current pose, in nanoseconds.
+     */
+    public long getPoseTime() {
+        return currentPoseTime;
     }
 
     /**
@@ -300,7 +511,7 @@ public class PoseUpdater {
      * @return returns the robot's previous pose.
      */
     public Pose getPreviousPose() {
-        return previousPose;
+        return previousPose.copy();
     }
 
     /**
@@ -322,15 +533,26 @@ public class PoseUpdater {
      * @return returns the velocity of the robot.
      */
     public Vector getVelocity() {
-        if (currentVelocity == null) {
-//            currentVelocity = new Vector();
+        return getVelocityInto(new Vector());
+    }
+
+    /**
+     * This copies the velocity of the robot into the specified Vector. This is the same as
+     * getVelocity(), except that no new Vector is created for the copy.
+     *
+     * @param out the Vector to copy the velocity into.
+     * @return returns the Vector passed in, which now holds the velocity of the robot.
+     */
+    public Vector getVelocityInto(Vector out) {
+        if (!currentVelocityCached) {
 //            currentVelocity.setOrthogonalComponents(getPose().getX() - previousPose.getX(), getPose().getY() - previousPose.getY());
 //            currentVelocity.setMagnitude(MathFunctions.distance(getPose(), previousPose) / ((currentPoseTime - previousPoseTime) / Math.pow(10.0, 9)));
-            currentVelocity = localizer.getVelocityVector();
-            return MathFunctions.copyVector(currentVelocity);
-        } else {
-            return MathFunctions.copyVector(currentVelocity);
+            synchronized (localizerLock) {
+                localizer.getVelocityVectorInto(currentVelocity);
+            }
+            currentVelocityCached = true;
         }
+        return MathFunctions.copyVectorInto(currentVelocity, out);
     }
 
     /**
@@ -339,7 +561,8 @@ public class PoseUpdater {
      * @return returns the angular velocity of the robot.
      */
     public double getAngularVelocity() {
-        return MathFunctions.getTurnDirection(previousPose.getHeading(), getPose().getHeading()) * MathFunctions.getSmallestAngleDifference(getPose().getHeading(), previousPose.getHeading()) / ((currentPoseTime-previousPoseTime)/Math.pow(10.0, 9));
+        double heading = MathFunctions.normalizeAngle(getRawPose().getHeading() + headingOffset);
+        return MathFunctions.getTurnDirection(previousPose.getHeading(), heading) * MathFunctions.getSmallestAngleDifference(heading, previousPose.getHeading()) / ((currentPoseTime-previousPoseTime)/Math.pow(10.0, 9));
     }
 
     /**
@@ -364,7 +587,12 @@ public class PoseUpdater {
      */
     public void resetHeadingToIMU() {
         if (imu != null) {
-            localizer.setPose(new Pose(getPose().getX(), getPose().getY(), getNormalizedIMUHeading() + startingPose.getHeading()));
+            Pose pose = new Pose(getPose().getX(), getPose().getY(), getNormalizedIMUHeading() + startingPose.getHeading());
+            synchronized (localizerLock) {
+                localizer.setPose(pose);
+            }
+            poseHistory.clear();
+            publishPose();
         }
     }
 
@@ -380,11 +608,16 @@ public class PoseUpdater {
     }
 
     /**
-     * This returns the IMU heading normalized to be between [0, 2 PI] radians.
+     * This returns the IMU heading normalized to be between [0, 2 PI] radians. If the Localizer
+     * reads the IMU on its own thread, this is the latest sample from that thread, so this doesn't
+     * wait on the IMU.
      *
      * @return returns the normalized IMU heading.
      */
     public double getNormalizedIMUHeading() {
+        if (imuSampler != null) {
+            return MathFunctions.normalizeAngle(-imuSampler.getYaw());
+        }
         if (imu != null) {
             return MathFunctions.normalizeAngle(-imu.getRobotYawPitchRollAngles().getYaw(AngleUnit.RADIANS));
         }
@@ -397,11 +630,14 @@ public class PoseUpdater {
      * @return the total heading.
      */
     public double getTotalHeading() {
-        return localizer.getTotalHeading();
+        synchronized (localizerLock) {
+            return localizer.getTotalHeading();
+        }
     }
 
     /**
-     * This returns the Localizer.
+     * This returns the Localizer. If the localization thread is running, the Localizer is being
+     * updated on that thread, so be careful using it directly.
      *
      * @return the Localizer
      */
@@ -413,6 +649,8 @@ public class PoseUpdater {
      *
      */
     public void resetIMU() throws InterruptedException {
-        localizer.resetIMU();
+        synchronized (localizerLock) {
+            localizer.resetIMU();
+        }
     }
 }
@@ -0,0 +1,79 @@
+package com.pedropathing.localization.constants;
+
+import com.acmerobotics.dashboard.config.Config;
+import com.pedropathing.localization.Localizers;
+import com.qualcomm.hardware.rev.RevHubOrientationOnRobot;
+
+/**
+ * This is the FusionConstants class. It holds many constants and parameters for the Fusion Localizer.
+ * The noise values are standard deviations, so they are in the same units as what they describe.
+ * Lower values mean that source is trusted more.
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+
+@Config
+public class FusionConstants {
+
+    /** The Localizer whose movement drives the prediction step of the filter, usually wheel odometry
+     * This can't be Localizers.FUSION
+     * Default Value: Localizers.THREE_WHEEL */
+    public static Localizers odometryLocalizer = Localizers.THREE_WHEEL;
+
+    /** Whether to correct the heading with the IMU
+     * Default Value: true */
+    public static boolean useIMU = true;
+
+    /** The Hardware Map Name of the IMU (built-in IMU will be Port 0, "imu")
+     * Default Value: "imu" */
+    public static String IMU_HardwareMapName = "imu";
+
+    /** The Orientation of the Control Hub (for IMU) on the Robot
+     * Default Value: new RevHubOrientationOnRobot(RevHubOrientationOnRobot.LogoFacingDirection.UP, RevHubOrientationOnRobot.UsbFacingDirection.LEFT) */
+    public static RevHubOrientationOnRobot IMU_Orientation = new RevHubOrientationOnRobot(RevHubOrientationOnRobot.LogoFacingDirection.UP, RevHubOrientationOnRobot.UsbFacingDirection.LEFT);
+
+    /** How many times per second the IMU is read, on its own thread
+     * Default Value: 100 */
+    public static double imuSampleRate = 100;
+
+    /** Whether to correct the pose with a second, absolute Localizer, like the Pinpoint or the OTOS
+     * Default Value: false */
+    public static boolean useAbsoluteLocalizer = false;
+
+    /** The Localizer used for pose corrections
+     * @see #useAbsoluteLocalizer
+     * Default Value: Localizers.PINPOINT */
+    public static Localizers absoluteLocalizer = Localizers.PINPOINT;
+
+    /** How much the odometry's forward and strafe movement can be off by, in inches per inch moved
+     * Default Value: 0.02 */
+    public static double odometryTranslationalNoise = 0.02;
+
+    /** How much the odometry's turning can be off by, in radians per radian turned
+     * Default Value: 0.02 */
+    public static double odometryHeadingNoise = 0.02;
+
+    /** How much the odometry can be off by in each update, even when the robot isn't moving, in inches or radians
+     * Default Value: 0.0005 */
+    public static double odometryBaseNoise = 0.0005;
+
+    /** How much a heading from the IMU can be off by, in radians
+     * Default Value: 0.02 */
+    public static double imuHeadingNoise = 0.02;
+
+    /** How much a position from the absolute Localizer can be off by, in inches
+     * Default Value: 0.5 */
+    public static double absolutePositionNoise = 0.5;
+
+    /** How much a heading from the absolute Localizer can be off by, in radians
+     * Default Value: 0.03 */
+    public static double absoluteHeadingNoise = 0.03;
+
+    /** How much the starting position or a pose that is set can be off by, in inches
+     * Default Value: 0.25 */
+    public static double initialPositionNoise = 0.25;
+
+    /** How much the starting heading or a heading that is set can be off by, in radians
+     * Default Value: 0.01 */
+    public static double initialHeadingNoise = 0.01;
+}
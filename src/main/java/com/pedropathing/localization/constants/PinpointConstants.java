@@ -62,4 +62,12 @@ public class PinpointConstants {
     /** The Encoder Direction for the Strafe Encoder (Deadwheel)
      * Default Value: GoBildaPinpointDriver.EncoderDirection.FORWARD */
     public static GoBildaPinpointDriver.EncoderDirection strafeEncoderDirection = GoBildaPinpointDriver.EncoderDirection.FORWARD;
+
+    /** Skip reading the Pinpoint if it hasn't finished one of its own loops since it was last read, since it wouldn't have new data yet
+     * Default Value: true */
+    public static boolean skipStaleReads = true;
+
+    /** Use the velocity the Pinpoint measures itself instead of finding it from the change in position
+     * Default Value: true */
+    public static boolean useDeviceVelocity = true;
 }
@@ -57,6 +57,15 @@ public class ThreeWheelIMUConstants {
      * Default Value: new RevHubOrientationOnRobot(RevHubOrientationOnRobot.LogoFacingDirection.UP, RevHubOrientationOnRobot.UsbFacingDirection.LEFT) */
     public static RevHubOrientationOnRobot IMU_Orientation = new RevHubOrientationOnRobot(RevHubOrientationOnRobot.LogoFacingDirection.UP, RevHubOrientationOnRobot.UsbFacingDirection.LEFT);
 
+    /** Whether to read the IMU on its own thread, so the loop never waits on it, and use the encoders for heading between samples
+     * Default Value: true */
+    public static boolean useAsyncIMU = true;
+
+    /** How many times per second the IMU is read when it is read on its own thread
+     * @see #useAsyncIMU
+     * Default Value: 100 */
+    public static double imuSampleRate = 100;
+
     /** The direction of the Left Encoder
      * Default Value: Encoder.REVERSE */
     public static double leftEncoderDirection = Encoder.REVERSE;
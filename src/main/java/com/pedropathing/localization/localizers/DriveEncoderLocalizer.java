@@ -14,9 +14,11 @@ import com.qualcomm.robotcore.hardware.HardwareMap;
 import com.pedropathing.localization.Encoder;
 import com.pedropathing.localization.Localizer;
 import com.pedropathing.localization.Matrix;
+import com.pedropathing.localization.OdometryKernel;
 import com.pedropathing.localization.Pose;
 import com.pedropathing.pathgen.MathFunctions;
 import com.pedropathing.pathgen.Vector;
+import com.pedropathing.util.BulkReadManager;
 import com.pedropathing.util.NanoTimer;
 
 /**
@@ -32,7 +34,10 @@ public class DriveEncoderLocalizer extends Localizer {
     private Pose startPose;
     private Pose displacementPose;
     private Pose currentVelocity;
-    private Matrix prevRotationMatrix;
+    private final OdometryKernel odometryKernel = new OdometryKernel();
+    private double robotDeltaX;
+    private double robotDeltaY;
+    private double robotDeltaHeading;
     private NanoTimer timer;
     private long deltaTimeNano;
     private Encoder leftFront;
@@ -73,10 +78,10 @@ public class DriveEncoderLocalizer extends Localizer {
         ROBOT_WIDTH = robot_Width;
         ROBOT_LENGTH = robot_Length;
 
-        leftFront = new Encoder(hardwareMap.get(DcMotorEx.class, leftFrontMotorName));
-        leftRear = new Encoder(hardwareMap.get(DcMotorEx.class, leftRearMotorName));
-        rightRear = new Encoder(hardwareMap.get(DcMotorEx.class, rightRearMotorName));
-        rightFront = new Encoder(hardwareMap.get(DcMotorEx.class, rightFrontMotorName));
+        leftFront = new Encoder(hardwareMap.get(DcMotorEx.class, leftFrontMotorName), BulkReadManager.get(hardwareMap));
+        leftRear = new Encoder(hardwareMap.get(DcMotorEx.class, leftRearMotorName), BulkReadManager.get(hardwareMap));
+        rightRear = new Encoder(hardwareMap.get(DcMotorEx.class, rightRearMotorName), BulkReadManager.get(hardwareMap));
+        rightFront = new Encoder(hardwareMap.get(DcMotorEx.class, rightFrontMotorName), BulkReadManager.get(hardwareMap));
 
         leftFront.setDirection(leftFrontEncoderDirection);
         leftRear.setDirection(leftRearEncoderDirection);
@@ -120,6 +125,30 @@ public class DriveEncoderLocalizer extends Localizer {
         return currentVelocity.getVector();
     }
 
+    /**
+     * This puts the current pose estimate into the specified Pose.
+     *
+     * @param out the Pose to put the pose estimate into.
+     * @return returns the Pose passed in, which now holds the pose estimate.
+     */
+    @Override
+    public Pose getPoseInto(Pose out) {
+        out.set(startPose.getX() + displacementPose.getX(), startPose.getY() + displacementPose.getY(), startPose.getHeading() + displacementPose.getHeading());
+        return out;
+    }
+
+    /**
+     * This puts the current velocity estimate into the specified Vector.
+     *
+     * @param out the Vector to put the velocity estimate into.
+     * @return returns the Vector passed in, which now holds the velocity estimate.
+     */
+    @Override
+    public Vector getVelocityVectorInto(Vector out) {
+        out.setOrthogonalComponents(currentVelocity.getX(), currentVelocity.getY());
+        return out;
+    }
+
     /**
      * This sets the start pose. Changing the start pose should move the robot as if all its
      * previous movements were displacing it from its new start pose.
@@ -132,17 +161,15 @@ public class DriveEncoderLocalizer extends Localizer {
     }
 
     /**
-     * This sets the Matrix that contains the previous pose's heading rotation.
+     * This used to set the Matrix that contains the previous pose's heading rotation, which
+     * update multiplied into the robot's movement. The OdometryKernel now does that rotation with
+     * the heading directly, so there is no Matrix to set and this does nothing.
      *
      * @param heading the rotation of the Matrix
+     * @deprecated the rotation is done by the OdometryKernel from the current heading.
      */
+    @Deprecated
     public void setPrevRotationMatrix(double heading) {
-        prevRotationMatrix = new Matrix(3,3);
-        prevRotationMatrix.set(0, 0, Math.cos(heading));
-        prevRotationMatrix.set(0, 1, -Math.sin(heading));
-        prevRotationMatrix.set(1, 0, Math.sin(heading));
-        prevRotationMatrix.set(1, 1, Math.cos(heading));
-        prevRotationMatrix.set(2, 2, 1.0);
     }
 
     /**
@@ -168,31 +195,11 @@ public class DriveEncoderLocalizer extends Localizer {
         timer.resetTimer();
 
         updateEncoders();
-        Matrix robotDeltas = getRobotDeltas();
-        Matrix globalDeltas;
-        setPrevRotationMatrix(getPose().getHeading());
-
-        Matrix transformation = new Matrix(3,3);
-        if (Math.abs(robotDeltas.get(2, 0)) < 0.001) {
-            transformation.set(0, 0, 1.0 - (Math.pow(robotDeltas.get(2, 0), 2) / 6.0));
-            transformation.set(0, 1, -robotDeltas.get(2, 0) / 2.0);
-            transformation.set(1, 0, robotDeltas.get(2, 0) / 2.0);
-            transformation.set(1, 1, 1.0 - (Math.pow(robotDeltas.get(2, 0), 2) / 6.0));
-            transformation.set(2, 2, 1.0);
-        } else {
-            transformation.set(0, 0, Math.sin(robotDeltas.get(2, 0)) / robotDeltas.get(2, 0));
-            transformation.set(0, 1, (Math.cos(robotDeltas.get(2, 0)) - 1.0) / robotDeltas.get(2, 0));
-            transformation.set(1, 0, (1.0 - Math.cos(robotDeltas.get(2, 0))) / robotDeltas.get(2, 0));
-            transformation.set(1, 1, Math.sin(robotDeltas.get(2, 0)) / robotDeltas.get(2, 0));
-            transformation.set(2, 2, 1.0);
-        }
-
-        globalDeltas = Matrix.multiply(Matrix.multiply(prevRotationMatrix, transformation), robotDeltas);
-
-        displacementPose.add(new Pose(globalDeltas.get(0, 0), globalDeltas.get(1, 0), globalDeltas.get(2, 0)));
-        currentVelocity = new Pose(globalDeltas.get(0, 0) / (deltaTimeNano / Math.pow(10.0, 9)), globalDeltas.get(1, 0) / (deltaTimeNano / Math.pow(10.0, 9)), globalDeltas.get(2, 0) / (deltaTimeNano / Math.pow(10.0, 9)));
-
-        totalHeading += globalDeltas.get(2, 0);
+        calculateRobotDeltas();
+        odometryKernel.calculateGlobalDeltas(startPose.getHeading() + displacementPose.getHeading(), robotDeltaX, robotDeltaY, robotDeltaHeading);
+        odometryKernel.integrate(displacementPose, currentVelocity, deltaTimeNano);
+
+        totalHeading += odometryKernel.getDeltaHeading();
     }
 
     /**
@@ -215,6 +222,20 @@ public class DriveEncoderLocalizer extends Localizer {
         rightRear.reset();
     }
 
+    /**
+     * This calculates the change in position from the perspective of the robot using information
+     * from the Encoders, and puts it into robotDeltaX, robotDeltaY, and robotDeltaHeading
+     * instead of a new Matrix.
+     */
+    private void calculateRobotDeltas() {
+        // x/forward movement
+        robotDeltaX = FORWARD_TICKS_TO_INCHES * (leftFront.getDeltaPosition() + rightFront.getDeltaPosition() + leftRear.getDeltaPosition() + rightRear.getDeltaPosition());
+        //y/strafe movement
+        robotDeltaY = STRAFE_TICKS_TO_INCHES * (-leftFront.getDeltaPosition() + rightFront.getDeltaPosition() + leftRear.getDeltaPosition() - rightRear.getDeltaPosition());
+        // theta/turning
+        robotDeltaHeading = TURN_TICKS_TO_RADIANS * ((-leftFront.getDeltaPosition() + rightFront.getDeltaPosition() - leftRear.getDeltaPosition() + rightRear.getDeltaPosition()) / (ROBOT_WIDTH + ROBOT_LENGTH));
+    }
+
     /**
      * This calculates the change in position from the perspective of the robot using information
      * from the Encoders.
@@ -222,13 +243,11 @@ public class DriveEncoderLocalizer extends Localizer {
      * @return returns a Matrix containing the robot relative movement.
      */
     public Matrix getRobotDeltas() {
+        calculateRobotDeltas();
         Matrix returnMatrix = new Matrix(3,1);
-        // x/forward movement
-        returnMatrix.set(0,0, FORWARD_TICKS_TO_INCHES * (leftFront.getDeltaPosition() + rightFront.getDeltaPosition() + leftRear.getDeltaPosition() + rightRear.getDeltaPosition()));
-        //y/strafe movement
-        returnMatrix.set(1,0, STRAFE_TICKS_TO_INCHES * (-leftFront.getDeltaPosition() + rightFront.getDeltaPosition() + leftRear.getDeltaPosition() - rightRear.getDeltaPosition()));
-        // theta/turning
-        returnMatrix.set(2,0, TURN_TICKS_TO_RADIANS * ((-leftFront.getDeltaPosition() + rightFront.getDeltaPosition() - leftRear.getDeltaPosition() + rightRear.getDeltaPosition()) / (ROBOT_WIDTH + ROBOT_LENGTH)));
+        returnMatrix.set(0,0, robotDeltaX);
+        returnMatrix.set(1,0, robotDeltaY);
+        returnMatrix.set(2,0, robotDeltaHeading);
         return returnMatrix;
     }
 
@@ -284,6 +303,6 @@ public class DriveEncoderLocalizer extends Localizer {
      * @return returns whether the robot's position is NaN
      */
     public boolean isNAN() {
-        return Double.isNaN(getPose().getX()) || Double.isNaN(getPose().getY()) || Double.isNaN(getPose().getHeading());
+        return Double.isNaN(startPose.getX() + displacementPose.getX()) || Double.isNaN(startPose.getY() + displacementPose.getY()) || Double.isNaN(startPose.getHeading() + displacementPose.getHeading());
     }
 }
@@ -0,0 +1,712 @@
+package com.pedropathing.localization.localizers;
+
+import static com.pedropathing.localization.constants.FusionConstants.*;
+
+import com.pedropathing.localization.IMUSample;
+import com.pedropathing.localization.IMUSampler;
+import com.pedropathing.localization.Localizer;
+import com.pedropathing.localization.Localizers;
+import com.pedropathing.localization.Matrix;
+import com.pedropathing.localization.Pose;
+import com.pedropathing.localization.PoseUpdater;
+import com.pedropathing.localization.constants.FusionConstants;
+import com.pedropathing.pathgen.MathFunctions;
+import com.pedropathing.pathgen.Vector;
+import com.pedropathing.util.NanoTimer;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+import com.qualcomm.robotcore.hardware.IMU;
+
+/**
+ * This is the FusionLocalizer class. This class extends the Localizer superclass and is a localizer
+ * that combines wheel odometry with the IMU and an absolute localizer, like the Pinpoint or the OTOS,
+ * or pose fixes from anything else, like AprilTags, using an extended Kalman filter.
+ *
+ * The filter keeps track of the x, y, heading, x velocity, y velocity, and angular velocity of the
+ * robot, along with how unsure it is of each one. Every update, the movement of the odometry
+ * Localizer is used to predict where the robot moved to, which makes the filter less sure of the
+ * pose the more the robot moved. Then, the heading from the IMU and the pose from the absolute
+ * Localizer are used to correct the prediction, each weighted by how much it is trusted compared to
+ * the prediction. Pose fixes from anything else can be added whenever they come in with
+ * addPoseMeasurement or addHeadingMeasurement.
+ *
+ * How much each source is trusted is set in the FusionConstants. Everything the filter works with is
+ * made ahead of time, so updating doesn't create anything.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class FusionLocalizer extends Localizer {
+    // These are the indices of each part of the state
+    private static final int X = 0;
+    private static final int Y = 1;
+    private static final int HEADING = 2;
+    private static final int X_VELOCITY = 3;
+    private static final int Y_VELOCITY = 4;
+    private static final int ANGULAR_VELOCITY = 5;
+    private static final int STATE_SIZE = 6;
+
+    private final Localizer odometry;
+    private Localizer absoluteLocalizer;
+    private IMU imu;
+    private IMUSampler imuSampler;
+    private final IMUSample imuSample = new IMUSample();
+    private double imuHeadingOffset;
+    private long lastIMUSampleCount;
+
+    private final NanoTimer timer;
+    private Pose startPose;
+    private double totalHeading;
+
+    private final double[] state = new double[STATE_SIZE];
+    private final Matrix covariance = new Matrix(STATE_SIZE, STATE_SIZE);
+
+    // These are used for the prediction step
+    private final Matrix stateJacobian = new Matrix(STATE_SIZE, STATE_SIZE);
+    private final Matrix inputJacobian = new Matrix(STATE_SIZE, 3);
+    private final Matrix inputNoise = new Matrix(3, 3);
+    private final Matrix inputNoiseProduct = new Matrix(STATE_SIZE, 3);
+    private final Matrix processNoise = new Matrix(STATE_SIZE, STATE_SIZE);
+    private final Matrix predictionProduct = new Matrix(STATE_SIZE, STATE_SIZE);
+
+    private final Pose odometryPose = new Pose();
+    private final Pose previousOdometryPose = new Pose();
+    private final Pose absolutePose = new Pose();
+
+    private final Correction headingCorrection = new Correction(HEADING);
+    private final Correction poseCorrection = new Correction(X, Y, HEADING);
+
+    /**
+     * This creates a new FusionLocalizer from a HardwareMap, with a starting Pose at (0,0) facing 0
+     * heading. The odometry Localizer, the IMU, and the absolute Localizer are set up from the
+     * FusionConstants.
+     *
+     * @param map the HardwareMap
+     */
+    public FusionLocalizer(HardwareMap map) {
+        this(map, new Pose());
+    }
+
+    /**
+     * This creates a new FusionLocalizer from a HardwareMap and a Pose, with the Pose specifying the
+     * starting pose of the localizer. The odometry Localizer, the IMU, and the absolute Localizer
+     * are set up from the FusionConstants.
+     *
+     * @param map the HardwareMap
+     * @param setStartPose the Pose to start from
+     */
+    public FusionLocalizer(HardwareMap map, Pose setStartPose) {
+        this(createLocalizer(map, odometryLocalizer), setStartPose);
+
+        if (useIMU) {
+            IMU odometryIMU = odometry.getIMU();
+            if (odometryIMU != null) {
+                setIMU(odometryIMU);
+            } else {
+                IMU newIMU = map.get(IMU.class, IMU_HardwareMapName);
+                newIMU.initialize(new IMU.Parameters(IMU_Orientation));
+                setIMU(newIMU);
+            }
+        }
+
+        if (useAbsoluteLocalizer) {
+            setAbsoluteLocalizer(createLocalizer(map, FusionConstants.absoluteLocalizer));
+        }
+    }
+
+    /**
+     * This creates a new FusionLocalizer around an odometry Localizer, with a starting Pose at (0,0)
+     * facing 0 heading. Nothing corrects the odometry until an IMU or absolute Localizer is set, or
+     * pose measurements are added.
+     *
+     * @param odometry the Localizer whose movement drives the prediction step
+     */
+    public FusionLocalizer(Localizer odometry) {
+        this(odometry, new Pose());
+    }
+
+    /**
+     * This creates a new FusionLocalizer around an odometry Localizer, with the Pose specifying the
+     * starting pose of the localizer. Nothing corrects the odometry until an IMU or absolute
+     * Localizer is set, or pose measurements are added.
+     *
+     * @param odometry the Localizer whose movement drives the prediction step
+     * @param setStartPose the Pose to start from
+     */
+    public FusionLocalizer(Localizer odometry, Pose setStartPose) {
+        this.odometry = odometry;
+        startPose = setStartPose;
+        timer = new NanoTimer();
+        totalHeading = 0;
+        resetState(setStartPose);
+    }
+
+    /**
+     * This creates one of the Localizers the FusionLocalizer is built from.
+     *
+     * @param map the HardwareMap
+     * @param type the type of Localizer, which can't be Localizers.FUSION
+     * @return returns the new Localizer
+     */
+    private static Localizer createLocalizer(HardwareMap map, Localizers type) {
+        if (type == Localizers.FUSION) {
+            throw new IllegalArgumentException("The FusionLocalizer can't be built from another FusionLocalizer");
+        }
+        return PoseUpdater.createLocalizer(map, type);
+    }
+
+    /**
+     * This sets the IMU used to correct the heading. The IMU is read on its own thread, sharing the
+     * odometry Localizer's IMUSampler if it already reads the same IMU that way, so the loop never
+     * waits on it. The IMU's heading is lined up with the current heading estimate when it is set.
+     *
+     * @param setIMU the IMU, or null to stop using an IMU
+     */
+    public synchronized void setIMU(IMU setIMU) {
+        imu = setIMU;
+        imuSampler = null;
+        if (imu != null) {
+            IMUSampler odometrySampler = odometry.getIMUSampler();
+            if (odometrySampler != null && odometrySampler.getIMU() == imu) {
+                imuSampler = odometrySampler;
+            } else {
+                imuSampler = new IMUSampler(imu, imuSampleRate);
+                imuSampler.start();
+            }
+        }
+        alignIMU();
+    }
+
+    /**
+     * This sets the absolute Localizer used to correct the pose every update. The absolute
+     * Localizer is moved to the current pose estimate when it is set.
+     *
+     * @param setAbsoluteLocalizer the absolute Localizer, or null to stop using one
+     */
+    public synchronized void setAbsoluteLocalizer(Localizer setAbsoluteLocalizer) {
+        absoluteLocalizer = setAbsoluteLocalizer;
+        if (absoluteLocalizer != null) {
+            absoluteLocalizer.setPose(getPose());
+        }
+    }
+
+    /**
+     * This returns the odometry Localizer.
+     *
+     * @return returns the odometry Localizer
+     */
+    public Localizer getOdometryLocalizer() {
+        return odometry;
+    }
+
+    /**
+     * This returns the absolute Localizer.
+     *
+     * @return returns the absolute Localizer, or null if there isn't one
+     */
+    public Localizer getAbsoluteLocalizer() {
+        return absoluteLocalizer;
+    }
+
+    /**
+     * This sets the pose of the filter and how unsure it is of it back to the initial noise from
+     * the FusionConstants. The velocity is set to zero.
+     *
+     * @param pose the pose to reset to
+     */
+    private void resetState(Pose pose) {
+        state[X] = pose.getX();
+        state[Y] = pose.getY();
+        state[HEADING] = pose.getHeading();
+        state[X_VELOCITY] = 0;
+        state[Y_VELOCITY] = 0;
+        state[ANGULAR_VELOCITY] = 0;
+
+        covariance.setZero();
+        covariance.set(X, X, initialPositionNoise * initialPositionNoise);
+        covariance.set(Y, Y, initialPositionNoise * initialPositionNoise);
+        covariance.set(HEADING, HEADING, initialHeadingNoise * initialHeadingNoise);
+
+        odometry.getPoseInto(previousOdometryPose);
+    }
+
+    /**
+     * This lines the IMU's heading up with the current heading estimate. The total yaw is used,
+     * since it doesn't jump when the IMU is reset.
+     */
+    private void alignIMU() {
+        if (imuSampler != null) {
+            imuSampler.read(imuSample);
+            lastIMUSampleCount = imuSample.getSampleCount();
+            imuHeadingOffset = state[HEADING] - imuSample.getTotalYaw();
+        }
+    }
+
+    /**
+     * This returns the current pose estimate.
+     *
+     * @return returns the current pose estimate as a Pose
+     */
+    @Override
+    public synchronized Pose getPose() {
+        return new Pose(state[X], state[Y], state[HEADING]);
+    }
+
+    /**
+     * This puts the current pose estimate into the specified Pose.
+     *
+     * @param out the Pose to put the pose estimate into.
+     * @return returns the Pose passed in, which now holds the pose estimate.
+     */
+    @Override
+    public synchronized Pose getPoseInto(Pose out) {
+        out.set(state[X], state[Y], state[HEADING]);
+        return out;
+    }
+
+    /**
+     * This returns the current velocity estimate.
+     *
+     * @return returns the current velocity estimate as a Pose
+     */
+    @Override
+    public synchronized Pose getVelocity() {
+        return new Pose(state[X_VELOCITY], state[Y_VELOCITY], state[ANGULAR_VELOCITY]);
+    }
+
+    /**
+     * This returns the current velocity estimate.
+     *
+     * @return returns the current velocity estimate as a Vector
+     */
+    @Override
+    public Vector getVelocityVector() {
+        return getVelocityVectorInto(new Vector());
+    }
+
+    /**
+     * This puts the current velocity estimate into the specified Vector.
+     *
+     * @param out the Vector to put the velocity estimate into.
+     * @return returns the Vector passed in, which now holds the velocity estimate.
+     */
+    @Override
+    public synchronized Vector getVelocityVectorInto(Vector out) {
+        out.setOrthogonalComponents(state[X_VELOCITY], state[Y_VELOCITY]);
+        return out;
+    }
+
+    /**
+     * This sets the start pose. Changing the start pose should move the robot as if all its
+     * previous movements were displacing it from its new start pose.
+     *
+     * @param setStart the new start pose
+     */
+    @Override
+    public synchronized void setStartPose(Pose setStart) {
+        double headingChange = setStart.getHeading() - startPose.getHeading();
+        state[X] += setStart.getX() - startPose.getX();
+        state[Y] += setStart.getY() - startPose.getY();
+        state[HEADING] += headingChange;
+        imuHeadingOffset += headingChange;
+        if (absoluteLocalizer != null) {
+            absoluteLocalizer.setStartPose(setStart);
+        }
+        startPose = setStart;
+    }
+
+    /**
+     * This sets the current pose estimate. Changing this should just change the robot's current
+     * pose estimate, not anything to do with the start pose. The filter becomes as sure of the new
+     * pose as it was of the starting pose.
+     *
+     * @param setPose the new current pose estimate
+     */
+    @Override
+    public synchronized void setPose(Pose setPose) {
+        odometry.setPose(setPose);
+        if (absoluteLocalizer != null) {
+            absoluteLocalizer.setPose(setPose);
+        }
+        resetState(setPose);
+        alignIMU();
+    }
+
+    /**
+     * This updates the odometry Localizer and predicts the new pose from how much it moved, then
+     * corrects the prediction with the IMU and the absolute Localizer, if they are being used.
+     */
+    @Override
+    public synchronized void update() {
+        double deltaTimeSeconds = timer.getElapsedTime() / Math.pow(10.0, 9);
+        timer.resetTimer();
+        double previousHeading = state[HEADING];
+
+        odometry.update();
+        odometry.getPoseInto(odometryPose);
+
+        // the odometry's movement is turned into the robot's perspective, so it doesn't matter if its heading has drifted from ours
+        double deltaHeading = angleDifference(odometryPose.getHeading(), previousOdometryPose.getHeading());
+        double odometryHeading = previousOdometryPose.getHeading() + deltaHeading / 2.0;
+        double deltaX = odometryPose.getX() - previousOdometryPose.getX();
+        double deltaY = odometryPose.getY() - previousOdometryPose.getY();
+        double cos = Math.cos(odometryHeading);
+        double sin = Math.sin(odometryHeading);
+        predict(cos * deltaX + sin * deltaY, -sin * deltaX + cos * deltaY, deltaHeading, deltaTimeSeconds);
+        previousOdometryPose.set(odometryPose);
+
+        // each IMU sample is only used once, so a slow IMU isn't trusted more than it should be
+        if (imuSampler != null) {
+            imuSampler.read(imuSample);
+            long sampleCount = imuSample.getSampleCount();
+            if (sampleCount != lastIMUSampleCount) {
+                lastIMUSampleCount = sampleCount;
+                correctHeading(imuSample.getTotalYaw() + imuHeadingOffset, imuHeadingNoise);
+            }
+        }
+
+        if (absoluteLocalizer != null) {
+            absoluteLocalizer.update();
+            absoluteLocalizer.getPoseInto(absolutePose);
+            correctPose(absolutePose.getX(), absolutePose.getY(), absolutePose.getHeading(), absolutePositionNoise, absolutePositionNoise, absoluteHeadingNoise);
+        }
+
+        totalHeading += state[HEADING] - previousHeading;
+    }
+
+    /**
+     * This is the prediction step of the filter. The robot is moved by the odometry's movement,
+     * turned to the field's perspective using the current heading, and the covariance grows by the
+     * odometry's noise.
+     *
+     * @param forward how far the robot moved forward, in inches
+     * @param strafe how far the robot moved to the left, in inches
+     * @param deltaHeading how much the robot turned, in radians
+     * @param deltaTimeSeconds the time since the last update, in seconds
+     */
+    private void predict(double forward, double strafe, double deltaHeading, double deltaTimeSeconds) {
+        double heading = state[HEADING] + deltaHeading / 2.0;
+        double cos = Math.cos(heading);
+        double sin = Math.sin(heading);
+        double deltaX = cos * forward - sin * strafe;
+        double deltaY = sin * forward + cos * strafe;
+
+        state[X] += deltaX;
+        state[Y] += deltaY;
+        state[HEADING] += deltaHeading;
+
+        stateJacobian.setIdentity();
+        stateJacobian.set(X, HEADING, -deltaY);
+        stateJacobian.set(Y, HEADING, deltaX);
+
+        inputJacobian.setZero();
+        inputJacobian.set(X, 0, cos);
+        inputJacobian.set(X, 1, -sin);
+        inputJacobian.set(Y, 0, sin);
+        inputJacobian.set(Y, 1, cos);
+        inputJacobian.set(HEADING, 2, 1);
+
+        // the velocities are replaced by the movement over the time it took, so they don't depend on the old velocities
+        if (deltaTimeSeconds > 0) {
+            state[X_VELOCITY] = deltaX / deltaTimeSeconds;
+            state[Y_VELOCITY] = deltaY / deltaTimeSeconds;
+            state[ANGULAR_VELOCITY] = deltaHeading / deltaTimeSeconds;
+
+            stateJacobian.set(X_VELOCITY, X_VELOCITY, 0);
+            stateJacobian.set(Y_VELOCITY, Y_VELOCITY, 0);
+            stateJacobian.set(ANGULAR_VELOCITY, ANGULAR_VELOCITY, 0);
+            stateJacobian.set(X_VELOCITY, HEADING, -deltaY / deltaTimeSeconds);
+            stateJacobian.set(Y_VELOCITY, HEADING, deltaX / deltaTimeSeconds);
+
+            inputJacobian.set(X_VELOCITY, 0, cos / deltaTimeSeconds);
+            inputJacobian.set(X_VELOCITY, 1, -sin / deltaTimeSeconds);
+            inputJacobian.set(Y_VELOCITY, 0, sin / deltaTimeSeconds);
+            inputJacobian.set(Y_VELOCITY, 1, cos / deltaTimeSeconds);
+            inputJacobian.set(ANGULAR_VELOCITY, 2, 1 / deltaTimeSeconds);
+        }
+
+        double forwardNoise = odometryTranslationalNoise * Math.abs(forward) + odometryBaseNoise;
+        double strafeNoise = odometryTranslationalNoise * Math.abs(strafe) + odometryBaseNoise;
+        double headingNoise = odometryHeadingNoise * Math.abs(deltaHeading) + odometryBaseNoise;
+        inputNoise.setZero();
+        inputNoise.set(0, 0, forwardNoise * forwardNoise);
+        inputNoise.set(1, 1, strafeNoise * strafeNoise);
+        inputNoise.set(2, 2, headingNoise * headingNoise);
+
+        // P = F * P * F^T + G * M * G^T
+        Matrix.multiply(stateJacobian, covariance, predictionProduct);
+        Matrix.multiplyTransposed(predictionProduct, stateJacobian, covariance);
+        Matrix.multiply(inputJacobian, inputNoise, inputNoiseProduct);
+        Matrix.multiplyTransposed(inputNoiseProduct, inputJacobian, processNoise);
+        covariance.add(processNoise);
+    }
+
+    /**
+     * This corrects the heading with a measured heading, like from an IMU.
+     *
+     * @param heading the measured heading, in radians
+     * @param noise how much the measurement can be off by, in radians
+     */
+    private void correctHeading(double heading, double noise) {
+        headingCorrection.innovation[0] = angleDifference(heading, state[HEADING]);
+        headingCorrection.measurementNoise.set(0, 0, noise * noise);
+        correct(headingCorrection);
+    }
+
+    /**
+     * This corrects the pose with a measured pose, with a separate amount of noise for each part.
+     *
+     * @param x the measured x, in inches
+     * @param y the measured y, in inches
+     * @param heading the measured heading, in radians
+     * @param xNoise how much the x can be off by, in inches
+     * @param yNoise how much the y can be off by, in inches
+     * @param headingNoise how much the heading can be off by, in radians
+     */
+    private void correctPose(double x, double y, double heading, double xNoise, double yNoise, double headingNoise) {
+        poseCorrection.measurementNoise.setZero();
+        poseCorrection.measurementNoise.set(0, 0, xNoise * xNoise);
+        poseCorrection.measurementNoise.set(1, 1, yNoise * yNoise);
+        poseCorrection.measurementNoise.set(2, 2, headingNoise * headingNoise);
+        correctPose(x, y, heading);
+    }
+
+    /**
+     * This corrects the pose with a measured pose, using the measurement noise already set in the
+     * pose Correction.
+     *
+     * @param x the measured x, in inches
+     * @param y the measured y, in inches
+     * @param heading the measured heading, in radians
+     */
+    private void correctPose(double x, double y, double heading) {
+        poseCorrection.innovation[0] = x - state[X];
+        poseCorrection.innovation[1] = y - state[Y];
+        poseCorrection.innovation[2] = angleDifference(heading, state[HEADING]);
+        correct(poseCorrection);
+    }
+
+    /**
+     * This is the correction step of the filter. The Kalman gain is found by solving with the
+     * innovation covariance instead of inverting it, then the state is moved toward the measurement
+     * and the covariance shrinks.
+     *
+     * @param correction the Correction, with the innovation and measurement noise filled in
+     * @return returns false if the innovation covariance couldn't be solved, and nothing changed
+     */
+    private boolean correct(Correction correction) {
+        // S = H * P * H^T + R
+        Matrix.multiply(correction.measurementMatrix, covariance, correction.projectedCovariance);
+        Matrix.multiplyTransposed(correction.projectedCovariance, correction.measurementMatrix, correction.innovationCovariance);
+        correction.innovationCovariance.add(correction.measurementNoise);
+
+        // K^T = S^-1 * H * P, since P and S are symmetric
+        if (!correction.innovationCovariance.choleskySolve(correction.projectedCovariance, correction.gainTransposed)) {
+            return false;
+        }
+
+        for (int i = 0; i < STATE_SIZE; i++) {
+            double change = 0;
+            for (int j = 0; j < correction.innovation.length; j++) {
+                change += correction.gainTransposed.get(j, i) * correction.innovation[j];
+            }
+            state[i] += change;
+        }
+
+        // P = P - K * H * P
+        Matrix.transpose(correction.projectedCovariance, correction.projectedCovarianceTransposed);
+        Matrix.multiply(correction.projectedCovarianceTransposed, correction.gainTransposed, correction.covarianceChange);
+        covariance.subtract(correction.covarianceChange);
+        symmetrizeCovariance();
+        return true;
+    }
+
+    /**
+     * This averages the covariance with its transpose, so rounding errors can't make it lopsided.
+     */
+    private void symmetrizeCovariance() {
+        for (int i = 0; i < STATE_SIZE; i++) {
+            for (int j = i + 1; j < STATE_SIZE; j++) {
+                double average = (covariance.get(i, j) + covariance.get(j, i)) / 2.0;
+                covariance.set(i, j, average);
+                covariance.set(j, i, average);
+            }
+        }
+    }
+
+    /**
+     * This returns the signed smallest difference between two angles.
+     *
+     * @param to the angle to go to
+     * @param from the angle to go from
+     * @return returns the difference, between -pi and pi radians
+     */
+    private static double angleDifference(double to, double from) {
+        return MathFunctions.getTurnDirection(from, to) * MathFunctions.getSmallestAngleDifference(to, from);
+    }
+
+    /**
+     * This adds a pose measurement from anything that knows where the robot is on the field, like
+     * AprilTags, and corrects the pose with it right away.
+     *
+     * @param pose the measured pose
+     * @param positionNoise how much the x and y can be off by, in inches
+     * @param headingNoise how much the heading can be off by, in radians
+     */
+    public synchronized void addPoseMeasurement(Pose pose, double positionNoise, double headingNoise) {
+        correctPose(pose.getX(), pose.getY(), pose.getHeading(), positionNoise, positionNoise, headingNoise);
+    }
+
+    /**
+     * This adds a pose measurement with a full covariance, and corrects the pose with it right
+     * away.
+     *
+     * @param pose the measured pose
+     * @param measurementCovariance the 3x3 covariance of the x, y, and heading of the measurement
+     */
+    public synchronized void addPoseMeasurement(Pose pose, Matrix measurementCovariance) {
+        if (measurementCovariance.getRows() != 3 || measurementCovariance.getColumns() != 3) {
+            throw new IllegalArgumentException("The measurement covariance must be 3x3");
+        }
+        poseCorrection.measurementNoise.setMatrix(measurementCovariance);
+        correctPose(pose.getX(), pose.getY(), pose.getHeading());
+    }
+
+    /**
+     * This adds a heading measurement, and corrects the heading with it right away.
+     *
+     * @param heading the measured heading, in radians
+     * @param headingNoise how much the heading can be off by, in radians
+     */
+    public synchronized void addHeadingMeasurement(double heading, double headingNoise) {
+        correctHeading(heading, headingNoise);
+    }
+
+    /**
+     * This returns a copy of the covariance of the state, which is how unsure the filter is of the
+     * x, y, heading, x velocity, y velocity, and angular velocity, in that order.
+     *
+     * @return returns the 6x6 covariance
+     */
+    public synchronized Matrix getCovariance() {
+        return new Matrix(covariance);
+    }
+
+    /**
+     * This returns how far the robot has turned in radians, in a number not clamped between 0 and
+     * 2 * pi radians. This is used for some tuning things and nothing actually within the following.
+     *
+     * @return returns how far the robot has turned in total, in radians.
+     */
+    @Override
+    public double getTotalHeading() {
+        return totalHeading;
+    }
+
+    /**
+     * This returns the forward multiplier of the odometry Localizer.
+     *
+     * @return returns the forward ticks to inches multiplier
+     */
+    @Override
+    public double getForwardMultiplier() {
+        return odometry.getForwardMultiplier();
+    }
+
+    /**
+     * This returns the lateral multiplier of the odometry Localizer.
+     *
+     * @return returns the lateral/strafe ticks to inches multiplier
+     */
+    @Override
+    public double getLateralMultiplier() {
+        return odometry.getLateralMultiplier();
+    }
+
+    /**
+     * This returns the turning multiplier of the odometry Localizer.
+     *
+     * @return returns the turning ticks to radians multiplier
+     */
+    @Override
+    public double getTurningMultiplier() {
+        return odometry.getTurningMultiplier();
+    }
+
+    /**
+     * This resets the IMU of the odometry Localizer and the IMU used for heading corrections. This
+     * doesn't change the heading estimate, since the heading corrections use the total yaw, which
+     * isn't changed by resets.
+     */
+    @Override
+    public synchronized void resetIMU() throws InterruptedException {
+        odometry.resetIMU();
+        if (imuSampler != null && imuSampler != odometry.getIMUSampler()) {
+            imuSampler.resetYaw();
+        }
+    }
+
+    /**
+     * This returns the IMU used for heading corrections.
+     *
+     * @return returns the IMU, or null if there isn't one
+     */
+    @Override
+    public IMU getIMU() {
+        return imu;
+    }
+
+    /**
+     * This returns the IMUSampler that reads the IMU used for heading corrections.
+     *
+     * @return returns the IMUSampler, or null if there isn't an IMU
+     */
+    @Override
+    public IMUSampler getIMUSampler() {
+        return imuSampler;
+    }
+
+    /**
+     * This returns whether if any component of robot's position is NaN.
+     *
+     * @return returns whether the robot's position is NaN
+     */
+    @Override
+    public synchronized boolean isNAN() {
+        return Double.isNaN(state[X]) || Double.isNaN(state[Y]) || Double.isNaN(state[HEADING]);
+    }
+
+    /**
+     * This holds everything needed to correct the state with one kind of measurement, made ahead
+     * of time for its size so correcting doesn't create anything.
+     */
+    private static class Correction {
+        private final Matrix measurementMatrix;
+        private final Matrix measurementNoise;
+        private final Matrix projectedCovariance;
+        private final Matrix projectedCovarianceTransposed;
+        private final Matrix innovationCovariance;
+        private final Matrix gainTransposed;
+        private final Matrix covarianceChange;
+        private final double[] innovation;
+
+        /**
+         * This creates a new Correction for a measurement of some of the parts of the state.
+         *
+         * @param measuredStates the indices of the parts of the state that are measured
+         */
+        private Correction(int... measuredStates) {
+            int size = measuredStates.length;
+            measurementMatrix = new Matrix(size, STATE_SIZE);
+            for (int i = 0; i < size; i++) {
+                measurementMatrix.set(i, measuredStates[i], 1);
+            }
+            measurementNoise = new Matrix(size, size);
+            projectedCovariance = new Matrix(size, STATE_SIZE);
+            projectedCovarianceTransposed = new Matrix(STATE_SIZE, size);
+            innovationCovariance = new Matrix(size, size);
+            gainTransposed = new Matrix(size, STATE_SIZE);
+            covarianceChange = new Matrix(STATE_SIZE, STATE_SIZE);
+            innovation = new double[size];
+        }
+    }
+}
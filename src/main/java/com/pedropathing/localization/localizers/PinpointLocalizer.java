@@ -16,6 +16,7 @@ import com.pedropathing.localization.Localizer;
 import com.pedropathing.localization.Pose;
 import com.pedropathing.pathgen.MathFunctions;
 import com.pedropathing.pathgen.Vector;
+import com.pedropathing.util.Clock;
 import com.pedropathing.util.NanoTimer;
 
 import java.util.Objects;
@@ -58,10 +59,22 @@ public class PinpointLocalizer extends Localizer {
     private Pose startPose;
     private long deltaTimeNano;
     private NanoTimer timer;
-    private Pose currentVelocity;
-    private Pose pinpointPose;
+    private final Pose currentVelocity = new Pose();
+    private final Pose pinpointPose = new Pose();
+
+    // These are reused on every update so that updating doesn't create any new objects
+    private final Pose rawPinpointPose = new Pose();
+    private final Pose currentPinpointPose = new Pose();
     private boolean pinpointCooked = false;
 
+    // These keep track of when the Pinpoint was last read and when it last had a new sample
+    private long lastReadTime;
+    private long lastSampleTime;
+    private long skippedReads;
+
+    // If the Pinpoint's pose doesn't change for this many of its loops, the robot is taken to be stopped
+    private final int STOPPED_SAMPLE_COUNT = 3;
+
     /**
      * This creates a new PinpointLocalizer from a HardwareMap, with a starting Pose at (0,0)
      * facing 0 heading.
@@ -100,8 +113,8 @@ public class PinpointLocalizer extends Localizer {
         setStartPose(setStartPose);
         totalHeading = 0;
         timer = new NanoTimer();
-        pinpointPose = startPose;
-        currentVelocity = new Pose();
+        pinpointPose.set(startPose);
+        currentVelocity.set(0, 0, 0);
         deltaTimeNano = 1;
         previousHeading = setStartPose.getHeading();
 
@@ -117,6 +130,18 @@ public class PinpointLocalizer extends Localizer {
         return pinpointPose.copy();
     }
 
+    /**
+     * This puts the current pose estimate into the specified Pose.
+     *
+     * @param out the Pose to put the pose estimate into.
+     * @return returns the Pose passed in, which now holds the pose estimate.
+     */
+    @Override
+    public Pose getPoseInto(Pose out) {
+        out.set(pinpointPose);
+        return out;
+    }
+
     /**
      * This returns the current velocity estimate.
      *
@@ -137,6 +162,18 @@ public class PinpointLocalizer extends Localizer {
         return currentVelocity.getVector();
     }
 
+    /**
+     * This puts the current velocity estimate into the specified Vector.
+     *
+     * @param out the Vector to put the velocity estimate into.
+     * @return returns the Vector passed in, which now holds the velocity estimate.
+     */
+    @Override
+    public Vector getVelocityVectorInto(Vector out) {
+        out.setOrthogonalComponents(currentVelocity.getX(), currentVelocity.getY());
+        return out;
+    }
+
     /**
      * This sets the start pose. Since nobody should be using this after the robot has begun moving,
      * and due to issues with the PinpointLocalizer, this is functionally the same as setPose(Pose).
@@ -164,24 +201,79 @@ public class PinpointLocalizer extends Localizer {
     @Override
     public void setPose(Pose setPose) {
         odo.setPosition(new Pose(setPose.getX(), setPose.getY(), setPose.getHeading()));
-        pinpointPose = setPose;
+        pinpointPose.set(setPose);
         previousHeading = setPose.getHeading();
+        lastSampleTime = Clock.nanoTime();
     }
 
     /**
      * This updates the total heading of the robot. The Pinpoint handles all other updates itself.
+     *
+     * The Pinpoint only makes a new sample once per its own loop, which is reported with every
+     * read. If skipStaleReads is on and it hasn't been a full Pinpoint loop since the last read,
+     * this skips the read, since it would only get the same sample back.
+     *
+     * The velocity comes from the Pinpoint's own velocity registers if useDeviceVelocity is on and
+     * the velocity is being read. Otherwise, the velocity is found from the change in pose between
+     * reads that got new samples, over the Pinpoint loops between those samples, so reads that got
+     * the same sample again don't show up as the robot stopping and then jumping forward.
      */
     @Override
     public void update() {
+        long now = Clock.nanoTime();
+        long loopTimeNano = odo.getLoopTime() * 1000L;
+        if (skipStaleReads && loopTimeNano > 0 && now - lastReadTime < loopTimeNano) {
+            skippedReads++;
+            return;
+        }
+        lastReadTime = now;
+
         deltaTimeNano = timer.getElapsedTime();
         timer.resetTimer();
         odo.update();
-        Pose currentPinpointPose = getPoseEstimate(odo.getPosition(), pinpointPose, deltaTimeNano);
+        getPoseEstimate(odo.getPositionInto(rawPinpointPose), pinpointPose, deltaTimeNano, currentPinpointPose);
         totalHeading += MathFunctions.getSmallestAngleDifference(currentPinpointPose.getHeading(), previousHeading);
         previousHeading = currentPinpointPose.getHeading();
-        Pose deltaPose = MathFunctions.subtractPoses(currentPinpointPose, pinpointPose);
-        currentVelocity = new Pose(deltaPose.getX() / (deltaTimeNano / Math.pow(10.0, 9)), deltaPose.getY() / (deltaTimeNano / Math.pow(10.0, 9)), deltaPose.getHeading() / (deltaTimeNano / Math.pow(10.0, 9)));
-        pinpointPose = currentPinpointPose;
+
+        if (useDeviceVelocity && odo.getBulkReadData() == GoBildaPinpointDriver.readData.UPDATE_POSITION_AND_VELOCITY && !pinpointCooked) {
+            odo.getVelocityInto(currentVelocity);
+        } else if (currentPinpointPose.getX() != pinpointPose.getX() || currentPinpointPose.getY() != pinpointPose.getY() || currentPinpointPose.getHeading() != pinpointPose.getHeading()) {
+            long sampleTimeNano = getTimeBetweenSamples(now, loopTimeNano);
+            double deltaTimeSeconds = sampleTimeNano / Math.pow(10.0, 9);
+            currentVelocity.set((currentPinpointPose.getX() - pinpointPose.getX()) / deltaTimeSeconds, (currentPinpointPose.getY() - pinpointPose.getY()) / deltaTimeSeconds, (currentPinpointPose.getHeading() - pinpointPose.getHeading()) / deltaTimeSeconds);
+            lastSampleTime = Math.min(now, lastSampleTime + sampleTimeNano);
+        } else if (now - lastSampleTime > STOPPED_SAMPLE_COUNT * Math.max(loopTimeNano, deltaTimeNano)) {
+            currentVelocity.set(0, 0, 0);
+        }
+        pinpointPose.set(currentPinpointPose);
+    }
+
+    /**
+     * This returns the time between the last new sample and the one just read. The Pinpoint makes
+     * a new sample once per its own loop, so this is the whole number of Pinpoint loops closest to
+     * the time between the reads that got them, rather than the time between the reads, which also
+     * includes however long each sample sat on the Pinpoint before it was read. If the Pinpoint
+     * hasn't reported its loop time, the time between the reads is used.
+     *
+     * @param now the time of this read, from the Clock.
+     * @param loopTimeNano the Pinpoint's loop time, in nanoseconds.
+     * @return returns the time between the two samples, in nanoseconds.
+     */
+    private long getTimeBetweenSamples(long now, long loopTimeNano) {
+        long readTimeNano = now - lastSampleTime;
+        if (loopTimeNano <= 0) return readTimeNano;
+        long loops = Math.max(1, Math.round((double) readTimeNano / loopTimeNano));
+        return loops * loopTimeNano;
+    }
+
+    /**
+     * This returns the number of times update skipped reading the Pinpoint because it wouldn't
+     * have had a new sample yet.
+     *
+     * @return returns the number of skipped reads.
+     */
+    public long getSkippedReadCount() {
+        return skippedReads;
     }
 
     /**
@@ -253,7 +345,7 @@ public class PinpointLocalizer extends Localizer {
         }
     }
 
-    private Pose getPoseEstimate(Pose pinpointEstimate, Pose currentPose, long deltaTime) {
+    private Pose getPoseEstimate(Pose pinpointEstimate, Pose currentPose, long deltaTime, Pose out) {
         double x;
         double y;
         double heading;
@@ -281,7 +373,8 @@ public class PinpointLocalizer extends Localizer {
             pinpointCooked = true;
         }
 
-        return new Pose(x, y, heading);
+        out.set(x, y, heading);
+        return out;
     }
 
     /**
@@ -11,11 +11,16 @@ import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
 import org.firstinspires.ftc.robotcore.external.navigation.DistanceUnit;
 
 import com.pedropathing.localization.Encoder;
+import com.pedropathing.localization.IMUSample;
+import com.pedropathing.localization.IMUSampler;
 import com.pedropathing.localization.Localizer;
 import com.pedropathing.localization.Matrix;
+import com.pedropathing.localization.OdometryKernel;
 import com.pedropathing.localization.Pose;
 import com.pedropathing.pathgen.MathFunctions;
 import com.pedropathing.pathgen.Vector;
+import com.pedropathing.util.BulkReadManager;
+import com.pedropathing.util.Clock;
 import com.pedropathing.util.NanoTimer;
 
 /**
@@ -52,7 +57,10 @@ public class ThreeWheelIMULocalizer extends Localizer {
     private Pose startPose;
     private Pose displacementPose;
     private Pose currentVelocity;
-    private Matrix prevRotationMatrix;
+    private final OdometryKernel odometryKernel = new OdometryKernel();
+    private double robotDeltaX;
+    private double robotDeltaY;
+    private double robotDeltaHeading;
     private NanoTimer timer;
     private long deltaTimeNano;
     private Encoder leftEncoder;
@@ -63,8 +71,16 @@ public class ThreeWheelIMULocalizer extends Localizer {
     private Pose strafeEncoderPose;
 
     public final IMU imu;
+    private IMUSampler imuSampler;
+    private final IMUSample imuSample = new IMUSample();
     private double previousIMUOrientation;
     private double deltaRadians;
+    private long lastIMUSampleCount;
+    private double lastIMUTotalYaw;
+    private double encoderHeading;
+    private double encoderHeadingAtLastSample;
+    private long lastEncoderUpdateTime;
+    private double imuHeadingCorrection;
     private double totalHeading;
     public static double FORWARD_TICKS_TO_INCHES;
     public static double STRAFE_TICKS_TO_INCHES;
@@ -103,9 +119,18 @@ public class ThreeWheelIMULocalizer extends Localizer {
         imu = hardwareMap.get(IMU.class, IMU_HardwareMapName);
         imu.initialize(new IMU.Parameters(IMU_Orientation));
 
-        leftEncoder = new Encoder(hardwareMap.get(DcMotorEx.class, leftEncoder_HardwareMapName));
-        rightEncoder = new Encoder(hardwareMap.get(DcMotorEx.class, rightEncoder_HardwareMapName));
-        strafeEncoder = new Encoder(hardwareMap.get(DcMotorEx.class, strafeEncoder_HardwareMapName));
+        if (useAsyncIMU) {
+            imuSampler = new IMUSampler(imu, imuSampleRate);
+            imuSampler.start();
+            imuSampler.read(imuSample);
+            lastIMUSampleCount = imuSample.getSampleCount();
+            lastIMUTotalYaw = imuSample.getTotalYaw();
+            lastEncoderUpdateTime = Clock.nanoTime();
+        }
+
+        leftEncoder = new Encoder(hardwareMap.get(DcMotorEx.class, leftEncoder_HardwareMapName), BulkReadManager.get(hardwareMap));
+        rightEncoder = new Encoder(hardwareMap.get(DcMotorEx.class, rightEncoder_HardwareMapName), BulkReadManager.get(hardwareMap));
+        strafeEncoder = new Encoder(hardwareMap.get(DcMotorEx.class, strafeEncoder_HardwareMapName), BulkReadManager.get(hardwareMap));
 
         leftEncoder.setDirection(leftEncoderDirection);
         rightEncoder.setDirection(rightEncoderDirection);
@@ -151,6 +176,30 @@ public class ThreeWheelIMULocalizer extends Localizer {
         return currentVelocity.getVector();
     }
 
+    /**
+     * This puts the current pose estimate into the specified Pose.
+     *
+     * @param out the Pose to put the pose estimate into.
+     * @return returns the Pose passed in, which now holds the pose estimate.
+     */
+    @Override
+    public Pose getPoseInto(Pose out) {
+        out.set(startPose.getX() + displacementPose.getX(), startPose.getY() + displacementPose.getY(), startPose.getHeading() + displacementPose.getHeading());
+        return out;
+    }
+
+    /**
+     * This puts the current velocity estimate into the specified Vector.
+     *
+     * @param out the Vector to put the velocity estimate into.
+     * @return returns the Vector passed in, which now holds the velocity estimate.
+     */
+    @Override
+    public Vector getVelocityVectorInto(Vector out) {
+        out.setOrthogonalComponents(currentVelocity.getX(), currentVelocity.getY());
+        return out;
+    }
+
     /**
      * This sets the start pose. Changing the start pose should move the robot as if all its
      * previous movements were displacing it from its new start pose.
@@ -163,17 +212,15 @@ public class ThreeWheelIMULocalizer extends Localizer {
     }
 
     /**
-     * This sets the Matrix that contains the previous pose's heading rotation.
+     * This used to set the Matrix that contains the previous pose's heading rotation, which
+     * update multiplied into the robot's movement. The OdometryKernel now does that rotation with
+     * the heading directly, so there is no Matrix to set and this does nothing.
      *
      * @param heading the rotation of the Matrix
+     * @deprecated the rotation is done by the OdometryKernel from the current heading.
      */
+    @Deprecated
     public void setPrevRotationMatrix(double heading) {
-        prevRotationMatrix = new Matrix(3,3);
-        prevRotationMatrix.set(0, 0, Math.cos(heading));
-        prevRotationMatrix.set(0, 1, -Math.sin(heading));
-        prevRotationMatrix.set(1, 0, Math.sin(heading));
-        prevRotationMatrix.set(1, 1, Math.cos(heading));
-        prevRotationMatrix.set(2, 2, 1.0);
     }
 
     /**
@@ -199,46 +246,67 @@ public class ThreeWheelIMULocalizer extends Localizer {
         timer.resetTimer();
 
         updateEncoders();
-        Matrix robotDeltas = getRobotDeltas();
-        Matrix globalDeltas;
-        setPrevRotationMatrix(getPose().getHeading());
-
-        Matrix transformation = new Matrix(3,3);
-        if (Math.abs(robotDeltas.get(2, 0)) < 0.001) {
-            transformation.set(0, 0, 1.0 - (Math.pow(robotDeltas.get(2, 0), 2) / 6.0));
-            transformation.set(0, 1, -robotDeltas.get(2, 0) / 2.0);
-            transformation.set(1, 0, robotDeltas.get(2, 0) / 2.0);
-            transformation.set(1, 1, 1.0 - (Math.pow(robotDeltas.get(2, 0), 2) / 6.0));
-            transformation.set(2, 2, 1.0);
-        } else {
-            transformation.set(0, 0, Math.sin(robotDeltas.get(2, 0)) / robotDeltas.get(2, 0));
-            transformation.set(0, 1, (Math.cos(robotDeltas.get(2, 0)) - 1.0) / robotDeltas.get(2, 0));
-            transformation.set(1, 0, (1.0 - Math.cos(robotDeltas.get(2, 0))) / robotDeltas.get(2, 0));
-            transformation.set(1, 1, Math.sin(robotDeltas.get(2, 0)) / robotDeltas.get(2, 0));
-            transformation.set(2, 2, 1.0);
-        }
-
-        globalDeltas = Matrix.multiply(Matrix.multiply(prevRotationMatrix, transformation), robotDeltas);
-
-        displacementPose.add(new Pose(globalDeltas.get(0, 0), globalDeltas.get(1, 0), globalDeltas.get(2, 0)));
-        currentVelocity = new Pose(globalDeltas.get(0, 0) / (deltaTimeNano / Math.pow(10.0, 9)), globalDeltas.get(1, 0) / (deltaTimeNano / Math.pow(10.0, 9)), globalDeltas.get(2, 0) / (deltaTimeNano / Math.pow(10.0, 9)));
+        calculateRobotDeltas();
+        odometryKernel.calculateGlobalDeltas(startPose.getHeading() + displacementPose.getHeading(), robotDeltaX, robotDeltaY, robotDeltaHeading);
+        odometryKernel.integrate(displacementPose, currentVelocity, deltaTimeNano);
 
-        totalHeading += globalDeltas.get(2, 0);
+        totalHeading += odometryKernel.getDeltaHeading();
     }
 
     /**
-     * This updates the Encoders.
+     * This updates the Encoders as well as the IMU. If the IMU is read on its own thread, this
+     * never waits on it. Instead, the heading from the encoders is used between IMU samples, and
+     * when a new sample comes in, the heading is corrected by how much the IMU turned since the last
+     * sample minus how much the encoders said it turned between the times the two samples were
+     * taken.
      */
     public void updateEncoders() {
         leftEncoder.update();
         rightEncoder.update();
         strafeEncoder.update();
 
+        if (imuSampler != null) {
+            long updateTime = Clock.nanoTime();
+            double previousEncoderHeading = encoderHeading;
+            encoderHeading += getEncoderDeltaHeading();
+            imuHeadingCorrection = 0;
+
+            imuSampler.read(imuSample);
+            long sampleCount = imuSample.getSampleCount();
+            if (sampleCount != lastIMUSampleCount) {
+                double totalYaw = imuSample.getTotalYaw();
+                double encoderHeadingAtSample = getEncoderHeadingAt(imuSample.getSampleTime(), previousEncoderHeading, updateTime);
+                imuHeadingCorrection = (totalYaw - lastIMUTotalYaw) - (encoderHeadingAtSample - encoderHeadingAtLastSample);
+                encoderHeadingAtLastSample = encoderHeadingAtSample;
+                lastIMUTotalYaw = totalYaw;
+                lastIMUSampleCount = sampleCount;
+            }
+            lastEncoderUpdateTime = updateTime;
+            return;
+        }
+
         double currentIMUOrientation = MathFunctions.normalizeAngle(imu.getRobotYawPitchRollAngles().getYaw(AngleUnit.RADIANS));
         deltaRadians = MathFunctions.getTurnDirection(previousIMUOrientation, currentIMUOrientation) * MathFunctions.getSmallestAngleDifference(currentIMUOrientation, previousIMUOrientation);
         previousIMUOrientation = currentIMUOrientation;
     }
 
+    /**
+     * This estimates what the total encoder heading was when an IMU sample was taken, by
+     * interpolating between the last update and this one. Samples from before the last update
+     * use the heading from the last update, since the encoders weren't read in between.
+     *
+     * @param sampleTime the time the IMU sample was taken, from the Clock.
+     * @param previousEncoderHeading the total encoder heading at the last update.
+     * @param updateTime the time of this update, from the Clock.
+     * @return returns the total encoder heading when the sample was taken, in radians.
+     */
+    private double getEncoderHeadingAt(long sampleTime, double previousEncoderHeading, long updateTime) {
+        if (sampleTime <= lastEncoderUpdateTime) return previousEncoderHeading;
+        if (sampleTime >= updateTime) return encoderHeading;
+        double fraction = (double) (sampleTime - lastEncoderUpdateTime) / (updateTime - lastEncoderUpdateTime);
+        return previousEncoderHeading + fraction * (encoderHeading - previousEncoderHeading);
+    }
+
     /**
      * This resets the Encoders.
      */
@@ -250,22 +318,46 @@ public class ThreeWheelIMULocalizer extends Localizer {
 
     /**
      * This calculates the change in position from the perspective of the robot using information
-     * from the Encoders.
-     *
-     * @return returns a Matrix containing the robot relative movement.
+     * from the Encoders, and puts it into robotDeltaX, robotDeltaY, and robotDeltaHeading
+     * instead of a new Matrix.
      */
-    public Matrix getRobotDeltas() {
-        Matrix returnMatrix = new Matrix(3,1);
+    private void calculateRobotDeltas() {
         // x/forward movement
-        returnMatrix.set(0,0, FORWARD_TICKS_TO_INCHES * ((rightEncoder.getDeltaPosition() * leftEncoderPose.getY() - leftEncoder.getDeltaPosition() * rightEncoderPose.getY()) / (leftEncoderPose.getY() - rightEncoderPose.getY())));
+        robotDeltaX = FORWARD_TICKS_TO_INCHES * ((rightEncoder.getDeltaPosition() * leftEncoderPose.getY() - leftEncoder.getDeltaPosition() * rightEncoderPose.getY()) / (leftEncoderPose.getY() - rightEncoderPose.getY()));
         //y/strafe movement
-        returnMatrix.set(1,0, STRAFE_TICKS_TO_INCHES * (strafeEncoder.getDeltaPosition() - strafeEncoderPose.getX() * ((rightEncoder.getDeltaPosition() - leftEncoder.getDeltaPosition()) / (leftEncoderPose.getY() - rightEncoderPose.getY()))));
+        robotDeltaY = STRAFE_TICKS_TO_INCHES * (strafeEncoder.getDeltaPosition() - strafeEncoderPose.getX() * ((rightEncoder.getDeltaPosition() - leftEncoder.getDeltaPosition()) / (leftEncoderPose.getY() - rightEncoderPose.getY())));
         // theta/turning
-        if (MathFunctions.getSmallestAngleDifference(0, deltaRadians) > 0.00005 && useIMU) {
-            returnMatrix.set(2, 0, deltaRadians);
+        if (imuSampler != null) {
+            robotDeltaHeading = getEncoderDeltaHeading();
+            if (useIMU) robotDeltaHeading += imuHeadingCorrection;
+        } else if (MathFunctions.getSmallestAngleDifference(0, deltaRadians) > 0.00005 && useIMU) {
+            robotDeltaHeading = deltaRadians;
         } else {
-            returnMatrix.set(2,0, TURN_TICKS_TO_RADIANS * ((rightEncoder.getDeltaPosition() - leftEncoder.getDeltaPosition()) / (leftEncoderPose.getY() - rightEncoderPose.getY())));
+            robotDeltaHeading = getEncoderDeltaHeading();
         }
+    }
+
+    /**
+     * This returns how much the robot turned since the last update according to the encoders.
+     *
+     * @return returns the change in heading, in radians.
+     */
+    private double getEncoderDeltaHeading() {
+        return TURN_TICKS_TO_RADIANS * ((rightEncoder.getDeltaPosition() - leftEncoder.getDeltaPosition()) / (leftEncoderPose.getY() - rightEncoderPose.getY()));
+    }
+
+    /**
+     * This calculates the change in position from the perspective of the robot using information
+     * from the Encoders.
+     *
+     * @return returns a Matrix containing the robot relative movement.
+     */
+    public Matrix getRobotDeltas() {
+        calculateRobotDeltas();
+        Matrix returnMatrix = new Matrix(3,1);
+        returnMatrix.set(0,0, robotDeltaX);
+        returnMatrix.set(1,0, robotDeltaY);
+        returnMatrix.set(2,0, robotDeltaHeading);
         return returnMatrix;
     }
 
@@ -310,10 +402,15 @@ public class ThreeWheelIMULocalizer extends Localizer {
     }
 
     /**
-     * This resets the IMU.
+     * This resets the IMU. If the IMU is read on its own thread, the reset is done on that thread,
+     * so this doesn't wait on the IMU.
      */
     public void resetIMU() {
-        imu.resetYaw();
+        if (imuSampler != null) {
+            imuSampler.resetYaw();
+        } else {
+            imu.resetYaw();
+        }
     }
 
     /**
@@ -326,12 +423,22 @@ public class ThreeWheelIMULocalizer extends Localizer {
         return imu;
     }
 
+    /**
+     * This returns the IMUSampler, if the IMU is read on its own thread.
+     *
+     * @return returns the IMUSampler, or null if the IMU is read in the loop
+     */
+    @Override
+    public IMUSampler getIMUSampler() {
+        return imuSampler;
+    }
+
     /**
      * This returns whether if any component of robot's position is NaN.
      *
      * @return returns whether the robot's position is NaN
      */
     public boolean isNAN() {
-        return Double.isNaN(getPose().getX()) || Double.isNaN(getPose().getY()) || Double.isNaN(getPose().getHeading());
+        return Double.isNaN(startPose.getX() + displacementPose.getX()) || Double.isNaN(startPose.getY() + displacementPose.getY()) || Double.isNaN(startPose.getHeading() + displacementPose.getHeading());
     }
 }
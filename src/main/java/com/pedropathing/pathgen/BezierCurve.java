@@ -1,7 +1,6 @@
 package com.pedropathing.pathgen;
 
 
-import com.pedropathing.follower.FollowerConstants;
 import com.pedropathing.localization.Pose;
 
 import java.util.ArrayList;
@@ -19,16 +18,20 @@ import java.util.ArrayList;
  * @version 1.0, 3/5/2024
  */
 public class BezierCurve {
-    // This contains the coefficients for the curve points
-    private ArrayList<BezierCurveCoefficients> pointCoefficients = new ArrayList<>();
+    // These contain the power basis coefficients of the curve, its derivative, and its second
+    // derivative, with the index being the power of (t - 0.5)
+    private double[] xCoefficients;
+    private double[] yCoefficients;
+    private double[] xDerivativeCoefficients;
+    private double[] yDerivativeCoefficients;
+    private double[] xSecondDerivativeCoefficients;
+    private double[] ySecondDerivativeCoefficients;
 
     // This contains the control points for the Bezier curve
     private ArrayList<Point> controlPoints = new ArrayList<>();
 
     private Vector endTangent = new Vector();
 
-    private final int APPROXIMATION_STEPS = FollowerConstants.APPROXIMATION_STEPS;
-
     private final int DASHBOARD_DRAWING_APPROXIMATION_STEPS = 100;
 
     private double[][] dashboardDrawingPoints;
@@ -36,6 +39,30 @@ public class BezierCurve {
     private double UNIT_TO_TIME;
     private double length;
 
+    // This contains the arc length lookup table. Each t-value node is paired with the arc length
+    // from the start of the curve to that node.
+    private double[] arcLengthTValues;
+    private double[] arcLengthValues;
+
+    // The arc length table is split until the Gauss-Legendre estimate of a segment agrees with the
+    // sum of its two halves within this many inches, or until the maximum depth is reached.
+    private final double ARC_LENGTH_TOLERANCE = 1e-7;
+    private final int ARC_LENGTH_MINIMUM_DEPTH = 3;
+    private final int ARC_LENGTH_MAXIMUM_DEPTH = 16;
+    private final int ARC_LENGTH_SOLVER_ITERATIONS = 32;
+
+    // These are the nodes and weights for 5 point Gauss-Legendre quadrature on [-1, 1]
+    private static final double[] GAUSS_LEGENDRE_NODES = {
+            0,
+            -0.5384693101056831, 0.5384693101056831,
+            -0.9061798459386640, 0.9061798459386640
+    };
+    private static final double[] GAUSS_LEGENDRE_WEIGHTS = {
+            0.5688888888888889,
+            0.4786286704993665, 0.4786286704993665,
+            0.2369268850561891, 0.2369268850561891
+    };
+
     /**
      * This creates an empty BezierCurve.
      * IMPORTANT NOTE: Only use this for the constructors of classes extending this. If you try to
@@ -110,6 +137,7 @@ public class BezierCurve {
      */
     public void initialize() {
         generateBezierCurve();
+        generateArcLengthTable();
         length = approximateLength();
         UNIT_TO_TIME = 1/length;
         endTangent.setOrthogonalComponents(controlPoints.get(controlPoints.size()-1).getX()-controlPoints.get(controlPoints.size()-2).getX(), controlPoints.get(controlPoints.size()-1).getY()-controlPoints.get(controlPoints.size()-2).getY());
@@ -141,17 +169,126 @@ public class BezierCurve {
 
     /**
      * This generates the Bezier curve. It assumes that the ArrayList of control points has been set.
-     * Well, this actually generates the coefficients for each control point on the Bezier curve.
-     * These coefficients can then be used to calculate a position, velocity, or accleration on the
-     * Bezier curve on the fly without much computational expense.
+     * Well, this actually converts the Bernstein form of the Bezier curve into power basis
+     * coefficients for the curve, its derivative, and its second derivative. These coefficients can
+     * then be used to calculate a position, velocity, or accleration on the Bezier curve on the fly
+     * with Horner's method, which needs no powers and no new objects.
+     *
+     * The polynomials are expanded about t = 0.5 instead of t = 0. The coefficient of (t - 0.5)^k is
+     * nCr(n, k) times the k-th forward difference of the control points averaged with the Bernstein
+     * weights at 0.5. Expanding about the middle keeps the coefficients small, so higher degree
+     * curves don't lose precision to cancellation.
      *
      * See https://en.wikipedia.org/wiki/Bézier_curve for the explicit formula for Bezier curves
      */
     public void generateBezierCurve() {
         int n = controlPoints.size()-1;
+        xCoefficients = new double[n + 1];
+        yCoefficients = new double[n + 1];
+
+        double[] xDifferences = new double[n + 1];
+        double[] yDifferences = new double[n + 1];
         for (int i = 0; i <= n; i++) {
-            pointCoefficients.add(new BezierCurveCoefficients(n, i));
+            xDifferences[i] = controlPoints.get(i).getX();
+            yDifferences[i] = controlPoints.get(i).getY();
+        }
+
+        for (int k = 0; k <= n; k++) {
+            // the differences arrays hold the k-th forward differences of the control points here
+            double weight = Math.pow(0.5, n - k);
+            double xSum = 0;
+            double ySum = 0;
+            for (int i = 0; i <= n - k; i++) {
+                xSum += MathFunctions.nCr(n - k, i) * xDifferences[i];
+                ySum += MathFunctions.nCr(n - k, i) * yDifferences[i];
+            }
+            xCoefficients[k] = MathFunctions.nCr(n, k) * weight * xSum;
+            yCoefficients[k] = MathFunctions.nCr(n, k) * weight * ySum;
+
+            for (int i = 0; i < n - k; i++) {
+                xDifferences[i] = xDifferences[i + 1] - xDifferences[i];
+                yDifferences[i] = yDifferences[i + 1] - yDifferences[i];
+            }
         }
+
+        xDerivativeCoefficients = differentiate(xCoefficients);
+        yDerivativeCoefficients = differentiate(yCoefficients);
+        xSecondDerivativeCoefficients = differentiate(xDerivativeCoefficients);
+        ySecondDerivativeCoefficients = differentiate(yDerivativeCoefficients);
+    }
+
+    /**
+     * This returns the power basis coefficients of the x coordinate of the BezierCurve, with the
+     * index being the power of (t - 0.5). This is the internal array, so don't modify it.
+     *
+     * @return returns the x coefficients.
+     */
+    double[] getXCoefficients() {
+        return xCoefficients;
+    }
+
+    /**
+     * This returns the power basis coefficients of the y coordinate of the BezierCurve, with the
+     * index being the power of (t - 0.5). This is the internal array, so don't modify it.
+     *
+     * @return returns the y coefficients.
+     */
+    double[] getYCoefficients() {
+        return yCoefficients;
+    }
+
+    /**
+     * This returns the power basis coefficients of the x component of the derivative of the
+     * BezierCurve, with the index being the power of (t - 0.5). This is the internal array, so
+     * don't modify it.
+     *
+     * @return returns the x derivative coefficients.
+     */
+    double[] getXDerivativeCoefficients() {
+        return xDerivativeCoefficients;
+    }
+
+    /**
+     * This returns the power basis coefficients of the y component of the derivative of the
+     * BezierCurve, with the index being the power of (t - 0.5). This is the internal array, so
+     * don't modify it.
+     *
+     * @return returns the y derivative coefficients.
+     */
+    double[] getYDerivativeCoefficients() {
+        return yDerivativeCoefficients;
+    }
+
+    /**
+     * This returns the power basis coefficients of the derivative of a polynomial given in the
+     * power basis. The derivative of a constant is given as a single zero coefficient.
+     *
+     * @param coefficients the coefficients of the polynomial, with the index being the power of (t - 0.5).
+     * @return returns the coefficients of the derivative.
+     */
+    private static double[] differentiate(double[] coefficients) {
+        if (coefficients.length <= 1) return new double[]{0};
+        double[] derivative = new double[coefficients.length - 1];
+        for (int j = 0; j < derivative.length; j++) {
+            derivative[j] = (j + 1) * coefficients[j + 1];
+        }
+        return derivative;
+    }
+
+    /**
+     * This evaluates a polynomial given in the power basis about t = 0.5 at t using Horner's method.
+     *
+     * @param coefficients the coefficients of the polynomial, with the index being the power of (t - 0.5).
+     * @param t the input to the polynomial.
+     * @return returns the value of the polynomial at t.
+     */
+    private static double horner(double[] coefficients, double t) {
+        double u = t - 0.5;
+        double value = coefficients[coefficients.length - 1];
+        for (int j = coefficients.length - 2; j >= 0; j--) {
+            value = value * u + coefficients[j];
+        }
+        return value;
     }
 
     /**
@@ -164,21 +301,213 @@ public class BezierCurve {
     }
 
     /**
-     * This approximates the length of the BezierCurve in APPROXIMATION_STEPS number of steps. It's
-     * like a Riemann's sum, but for a parametric function's arc length.
+     * This copies the unit tangent Vector at the end of the BezierCurve into the specified Vector.
+     *
+     * @param out the Vector to copy the end tangent Vector into.
+     * @return returns the Vector passed in, which now holds the end tangent Vector.
+     */
+    public Vector getEndTangentInto(Vector out) {
+        return MathFunctions.copyVectorInto(endTangent, out);
+    }
+
+    /**
+     * This returns the length of the BezierCurve. The length is taken from the arc length table, so
+     * the table has to be generated first.
      *
-     * @return returns the approximated length of the BezierCurve.
+     * @return returns the length of the BezierCurve.
      */
     public double approximateLength() {
-        Point previousPoint = getPoint(0);
-        Point currentPoint;
-        double approxLength = 0;
-        for (int i = 1; i <= APPROXIMATION_STEPS; i++) {
-            currentPoint = getPoint(i/(double)APPROXIMATION_STEPS);
-            approxLength += previousPoint.distanceFrom(currentPoint);
-            previousPoint = currentPoint;
+        return arcLengthValues[arcLengthValues.length - 1];
+    }
+
+    /**
+     * This generates the arc length lookup table. The curve is split in half recursively, and a
+     * segment stops being split once the Gauss-Legendre estimate of its length agrees with the sum
+     * of the estimates of its halves. This puts more nodes where the speed of the curve changes
+     * quickly and very few nodes where it doesn't.
+     */
+    public void generateArcLengthTable() {
+        ArrayList<Double> tValues = new ArrayList<>();
+        ArrayList<Double> arcLengths = new ArrayList<>();
+        tValues.add(0.0);
+        arcLengths.add(0.0);
+        subdivideArcLength(0, 1, integrateSpeed(0, 1), 0, tValues, arcLengths);
+
+        arcLengthTValues = new double[tValues.size()];
+        arcLengthValues = new double[arcLengths.size()];
+        for (int i = 0; i < tValues.size(); i++) {
+            arcLengthTValues[i] = tValues.get(i);
+            arcLengthValues[i] = arcLengths.get(i);
+        }
+    }
+
+    /**
+     * This adds the nodes of the arc length table between two t-values, splitting the segment
+     * further if its length estimate hasn't converged yet.
+     *
+     * @param start the t-value at the start of the segment.
+     * @param end the t-value at the end of the segment.
+     * @param segmentLength the Gauss-Legendre estimate of the length of the whole segment.
+     * @param depth how many times the curve has been split to get this segment.
+     * @param tValues the t-value nodes added so far.
+     * @param arcLengths the arc lengths at the nodes added so far.
+     */
+    private void subdivideArcLength(double start, double end, double segmentLength, int depth, ArrayList<Double> tValues, ArrayList<Double> arcLengths) {
+        double middle = (start + end) / 2;
+        double firstHalf = integrateSpeed(start, middle);
+        double secondHalf = integrateSpeed(middle, end);
+
+        if (depth >= ARC_LENGTH_MAXIMUM_DEPTH || (depth >= ARC_LENGTH_MINIMUM_DEPTH && Math.abs(firstHalf + secondHalf - segmentLength) < ARC_LENGTH_TOLERANCE)) {
+            double startLength = arcLengths.get(arcLengths.size() - 1);
+            tValues.add(middle);
+            arcLengths.add(startLength + firstHalf);
+            tValues.add(end);
+            arcLengths.add(startLength + firstHalf + secondHalf);
+            return;
+        }
+
+        subdivideArcLength(start, middle, firstHalf, depth + 1, tValues, arcLengths);
+        subdivideArcLength(middle, end, secondHalf, depth + 1, tValues, arcLengths);
+    }
+
+    /**
+     * This integrates the speed of the BezierCurve, the magnitude of the derivative, between two
+     * t-values using 5 point Gauss-Legendre quadrature.
+     *
+     * @param start the t-value to integrate from.
+     * @param end the t-value to integrate to.
+     * @return returns the arc length between the two t-values.
+     */
+    private double integrateSpeed(double start, double end) {
+        double halfWidth = (end - start) / 2;
+        double middle = (start + end) / 2;
+        double sum = 0;
+        for (int i = 0; i < GAUSS_LEGENDRE_NODES.length; i++) {
+            sum += GAUSS_LEGENDRE_WEIGHTS[i] * getSpeed(middle + halfWidth * GAUSS_LEGENDRE_NODES[i]);
+        }
+        return sum * halfWidth;
+    }
+
+    /**
+     * This returns the speed of the BezierCurve, or the magnitude of the derivative, at a t-value.
+     *
+     * @param t the t-value.
+     * @return returns the speed.
+     */
+    private double getSpeed(double t) {
+        double dx = horner(xDerivativeCoefficients, t);
+        double dy = horner(yDerivativeCoefficients, t);
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    /**
+     * This returns the index of the arc length table segment that contains the t-value, found with
+     * a binary search.
+     *
+     * @param t the t-value.
+     * @return returns the index of the node at the start of the segment.
+     */
+    private int findArcLengthSegmentByTValue(double t) {
+        int low = 0;
+        int high = arcLengthTValues.length - 2;
+        while (low < high) {
+            int middle = (low + high + 1) / 2;
+            if (arcLengthTValues[middle] <= t) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
         }
-        return approxLength;
+        return low;
+    }
+
+    /**
+     * This returns the index of the arc length table segment that contains the arc length, found
+     * with a binary search.
+     *
+     * @param arcLength the arc length.
+     * @return returns the index of the node at the start of the segment.
+     */
+    private int findArcLengthSegmentByArcLength(double arcLength) {
+        int low = 0;
+        int high = arcLengthValues.length - 2;
+        while (low < high) {
+            int middle = (low + high + 1) / 2;
+            if (arcLengthValues[middle] <= arcLength) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * This returns the arc length from the start of the BezierCurve to the specified t-value. The
+     * table is searched for the segment containing the t-value, and then only the part of that
+     * segment before the t-value is integrated.
+     *
+     * @param t this is the t value of the parametric curve. t is clamped to be between 0 and 1 inclusive.
+     * @return returns the arc length up to the t-value.
+     */
+    public double getArcLength(double t) {
+        t = MathFunctions.clamp(t, 0, 1);
+        int segment = findArcLengthSegmentByTValue(t);
+        return arcLengthValues[segment] + integrateSpeed(arcLengthTValues[segment], t);
+    }
+
+    /**
+     * This returns the t-value at which the arc length from the start of the BezierCurve is the
+     * specified arc length. The table is searched for the segment containing the arc length, the
+     * t-value is linearly interpolated inside it, and then Newton steps clean up the result. If a
+     * Newton step can't be taken, because the speed is 0 or the step would leave the segment, the
+     * segment is bisected instead.
+     *
+     * @param arcLength the arc length from the start. This is clamped to be between 0 and the length.
+     * @return returns the t-value.
+     */
+    public double getTAtArcLength(double arcLength) {
+        arcLength = MathFunctions.clamp(arcLength, 0, length());
+        int segment = findArcLengthSegmentByArcLength(arcLength);
+
+        double startT = arcLengthTValues[segment];
+        double endT = arcLengthTValues[segment + 1];
+        double startLength = arcLengthValues[segment];
+        double endLength = arcLengthValues[segment + 1];
+        if (arcLength >= endLength) return endT;
+        if (arcLength <= startLength) return startT;
+
+        // the answer is always kept between low and high, so a bad Newton step can't throw it off
+        double low = startT;
+        double high = endT;
+        double t = startT + (endT - startT) * (arcLength - startLength) / (endLength - startLength);
+        for (int i = 0; i < ARC_LENGTH_SOLVER_ITERATIONS; i++) {
+            double error = startLength + integrateSpeed(startT, t) - arcLength;
+            if (Math.abs(error) < ARC_LENGTH_TOLERANCE) break;
+            if (error > 0) {
+                high = t;
+            } else {
+                low = t;
+            }
+
+            double speed = getSpeed(t);
+            double next = speed > 0 ? t - error / speed : Double.NaN;
+            if (!(next > low && next < high)) {
+                next = (low + high) / 2;
+            }
+            t = next;
+        }
+        return t;
+    }
+
+    /**
+     * This returns the distance along the BezierCurve from the specified t-value to the end.
+     *
+     * @param t this is the t value of the parametric curve. t is clamped to be between 0 and 1 inclusive.
+     * @return returns the remaining distance along the BezierCurve.
+     */
+    public double getRemainingDistance(double t) {
+        return Math.max(0, length() - getArcLength(t));
     }
 
     /**
@@ -192,19 +521,54 @@ public class BezierCurve {
      */
     public Point getPoint(double t) {
         t = MathFunctions.clamp(t, 0, 1);
-        double xCoordinate = 0;
-        double yCoordinate = 0;
+        return new Point(horner(xCoefficients, t), horner(yCoefficients, t), Point.CARTESIAN);
+    }
 
-        // calculates the x coordinate of the point requested
-        for (int i = 0; i < controlPoints.size(); i++) {
-            xCoordinate += pointCoefficients.get(i).getValue(t) * controlPoints.get(i).getX();
+    /**
+     * This fills in a CurveSample with the point, derivative, second derivative, normal, and
+     * curvature of the BezierCurve at the specified t value. Everything is found in one pass over
+     * the coefficients, with Horner's method carrying the derivatives along with the value, so this
+     * is a lot cheaper than calling getPoint, getDerivative, getSecondDerivative, and getCurvature
+     * separately. No new objects are created.
+     *
+     * @param t this is the t value of the parametric curve. t is clamped to be between 0 and 1 inclusive.
+     * @param sample the CurveSample to fill in.
+     * @return returns the same CurveSample that was passed in.
+     */
+    public CurveSample sample(double t, CurveSample sample) {
+        t = MathFunctions.clamp(t, 0, 1);
+        double u = t - 0.5;
+        int n = xCoefficients.length - 1;
+
+        double x = xCoefficients[n];
+        double y = yCoefficients[n];
+        double dx = 0;
+        double dy = 0;
+        double ddx = 0;
+        double ddy = 0;
+        for (int j = n - 1; j >= 0; j--) {
+            ddx = ddx * u + dx;
+            ddy = ddy * u + dy;
+            dx = dx * u + x;
+            dy = dy * u + y;
+            x = x * u + xCoefficients[j];
+            y = y * u + yCoefficients[j];
         }
 
-        // calculates the y coordinate of the point requested
-        for (int i = 0; i < controlPoints.size(); i++) {
-            yCoordinate += pointCoefficients.get(i).getValue(t) * controlPoints.get(i).getY();
-        }
-        return new Point(xCoordinate, yCoordinate, Point.CARTESIAN);
+        sample.set(t, x, y, dx, dy, 2 * ddx, 2 * ddy);
+        return sample;
+    }
+
+    /**
+     * This creates the ClosestPointSolver that the Path class uses to find the closest point on
+     * this BezierCurve. Quadratic and cubic curves are solved exactly, and anything higher degree
+     * uses a Newton search seeded from a coarse table.
+     *
+     * @return returns a new ClosestPointSolver for this BezierCurve.
+     */
+    public ClosestPointSolver createClosestPointSolver() {
+        if (controlPoints.size() <= 4) return new PolynomialClosestPointSolver(this);
+        return new NewtonClosestPointSolver(this);
     }
 
     /**
@@ -215,11 +579,14 @@ public class BezierCurve {
      */
     public double getCurvature(double t) {
         t = MathFunctions.clamp(t, 0, 1);
-        Vector derivative = getDerivative(t);
-        Vector secondDerivative = getSecondDerivative(t);
-
-        if (derivative.getMagnitude() == 0) return 0;
-        return (MathFunctions.crossProduct(derivative, secondDerivative))/Math.pow(derivative.getMagnitude(),3);
+        double dx = horner(xDerivativeCoefficients, t);
+        double dy = horner(yDerivativeCoefficients, t);
+        double ddx = horner(xSecondDerivativeCoefficients, t);
+        double ddy = horner(ySecondDerivativeCoefficients, t);
+
+        double speed = Math.sqrt(dx * dx + dy * dy);
+        if (speed == 0) return 0;
+        return (dx * ddy - dy * ddx) / (speed * speed * speed);
     }
 
     /**
@@ -231,22 +598,8 @@ public class BezierCurve {
      */
     public Vector getDerivative(double t) {
         t = MathFunctions.clamp(t, 0, 1);
-        double xCoordinate = 0;
-        double yCoordinate = 0;
         Vector returnVector = new Vector();
-
-        // calculates the x coordinate of the point requested
-        for (int i = 0; i < controlPoints.size()-1; i++) {
-            xCoordinate += pointCoefficients.get(i).getDerivativeValue(t) * (MathFunctions.subtractPoints(controlPoints.get(i+1), controlPoints.get(i)).getX());
-        }
-
-        // calculates the y coordinate of the point requested
-        for (int i = 0; i < controlPoints.size()-1; i++) {;
-            yCoordinate += pointCoefficients.get(i).getDerivativeValue(t) * (MathFunctions.subtractPoints(controlPoints.get(i+1), controlPoints.get(i)).getY());
-        }
-
-        returnVector.setOrthogonalComponents(xCoordinate, yCoordinate);
-
+        returnVector.setOrthogonalComponents(horner(xDerivativeCoefficients, t), horner(yDerivativeCoefficients, t));
         return returnVector;
     }
 
@@ -259,22 +612,8 @@ public class BezierCurve {
      */
     public Vector getSecondDerivative(double t) {
         t = MathFunctions.clamp(t, 0, 1);
-        double xCoordinate = 0;
-        double yCoordinate = 0;
         Vector returnVector = new Vector();
-
-        // calculates the x coordinate of the point requested
-        for (int i = 0; i < controlPoints.size()-2; i++) {
-            xCoordinate += pointCoefficients.get(i).getSecondDerivativeValue(t) * (MathFunctions.addPoints(MathFunctions.subtractPoints(controlPoints.get(i+2), new Point(2*controlPoints.get(i+1).getX(), 2*controlPoints.get(i+1).getY(), Point.CARTESIAN)), controlPoints.get(i)).getX());
-        }
-
-        // calculates the y coordinate of the point requested
-        for (int i = 0; i < controlPoints.size()-2; i++) {
-            yCoordinate += pointCoefficients.get(i).getSecondDerivativeValue(t) * (MathFunctions.addPoints(MathFunctions.subtractPoints(controlPoints.get(i+2), new Point(2*controlPoints.get(i+1).getX(), 2*controlPoints.get(i+1).getY(), Point.CARTESIAN)), controlPoints.get(i)).getY());
-        }
-
-        returnVector.setOrthogonalComponents(xCoordinate, yCoordinate);
-
+        returnVector.setOrthogonalComponents(horner(xSecondDerivativeCoefficients, t), horner(ySecondDerivativeCoefficients, t));
         return returnVector;
     }
 
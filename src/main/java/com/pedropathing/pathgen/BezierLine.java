@@ -69,6 +69,17 @@ public class BezierLine extends BezierCurve {
         return MathFunctions.copyVector(endTangent);
     }
 
+    /**
+     * This copies the unit tangent Vector at the end of the BezierLine into the specified Vector.
+     *
+     * @param out the Vector to copy the end tangent Vector into.
+     * @return returns the Vector passed in, which now holds the end tangent Vector.
+     */
+    @Override
+    public Vector getEndTangentInto(Vector out) {
+        return MathFunctions.copyVectorInto(endTangent, out);
+    }
+
     /**
      * This gets the length of the BezierLine.
      *
@@ -79,6 +90,31 @@ public class BezierLine extends BezierCurve {
         return Math.sqrt(Math.pow(startPoint.getX() - endPoint.getX(), 2) + Math.pow(startPoint.getY() - endPoint.getY(), 2));
     }
 
+    /**
+     * This returns the arc length from the start of the BezierLine to the specified t-value. Since
+     * this is a line, the arc length is proportional to t.
+     *
+     * @param t this is the t value of the parametric line. t is clamped to be between 0 and 1 inclusive.
+     * @return returns the arc length up to the t-value.
+     */
+    @Override
+    public double getArcLength(double t) {
+        return length * MathFunctions.clamp(t, 0, 1);
+    }
+
+    /**
+     * This returns the t-value at which the arc length from the start of the BezierLine is the
+     * specified arc length.
+     *
+     * @param arcLength the arc length from the start. This is clamped to be between 0 and the length.
+     * @return returns the t-value.
+     */
+    @Override
+    public double getTAtArcLength(double arcLength) {
+        if (length == 0) return 0;
+        return MathFunctions.clamp(arcLength / length, 0, 1);
+    }
+
     /**
      * This returns the Point on the Bezier line that is specified by the parametric t value.
      *
@@ -91,6 +127,33 @@ public class BezierLine extends BezierCurve {
         return new Point((endPoint.getX() - startPoint.getX()) * t + startPoint.getX(), (endPoint.getY() - startPoint.getY()) * t + startPoint.getY(), Point.CARTESIAN);
     }
 
+    /**
+     * This fills in a CurveSample with the point and derivative of the BezierLine at the specified
+     * t value. The second derivative, normal, and curvature of a line are all zero.
+     *
+     * @param t this is the t value of the parametric line. t is clamped to be between 0 and 1 inclusive.
+     * @param sample the CurveSample to fill in.
+     * @return returns the same CurveSample that was passed in.
+     */
+    @Override
+    public CurveSample sample(double t, CurveSample sample) {
+        t = MathFunctions.clamp(t, 0, 1);
+        double dx = endPoint.getX() - startPoint.getX();
+        double dy = endPoint.getY() - startPoint.getY();
+        sample.set(t, dx * t + startPoint.getX(), dy * t + startPoint.getY(), dx, dy, 0, 0);
+        return sample;
+    }
+
+    /**
+     * This creates the ClosestPointSolver for this BezierLine, which projects onto the line.
+     *
+     * @return returns a new ClosestPointSolver for this BezierLine.
+     */
+    @Override
+    public ClosestPointSolver createClosestPointSolver() {
+        return new LineClosestPointSolver(this);
+    }
+
     /**
      * This returns the curvature of the BezierLine, which is zero.
      *
@@ -62,6 +62,17 @@ public class BezierPoint extends BezierCurve {
         return MathFunctions.copyVector(endTangent);
     }
 
+    /**
+     * no end tangent of a point, so this sets the specified Vector to the zero Vector instead.
+     *
+     * @param out the Vector to copy the end tangent Vector into.
+     * @return returns the Vector passed in, which is now the zero Vector.
+     */
+    @Override
+    public Vector getEndTangentInto(Vector out) {
+        return MathFunctions.copyVectorInto(endTangent, out);
+    }
+
     /**
      * This gets the length of the BezierPoint. Since points don't have length, this returns zero.
      *
@@ -72,6 +83,30 @@ public class BezierPoint extends BezierCurve {
         return 0.0;
     }
 
+    /**
+     * This returns the arc length from the start of the BezierPoint to the specified t-value. Since
+     * points don't have length, this returns zero.
+     *
+     * @param t this is the t value of the parametric curve.
+     * @return returns zero.
+     */
+    @Override
+    public double getArcLength(double t) {
+        return 0.0;
+    }
+
+    /**
+     * This returns the t-value at which the arc length from the start of the BezierPoint is the
+     * specified arc length. Since points don't have length, this returns zero.
+     *
+     * @param arcLength the arc length from the start.
+     * @return returns zero.
+     */
+    @Override
+    public double getTAtArcLength(double arcLength) {
+        return 0.0;
+    }
+
     /**
      * This returns the point on the BezierPoint that is specified by the parametric t value. Since
      * this is a Point, this just returns the one control point's position.
@@ -84,6 +119,31 @@ public class BezierPoint extends BezierCurve {
         return new Point(point.getX(), point.getY(), Point.CARTESIAN);
     }
 
+    /**
+     * This fills in a CurveSample with the position of the BezierPoint. Since this is a Point, the
+     * derivatives, normal, and curvature are all zero.
+     *
+     * @param t this is the t value of the parametric curve. t is clamped to be between 0 and 1 inclusive.
+     * @param sample the CurveSample to fill in.
+     * @return returns the same CurveSample that was passed in.
+     */
+    @Override
+    public CurveSample sample(double t, CurveSample sample) {
+        sample.set(MathFunctions.clamp(t, 0, 1), point.getX(), point.getY(), 0, 0, 0, 0);
+        return sample;
+    }
+
+    /**
+     * This creates the ClosestPointSolver for this BezierPoint. Since this is a Point, the closest
+     * point is always the Point itself.
+     *
+     * @return returns a new ClosestPointSolver for this BezierPoint.
+     */
+    @Override
+    public ClosestPointSolver createClosestPointSolver() {
+        return new PointClosestPointSolver(this);
+    }
+
     /**
      * This returns the curvature of the BezierPoint, which is zero since this is a Point.
      *
@@ -0,0 +1,26 @@
+package com.pedropathing.pathgen;
+
+import com.pedropathing.localization.Pose;
+
+/**
+ * This is the ClosestPointSolver interface. A ClosestPointSolver finds the t-value of the point on
+ * a BezierCurve that is closest to some pose. Each type of BezierCurve creates the solver that suits
+ * it best through BezierCurve.createClosestPointSolver(), and the Path class creates its solver once
+ * and keeps it, so the type of curve doesn't have to be checked every loop.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public interface ClosestPointSolver {
+
+    /**
+     * This finds the t-value of the closest point on the BezierCurve to the specified pose, and
+     * fills in the CurveSample at that t-value.
+     *
+     * @param pose the pose to find the closest point to.
+     * @param searchLimit the maximum number of iterations for solvers that iterate.
+     * @param sample the CurveSample to fill in at the closest point.
+     * @return returns the t-value of the closest point.
+     */
+    double solve(Pose pose, int searchLimit, CurveSample sample);
+}
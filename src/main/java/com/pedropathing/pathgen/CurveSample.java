@@ -0,0 +1,205 @@
+package com.pedropathing.pathgen;
+
+/**
+ * This is the CurveSample class. This class holds everything about a BezierCurve at a single
+ * t-value: the point, the first and second derivatives, the unit normal, and the curvature. All of
+ * these are filled in by one evaluation of the curve, so code that needs several of them at the same
+ * t-value, like the closest point search in the Path class, doesn't have to evaluate the curve over
+ * and over again. CurveSamples are meant to be created once and reused, so filling one in doesn't
+ * create any new objects.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class CurveSample {
+    private double t;
+
+    private double x;
+    private double y;
+
+    private double derivativeX;
+    private double derivativeY;
+
+    private double secondDerivativeX;
+    private double secondDerivativeY;
+
+    private double normalX;
+    private double normalY;
+
+    private double curvature;
+
+    /**
+     * This creates a new empty CurveSample. Fill it in with BezierCurve.sample(double, CurveSample).
+     */
+    public CurveSample() {
+    }
+
+    /**
+     * This sets the values of this CurveSample from a position, first derivative, and second
+     * derivative on a curve. The curvature and the normal are calculated from these. The normal is
+     * a unit vector pointing towards the center of curvature, or the zero vector if the curve isn't
+     * curving at this t-value.
+     *
+     * @param t the t-value that was sampled.
+     * @param x the x coordinate of the point on the curve.
+     * @param y the y coordinate of the point on the curve.
+     * @param derivativeX the x component of the first derivative.
+     * @param derivativeY the y component of the first derivative.
+     * @param secondDerivativeX the x component of the second derivative.
+     * @param secondDerivativeY the y component of the second derivative.
+     */
+    public void set(double t, double x, double y, double derivativeX, double derivativeY, double secondDerivativeX, double secondDerivativeY) {
+        this.t = t;
+        this.x = x;
+        this.y = y;
+        this.derivativeX = derivativeX;
+        this.derivativeY = derivativeY;
+        this.secondDerivativeX = secondDerivativeX;
+        this.secondDerivativeY = secondDerivativeY;
+
+        double speed = Math.sqrt(derivativeX * derivativeX + derivativeY * derivativeY);
+        if (speed == 0) {
+            curvature = 0;
+            normalX = 0;
+            normalY = 0;
+            return;
+        }
+
+        curvature = (derivativeX * secondDerivativeY - derivativeY * secondDerivativeX) / (speed * speed * speed);
+        double sign = MathFunctions.getSign(curvature);
+        normalX = -derivativeY / speed * sign;
+        normalY = derivativeX / speed * sign;
+    }
+
+    /**
+     * This returns the t-value this CurveSample was taken at.
+     *
+     * @return returns the t-value.
+     */
+    public double getT() {
+        return t;
+    }
+
+    /**
+     * This returns the x coordinate of the point on the curve.
+     *
+     * @return returns the x coordinate.
+     */
+    public double getX() {
+        return x;
+    }
+
+    /**
+     * This returns the y coordinate of the point on the curve.
+     *
+     * @return returns the y coordinate.
+     */
+    public double getY() {
+        return y;
+    }
+
+    /**
+     * This returns the x component of the first derivative, or the tangent, of the curve.
+     *
+     * @return returns the x component of the first derivative.
+     */
+    public double getDerivativeX() {
+        return derivativeX;
+    }
+
+    /**
+     * This returns the y component of the first derivative, or the tangent, of the curve.
+     *
+     * @return returns the y component of the first derivative.
+     */
+    public double getDerivativeY() {
+        return derivativeY;
+    }
+
+    /**
+     * This returns the x component of the second derivative of the curve.
+     *
+     * @return returns the x component of the second derivative.
+     */
+    public double getSecondDerivativeX() {
+        return secondDerivativeX;
+    }
+
+    /**
+     * This returns the y component of the second derivative of the curve.
+     *
+     * @return returns the y component of the second derivative.
+     */
+    public double getSecondDerivativeY() {
+        return secondDerivativeY;
+    }
+
+    /**
+     * This returns the x component of the unit normal, which points towards the center of curvature.
+     *
+     * @return returns the x component of the normal.
+     */
+    public double getNormalX() {
+        return normalX;
+    }
+
+    /**
+     * This returns the y component of the unit normal, which points towards the center of curvature.
+     *
+     * @return returns the y component of the normal.
+     */
+    public double getNormalY() {
+        return normalY;
+    }
+
+    /**
+     * This returns the signed curvature of the curve. Positive curvature turns counter-clockwise.
+     *
+     * @return returns the curvature.
+     */
+    public double getCurvature() {
+        return curvature;
+    }
+
+    /**
+     * This returns the point on the curve as a new Point.
+     *
+     * @return returns the Point.
+     */
+    public Point getPoint() {
+        return new Point(x, y, Point.CARTESIAN);
+    }
+
+    /**
+     * This returns the first derivative, or the tangent, of the curve as a new Vector.
+     *
+     * @return returns the first derivative.
+     */
+    public Vector getDerivative() {
+        Vector returnVector = new Vector();
+        returnVector.setOrthogonalComponents(derivativeX, derivativeY);
+        return returnVector;
+    }
+
+    /**
+     * This returns the second derivative of the curve as a new Vector.
+     *
+     * @return returns the second derivative.
+     */
+    public Vector getSecondDerivative() {
+        Vector returnVector = new Vector();
+        returnVector.setOrthogonalComponents(secondDerivativeX, secondDerivativeY);
+        return returnVector;
+    }
+
+    /**
+     * This returns the unit normal of the curve as a new Vector.
+     *
+     * @return returns the normal.
+     */
+    public Vector getNormal() {
+        Vector returnVector = new Vector();
+        returnVector.setOrthogonalComponents(normalX, normalY);
+        return returnVector;
+    }
+}
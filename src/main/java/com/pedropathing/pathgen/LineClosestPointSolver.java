@@ -0,0 +1,47 @@
+package com.pedropathing.pathgen;
+
+import com.pedropathing.localization.Pose;
+
+/**
+ * This is the LineClosestPointSolver class. This is the ClosestPointSolver for BezierLines, which
+ * finds the closest point by projecting the pose onto the line and clamping it to the ends.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class LineClosestPointSolver implements ClosestPointSolver {
+    private final BezierCurve curve;
+
+    /**
+     * This creates a new LineClosestPointSolver for a BezierLine.
+     *
+     * @param curve the BezierLine.
+     */
+    public LineClosestPointSolver(BezierCurve curve) {
+        this.curve = curve;
+    }
+
+    /**
+     * This projects the pose onto the line to find the closest point.
+     *
+     * @param pose the pose to find the closest point to.
+     * @param searchLimit this isn't used, since the projection is exact.
+     * @param sample the CurveSample to fill in at the closest point.
+     * @return returns the t-value of the closest point.
+     */
+    @Override
+    public double solve(Pose pose, int searchLimit, CurveSample sample) {
+        Point start = curve.getFirstControlPoint();
+        Point end = curve.getLastControlPoint();
+        double lineX = end.getX() - start.getX();
+        double lineY = end.getY() - start.getY();
+        double lengthSquared = lineX * lineX + lineY * lineY;
+
+        double t = 0;
+        if (lengthSquared > 0) {
+            t = MathFunctions.clamp(((pose.getX() - start.getX()) * lineX + (pose.getY() - start.getY()) * lineY) / lengthSquared, 0, 1);
+        }
+        curve.sample(t, sample);
+        return t;
+    }
+}
@@ -135,7 +135,21 @@ public class MathFunctions {
      * @return returns the sum of the two Points.
      */
     public static Point addPoints(Point one, Point two) {
-        return new Point(one.getX() + two.getX(), one.getY() + two.getY(), Point.CARTESIAN);
+        return addPointsInto(one, two, new Point(0, 0, Point.CARTESIAN));
+    }
+
+    /**
+     * This sets a Point to the sum of the two input Points, without creating a new Point. The
+     * output Point can be one of the inputs.
+     *
+     * @param one the first Point
+     * @param two the second Point
+     * @param out the Point to put the sum in.
+     * @return returns the output Point.
+     */
+    public static Point addPointsInto(Point one, Point two, Point out) {
+        out.setCoordinates(one.getX() + two.getX(), one.getY() + two.getY(), Point.CARTESIAN);
+        return out;
     }
 
     /**
@@ -146,7 +160,21 @@ public class MathFunctions {
      * @return returns the sum of the two Pose.
      */
     public static Pose addPoses(Pose one, Pose two) {
-        return new Pose(one.getX() + two.getX(), one.getY() + two.getY(), one.getHeading() + two.getHeading());
+        return addPosesInto(one, two, new Pose());
+    }
+
+    /**
+     * This sets a Pose to the sum of the two input Poses, without creating a new Pose. The output
+     * Pose can be one of the inputs.
+     *
+     * @param one the first Pose
+     * @param two the second Pose
+     * @param out the Pose to put the sum in.
+     * @return returns the output Pose.
+     */
+    public static Pose addPosesInto(Pose one, Pose two, Pose out) {
+        out.set(one.getX() + two.getX(), one.getY() + two.getY(), one.getHeading() + two.getHeading());
+        return out;
     }
 
     /**
@@ -158,7 +186,21 @@ public class MathFunctions {
      * @return returns the difference of the two Points.
      */
     public static Point subtractPoints(Point one, Point two) {
-        return new Point(one.getX() - two.getX(), one.getY() - two.getY(), Point.CARTESIAN);
+        return subtractPointsInto(one, two, new Point(0, 0, Point.CARTESIAN));
+    }
+
+    /**
+     * This sets a Point to the second Point subtracted from the first Point, without creating a
+     * new Point. The output Point can be one of the inputs.
+     *
+     * @param one the first Point.
+     * @param two the second Point.
+     * @param out the Point to put the difference in.
+     * @return returns the output Point.
+     */
+    public static Point subtractPointsInto(Point one, Point two, Point out) {
+        out.setCoordinates(one.getX() - two.getX(), one.getY() - two.getY(), Point.CARTESIAN);
+        return out;
     }
 
     /**
@@ -170,7 +212,21 @@ public class MathFunctions {
      * @return returns the difference of the two Pose.
      */
     public static Pose subtractPoses(Pose one, Pose two) {
-        return new Pose(one.getX() - two.getX(), one.getY() - two.getY(), one.getHeading() - two.getHeading());
+        return subtractPosesInto(one, two, new Pose());
+    }
+
+    /**
+     * This sets a Pose to the second Pose subtracted from the first Pose, without creating a new
+     * Pose. The output Pose can be one of the inputs.
+     *
+     * @param one the first Pose.
+     * @param two the second Pose.
+     * @param out the Pose to put the difference in.
+     * @return returns the output Pose.
+     */
+    public static Pose subtractPosesInto(Pose one, Pose two, Pose out) {
+        out.set(one.getX() - two.getX(), one.getY() - two.getY(), one.getHeading() - two.getHeading());
+        return out;
     }
 
     /**
@@ -182,11 +238,26 @@ public class MathFunctions {
      * @return the rotated Pose.
      */
     public static Pose rotatePose(Pose pose, double theta, boolean rotateHeading) {
+        return rotatePoseInto(pose, theta, rotateHeading, new Pose());
+    }
+
+    /**
+     * This sets a Pose to the given pose rotated by the given theta, without creating a new Pose.
+     * The output Pose can be the input Pose.
+     *
+     * @param pose the Pose to rotate.
+     * @param theta the angle to rotate by.
+     * @param rotateHeading whether to adjust the Pose heading too.
+     * @param out the Pose to put the rotated Pose in.
+     * @return returns the output Pose.
+     */
+    public static Pose rotatePoseInto(Pose pose, double theta, boolean rotateHeading, Pose out) {
         double x = pose.getX() * Math.cos(theta) - pose.getY() * Math.sin(theta);
         double y = pose.getX() * Math.sin(theta) + pose.getY() * Math.cos(theta);
         double heading = rotateHeading ? normalizeAngle(pose.getHeading() + theta) : pose.getHeading();
 
-        return new Pose(x, y, heading);
+        out.set(x, y, heading);
+        return out;
     }
 
     /**
@@ -197,7 +268,21 @@ public class MathFunctions {
      * @return returns the scaled Point.
      */
     public static Point scalarMultiplyPoint(Point point, double scalar) {
-        return new Point(point.getX() * scalar, point.getY() * scalar, Point.CARTESIAN);
+        return scalarMultiplyPointInto(point, scalar, new Point(0, 0, Point.CARTESIAN));
+    }
+
+    /**
+     * This sets a Point to a Point multiplied by a scalar, without creating a new Point. The
+     * output Point can be the input Point.
+     *
+     * @param point the Point being multiplied.
+     * @param scalar the scalar multiplying into the Point.
+     * @param out the Point to put the scaled Point in.
+     * @return returns the output Point.
+     */
+    public static Point scalarMultiplyPointInto(Point point, double scalar, Point out) {
+        out.setCoordinates(point.getX() * scalar, point.getY() * scalar, Point.CARTESIAN);
+        return out;
     }
 
     /**
@@ -208,7 +293,19 @@ public class MathFunctions {
      * @return returns the copied Point.
      */
     public static Point copyPoint(Point point) {
-        return new Point(point.getX(), point.getY(), Point.CARTESIAN);
+        return copyPointInto(point, new Point(0, 0, Point.CARTESIAN));
+    }
+
+    /**
+     * Copies the values of a Point into another Point, without creating a new Point.
+     *
+     * @param point the Point to be copied.
+     * @param out the Point to copy into.
+     * @return returns the output Point.
+     */
+    public static Point copyPointInto(Point point, Point out) {
+        out.setCoordinates(point.getX(), point.getY(), Point.CARTESIAN);
+        return out;
     }
 
     /**
@@ -219,7 +316,19 @@ public class MathFunctions {
      * @return returns the copied Vector.
      */
     public static Vector copyVector(Vector vector) {
-        return new Vector(vector.getMagnitude(), vector.getTheta());
+        return copyVectorInto(vector, new Vector());
+    }
+
+    /**
+     * Copies the values of a Vector into another Vector, without creating a new Vector.
+     *
+     * @param vector the Vector to be copied.
+     * @param out the Vector to copy into.
+     * @return returns the output Vector.
+     */
+    public static Vector copyVectorInto(Vector vector, Vector out) {
+        out.set(vector);
+        return out;
     }
 
     /**
@@ -230,7 +339,26 @@ public class MathFunctions {
      * @return returns the scaled Vector.
      */
     public static Vector scalarMultiplyVector(Vector vector, double scalar) {
-        return new Vector(vector.getMagnitude() * scalar, vector.getTheta());
+        return scalarMultiplyVectorInto(vector, scalar, new Vector());
+    }
+
+    /**
+     * This sets a Vector to a Vector multiplied by a scalar, without creating a new Vector. The
+     * output Vector can be the input Vector.
+     *
+     * @param vector the Vector being multiplied.
+     * @param scalar the scalar multiplying into the Vector.
+     * @param out the Vector to put the scaled Vector in.
+     * @return returns the output Vector.
+     */
+    public static Vector scalarMultiplyVectorInto(Vector vector, double scalar, Vector out) {
+        if (scalar == 0 || (vector.getXComponent() == 0 && vector.getYComponent() == 0)) {
+            // a zero Vector keeps its direction
+            out.setComponents(0, vector.getTheta());
+        } else {
+            out.setOrthogonalComponents(vector.getXComponent() * scalar, vector.getYComponent() * scalar);
+        }
+        return out;
     }
 
     /**
@@ -241,11 +369,25 @@ public class MathFunctions {
      * @return returns the normalized (or zero) Vector.
      */
     public static Vector normalizeVector(Vector vector) {
-        if (vector.getMagnitude() == 0) {
-            return new Vector(0.0, vector.getTheta());
+        return normalizeVectorInto(vector, new Vector());
+    }
+
+    /**
+     * This sets a Vector to a Vector normalized to be of magnitude 1, unless the Vector is the zero
+     * Vector, without creating a new Vector. The output Vector can be the input Vector.
+     *
+     * @param vector the Vector being normalized.
+     * @param out the Vector to put the normalized (or zero) Vector in.
+     * @return returns the output Vector.
+     */
+    public static Vector normalizeVectorInto(Vector vector, Vector out) {
+        double magnitude = vector.getMagnitude();
+        if (magnitude == 0) {
+            out.setComponents(0.0, vector.getTheta());
         } else {
-            return new Vector(vector.getMagnitude() / Math.abs(vector.getMagnitude()), vector.getTheta());
+            out.setOrthogonalComponents(vector.getXComponent() / magnitude, vector.getYComponent() / magnitude);
         }
+        return out;
     }
 
     /**
@@ -256,9 +398,21 @@ public class MathFunctions {
      * @return returns the sum of the Vectors.
      */
     public static Vector addVectors(Vector one, Vector two) {
-        Vector returnVector = new Vector();
-        returnVector.setOrthogonalComponents(one.getXComponent() + two.getXComponent(), one.getYComponent() + two.getYComponent());
-        return returnVector;
+        return addVectorsInto(one, two, new Vector());
+    }
+
+    /**
+     * This sets a Vector to the sum of the two input Vectors, without creating a new Vector. The
+     * output Vector can be one of the inputs.
+     *
+     * @param one the first Vector.
+     * @param two the second Vector.
+     * @param out the Vector to put the sum in.
+     * @return returns the output Vector.
+     */
+    public static Vector addVectorsInto(Vector one, Vector two, Vector out) {
+        out.setOrthogonalComponents(one.getXComponent() + two.getXComponent(), one.getYComponent() + two.getYComponent());
+        return out;
     }
 
     /**
@@ -270,9 +424,21 @@ public class MathFunctions {
      * @return returns the second Vector subtracted from the first Vector.
      */
     public static Vector subtractVectors(Vector one, Vector two) {
-        Vector returnVector = new Vector();
-        returnVector.setOrthogonalComponents(one.getXComponent() - two.getXComponent(), one.getYComponent() - two.getYComponent());
-        return returnVector;
+        return subtractVectorsInto(one, two, new Vector());
+    }
+
+    /**
+     * This sets a Vector to the second Vector subtracted from the first Vector, without creating a
+     * new Vector. The output Vector can be one of the inputs.
+     *
+     * @param one the first Vector.
+     * @param two the second Vector.
+     * @param out the Vector to put the difference in.
+     * @return returns the output Vector.
+     */
+    public static Vector subtractVectorsInto(Vector one, Vector two, Vector out) {
+        out.setOrthogonalComponents(one.getXComponent() - two.getXComponent(), one.getYComponent() - two.getYComponent());
+        return out;
     }
 
     /**
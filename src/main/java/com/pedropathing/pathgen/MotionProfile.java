@@ -0,0 +1,231 @@
+package com.pedropathing.pathgen;
+
+import com.pedropathing.follower.FollowerConstants;
+
+import java.util.List;
+
+/**
+ * This is the MotionProfile class. This holds how fast the robot should be going, and how fast it
+ * should be speeding up or slowing down, at every point along a Path. It is made once when the
+ * Path or PathChain is built, so the Follower only has to look the values up while it is running.
+ *
+ * The Path is sampled at evenly spaced arc lengths. At each sample, the velocity is limited to the
+ * max velocity, and to however fast the robot can go around the curve there without going over the
+ * max centripetal acceleration. Then a pass from the end back to the start limits each sample to
+ * what the robot can slow down from in time to make the next one, and a pass from the start to the
+ * end limits each sample to what the robot can speed up to from the one before. Between samples,
+ * the acceleration is constant, so the velocity between them is found exactly instead of being
+ * interpolated.
+ *
+ * When the Paths are in a PathChain, the passes run over the whole PathChain, so the robot only
+ * slows down for the end of the PathChain and for tight curves, and not at the end of every Path.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class MotionProfile {
+    private final double length;
+    private final double spacing;
+
+    // The velocity at each sample, and the acceleration from each sample to the next one
+    private final double[] velocities;
+    private final double[] accelerations;
+
+    /**
+     * This creates a new MotionProfile for a Path, with only the max velocity and the centripetal
+     * acceleration limits applied. The acceleration limits are applied by generate().
+     *
+     * @param path the Path.
+     * @param sampleSpacing the most arc length between samples, in inches.
+     * @param maxVelocity the max velocity, in inches per second.
+     * @param maxCentripetalAcceleration the max centripetal acceleration, in inches per second squared.
+     */
+    private MotionProfile(Path path, double sampleSpacing, double maxVelocity, double maxCentripetalAcceleration) {
+        length = Math.max(0, path.length());
+        int segments = length > 0 ? (int) Math.ceil(length / sampleSpacing) : 0;
+        spacing = segments > 0 ? length / segments : 0;
+        velocities = new double[segments + 1];
+        accelerations = new double[segments + 1];
+
+        for (int i = 0; i <= segments; i++) {
+            double curvature = segments > 0 ? Math.abs(path.getCurvature(path.getTAtArcLength(i * spacing))) : 0;
+            double velocity = maxVelocity;
+            if (curvature > 0) {
+                velocity = Math.min(velocity, Math.sqrt(maxCentripetalAcceleration / curvature));
+            }
+            velocities[i] = velocity;
+        }
+    }
+
+    /**
+     * This creates a MotionProfile for a single Path that starts and ends at rest, using the limits
+     * in the FollowerConstants.
+     *
+     * @param path the Path.
+     * @return returns the MotionProfile.
+     */
+    public static MotionProfile generate(Path path) {
+        MotionProfile profile = new MotionProfile(path, FollowerConstants.motionProfileSampleSpacing, FollowerConstants.motionProfileMaxVelocity, FollowerConstants.motionProfileMaxCentripetalAcceleration);
+        profile.limitDeceleration(0, FollowerConstants.motionProfileMaxDeceleration);
+        profile.limitAcceleration(0, FollowerConstants.motionProfileMaxAcceleration);
+        profile.calculateAccelerations();
+        return profile;
+    }
+
+    /**
+     * This creates a MotionProfile for each Path in a list of Paths that are followed one after
+     * another, using the limits in the FollowerConstants. The robot starts at rest at the start of
+     * the first Path and ends at rest at the end of the last one, and the velocity carries over from
+     * the end of each Path to the start of the next one.
+     *
+     * @param paths the Paths, in the order they are followed.
+     * @return returns the MotionProfiles, in the same order as the Paths.
+     */
+    public static MotionProfile[] generate(List<Path> paths) {
+        MotionProfile[] profiles = new MotionProfile[paths.size()];
+        for (int i = 0; i < profiles.length; i++) {
+            profiles[i] = new MotionProfile(paths.get(i), FollowerConstants.motionProfileSampleSpacing, FollowerConstants.motionProfileMaxVelocity, FollowerConstants.motionProfileMaxCentripetalAcceleration);
+        }
+
+        double endVelocity = 0;
+        for (int i = profiles.length - 1; i >= 0; i--) {
+            endVelocity = profiles[i].limitDeceleration(endVelocity, FollowerConstants.motionProfileMaxDeceleration);
+        }
+
+        double startVelocity = 0;
+        for (MotionProfile profile : profiles) {
+            startVelocity = profile.limitAcceleration(startVelocity, FollowerConstants.motionProfileMaxAcceleration);
+            profile.calculateAccelerations();
+        }
+        return profiles;
+    }
+
+    /**
+     * This limits every sample to a velocity the robot can slow down from in time to make the next
+     * sample, going backwards from the end.
+     *
+     * @param endVelocity the most the velocity can be at the end.
+     * @param deceleration the max deceleration, in inches per second squared.
+     * @return returns the velocity at the start, after limiting.
+     */
+    private double limitDeceleration(double endVelocity, double deceleration) {
+        int last = velocities.length - 1;
+        velocities[last] = Math.min(velocities[last], endVelocity);
+        for (int i = last - 1; i >= 0; i--) {
+            velocities[i] = Math.min(velocities[i], Math.sqrt(velocities[i + 1] * velocities[i + 1] + 2 * deceleration * spacing));
+        }
+        return velocities[0];
+    }
+
+    /**
+     * This limits every sample to a velocity the robot can speed up to from the sample before it,
+     * going forwards from the start.
+     *
+     * @param startVelocity the most the velocity can be at the start.
+     * @param acceleration the max acceleration, in inches per second squared.
+     * @return returns the velocity at the end, after limiting.
+     */
+    private double limitAcceleration(double startVelocity, double acceleration) {
+        velocities[0] = Math.min(velocities[0], startVelocity);
+        for (int i = 1; i < velocities.length; i++) {
+            velocities[i] = Math.min(velocities[i], Math.sqrt(velocities[i - 1] * velocities[i - 1] + 2 * acceleration * spacing));
+        }
+        return velocities[velocities.length - 1];
+    }
+
+    /**
+     * This finds the constant acceleration between each sample and the next one. The last sample
+     * keeps the acceleration of the one before it.
+     */
+    private void calculateAccelerations() {
+        int last = velocities.length - 1;
+        for (int i = 0; i < last; i++) {
+            accelerations[i] = (velocities[i + 1] * velocities[i + 1] - velocities[i] * velocities[i]) / (2 * spacing);
+        }
+        accelerations[last] = last > 0 ? accelerations[last - 1] : 0;
+    }
+
+    /**
+     * This returns the index of the sample at or before an arc length.
+     *
+     * @param arcLength the arc length from the start of the Path.
+     * @return returns the index of the sample.
+     */
+    private int getSegment(double arcLength) {
+        if (spacing <= 0 || arcLength <= 0) return 0;
+        return Math.min((int) (arcLength / spacing), velocities.length - 1);
+    }
+
+    /**
+     * This returns the velocity the robot should be going at an arc length along the Path.
+     *
+     * @param arcLength the arc length from the start of the Path, in inches.
+     * @return returns the velocity, in inches per second.
+     */
+    public double getVelocity(double arcLength) {
+        int segment = getSegment(arcLength);
+        if (segment == velocities.length - 1) return velocities[segment];
+        double distance = MathFunctions.clamp(arcLength - segment * spacing, 0, spacing);
+        return Math.sqrt(Math.max(0, velocities[segment] * velocities[segment] + 2 * accelerations[segment] * distance));
+    }
+
+    /**
+     * This returns the acceleration the robot should have at an arc length along the Path.
+     *
+     * @param arcLength the arc length from the start of the Path, in inches.
+     * @return returns the acceleration, in inches per second squared.
+     */
+    public double getAcceleration(double arcLength) {
+        return accelerations[getSegment(arcLength)];
+    }
+
+    /**
+     * This returns the velocity at the start of the Path.
+     *
+     * @return returns the start velocity, in inches per second.
+     */
+    public double getStartVelocity() {
+        return velocities[0];
+    }
+
+    /**
+     * This returns the velocity at the end of the Path.
+     *
+     * @return returns the end velocity, in inches per second.
+     */
+    public double getEndVelocity() {
+        return velocities[velocities.length - 1];
+    }
+
+    /**
+     * This returns how long it takes to drive the whole Path following this MotionProfile.
+     *
+     * @return returns the time, in seconds.
+     */
+    public double getDuration() {
+        double time = 0;
+        for (int i = 0; i < velocities.length - 1; i++) {
+            double averageVelocity = (velocities[i] + velocities[i + 1]) / 2;
+            if (averageVelocity > 0) time += spacing / averageVelocity;
+        }
+        return time;
+    }
+
+    /**
+     * This returns the length of the Path this MotionProfile was made for.
+     *
+     * @return returns the length, in inches.
+     */
+    public double getLength() {
+        return length;
+    }
+
+    /**
+     * This returns the number of samples in this MotionProfile.
+     *
+     * @return returns the number of samples.
+     */
+    public int size() {
+        return velocities.length;
+    }
+}
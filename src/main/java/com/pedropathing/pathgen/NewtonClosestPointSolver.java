@@ -0,0 +1,175 @@
+package com.pedropathing.pathgen;
+
+import com.pedropathing.localization.Pose;
+
+/**
+ * This is the NewtonClosestPointSolver class. This is the ClosestPointSolver for BezierCurves of
+ * degree four and up, where solving for the closest point exactly isn't practical.
+ *
+ * When this is created, the curve is sampled into a coarse table of points and derivatives. To
+ * find the closest point, the derivative of the squared distance is checked at every point in the
+ * table. Wherever it goes from negative to positive between two neighboring table points, there is
+ * a local minimum of the distance bracketed between them. Each of those is then found with Newton's
+ * method on the derivative of the squared distance, with a bisection step taken whenever a Newton
+ * step would leave the bracket, and the closest one wins. Each search stops once the steps get small
+ * enough or the search limit is hit. Since every part of the curve is checked instead of only near
+ * the last closest point, the search can't get stuck on the wrong part of the curve if the robot
+ * gets knocked off of the Path.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class NewtonClosestPointSolver implements ClosestPointSolver {
+    private final BezierCurve curve;
+
+    // The table has this many samples per degree of the curve, since higher degree curves can wiggle more
+    private final int TABLE_SAMPLES_PER_DEGREE = 8;
+
+    // The search stops once a step moves the point on the curve less than this many inches
+    private final double CONVERGENCE_TOLERANCE = 1e-4;
+
+    private final double[] tableTValues;
+    private final double[] tableX;
+    private final double[] tableY;
+    private final double[] tableDerivativeX;
+    private final double[] tableDerivativeY;
+
+    /**
+     * This creates a new NewtonClosestPointSolver for a BezierCurve and samples the coarse table.
+     *
+     * @param curve the BezierCurve.
+     */
+    public NewtonClosestPointSolver(BezierCurve curve) {
+        this.curve = curve;
+        int samples = TABLE_SAMPLES_PER_DEGREE * (curve.getControlPoints().size() - 1) + 1;
+        tableTValues = new double[samples];
+        tableX = new double[samples];
+        tableY = new double[samples];
+        tableDerivativeX = new double[samples];
+        tableDerivativeY = new double[samples];
+
+        CurveSample sample = new CurveSample();
+        for (int i = 0; i < samples; i++) {
+            tableTValues[i] = i / (double) (samples - 1);
+            curve.sample(tableTValues[i], sample);
+            tableX[i] = sample.getX();
+            tableY[i] = sample.getY();
+            tableDerivativeX[i] = sample.getDerivativeX();
+            tableDerivativeY[i] = sample.getDerivativeY();
+        }
+    }
+
+    /**
+     * This finds the closest point on the BezierCurve to the pose by searching every local minimum
+     * of the distance that the coarse table brackets.
+     *
+     * @param pose the pose to find the closest point to.
+     * @param searchLimit the maximum number of Newton or bisection steps to take for each local minimum.
+     * @param sample the CurveSample to fill in at the closest point.
+     * @return returns the t-value of the closest point.
+     */
+    @Override
+    public double solve(Pose pose, int searchLimit, CurveSample sample) {
+        int last = tableTValues.length - 1;
+        double bestT = 0;
+        double bestDistance = Double.POSITIVE_INFINITY;
+
+        // the ends of the curve are local minima if the distance is growing going into the curve
+        if (tableSlope(0, pose) >= 0) {
+            bestDistance = tableDistance(0, pose);
+        }
+        if (tableSlope(last, pose) <= 0 && tableDistance(last, pose) < bestDistance) {
+            bestT = 1;
+            bestDistance = tableDistance(last, pose);
+        }
+
+        double slope = tableSlope(0, pose);
+        for (int i = 0; i < last; i++) {
+            double nextSlope = tableSlope(i + 1, pose);
+            if (slope < 0 && nextSlope >= 0) {
+                double t = searchBracket(tableTValues[i], tableTValues[i + 1], pose, searchLimit, sample);
+                double differenceX = sample.getX() - pose.getX();
+                double differenceY = sample.getY() - pose.getY();
+                double distance = differenceX * differenceX + differenceY * differenceY;
+                if (distance < bestDistance) {
+                    bestT = t;
+                    bestDistance = distance;
+                }
+            }
+            slope = nextSlope;
+        }
+
+        curve.sample(bestT, sample);
+        return bestT;
+    }
+
+    /**
+     * This finds the local minimum of the distance between two t-values where the derivative of
+     * the squared distance goes from negative to positive. This uses Newton's method, falling back
+     * to bisection whenever a Newton step would leave the bracket.
+     *
+     * @param low the t-value at the start of the bracket.
+     * @param high the t-value at the end of the bracket.
+     * @param pose the pose to find the closest point to.
+     * @param searchLimit the maximum number of steps to take.
+     * @param sample the CurveSample to use, which is left at the returned t-value.
+     * @return returns the t-value of the local minimum.
+     */
+    private double searchBracket(double low, double high, Pose pose, int searchLimit, CurveSample sample) {
+        double t = (low + high) / 2;
+
+        for (int i = 0; i < searchLimit; i++) {
+            curve.sample(t, sample);
+            double differenceX = sample.getX() - pose.getX();
+            double differenceY = sample.getY() - pose.getY();
+            double derivativeX = sample.getDerivativeX();
+            double derivativeY = sample.getDerivativeY();
+
+            // these are half of the first and second derivatives of the squared distance
+            double firstDerivative = differenceX * derivativeX + differenceY * derivativeY;
+            double secondDerivative = derivativeX * derivativeX + derivativeY * derivativeY
+                    + differenceX * sample.getSecondDerivativeX() + differenceY * sample.getSecondDerivativeY();
+
+            if (firstDerivative < 0) {
+                low = t;
+            } else {
+                high = t;
+            }
+
+            double next = secondDerivative > 0 ? t - firstDerivative / secondDerivative : low;
+            if (next <= low || next >= high) next = (low + high) / 2;
+
+            double speed = Math.sqrt(derivativeX * derivativeX + derivativeY * derivativeY);
+            boolean converged = Math.abs(next - t) * speed < CONVERGENCE_TOLERANCE;
+            t = next;
+            if (converged) break;
+        }
+
+        curve.sample(t, sample);
+        return t;
+    }
+
+    /**
+     * This returns half of the derivative of the squared distance from the pose at a table point.
+     *
+     * @param index the index of the table point.
+     * @param pose the pose.
+     * @return returns half of the derivative of the squared distance.
+     */
+    private double tableSlope(int index, Pose pose) {
+        return (tableX[index] - pose.getX()) * tableDerivativeX[index] + (tableY[index] - pose.getY()) * tableDerivativeY[index];
+    }
+
+    /**
+     * This returns the squared distance from the pose to a table point.
+     *
+     * @param index the index of the table point.
+     * @param pose the pose.
+     * @return returns the squared distance.
+     */
+    private double tableDistance(int index, Pose pose) {
+        double differenceX = tableX[index] - pose.getX();
+        double differenceY = tableY[index] - pose.getY();
+        return differenceX * differenceX + differenceY * differenceY;
+    }
+}
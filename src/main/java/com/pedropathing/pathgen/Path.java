@@ -24,8 +24,20 @@ public class Path {
     private double closestPointTValue = 0;
     private double linearInterpolationEndTime;
 
-    private Vector closestPointTangentVector;
-    private Vector closestPointNormalVector;
+    private Vector closestPointTangentVector = new Vector();
+    private Vector closestPointNormalVector = new Vector();
+
+    // This holds everything about the curve at the closest Point, filled in by one evaluation
+    private final CurveSample closestPointSample = new CurveSample();
+
+    // This finds the closest Point, and it is picked once based on the type of BezierCurve
+    private final ClosestPointSolver closestPointSolver;
+
+    // The search near a t-value stops once a step moves the point on the curve less than this many inches
+    private final double CLOSEST_POINT_TOLERANCE = 1e-4;
+
+    // The MotionProfile for following this Path on its own, which is only made the first time it is used
+    private MotionProfile motionProfile;
 
     private boolean isTangentHeadingInterpolation = true;
     private boolean followTangentReversed;
@@ -71,6 +83,7 @@ public class Path {
      */
     public Path(BezierCurve curve) {
         this.curve = curve;
+        closestPointSolver = curve.createClosestPointSolver();
     }
 
     /**
@@ -124,7 +137,9 @@ public class Path {
     }
 
     /**
-     * This gets the closest Point from a specified pose to the BezierCurve with a Newton search
+     * This gets the closest Point from a specified pose to the BezierCurve. The search is done by
+     * the ClosestPointSolver that the BezierCurve picked for itself, so lines are projected onto,
+     * quadratic and cubic curves are solved exactly, and higher degree curves use a Newton search
      * that is limited to some specified step limit.
      *
      * @param pose        the pose.
@@ -132,39 +147,79 @@ public class Path {
      * @return returns the closest Point.
      */
     public Pose getClosestPoint(Pose pose, int searchLimit) {
-        switch (curve.pathType()) {
-            case "point":
-                closestPointTValue = 0;
-                break;
-            case "line":
-                Vector BA = new Vector(MathFunctions.subtractPoints(curve.getLastControlPoint(), curve.getFirstControlPoint()));
-                Vector PA = new Vector(MathFunctions.subtractPoints(new Point(pose), curve.getFirstControlPoint()));
-
-                closestPointTValue = MathFunctions.clamp(MathFunctions.dotProduct(BA, PA) / Math.pow(BA.getMagnitude(), 2), 0, 1);
-                break;
-            default:
-                for (int i = 0; i < searchLimit; i++) {
-                    Point lastPoint = curve.getPoint(closestPointTValue);
-                    Point posePoint = new Point(pose);
-
-                    Vector differenceVector = new Vector(MathFunctions.subtractPoints(lastPoint, posePoint));
-
-                    double firstDerivative = 2 * MathFunctions.dotProduct(curve.getDerivative(closestPointTValue), differenceVector);
-                    double secondDerivative = 2 * (Math.pow(curve.getDerivative(closestPointTValue).getMagnitude(), 2) +
-                            MathFunctions.dotProduct(differenceVector, curve.getSecondDerivative(closestPointTValue)));
-
-                    closestPointTValue = MathFunctions.clamp(closestPointTValue - firstDerivative / (secondDerivative + 1e-9), 0, 1);
-                    if (curve.getPoint(closestPointTValue).distanceFrom(lastPoint) < 0.1)
-                        break;
-                }
+        return getClosestPoint(pose, searchLimit, new Pose());
+    }
+
+    /**
+     * This gets the closest Point from a specified pose to the BezierCurve, and puts it into the
+     * specified Pose instead of creating a new one. This is otherwise the same as
+     * getClosestPoint(Pose, int).
+     *
+     * @param pose        the pose.
+     * @param searchLimit the maximum number of iterations to run.
+     * @param out         the Pose to put the closest Point into. This can be the same as the pose.
+     * @return returns the Pose passed in, which now holds the closest Point.
+     */
+    public Pose getClosestPoint(Pose pose, int searchLimit, Pose out) {
+        closestPointTValue = closestPointSolver.solve(pose, searchLimit, closestPointSample);
+        return setClosestPoint(out);
+    }
+
+    /**
+     * This gets the closest Point from a specified pose to the BezierCurve, but only searches near
+     * a starting t-value instead of over the whole BezierCurve. Newton's method on the squared
+     * distance is started from that t-value, so this finds the local minimum the robot is moving
+     * along, even if some other part of the BezierCurve comes back closer to the robot, like on a
+     * Path that loops around near its own start. If the curvature makes a Newton step go the wrong
+     * way, the step ignores the curvature instead.
+     *
+     * @param pose          the pose.
+     * @param initialTValue the t-value to start the search from.
+     * @param searchLimit   the maximum number of iterations to run.
+     * @param out           the Pose to put the closest Point into. This can be the same as the pose.
+     * @return returns the Pose passed in, which now holds the closest Point.
+     */
+    public Pose getClosestPointNear(Pose pose, double initialTValue, int searchLimit, Pose out) {
+        double t = MathFunctions.clamp(initialTValue, 0, 1);
+        for (int i = 0; i < searchLimit; i++) {
+            curve.sample(t, closestPointSample);
+            double differenceX = closestPointSample.getX() - pose.getX();
+            double differenceY = closestPointSample.getY() - pose.getY();
+            double derivativeX = closestPointSample.getDerivativeX();
+            double derivativeY = closestPointSample.getDerivativeY();
+
+            // these are half of the first and second derivatives of the squared distance
+            double speedSquared = derivativeX * derivativeX + derivativeY * derivativeY;
+            double firstDerivative = differenceX * derivativeX + differenceY * derivativeY;
+            double secondDerivative = speedSquared + differenceX * closestPointSample.getSecondDerivativeX() + differenceY * closestPointSample.getSecondDerivativeY();
+            if (speedSquared == 0) break;
+            if (secondDerivative <= 0) secondDerivative = speedSquared;
+
+            double next = MathFunctions.clamp(t - firstDerivative / secondDerivative, 0, 1);
+            boolean converged = Math.abs(next - t) * Math.sqrt(speedSquared) < CLOSEST_POINT_TOLERANCE;
+            t = next;
+            if (converged) break;
         }
 
-        Point closestPoint = curve.getPoint(closestPointTValue);
-        closestPointTangentVector = curve.getDerivative(closestPointTValue);
-        closestPointNormalVector = curve.getApproxSecondDerivative(closestPointTValue);
-        closestPointCurvature = curve.getCurvature(closestPointTValue);
+        closestPointTValue = t;
+        curve.sample(t, closestPointSample);
+        return setClosestPoint(out);
+    }
+
+    /**
+     * This updates the tangent, normal, and curvature at the closest Point from the CurveSample at
+     * the closest Point, and puts the closest Point into the specified Pose.
+     *
+     * @param out the Pose to put the closest Point into.
+     * @return returns the Pose passed in, which now holds the closest Point.
+     */
+    private Pose setClosestPoint(Pose out) {
+        closestPointTangentVector.setOrthogonalComponents(closestPointSample.getDerivativeX(), closestPointSample.getDerivativeY());
+        closestPointNormalVector.setOrthogonalComponents(closestPointSample.getNormalX(), closestPointSample.getNormalY());
+        closestPointCurvature = closestPointSample.getCurvature();
 
-        return new Pose(closestPoint.getX(), closestPoint.getY(), getClosestPointHeadingGoal());
+        out.set(closestPointSample.getX(), closestPointSample.getY(), getClosestPointHeadingGoal());
+        return out;
     }
 
     /**
@@ -204,6 +259,16 @@ public class Path {
         return curve.getEndTangent();
     }
 
+    /**
+     * This copies the unit tangent Vector at the end of the BezierCurve into the specified Vector.
+     *
+     * @param out the Vector to copy the end tangent Vector into.
+     * @return returns the Vector passed in, which now holds the end tangent Vector.
+     */
+    public Vector getEndTangentInto(Vector out) {
+        return curve.getEndTangentInto(out);
+    }
+
     /**
      * This returns the point on the Bezier curve that is specified by the parametric t value. A
      * Bezier curve is a parametric function that returns points along it with t ranging from [0, 1],
@@ -235,6 +300,36 @@ public class Path {
         return curve.length();
     }
 
+    /**
+     * This returns the arc length from the start of the BezierCurve to a specified t-value.
+     *
+     * @param t the specified t-value.
+     * @return returns the arc length up to the specified t-value.
+     */
+    public double getArcLength(double t) {
+        return curve.getArcLength(t);
+    }
+
+    /**
+     * This returns the t-value at which the arc length from the start of the BezierCurve is the
+     * specified arc length.
+     *
+     * @param arcLength the specified arc length.
+     * @return returns the t-value at the specified arc length.
+     */
+    public double getTAtArcLength(double arcLength) {
+        return curve.getTAtArcLength(arcLength);
+    }
+
+    /**
+     * This returns the distance along the BezierCurve from the closest Point to the end.
+     *
+     * @return returns the remaining distance along the BezierCurve.
+     */
+    public double getDistanceRemaining() {
+        return curve.getRemainingDistance(closestPointTValue);
+    }
+
     /**
      * This returns the curvature of the BezierCurve at a specified t-value.
      *
@@ -255,7 +350,8 @@ public class Path {
     }
 
     /**
-     * This returns the normal Vector at the closest Point.
+     * This returns the unit normal Vector at the closest Point. This points towards the center of
+     * curvature, and it is the zero Vector if the BezierCurve isn't curving at the closest Point.
      *
      * @return returns the normal Vector at the closest Point.
      */
@@ -263,6 +359,16 @@ public class Path {
         return MathFunctions.copyVector(closestPointNormalVector);
     }
 
+    /**
+     * This returns the CurveSample at the closest Point. This is updated in place every time the
+     * closest Point is found, so copy anything out of it that needs to be kept.
+     *
+     * @return returns the CurveSample at the closest Point.
+     */
+    public CurveSample getClosestPointSample() {
+        return closestPointSample;
+    }
+
     /**
      * This returns the tangent Vector at the closest Point.
      *
@@ -272,6 +378,16 @@ public class Path {
         return MathFunctions.copyVector(closestPointTangentVector);
     }
 
+    /**
+     * This copies the tangent Vector at the closest Point into the specified Vector.
+     *
+     * @param out the Vector to copy the tangent Vector into.
+     * @return returns the Vector passed in, which now holds the tangent Vector at the closest Point.
+     */
+    public Vector getClosestPointTangentVectorInto(Vector out) {
+        return MathFunctions.copyVectorInto(closestPointTangentVector, out);
+    }
+
     /**
      * This returns the heading goal at the closest Point.
      *
@@ -482,6 +598,20 @@ public class Path {
         return pathEndTimeoutConstraint;
     }
 
+    /**
+     * This returns the MotionProfile for following this Path on its own, starting and ending at
+     * rest. This is made the first time it is asked for. When this Path is followed as part of a
+     * PathChain, the PathChain's MotionProfiles are used instead.
+     *
+     * @return returns the MotionProfile.
+     */
+    public MotionProfile getMotionProfile() {
+        if (motionProfile == null) {
+            motionProfile = MotionProfile.generate(this);
+        }
+        return motionProfile;
+    }
+
     /**
      * Returns the type of path. This is used in case we need to identify the type of BezierCurve
      * this is.
@@ -223,6 +223,39 @@ public class PathBuilder {
         return this;
     }
 
+    /**
+     * This adds a temporal callback on the last Path added to the PathBuilder, which is run using
+     * the specified execution policy.
+     *
+     * @param time This sets the number of milliseconds of wait between the start of the Path and
+     *         the calling of the callback.
+     * @param runnable This sets the code for the callback to run. Use lambda statements for this.
+     * @param executionPolicy This sets where the callback is run, using the PathCallback constants
+     *                        INLINE, WORKER, and DEDICATED_THREAD.
+     * @return This returns itself with the updated data.
+     */
+    public PathBuilder addTemporalCallback(double time, Runnable runnable, int executionPolicy) {
+        return addTemporalCallback(time, runnable, executionPolicy, false);
+    }
+
+    /**
+     * This adds a temporal callback on the last Path added to the PathBuilder, which is run using
+     * the specified execution policy, and which the Follower can wait for at the end of the Path.
+     *
+     * @param time This sets the number of milliseconds of wait between the start of the Path and
+     *         the calling of the callback.
+     * @param runnable This sets the code for the callback to run. Use lambda statements for this.
+     * @param executionPolicy This sets where the callback is run, using the PathCallback constants
+     *                        INLINE, WORKER, and DEDICATED_THREAD.
+     * @param waitForCompletion This makes the Follower stop at the end of the Path until the
+     *                          callback is done, if it has started by then.
+     * @return This returns itself with the updated data.
+     */
+    public PathBuilder addTemporalCallback(double time, Runnable runnable, int executionPolicy, boolean waitForCompletion) {
+        this.callbacks.add(new PathCallback(time, runnable, PathCallback.TIME, paths.size() - 1, executionPolicy, waitForCompletion));
+        return this;
+    }
+
     /**
      * This adds a parametric callback on the last Path added to the PathBuilder.
      * This callback is set to run at a certain point on the Path.
@@ -236,6 +269,37 @@ public class PathBuilder {
         return this;
     }
 
+    /**
+     * This adds a parametric callback on the last Path added to the PathBuilder, which is run using
+     * the specified execution policy.
+     *
+     * @param t This sets the t-value (parametric time) on the Path for when to run the callback.
+     * @param runnable This sets the code for the callback to run. Use lambda statements for this.
+     * @param executionPolicy This sets where the callback is run, using the PathCallback constants
+     *                        INLINE, WORKER, and DEDICATED_THREAD.
+     * @return This returns itself with the updated data.
+     */
+    public PathBuilder addParametricCallback(double t, Runnable runnable, int executionPolicy) {
+        return addParametricCallback(t, runnable, executionPolicy, false);
+    }
+
+    /**
+     * This adds a parametric callback on the last Path added to the PathBuilder, which is run using
+     * the specified execution policy, and which the Follower can wait for at the end of the Path.
+     *
+     * @param t This sets the t-value (parametric time) on the Path for when to run the callback.
+     * @param runnable This sets the code for the callback to run. Use lambda statements for this.
+     * @param executionPolicy This sets where the callback is run, using the PathCallback constants
+     *                        INLINE, WORKER, and DEDICATED_THREAD.
+     * @param waitForCompletion This makes the Follower stop at the end of the Path until the
+     *                          callback is done.
+     * @return This returns itself with the updated data.
+     */
+    public PathBuilder addParametricCallback(double t, Runnable runnable, int executionPolicy, boolean waitForCompletion) {
+        this.callbacks.add(new PathCallback(t, runnable, PathCallback.PARAMETRIC, paths.size() - 1, executionPolicy, waitForCompletion));
+        return this;
+    }
+
     /**
      * This builds all the Path and callback information together into a PathChain.
      *
@@ -1,11 +1,22 @@
 package com.pedropathing.pathgen;
 
+import com.pedropathing.util.CallbackExecutor;
 import com.pedropathing.util.SingleRunAction;
 
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
 /**
  * This is the PathCallback class. This class handles callbacks of Runnables in PathChains.
  * Basically, this allows you to run non-blocking code in the middle of PathChains.
  *
+ * By default, a PathCallback runs right away inside the Follower's update. Callbacks that take a
+ * while, like ones that wait on a servo or read a slow sensor, can instead be run on the worker
+ * pool of the CallbackExecutor or on a thread of their own, so they don't hold up the control loop.
+ * Each PathCallback keeps track of its latest run: whether it is done, how long it waited to start
+ * and how long it took, and what it threw, if anything. A PathCallback can also make the Follower
+ * wait at the end of its Path until it is done, before moving on to the next Path in the PathChain.
+ *
  * @author Anyi Lin - 10158 Scott's Bots
  * @author Aaron Yang - 10158 Scott's Bots
  * @author Harrison Womack - 10158 Scott's Bots
@@ -17,10 +28,19 @@ public class PathCallback extends SingleRunAction {
 
     private int type;
     private int index;
+    private int executionPolicy;
+    private boolean waitForCompletion;
+
+    // The latest run, which is only replaced by the thread that runs the PathChain's callbacks
+    private volatile CallbackRun latestRun;
 
     public static final int TIME = 0;
     public static final int PARAMETRIC = 1;
 
+    public static final int INLINE = 0;
+    public static final int WORKER = 1;
+    public static final int DEDICATED_THREAD = 2;
+
     /**
      * This creates a new PathCallback with a specified start condition (either time or parametric),
      * a Runnable of code to run (preferably a lambda statement), a type (using the class constants),
@@ -33,10 +53,32 @@ public class PathCallback extends SingleRunAction {
      * @param index This defines which Path within the PathChain the callback is to run on.
      */
     public PathCallback(double startCondition, Runnable runnable, int type, int index) {
+        this(startCondition, runnable, type, index, INLINE, false);
+    }
+
+    /**
+     * This creates a new PathCallback with a specified start condition (either time or parametric),
+     * a Runnable of code to run, a type, an index for which Path within a PathChain the callback is
+     * to run on, an execution policy for where the Runnable is run (using the class constants), and
+     * whether the Follower waits for the callback to finish before moving on to the next Path.
+     *
+     * @param startCondition This defines when the callback is to be run, either as a wait time in
+     *                       milliseconds or a t-value (parametric time) point.
+     * @param runnable This contains the code to run when the callback is called.
+     * @param type This defines the type of callback using the class constants.
+     * @param index This defines which Path within the PathChain the callback is to run on.
+     * @param executionPolicy This defines where the callback is run: INLINE in the Follower's update,
+     *                        WORKER on the CallbackExecutor's worker pool, or DEDICATED_THREAD on a
+     *                        new thread of its own.
+     * @param waitForCompletion This makes the Follower stop at the end of the callback's Path until
+     *                          the callback is done, once it has started.
+     * @throws IllegalArgumentException if the execution policy isn't one of the class constants.
+     */
+    public PathCallback(double startCondition, Runnable runnable, int type, int index, int executionPolicy, boolean waitForCompletion) {
         super(runnable);
         this.startCondition = startCondition;
         this.type = type;
-        if (this.type != TIME || this.type != PARAMETRIC) {
+        if (this.type != TIME && this.type != PARAMETRIC) {
             this.type = PARAMETRIC;
         }
         if (this.type == TIME && this.startCondition < 0) {
@@ -45,7 +87,92 @@ public class PathCallback extends SingleRunAction {
         if (this.type == PARAMETRIC) {
             this.startCondition = MathFunctions.clamp(this.startCondition, 0, 1);
         }
+        if (executionPolicy != INLINE && executionPolicy != WORKER && executionPolicy != DEDICATED_THREAD) {
+            throw new IllegalArgumentException("Unsupported callback execution policy");
+        }
         this.index = index;
+        this.executionPolicy = executionPolicy;
+        this.waitForCompletion = waitForCompletion;
+    }
+
+    /**
+     * This runs the callback's Runnable according to the execution policy. Inline callbacks are run
+     * right away, and anything they throw is thrown from here. The others are handed off to another
+     * thread and this returns right away. If the worker pool's queue is full, the callback is turned
+     * away and marked as done without being run.
+     *
+     * Every run gets its own CallbackRun to keep track of it, so a run from before a reset that is
+     * still going on another thread can't change what the newest run reports.
+     *
+     * @param runnable the Runnable to run.
+     */
+    @Override
+    protected void execute(Runnable runnable) {
+        CallbackRun run = new CallbackRun(runnable);
+        latestRun = run;
+
+        if (executionPolicy == INLINE) {
+            run.run();
+            Throwable thrown = run.failure;
+            if (thrown instanceof RuntimeException) throw (RuntimeException) thrown;
+            if (thrown instanceof Error) throw (Error) thrown;
+            return;
+        }
+
+        if (executionPolicy == DEDICATED_THREAD) {
+            CallbackExecutor.startDedicated(run);
+        } else if (!CallbackExecutor.submit(run)) {
+            run.rejected = true;
+            run.cancel(false);
+        }
+    }
+
+    /**
+     * This is the CallbackRun class. This keeps track of one run of a PathCallback: when it was
+     * due, when it started and finished, what it threw, and whether it was turned away. It is also
+     * the Future for that run.
+     */
+    private static class CallbackRun extends FutureTask<Void> {
+        private final long triggerTime = System.nanoTime();
+        private volatile long startTime;
+        private volatile long endTime;
+        private volatile Throwable failure;
+        private volatile boolean rejected;
+
+        /**
+         * This creates a new CallbackRun for a Runnable. The run is due as of when this is created.
+         *
+         * @param runnable the Runnable to run.
+         */
+        CallbackRun(Runnable runnable) {
+            super(runnable, null);
+        }
+
+        /**
+         * This runs the Runnable and records when it started and finished. A run that was
+         * cancelled before it started doesn't run at all.
+         */
+        @Override
+        public void run() {
+            if (isDone()) return;
+            startTime = System.nanoTime();
+            try {
+                super.run();
+            } finally {
+                endTime = System.nanoTime();
+            }
+        }
+
+        /**
+         * This records what the Runnable threw before the Future is marked as done.
+         *
+         * @param thrown what the Runnable threw.
+         */
+        @Override
+        protected void setException(Throwable thrown) {
+            failure = thrown;
+            super.setException(thrown);
+        }
     }
 
     /**
@@ -75,4 +202,92 @@ public class PathCallback extends SingleRunAction {
     public int getIndex() {
         return index;
     }
+
+    /**
+     * This returns where this callback is run, using the class constants.
+     *
+     * @return This returns the execution policy.
+     */
+    public int getExecutionPolicy() {
+        return executionPolicy;
+    }
+
+    /**
+     * This returns whether the Follower waits at the end of this callback's Path until it is done.
+     *
+     * @return This returns if the Follower waits for this callback.
+     */
+    public boolean isWaitForCompletion() {
+        return waitForCompletion;
+    }
+
+    /**
+     * This returns the Future of the latest run of this callback. It can be used to check on the
+     * callback or to wait for it, but never wait on it from the control loop. The Future of an
+     * inline callback is already done by the time this can be called.
+     *
+     * @return This returns the Future, or null if this callback hasn't run yet.
+     */
+    public Future<Void> getFuture() {
+        return latestRun;
+    }
+
+    /**
+     * This returns whether the latest run of this callback is done. A callback that was turned
+     * away, or that threw, counts as done.
+     *
+     * @return This returns if the callback has run and is done.
+     */
+    public boolean isDone() {
+        if (!hasBeenRun()) return false;
+        CallbackRun run = latestRun;
+        return run != null && run.isDone();
+    }
+
+    /**
+     * This returns whether the latest run of this callback was turned away because the worker
+     * pool's queue was full.
+     *
+     * @return This returns if the callback was turned away.
+     */
+    public boolean isRejected() {
+        CallbackRun run = latestRun;
+        return run != null && run.rejected;
+    }
+
+    /**
+     * This returns what the latest run of this callback threw, if it threw something.
+     *
+     * @return This returns what the callback threw, or null if it didn't throw anything.
+     */
+    public Throwable getFailure() {
+        CallbackRun run = latestRun;
+        return run == null ? null : run.failure;
+    }
+
+    /**
+     * This returns how long the latest run of this callback waited between being due and starting.
+     * This is close to zero for inline callbacks.
+     *
+     * @return This returns the wait to start, in nanoseconds, or -1 if it hasn't started yet.
+     */
+    public long getStartLatency() {
+        CallbackRun run = latestRun;
+        if (run == null || run.startTime == 0) return -1;
+        return run.startTime - run.triggerTime;
+    }
+
+    /**
+     * This returns how long the latest run of this callback took.
+     *
+     * @return This returns the run time, in nanoseconds, or -1 if it isn't done yet.
+     */
+    public long getRunTime() {
+        CallbackRun run = latestRun;
+        if (run == null) return -1;
+        long start = run.startTime;
+        long end = run.endTime;
+        if (start == 0 || end == 0) return -1;
+        return end - start;
+    }
 }
@@ -0,0 +1,241 @@
+package com.pedropathing.pathgen;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * This is the PathCallbackScheduler class. This sorts the PathCallbacks of a PathChain ahead of
+ * time, so the Follower only has to look at the callbacks that are next to run on every loop,
+ * instead of going through every callback in the PathChain.
+ *
+ * The parametric callbacks are put into a queue for each Path, sorted by their t-values, so only
+ * the first callback left in the current Path's queue has to be checked. The temporal callbacks of
+ * a Path are added to a min-heap, sorted by the time they are due, when that Path is started, so
+ * only the top of the heap has to be checked. Nothing is created while the PathChain is running.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class PathCallbackScheduler {
+    // How close the t-value has to be to a parametric callback's t-value for it to run
+    private final double PARAMETRIC_TOLERANCE = 0.0001;
+
+    private final List<PathCallback> callbacks;
+
+    // The parametric callbacks of each Path in order of t-value, and the next one to check
+    private final PathCallback[][] parametricCallbacks;
+    private final int[] nextParametricCallback;
+
+    // The temporal callbacks of each Path in order of wait time
+    private final PathCallback[][] temporalCallbacks;
+
+    // The callbacks that the Follower waits for before moving on to the next Path
+    private final PathCallback[] waitCallbacks;
+
+    // The temporal callbacks of the Paths that have been started, and when each one is due
+    private final PathCallback[] heap;
+    private final long[] heapTimes;
+    private int heapSize;
+
+    /**
+     * This creates a new PathCallbackScheduler for the PathCallbacks of a PathChain. Callbacks on
+     * Paths that aren't in the PathChain are never run.
+     *
+     * @param callbacks the PathCallbacks.
+     * @param pathCount the number of Paths in the PathChain.
+     */
+    public PathCallbackScheduler(List<PathCallback> callbacks, int pathCount) {
+        this.callbacks = callbacks;
+        parametricCallbacks = new PathCallback[pathCount][];
+        temporalCallbacks = new PathCallback[pathCount][];
+        nextParametricCallback = new int[pathCount];
+
+        int temporalCount = 0;
+        for (int i = 0; i < pathCount; i++) {
+            ArrayList<PathCallback> parametric = new ArrayList<>();
+            ArrayList<PathCallback> temporal = new ArrayList<>();
+            for (PathCallback callback : callbacks) {
+                if (callback.getIndex() != i) continue;
+                if (callback.getType() == PathCallback.TIME) {
+                    temporal.add(callback);
+                } else {
+                    parametric.add(callback);
+                }
+            }
+            parametricCallbacks[i] = sort(parametric);
+            temporalCallbacks[i] = sort(temporal);
+            temporalCount += temporal.size();
+        }
+
+        heap = new PathCallback[temporalCount];
+        heapTimes = new long[temporalCount];
+
+        ArrayList<PathCallback> wait = new ArrayList<>();
+        for (PathCallback callback : callbacks) {
+            if (callback.isWaitForCompletion() && callback.getIndex() >= 0 && callback.getIndex() < pathCount) {
+                wait.add(callback);
+            }
+        }
+        waitCallbacks = wait.toArray(new PathCallback[0]);
+    }
+
+    /**
+     * This sorts PathCallbacks by their start conditions. Callbacks with the same start condition
+     * keep the order they were added in.
+     *
+     * @param callbacks the PathCallbacks.
+     * @return returns the sorted PathCallbacks.
+     */
+    private static PathCallback[] sort(ArrayList<PathCallback> callbacks) {
+        PathCallback[] sorted = callbacks.toArray(new PathCallback[0]);
+        Arrays.sort(sorted, new Comparator<PathCallback>() {
+            @Override
+            public int compare(PathCallback one, PathCallback two) {
+                return Double.compare(one.getStartCondition(), two.getStartCondition());
+            }
+        });
+        return sorted;
+    }
+
+    /**
+     * This resets every PathCallback so it can run again, and forgets which Paths have been started.
+     */
+    public void reset() {
+        for (PathCallback callback : callbacks) {
+            callback.reset();
+        }
+        Arrays.fill(nextParametricCallback, 0);
+        Arrays.fill(heap, 0, heapSize, null);
+        heapSize = 0;
+    }
+
+    /**
+     * This marks a Path as started, so its temporal callbacks start waiting from the specified time.
+     *
+     * @param index the index of the Path in the PathChain.
+     * @param startTime the time the Path was started at, in milliseconds.
+     */
+    public void startPath(int index, long startTime) {
+        if (index < 0 || index >= temporalCallbacks.length) return;
+        for (PathCallback callback : temporalCallbacks[index]) {
+            if (!callback.hasBeenRun()) {
+                push(callback, startTime + (long) Math.floor(callback.getStartCondition()));
+            }
+        }
+    }
+
+    /**
+     * This restarts the waits of the temporal callbacks that haven't run yet on the Paths up to and
+     * including the specified one, as if all of those Paths had just been started. This is used when
+     * following is resumed after being paused.
+     *
+     * @param index the index of the current Path in the PathChain.
+     * @param startTime the time following was resumed at, in milliseconds.
+     */
+    public void restartPaths(int index, long startTime) {
+        Arrays.fill(heap, 0, heapSize, null);
+        heapSize = 0;
+        for (int i = 0; i <= index && i < temporalCallbacks.length; i++) {
+            startPath(i, startTime);
+        }
+    }
+
+    /**
+     * This runs the PathCallbacks that are due. The parametric callbacks are only run on the Path
+     * they were added to, once the t-value reaches theirs. The temporal callbacks are run once their
+     * wait time has passed since their Path was started, even if the PathChain has moved on.
+     *
+     * @param index the index of the current Path in the PathChain.
+     * @param t the t-value of the closest Point on the current Path.
+     * @param time the current time, in milliseconds.
+     */
+    public void update(int index, double t, long time) {
+        if (index >= 0 && index < parametricCallbacks.length) {
+            PathCallback[] queue = parametricCallbacks[index];
+            while (nextParametricCallback[index] < queue.length && t > queue[nextParametricCallback[index]].getStartCondition() - PARAMETRIC_TOLERANCE) {
+                queue[nextParametricCallback[index]++].run();
+            }
+        }
+
+        // the time since the Path started has to be more than the wait time, not just equal to it
+        while (heapSize > 0 && time > heapTimes[0]) {
+            pop().run();
+        }
+    }
+
+    /**
+     * This returns whether any callback that the Follower has to wait for, on the specified Path or
+     * one before it, has started but isn't done yet. Callbacks that haven't been started don't
+     * hold the Follower up.
+     *
+     * @param index the index of the current Path in the PathChain.
+     * @return returns if the Follower has to wait before moving on to the next Path.
+     */
+    public boolean isWaitingForCallbacks(int index) {
+        for (PathCallback callback : waitCallbacks) {
+            if (callback.getIndex() <= index && callback.hasBeenRun() && !callback.isDone()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * This returns the number of temporal callbacks that are waiting to run.
+     *
+     * @return returns the number of waiting temporal callbacks.
+     */
+    public int getWaitingTemporalCallbacks() {
+        return heapSize;
+    }
+
+    /**
+     * This adds a temporal callback to the heap.
+     *
+     * @param callback the PathCallback.
+     * @param dueTime the time it is due, in milliseconds.
+     */
+    private void push(PathCallback callback, long dueTime) {
+        int child = heapSize++;
+        while (child > 0) {
+            int parent = (child - 1) / 2;
+            if (heapTimes[parent] <= dueTime) break;
+            heap[child] = heap[parent];
+            heapTimes[child] = heapTimes[parent];
+            child = parent;
+        }
+        heap[child] = callback;
+        heapTimes[child] = dueTime;
+    }
+
+    /**
+     * This removes the temporal callback that is due first from the heap.
+     *
+     * @return returns the PathCallback.
+     */
+    private PathCallback pop() {
+        PathCallback top = heap[0];
+        heapSize--;
+        PathCallback last = heap[heapSize];
+        long lastTime = heapTimes[heapSize];
+        heap[heapSize] = null;
+
+        int parent = 0;
+        while (true) {
+            int child = 2 * parent + 1;
+            if (child >= heapSize) break;
+            if (child + 1 < heapSize && heapTimes[child + 1] < heapTimes[child]) child++;
+            if (lastTime <= heapTimes[child]) break;
+            heap[parent] = heap[child];
+            heapTimes[parent] = heapTimes[child];
+            parent = child;
+        }
+        if (heapSize > 0) {
+            heap[parent] = last;
+            heapTimes[parent] = lastTime;
+        }
+        return top;
+    }
+}
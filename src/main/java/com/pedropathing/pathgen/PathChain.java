@@ -18,6 +18,11 @@ public class PathChain {
 
     private ArrayList<PathCallback> callbacks = new ArrayList<>();
 
+    // The MotionProfiles for the Paths, which are only made the first time one is used
+    private MotionProfile[] motionProfiles;
+
+    private PathCallbackScheduler callbackScheduler;
+
     /**
      * This creates a new PathChain from some specified Paths.
      *
@@ -30,6 +35,7 @@ public class PathChain {
         for (Path path : paths) {
             pathChain.add(path);
         }
+        callbackScheduler = new PathCallbackScheduler(callbacks, pathChain.size());
     }
 
     /**
@@ -42,6 +48,7 @@ public class PathChain {
      */
     public PathChain(ArrayList<Path> paths) {
         pathChain = paths;
+        callbackScheduler = new PathCallbackScheduler(callbacks, pathChain.size());
     }
 
     /**
@@ -54,6 +61,30 @@ public class PathChain {
         return pathChain.get(index);
     }
 
+    /**
+     * This returns the MotionProfile for the Path on the PathChain at a specified index. The
+     * MotionProfiles for all the Paths are made together the first time one is asked for, so
+     * PathChains that are never followed with a motion profile don't pay for making them.
+     *
+     * @param index the index.
+     * @return returns the MotionProfile for the Path at the index.
+     */
+    public MotionProfile getMotionProfile(int index) {
+        if (motionProfiles == null) {
+            generateMotionProfiles();
+        }
+        return motionProfiles[index];
+    }
+
+    /**
+     * This makes the MotionProfiles for the Paths on the PathChain. This is done the first time a
+     * MotionProfile is asked for, so this only has to be called again if the motion profile limits
+     * in the FollowerConstants have been changed since then.
+     */
+    public void generateMotionProfiles() {
+        motionProfiles = MotionProfile.generate(pathChain);
+    }
+
     /**
      * This returns the size of the PathChain.
      *
@@ -72,6 +103,7 @@ public class PathChain {
         for (PathCallback callback : callbacks) {
             this.callbacks.add(callback);
         }
+        callbackScheduler = new PathCallbackScheduler(this.callbacks, pathChain.size());
     }
 
     /**
@@ -81,10 +113,13 @@ public class PathChain {
      */
     public void setCallbacks(ArrayList<PathCallback> callbacks) {
         this.callbacks = callbacks;
+        callbackScheduler = new PathCallbackScheduler(callbacks, pathChain.size());
     }
 
     /**
-     * This returns the PathCallbacks of this PathChain in an ArrayList.
+     * This returns the PathCallbacks of this PathChain in an ArrayList. The PathCallbacks are sorted
+     * into the PathCallbackScheduler when they are set, so changing this ArrayList afterwards
+     * doesn't change which callbacks are run. Use setCallbacks() for that instead.
      *
      * @return returns the PathCallbacks.
      */
@@ -92,9 +127,21 @@ public class PathChain {
         return callbacks;
     }
 
+    /**
+     * This returns the PathCallbackScheduler that decides when the PathCallbacks of this PathChain
+     * are run.
+     *
+     * @return returns the PathCallbackScheduler.
+     */
+    public PathCallbackScheduler getCallbackScheduler() {
+        return callbackScheduler;
+    }
+
+    /**
+     * This resets all the PathCallbacks of this PathChain so they can be run again, and resets the
+     * PathCallbackScheduler so it starts over from the first Path.
+     */
     public void resetCallbacks() {
-        for (PathCallback callback : callbacks) {
-            callback.reset();
-        }
+        callbackScheduler.reset();
     }
 }
@@ -18,11 +18,14 @@ public class Point {
 
     // IMPORTANT NOTE: theta is defined in radians.
     // These are the values of the coordinate defined by this Point, in both polar and
-    // Cartesian systems.
+    // Cartesian systems. The x and y values are always kept up to date, while r and theta are only
+    // calculated from them when asked for, since most Points are only ever used in Cartesian form.
     private double r;
     private double theta;
     private double x;
     private double y;
+    private boolean rCached;
+    private boolean thetaCached;
 
     // these are used for ease of changing/setting identification
     public static final int POLAR = 0;
@@ -79,15 +82,13 @@ public class Point {
      * @param identifier this specifies what coordinate system to use when setting values.
      */
     public void setCoordinates(double rOrX, double thetaOrY, int identifier) {
-        double[] setOtherCoordinates;
         switch (identifier) { // this detects which coordinate system to use
             // there is no POLAR case since that's covered by the default
             case CARTESIAN:
                 x = rOrX;
                 y = thetaOrY;
-                setOtherCoordinates = cartesianToPolar(x, y);
-                r = setOtherCoordinates[0];
-                theta = setOtherCoordinates[1];
+                rCached = false;
+                thetaCached = false;
                 break;
             default:
                 if (rOrX < 0) {
@@ -97,9 +98,10 @@ public class Point {
                     r = rOrX;
                     theta = MathFunctions.normalizeAngle(thetaOrY);
                 }
-                setOtherCoordinates = polarToCartesian(r, theta);
-                x = setOtherCoordinates[0];
-                y = setOtherCoordinates[1];
+                x = r * Math.cos(theta);
+                y = r * Math.sin(theta);
+                rCached = true;
+                thetaCached = true;
                 break;
         }
     }
@@ -133,19 +135,43 @@ public class Point {
      * @return this returns the r and theta values, in that order, in an Array of doubles.
      */
     public static double[] cartesianToPolar(double x, double y) {
+        return new double[]{cartesianToR(x, y), cartesianToTheta(x, y)};
+    }
+
+    /**
+     * This takes in an x and y value and returns the r value in polar coordinates. Unlike
+     * cartesianToPolar, this doesn't create an Array.
+     *
+     * @param x this is the x value of the Point being converted.
+     * @param y this is the y value of the Point being converted.
+     * @return this returns the r value.
+     */
+    public static double cartesianToR(double x, double y) {
+        if (x == 0) return Math.abs(y);
+        return Math.sqrt(x * x + y * y);
+    }
+
+    /**
+     * This takes in an x and y value and returns the theta value in polar coordinates. Unlike
+     * cartesianToPolar, this doesn't create an Array.
+     *
+     * @param x this is the x value of the Point being converted.
+     * @param y this is the y value of the Point being converted.
+     * @return this returns the theta value.
+     */
+    public static double cartesianToTheta(double x, double y) {
         if (x == 0) {
             if (y > 0) {
-                return new double[]{Math.abs(y), Math.PI / 2};
+                return Math.PI / 2;
             } else {
-                return new double[]{Math.abs(y), (3 * Math.PI) / 2};
+                return (3 * Math.PI) / 2;
             }
         }
-        double r = Math.sqrt(x * x + y * y);
-        if (x < 0) return new double[]{r, Math.PI + Math.atan(y / x)};
+        if (x < 0) return Math.PI + Math.atan(y / x);
         if (y > 0) {
-            return new double[]{r, Math.atan(y / x)};
+            return Math.atan(y / x);
         } else {
-            return new double[]{r, (2 * Math.PI) + Math.atan(y / x)};
+            return (2 * Math.PI) + Math.atan(y / x);
         }
     }
 
@@ -155,6 +181,10 @@ public class Point {
      * @return returns the r value.
      */
     public double getR() {
+        if (!rCached) {
+            r = cartesianToR(x, y);
+            rCached = true;
+        }
         return r;
     }
 
@@ -164,6 +194,10 @@ public class Point {
      * @return returns the theta value.
      */
     public double getTheta() {
+        if (!thetaCached) {
+            theta = cartesianToTheta(x, y);
+            thetaCached = true;
+        }
         return theta;
     }
 
@@ -0,0 +1,37 @@
+package com.pedropathing.pathgen;
+
+import com.pedropathing.localization.Pose;
+
+/**
+ * This is the PointClosestPointSolver class. This is the ClosestPointSolver for BezierPoints.
+ * Since a BezierPoint is just one Point, the closest point is always that Point at a t-value of 0.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class PointClosestPointSolver implements ClosestPointSolver {
+    private final BezierCurve curve;
+
+    /**
+     * This creates a new PointClosestPointSolver for a BezierPoint.
+     *
+     * @param curve the BezierPoint.
+     */
+    public PointClosestPointSolver(BezierCurve curve) {
+        this.curve = curve;
+    }
+
+    /**
+     * This returns a t-value of 0, since that is the only point on a BezierPoint.
+     *
+     * @param pose the pose to find the closest point to.
+     * @param searchLimit this isn't used.
+     * @param sample the CurveSample to fill in at the closest point.
+     * @return returns a t-value of 0.
+     */
+    @Override
+    public double solve(Pose pose, int searchLimit, CurveSample sample) {
+        curve.sample(0, sample);
+        return 0;
+    }
+}
@@ -0,0 +1,236 @@
+package com.pedropathing.pathgen;
+
+import com.pedropathing.localization.Pose;
+
+/**
+ * This is the PolynomialClosestPointSolver class. This is the ClosestPointSolver for quadratic and
+ * cubic BezierCurves, and it finds the closest point exactly instead of searching for it.
+ *
+ * The squared distance from a pose P to a point on the curve B(t) is minimized where its derivative
+ * is zero, which is where (B(t) - P) dot B'(t) = 0. For a curve of degree n, this is a polynomial of
+ * degree 2n - 1, so degree 3 for quadratic curves and degree 5 for cubic curves. Every real root of
+ * that polynomial inside [0, 1] is found, and the closest of those points and the two ends of the
+ * curve is the closest point on the whole curve, not just a local minimum.
+ *
+ * The roots are isolated using the roots of the polynomial's derivatives: between two neighboring
+ * roots of the derivative, the polynomial only goes one way, so it has at most one root there and
+ * that root can be bracketed. Each bracketed root is then found with Newton's method, falling back
+ * to bisection whenever a Newton step would leave the bracket. This means the work done every loop
+ * has a fixed upper bound.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class PolynomialClosestPointSolver implements ClosestPointSolver {
+    private final BezierCurve curve;
+
+    // The curve's coefficients are in powers of u = t - 0.5, so roots are searched for in this range
+    private final double LOWER_BOUND = -0.5;
+    private final double UPPER_BOUND = 0.5;
+
+    // A bracketed root is considered found once the steps get smaller than this, in terms of t
+    private final double ROOT_TOLERANCE = 1e-12;
+    private final int MAXIMUM_ROOT_ITERATIONS = 64;
+
+    private final int degree;
+
+    // derivatives[k] holds the power basis coefficients of the k-th derivative of the polynomial
+    private final double[][] derivatives;
+
+    // roots[k] holds the roots of the k-th derivative in increasing order, rootCounts[k] of them
+    private final double[][] roots;
+    private final int[] rootCounts;
+
+    /**
+     * This creates a new PolynomialClosestPointSolver for a quadratic or cubic BezierCurve.
+     *
+     * @param curve the BezierCurve.
+     */
+    public PolynomialClosestPointSolver(BezierCurve curve) {
+        this.curve = curve;
+        degree = 2 * (curve.getXCoefficients().length - 1) - 1;
+        derivatives = new double[degree + 1][];
+        roots = new double[degree + 1][];
+        for (int k = 0; k <= degree; k++) {
+            derivatives[k] = new double[degree + 1 - k];
+            roots[k] = new double[Math.max(degree - k, 0)];
+        }
+        rootCounts = new int[degree + 1];
+    }
+
+    /**
+     * This finds the closest point on the BezierCurve to the pose by finding every critical point
+     * of the squared distance and picking the closest one.
+     *
+     * @param pose the pose to find the closest point to.
+     * @param searchLimit this isn't used, since the closest point is solved for exactly.
+     * @param sample the CurveSample to fill in at the closest point.
+     * @return returns the t-value of the closest point.
+     */
+    @Override
+    public double solve(Pose pose, int searchLimit, CurveSample sample) {
+        double[] x = curve.getXCoefficients();
+        double[] y = curve.getYCoefficients();
+        double[] dx = curve.getXDerivativeCoefficients();
+        double[] dy = curve.getYDerivativeCoefficients();
+
+        double[] polynomial = derivatives[0];
+        for (int i = 0; i < polynomial.length; i++) {
+            polynomial[i] = 0;
+        }
+        for (int i = 0; i < x.length; i++) {
+            double xOffset = i == 0 ? x[i] - pose.getX() : x[i];
+            double yOffset = i == 0 ? y[i] - pose.getY() : y[i];
+            for (int j = 0; j < dx.length; j++) {
+                polynomial[i + j] += xOffset * dx[j] + yOffset * dy[j];
+            }
+        }
+
+        for (int k = 1; k < degree; k++) {
+            for (int j = 0; j < derivatives[k].length; j++) {
+                derivatives[k][j] = (j + 1) * derivatives[k - 1][j + 1];
+            }
+        }
+
+        // the highest derivative we need is linear, so start there and work back down
+        rootCounts[degree] = 0;
+        for (int k = degree - 1; k >= 0; k--) {
+            findRoots(k);
+        }
+
+        double bestU = LOWER_BOUND;
+        double bestDistance = squaredDistance(x, y, pose, LOWER_BOUND);
+        double endDistance = squaredDistance(x, y, pose, UPPER_BOUND);
+        if (endDistance < bestDistance) {
+            bestU = UPPER_BOUND;
+            bestDistance = endDistance;
+        }
+        for (int i = 0; i < rootCounts[0]; i++) {
+            double distance = squaredDistance(x, y, pose, roots[0][i]);
+            if (distance < bestDistance) {
+                bestU = roots[0][i];
+                bestDistance = distance;
+            }
+        }
+
+        double t = MathFunctions.clamp(bestU - LOWER_BOUND, 0, 1);
+        curve.sample(t, sample);
+        return t;
+    }
+
+    /**
+     * This finds the roots of the k-th derivative of the polynomial inside the bounds. The roots
+     * of the (k+1)-th derivative have to be found already, since they split the bounds into pieces
+     * where the k-th derivative only goes one way.
+     *
+     * @param k which derivative to find the roots of.
+     */
+    private void findRoots(int k) {
+        double[] polynomial = derivatives[k];
+        rootCounts[k] = 0;
+
+        if (polynomial.length == 2) {
+            if (polynomial[1] != 0) {
+                double root = -polynomial[0] / polynomial[1];
+                if (root >= LOWER_BOUND && root <= UPPER_BOUND) addRoot(k, root);
+            }
+            return;
+        }
+
+        double start = LOWER_BOUND;
+        double startValue = evaluate(polynomial, start);
+        for (int i = 0; i <= rootCounts[k + 1]; i++) {
+            double end = i < rootCounts[k + 1] ? roots[k + 1][i] : UPPER_BOUND;
+            double endValue = evaluate(polynomial, end);
+
+            if (startValue == 0) {
+                addRoot(k, start);
+            } else if (MathFunctions.getSign(startValue) != MathFunctions.getSign(endValue) && endValue != 0) {
+                addRoot(k, findBracketedRoot(k, start, end, startValue));
+            }
+
+            start = end;
+            startValue = endValue;
+        }
+        if (startValue == 0) addRoot(k, start);
+    }
+
+    /**
+     * This finds the root of the k-th derivative between two bounds where it changes sign, using
+     * Newton's method with bisection as a fallback.
+     *
+     * @param k which derivative to find the root of.
+     * @param low the lower bound of the bracket.
+     * @param high the upper bound of the bracket.
+     * @param lowValue the value of the k-th derivative at the lower bound.
+     * @return returns the root.
+     */
+    private double findBracketedRoot(int k, double low, double high, double lowValue) {
+        double[] polynomial = derivatives[k];
+        double[] slope = derivatives[k + 1];
+        double guess = (low + high) / 2;
+
+        for (int i = 0; i < MAXIMUM_ROOT_ITERATIONS; i++) {
+            double value = evaluate(polynomial, guess);
+            if (value == 0) return guess;
+
+            if (MathFunctions.getSign(value) == MathFunctions.getSign(lowValue)) {
+                low = guess;
+                lowValue = value;
+            } else {
+                high = guess;
+            }
+
+            double derivative = evaluate(slope, guess);
+            double next = derivative != 0 ? guess - value / derivative : low;
+            if (next <= low || next >= high) next = (low + high) / 2;
+
+            if (Math.abs(next - guess) < ROOT_TOLERANCE || high - low < ROOT_TOLERANCE) return next;
+            guess = next;
+        }
+        return guess;
+    }
+
+    /**
+     * This adds a root to the list of roots of the k-th derivative, skipping it if it is the same
+     * as the last root added.
+     *
+     * @param k which derivative the root is of.
+     * @param root the root.
+     */
+    private void addRoot(int k, double root) {
+        if (rootCounts[k] > 0 && roots[k][rootCounts[k] - 1] == root) return;
+        roots[k][rootCounts[k]] = root;
+        rootCounts[k]++;
+    }
+
+    /**
+     * This evaluates a polynomial in the power basis at u using Horner's method.
+     *
+     * @param coefficients the coefficients, with the index being the power of u.
+     * @param u the input.
+     * @return returns the value of the polynomial.
+     */
+    private static double evaluate(double[] coefficients, double u) {
+        double value = coefficients[coefficients.length - 1];
+        for (int j = coefficients.length - 2; j >= 0; j--) {
+            value = value * u + coefficients[j];
+        }
+        return value;
+    }
+
+    /**
+     * This returns the squared distance from the pose to the point on the curve at u.
+     *
+     * @param x the x coefficients of the curve.
+     * @param y the y coefficients of the curve.
+     * @param pose the pose.
+     * @param u the input, which is t - 0.5.
+     * @return returns the squared distance.
+     */
+    private static double squaredDistance(double[] x, double[] y, Pose pose, double u) {
+        double differenceX = evaluate(x, u) - pose.getX();
+        double differenceY = evaluate(y, u) - pose.getY();
+        return differenceX * differenceX + differenceY * differenceY;
+    }
+}
@@ -15,18 +15,22 @@ package com.pedropathing.pathgen;
 public class Vector {
 
     // IMPORTANT NOTE: theta is defined in radians.
-    // These are the values of the coordinate defined by this Point, in both polar and
-    // Cartesian systems.
+    // The x and y components are always kept up to date. The magnitude and theta are only
+    // calculated from them when asked for, and are kept until the Vector is changed again, since
+    // most of the math done with Vectors only needs the x and y components.
     private double magnitude;
     private double theta;
     private double xComponent;
     private double yComponent;
+    private boolean magnitudeCached;
+    private boolean thetaCached;
 
     /**
      * This creates a new Vector with zero magnitude and direction.
      */
     public Vector() {
-        setComponents(0, 0);
+        magnitudeCached = true;
+        thetaCached = true;
     }
 
     public Vector(Point point) {
@@ -50,7 +54,6 @@ public class Vector {
      * @param theta sets the theta value of this Vector.
      */
     public void setComponents(double magnitude, double theta) {
-        double[] orthogonalComponents;
         if (magnitude<0) {
             this.magnitude = -magnitude;
             this.theta = MathFunctions.normalizeAngle(theta+Math.PI);
@@ -58,18 +61,34 @@ public class Vector {
             this.magnitude = magnitude;
             this.theta = MathFunctions.normalizeAngle(theta);
         }
-        orthogonalComponents = Point.polarToCartesian(magnitude, theta);
-        xComponent = orthogonalComponents[0];
-        yComponent = orthogonalComponents[1];
+        if (magnitude == 0) {
+            xComponent = 0;
+            yComponent = 0;
+        } else {
+            xComponent = magnitude * Math.cos(theta);
+            yComponent = magnitude * Math.sin(theta);
+        }
+        magnitudeCached = true;
+        thetaCached = true;
     }
 
     /**
-     * This sets only the magnitude of the Vector.
+     * This sets only the magnitude of the Vector. This scales the x and y components, so the
+     * direction doesn't have to be found unless the Vector is currently the zero Vector.
      *
      * @param magnitude sets the magnitude of this Vector.
      */
     public void setMagnitude(double magnitude) {
-        setComponents(magnitude, theta);
+        double currentMagnitude = getMagnitude();
+        if (currentMagnitude == 0 || magnitude == 0) {
+            setComponents(magnitude, getTheta());
+            return;
+        }
+        double scale = magnitude / currentMagnitude;
+        xComponent *= scale;
+        yComponent *= scale;
+        this.magnitude = Math.abs(magnitude);
+        if (magnitude < 0) thetaCached = false;
     }
 
     /**
@@ -78,7 +97,7 @@ public class Vector {
      * @param theta sets the angle, or theta value, of this Vector.
      */
     public void setTheta(double theta) {
-        setComponents(magnitude, theta);
+        setComponents(getMagnitude(), theta);
     }
 
     /**
@@ -87,7 +106,7 @@ public class Vector {
      * @param theta2 the angle to be added.
      */
     public void rotateVector(double theta2) {
-        setTheta(theta+theta2);
+        setTheta(getTheta()+theta2);
     }
 
     /**
@@ -99,12 +118,24 @@ public class Vector {
      * @param yComponent sets the y component of this Vector.
      */
     public void setOrthogonalComponents(double xComponent, double yComponent) {
-        double[] polarComponents;
         this.xComponent = xComponent;
         this.yComponent = yComponent;
-        polarComponents = Point.cartesianToPolar(xComponent, yComponent);
-        magnitude = polarComponents[0];
-        theta = polarComponents[1];
+        magnitudeCached = false;
+        thetaCached = false;
+    }
+
+    /**
+     * This sets this Vector to be the same as another Vector, without creating a new Vector.
+     *
+     * @param vector the Vector to copy the values of.
+     */
+    public void set(Vector vector) {
+        magnitude = vector.magnitude;
+        theta = vector.theta;
+        xComponent = vector.xComponent;
+        yComponent = vector.yComponent;
+        magnitudeCached = vector.magnitudeCached;
+        thetaCached = vector.thetaCached;
     }
 
     /**
@@ -113,6 +144,10 @@ public class Vector {
      * @return returns the magnitude.
      */
     public double getMagnitude() {
+        if (!magnitudeCached) {
+            magnitude = Point.cartesianToR(xComponent, yComponent);
+            magnitudeCached = true;
+        }
         return magnitude;
     }
 
@@ -122,6 +157,10 @@ public class Vector {
      * @return returns the theta value.
      */
     public double getTheta() {
+        if (!thetaCached) {
+            theta = Point.cartesianToTheta(xComponent, yComponent);
+            thetaCached = true;
+        }
         return theta;
     }
 
@@ -0,0 +1,368 @@
+package com.pedropathing.simulation;
+
+import com.pedropathing.follower.FollowerConstants;
+import com.pedropathing.localization.Pose;
+import com.pedropathing.pathgen.MathFunctions;
+import com.qualcomm.robotcore.hardware.DcMotor;
+
+/**
+ * This is the MecanumDrivetrainModel class. This class is a simple physics model of a mecanum
+ * drivetrain, which is what the simulated motors, IMU, and localizer in this package are driven by.
+ * By default, the model is set up from the FollowerConstants, so the simulated robot has the same
+ * mass, top speeds, and zero power accelerations as the robot that was tuned.
+ *
+ * Each wheel is modeled as a DC motor, which pushes harder the further its speed is from the speed
+ * its power is asking for. The forward, lateral, and turning axes each get the average push of the
+ * wheels in that direction, with friction from the zero power accelerations slowing the robot down
+ * on top of that. The free speeds of the motors are picked so that the robot tops out at exactly
+ * xMovement and yMovement at full power, just like the velocity tuners measured. Motors set to BRAKE
+ * push back against the wheels turning even at zero power, while motors set to FLOAT only coast.
+ *
+ * This isn't meant to be an exact model of any one robot. Wheel slip, weight transfer, and motor
+ * current limits are all left out. It's meant to be close enough that the Follower behaves like it
+ * does on a real robot, so changes can be checked without having to go to a field.
+ *
+ * The wheels are ordered left front, left rear, right front, right rear, which is the same order
+ * the Follower uses for its drive powers. The wheels are assumed to be plugged in and configured
+ * correctly, so a positive power drives each wheel forward.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class MecanumDrivetrainModel {
+    // Converts the stall force from Newtons and kilograms into inches per second squared
+    private final double METERS_TO_INCHES = 1 / 0.0254;
+
+    private final SimulatedMotor[] motors;
+    private final SimulatedVoltageSensor voltageSensor;
+
+    // These are which way each wheel pushes the robot laterally and which way each wheel turns the robot
+    private final double[] lateralDirections;
+    private final double[] turnDirections = new double[]{-1, -1, 1, 1};
+
+    // These hold the push from each wheel's motor on the last update, as a fraction of stall
+    private final double[] wheelForces = new double[4];
+
+    private double mass;
+    private double stallForce = 100;
+    private double forwardMaximumVelocity;
+    private double lateralMaximumVelocity;
+    private double forwardFriction;
+    private double lateralFriction;
+    private double trackRadius = 8;
+    private double ticksPerInch = 537.7 / (Math.PI * MathFunctions.mmToIn(104));
+
+    private double forwardFreeVelocity;
+    private double lateralFreeVelocity;
+    private double turningFreeVelocity;
+
+    private double x;
+    private double y;
+    private double heading;
+    private double xVelocity;
+    private double yVelocity;
+    private double angularVelocity;
+
+    /**
+     * This creates a new MecanumDrivetrainModel using the mass, maximum velocities, and zero power
+     * accelerations from the FollowerConstants. The robot starts at (0, 0) facing 0 heading.
+     */
+    public MecanumDrivetrainModel() {
+        motors = new SimulatedMotor[]{
+                new SimulatedMotor(this, 0),
+                new SimulatedMotor(this, 1),
+                new SimulatedMotor(this, 2),
+                new SimulatedMotor(this, 3)};
+        voltageSensor = new SimulatedVoltageSensor(FollowerConstants.nominalVoltage);
+
+        double lateralDirection = MathFunctions.getSign(FollowerConstants.frontLeftVector.getYComponent());
+        if (lateralDirection == 0) lateralDirection = -1;
+        lateralDirections = new double[]{lateralDirection, -lateralDirection, -lateralDirection, lateralDirection};
+
+        mass = FollowerConstants.mass;
+        forwardMaximumVelocity = FollowerConstants.xMovement;
+        lateralMaximumVelocity = FollowerConstants.yMovement;
+        forwardFriction = Math.abs(FollowerConstants.forwardZeroPowerAcceleration);
+        lateralFriction = Math.abs(FollowerConstants.lateralZeroPowerAcceleration);
+        calculateFreeVelocities();
+    }
+
+    /**
+     * This calculates the free speeds of the motors along each axis, so that the push from the
+     * motors and friction balance out at the maximum velocities when driving at full power.
+     */
+    private void calculateFreeVelocities() {
+        double stallAcceleration = getStallAcceleration();
+        forwardFreeVelocity = forwardMaximumVelocity / Math.max(1 - forwardFriction / stallAcceleration, 0.01);
+        lateralFreeVelocity = lateralMaximumVelocity / Math.max(1 - lateralFriction / stallAcceleration, 0.01);
+        turningFreeVelocity = forwardFreeVelocity / trackRadius;
+    }
+
+    /**
+     * This moves the model forward in time. The wheel powers are read from the simulated motors,
+     * then the velocities and pose of the robot are updated, and finally the simulated motors'
+     * encoders are moved by how far each wheel turned.
+     *
+     * @param deltaTimeSeconds how far to move forward in time, in seconds.
+     */
+    public void update(double deltaTimeSeconds) {
+        if (deltaTimeSeconds <= 0) return;
+
+        double cos = Math.cos(heading);
+        double sin = Math.sin(heading);
+
+        // the motors push in the robot's frame, so work out the robot relative velocity first
+        double forwardVelocity = cos * xVelocity + sin * yVelocity;
+        double lateralVelocity = -sin * xVelocity + cos * yVelocity;
+
+        double voltageRatio = voltageSensor.getVoltage() / FollowerConstants.nominalVoltage;
+        double forwardForce = 0;
+        double lateralForce = 0;
+        double turningForce = 0;
+        for (int i = 0; i < motors.length; i++) {
+            double wheelVelocity = forwardVelocity / forwardFreeVelocity
+                    + lateralDirections[i] * lateralVelocity / lateralFreeVelocity
+                    + turnDirections[i] * angularVelocity / turningFreeVelocity;
+
+            SimulatedMotor motor = motors[i];
+            double power = motor.isMotorEnabled() ? MathFunctions.clamp(motor.getPower(), -1, 1) : 0;
+            if (power != 0 || (motor.isMotorEnabled() && motor.getZeroPowerBehavior() == DcMotor.ZeroPowerBehavior.BRAKE)) {
+                wheelForces[i] = power * voltageRatio - wheelVelocity;
+            } else {
+                wheelForces[i] = 0;
+            }
+
+            forwardForce += wheelForces[i];
+            lateralForce += lateralDirections[i] * wheelForces[i];
+            turningForce += turnDirections[i] * wheelForces[i];
+        }
+
+        double stallAcceleration = getStallAcceleration();
+        forwardVelocity = applyFriction(forwardVelocity + stallAcceleration * forwardForce / motors.length * deltaTimeSeconds, forwardFriction * deltaTimeSeconds);
+        lateralVelocity = applyFriction(lateralVelocity + stallAcceleration * lateralForce / motors.length * deltaTimeSeconds, lateralFriction * deltaTimeSeconds);
+        angularVelocity = applyFriction(angularVelocity + stallAcceleration / trackRadius * turningForce / motors.length * deltaTimeSeconds, forwardFriction / trackRadius * deltaTimeSeconds);
+
+        // then move back into the field's frame, which keeps the robot's momentum when it turns
+        xVelocity = cos * forwardVelocity - sin * lateralVelocity;
+        yVelocity = sin * forwardVelocity + cos * lateralVelocity;
+
+        x += xVelocity * deltaTimeSeconds;
+        y += yVelocity * deltaTimeSeconds;
+        heading = MathFunctions.normalizeAngle(heading + angularVelocity * deltaTimeSeconds);
+
+        for (int i = 0; i < motors.length; i++) {
+            double wheelVelocity = getWheelVelocity(i, forwardVelocity, lateralVelocity);
+            motors[i].updateEncoder(wheelVelocity * ticksPerInch, wheelVelocity * ticksPerInch * deltaTimeSeconds);
+        }
+    }
+
+    /**
+     * This slows a velocity down by friction, without letting friction reverse the direction the
+     * robot is moving in.
+     *
+     * @param velocity the velocity before friction.
+     * @param frictionChange how much friction can change the velocity by.
+     * @return returns the velocity after friction.
+     */
+    private static double applyFriction(double velocity, double frictionChange) {
+        if (Math.abs(velocity) <= frictionChange) return 0;
+        return velocity - MathFunctions.getSign(velocity) * frictionChange;
+    }
+
+    /**
+     * This returns the speed of a wheel's surface, in inches per second. At full power forward, a
+     * wheel spins at the same speed as it does at full power strafing or turning, so the lateral
+     * and turning velocities are scaled up to match the forward velocity.
+     *
+     * @param index the index of the wheel.
+     * @param forwardVelocity the robot relative forward velocity.
+     * @param lateralVelocity the robot relative lateral velocity.
+     * @return returns the wheel's surface speed.
+     */
+    private double getWheelVelocity(int index, double forwardVelocity, double lateralVelocity) {
+        return forwardVelocity
+                + lateralDirections[index] * lateralVelocity * forwardMaximumVelocity / lateralMaximumVelocity
+                + turnDirections[index] * angularVelocity * trackRadius;
+    }
+
+    /**
+     * This returns the acceleration the motors can give the robot from a stop, in inches per
+     * second squared.
+     *
+     * @return returns the stall acceleration.
+     */
+    private double getStallAcceleration() {
+        return stallForce / mass * METERS_TO_INCHES;
+    }
+
+    /**
+     * This returns the push from a wheel's motor on the last update, as a fraction of its stall
+     * push. This is what the simulated motors use to estimate their current.
+     *
+     * @param index the index of the wheel.
+     * @return returns the wheel's push as a fraction of stall.
+     */
+    double getWheelForce(int index) {
+        return wheelForces[index];
+    }
+
+    /**
+     * This returns the simulated motor for a wheel.
+     *
+     * @param index the index of the wheel, ordered left front, left rear, right front, right rear.
+     * @return returns the SimulatedMotor.
+     */
+    public SimulatedMotor getMotor(int index) {
+        return motors[index];
+    }
+
+    /**
+     * This returns the simulated voltage sensor for the robot's battery.
+     *
+     * @return returns the SimulatedVoltageSensor.
+     */
+    public SimulatedVoltageSensor getVoltageSensor() {
+        return voltageSensor;
+    }
+
+    /**
+     * This returns the true pose of the simulated robot.
+     *
+     * @return returns the pose.
+     */
+    public Pose getPose() {
+        return getPoseInto(new Pose());
+    }
+
+    /**
+     * This puts the true pose of the simulated robot into the specified Pose.
+     *
+     * @param out the Pose to put the pose into.
+     * @return returns the Pose passed in, which now holds the pose.
+     */
+    public Pose getPoseInto(Pose out) {
+        out.set(x, y, heading);
+        return out;
+    }
+
+    /**
+     * This moves the simulated robot to a pose and stops it.
+     *
+     * @param pose the pose to move the robot to.
+     */
+    public void setPose(Pose pose) {
+        x = pose.getX();
+        y = pose.getY();
+        heading = MathFunctions.normalizeAngle(pose.getHeading());
+        xVelocity = 0;
+        yVelocity = 0;
+        angularVelocity = 0;
+    }
+
+    /**
+     * This returns the true velocity of the simulated robot in the field's frame, with the heading
+     * component being the angular velocity.
+     *
+     * @return returns the velocity as a Pose.
+     */
+    public Pose getVelocity() {
+        return getVelocityInto(new Pose());
+    }
+
+    /**
+     * This puts the true velocity of the simulated robot in the field's frame into the specified
+     * Pose, with the heading component being the angular velocity.
+     *
+     * @param out the Pose to put the velocity into.
+     * @return returns the Pose passed in, which now holds the velocity.
+     */
+    public Pose getVelocityInto(Pose out) {
+        out.set(xVelocity, yVelocity, angularVelocity);
+        return out;
+    }
+
+    /**
+     * This returns the true heading of the simulated robot, in radians.
+     *
+     * @return returns the heading.
+     */
+    public double getHeading() {
+        return heading;
+    }
+
+    /**
+     * This returns the true angular velocity of the simulated robot, in radians per second.
+     * Counter-clockwise is positive.
+     *
+     * @return returns the angular velocity.
+     */
+    public double getAngularVelocity() {
+        return angularVelocity;
+    }
+
+    /**
+     * This sets the mass of the simulated robot.
+     *
+     * @param set the mass, in kilograms.
+     */
+    public void setMass(double set) {
+        mass = set;
+        calculateFreeVelocities();
+    }
+
+    /**
+     * This sets the total force all four motors can push the robot with from a stop.
+     *
+     * @param set the stall force, in Newtons.
+     */
+    public void setStallForce(double set) {
+        stallForce = set;
+        calculateFreeVelocities();
+    }
+
+    /**
+     * This sets the top speeds of the simulated robot at full power.
+     *
+     * @param forward the forward top speed, in inches per second.
+     * @param lateral the lateral top speed, in inches per second.
+     */
+    public void setMaximumVelocities(double forward, double lateral) {
+        forwardMaximumVelocity = forward;
+        lateralMaximumVelocity = lateral;
+        calculateFreeVelocities();
+    }
+
+    /**
+     * This sets how fast the simulated robot slows down when coasting. These are the same as the
+     * zero power accelerations in the FollowerConstants, so the sign doesn't matter.
+     *
+     * @param forward the forward zero power acceleration, in inches per second squared.
+     * @param lateral the lateral zero power acceleration, in inches per second squared.
+     */
+    public void setZeroPowerAccelerations(double forward, double lateral) {
+        forwardFriction = Math.abs(forward);
+        lateralFriction = Math.abs(lateral);
+        calculateFreeVelocities();
+    }
+
+    /**
+     * This sets the distance from the center of the robot to the wheels, which sets how quickly
+     * the simulated robot can turn.
+     *
+     * @param set the track radius, in inches.
+     */
+    public void setTrackRadius(double set) {
+        trackRadius = set;
+        calculateFreeVelocities();
+    }
+
+    /**
+     * This sets how many encoder ticks the simulated motors count for each inch a wheel rolls.
+     * By default, this is for a goBILDA 312 RPM motor on a 104mm wheel.
+     *
+     * @param set the ticks per inch.
+     */
+    public void setTicksPerInch(double set) {
+        ticksPerInch = set;
+    }
+}
@@ -0,0 +1,112 @@
+package com.pedropathing.simulation;
+
+import com.pedropathing.pathgen.MathFunctions;
+import com.pedropathing.util.Clock;
+import com.qualcomm.robotcore.hardware.IMU;
+
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+import org.firstinspires.ftc.robotcore.external.navigation.AngularVelocity;
+import org.firstinspires.ftc.robotcore.external.navigation.AxesOrder;
+import org.firstinspires.ftc.robotcore.external.navigation.AxesReference;
+import org.firstinspires.ftc.robotcore.external.navigation.Orientation;
+import org.firstinspires.ftc.robotcore.external.navigation.Quaternion;
+import org.firstinspires.ftc.robotcore.external.navigation.YawPitchRollAngles;
+
+/**
+ * This is the SimulatedIMU class. This is a stand-in IMU that reads the heading and angular
+ * velocity of a MecanumDrivetrainModel. The simulated robot stays flat on the field, so the pitch
+ * and roll are always zero. Like a real IMU, the yaw is relative to wherever it was last reset and
+ * goes from -pi to pi radians.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class SimulatedIMU implements IMU {
+    private final MecanumDrivetrainModel model;
+    private double yawOffset;
+
+    /**
+     * This creates a new SimulatedIMU that reads from a MecanumDrivetrainModel.
+     *
+     * @param model the MecanumDrivetrainModel.
+     */
+    public SimulatedIMU(MecanumDrivetrainModel model) {
+        this.model = model;
+    }
+
+    /**
+     * This returns the yaw of the simulated robot since the last reset, in radians.
+     *
+     * @return returns the yaw.
+     */
+    private double getYaw() {
+        double yaw = MathFunctions.normalizeAngle(model.getHeading() - yawOffset);
+        if (yaw > Math.PI) yaw -= 2 * Math.PI;
+        return yaw;
+    }
+
+    /**
+     * This does nothing since the simulated IMU is always mounted flat, and returns true.
+     *
+     * @param parameters the IMU parameters.
+     * @return returns true.
+     */
+    @Override
+    public boolean initialize(Parameters parameters) {
+        return true;
+    }
+
+    @Override
+    public void resetYaw() {
+        yawOffset = model.getHeading();
+    }
+
+    @Override
+    public YawPitchRollAngles getRobotYawPitchRollAngles() {
+        return new YawPitchRollAngles(AngleUnit.RADIANS, getYaw(), 0, 0, Clock.nanoTime());
+    }
+
+    @Override
+    public Orientation getRobotOrientation(AxesReference reference, AxesOrder order, AngleUnit angleUnit) {
+        return getRobotOrientationAsQuaternion().toOrientation(reference, order, angleUnit);
+    }
+
+    @Override
+    public Quaternion getRobotOrientationAsQuaternion() {
+        double yaw = getYaw();
+        return new Quaternion((float) Math.cos(yaw / 2), 0, 0, (float) Math.sin(yaw / 2), Clock.nanoTime());
+    }
+
+    @Override
+    public AngularVelocity getRobotAngularVelocity(AngleUnit angleUnit) {
+        return new AngularVelocity(angleUnit, 0, 0, (float) angleUnit.fromRadians(model.getAngularVelocity()), Clock.nanoTime());
+    }
+
+    @Override
+    public Manufacturer getManufacturer() {
+        return Manufacturer.Other;
+    }
+
+    @Override
+    public String getDeviceName() {
+        return "Simulated IMU";
+    }
+
+    @Override
+    public String getConnectionInfo() {
+        return "simulated";
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+
+    @Override
+    public void resetDeviceConfigurationForOpMode() {
+    }
+
+    @Override
+    public void close() {
+    }
+}
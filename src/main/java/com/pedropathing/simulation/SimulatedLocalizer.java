@@ -0,0 +1,224 @@
+package com.pedropathing.simulation;
+
+import com.pedropathing.localization.Localizer;
+import com.pedropathing.localization.Pose;
+import com.pedropathing.pathgen.MathFunctions;
+import com.pedropathing.pathgen.Vector;
+import com.qualcomm.robotcore.hardware.IMU;
+
+/**
+ * This is the SimulatedLocalizer class. This class extends the Localizer superclass and is a
+ * localizer that reads the movement of a MecanumDrivetrainModel directly, like perfect odometry
+ * that never slips or drifts. This keeps localization error out of simulations, so whatever the
+ * Follower does is down to the Follower and the Paths.
+ *
+ * Just like real odometry, this tracks how the robot moves relative to itself. So, setting the
+ * pose only changes where the localizer thinks the robot is, not where the simulated robot actually
+ * is. To move the simulated robot, set the pose on the MecanumDrivetrainModel.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class SimulatedLocalizer extends Localizer {
+    private final MecanumDrivetrainModel model;
+    private final SimulatedIMU imu;
+
+    private final Pose previousModelPose = new Pose();
+    private final Pose currentPose = new Pose();
+    private final Pose currentVelocity = new Pose();
+    private double totalHeading;
+
+    // These are reused on every update so that updating doesn't create any new objects
+    private final Pose modelPose = new Pose();
+    private final Pose modelVelocity = new Pose();
+
+    /**
+     * This creates a new SimulatedLocalizer from a MecanumDrivetrainModel, with a starting Pose at
+     * (0,0) facing 0 heading.
+     *
+     * @param model the MecanumDrivetrainModel to read from.
+     * @param imu the SimulatedIMU of the simulated robot.
+     */
+    public SimulatedLocalizer(MecanumDrivetrainModel model, SimulatedIMU imu) {
+        this.model = model;
+        this.imu = imu;
+        setStartPose(new Pose());
+    }
+
+    /**
+     * This returns the current pose estimate.
+     *
+     * @return returns the current pose estimate as a Pose
+     */
+    @Override
+    public Pose getPose() {
+        return currentPose.copy();
+    }
+
+    /**
+     * This puts the current pose estimate into the specified Pose.
+     *
+     * @param out the Pose to put the pose estimate into.
+     * @return returns the Pose passed in, which now holds the pose estimate.
+     */
+    @Override
+    public Pose getPoseInto(Pose out) {
+        out.set(currentPose);
+        return out;
+    }
+
+    /**
+     * This returns the current velocity estimate.
+     *
+     * @return returns the current velocity estimate as a Pose
+     */
+    @Override
+    public Pose getVelocity() {
+        return currentVelocity.copy();
+    }
+
+    /**
+     * This returns the current velocity estimate.
+     *
+     * @return returns the current velocity estimate as a Vector
+     */
+    @Override
+    public Vector getVelocityVector() {
+        return currentVelocity.getVector();
+    }
+
+    /**
+     * This puts the current velocity estimate into the specified Vector.
+     *
+     * @param out the Vector to put the velocity estimate into.
+     * @return returns the Vector passed in, which now holds the velocity estimate.
+     */
+    @Override
+    public Vector getVelocityVectorInto(Vector out) {
+        out.setOrthogonalComponents(currentVelocity.getX(), currentVelocity.getY());
+        return out;
+    }
+
+    /**
+     * This sets the start pose. The simulated robot is assumed to not have moved yet, so this is
+     * the same as setting the current pose estimate.
+     *
+     * @param setStart the new start pose
+     */
+    @Override
+    public void setStartPose(Pose setStart) {
+        setPose(setStart);
+    }
+
+    /**
+     * This sets the current pose estimate. The localizer tracks the simulated robot's movement
+     * from here on.
+     *
+     * @param setPose the new current pose estimate
+     */
+    @Override
+    public void setPose(Pose setPose) {
+        currentPose.set(setPose);
+        model.getPoseInto(previousModelPose);
+    }
+
+    /**
+     * This updates the pose estimate with how far the simulated robot moved since the last update,
+     * measured relative to the robot just like odometry would measure it.
+     */
+    @Override
+    public void update() {
+        model.getPoseInto(modelPose);
+
+        double deltaX = modelPose.getX() - previousModelPose.getX();
+        double deltaY = modelPose.getY() - previousModelPose.getY();
+        double deltaHeading = MathFunctions.getTurnDirection(previousModelPose.getHeading(), modelPose.getHeading())
+                * MathFunctions.getSmallestAngleDifference(previousModelPose.getHeading(), modelPose.getHeading());
+
+        // the movement relative to the robot, then moved into the frame of the pose estimate
+        double forward = Math.cos(previousModelPose.getHeading()) * deltaX + Math.sin(previousModelPose.getHeading()) * deltaY;
+        double lateral = -Math.sin(previousModelPose.getHeading()) * deltaX + Math.cos(previousModelPose.getHeading()) * deltaY;
+        double heading = currentPose.getHeading();
+        currentPose.set(currentPose.getX() + Math.cos(heading) * forward - Math.sin(heading) * lateral,
+                currentPose.getY() + Math.sin(heading) * forward + Math.cos(heading) * lateral,
+                MathFunctions.normalizeAngle(heading + deltaHeading));
+
+        model.getVelocityInto(modelVelocity);
+        double rotation = currentPose.getHeading() - modelPose.getHeading();
+        currentVelocity.set(Math.cos(rotation) * modelVelocity.getX() - Math.sin(rotation) * modelVelocity.getY(),
+                Math.sin(rotation) * modelVelocity.getX() + Math.cos(rotation) * modelVelocity.getY(),
+                modelVelocity.getHeading());
+
+        totalHeading += deltaHeading;
+        previousModelPose.set(modelPose);
+    }
+
+    /**
+     * This returns how far the robot has turned in radians, in a number not clamped between 0 and
+     * 2 * pi radians. This is used for some tuning things and nothing actually within the following.
+     *
+     * @return returns how far the robot has turned in total, in radians.
+     */
+    @Override
+    public double getTotalHeading() {
+        return totalHeading;
+    }
+
+    /**
+     * This returns 1, since the simulated localizer measures in inches already.
+     *
+     * @return returns the forward multiplier
+     */
+    @Override
+    public double getForwardMultiplier() {
+        return 1;
+    }
+
+    /**
+     * This returns 1, since the simulated localizer measures in inches already.
+     *
+     * @return returns the lateral multiplier
+     */
+    @Override
+    public double getLateralMultiplier() {
+        return 1;
+    }
+
+    /**
+     * This returns 1, since the simulated localizer measures in radians already.
+     *
+     * @return returns the turning multiplier
+     */
+    @Override
+    public double getTurningMultiplier() {
+        return 1;
+    }
+
+    /**
+     * This resets the yaw of the SimulatedIMU.
+     */
+    @Override
+    public void resetIMU() {
+        imu.resetYaw();
+    }
+
+    /**
+     * This returns the SimulatedIMU.
+     *
+     * @return returns the IMU
+     */
+    @Override
+    public IMU getIMU() {
+        return imu;
+    }
+
+    /**
+     * This returns whether if any component of robot's position is NaN.
+     *
+     * @return returns whether the robot's position is NaN
+     */
+    @Override
+    public boolean isNAN() {
+        return Double.isNaN(currentPose.getX()) || Double.isNaN(currentPose.getY()) || Double.isNaN(currentPose.getHeading());
+    }
+}
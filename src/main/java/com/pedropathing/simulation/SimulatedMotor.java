@@ -0,0 +1,372 @@
+package com.pedropathing.simulation;
+
+import com.qualcomm.robotcore.hardware.DcMotorController;
+import com.qualcomm.robotcore.hardware.DcMotorEx;
+import com.qualcomm.robotcore.hardware.PIDCoefficients;
+import com.qualcomm.robotcore.hardware.PIDFCoefficients;
+import com.qualcomm.robotcore.hardware.configuration.typecontainers.MotorConfigurationType;
+
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+import org.firstinspires.ftc.robotcore.external.navigation.CurrentUnit;
+
+/**
+ * This is the SimulatedMotor class. This is a stand-in DcMotorEx for one of the drive motors of a
+ * MecanumDrivetrainModel. The power set on it is what the model drives that wheel with, and its
+ * encoder counts how far the model's wheel has turned, so it can be used both by the Follower and
+ * by the drive encoder localizer.
+ *
+ * Like a real motor, setting the direction to REVERSE flips both the power and the encoder. The
+ * model assumes the directions are set up correctly for the robot, so a positive power after the
+ * direction is applied always drives the wheel forward. Velocity control and RUN_TO_POSITION aren't
+ * simulated, so setting a velocity just sets the matching power.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class SimulatedMotor implements DcMotorEx {
+    // This is for a goBILDA 312 RPM motor, which is used to convert the encoder velocity into an angular rate
+    private final double TICKS_PER_REVOLUTION = 537.7;
+
+    // The current the motor draws at stall, in amps
+    private final double STALL_CURRENT = 9.2;
+
+    private final MecanumDrivetrainModel model;
+    private final int portNumber;
+
+    private MotorConfigurationType motorType = MotorConfigurationType.getUnspecifiedMotorType();
+    private Direction direction = Direction.FORWARD;
+    private ZeroPowerBehavior zeroPowerBehavior = ZeroPowerBehavior.BRAKE;
+    private RunMode mode = RunMode.RUN_WITHOUT_ENCODER;
+    private boolean enabled = true;
+    private double power;
+    private long powerWrites;
+    private long zeroPowerWrites;
+
+    private double position;
+    private double velocity;
+    private int targetPosition;
+    private int targetPositionTolerance = 5;
+    private double currentAlert = 5;
+
+    private PIDFCoefficients velocityPIDFCoefficients = new PIDFCoefficients(10, 3, 0, 0);
+    private PIDFCoefficients positionPIDFCoefficients = new PIDFCoefficients(10, 0, 0, 0);
+
+    /**
+     * This creates a new SimulatedMotor for one of the wheels of a MecanumDrivetrainModel.
+     *
+     * @param model the MecanumDrivetrainModel the motor is part of.
+     * @param portNumber the index of the wheel, which is also used as the port number.
+     */
+    SimulatedMotor(MecanumDrivetrainModel model, int portNumber) {
+        this.model = model;
+        this.portNumber = portNumber;
+    }
+
+    /**
+     * This moves the encoder by how far the wheel turned on the last update of the model.
+     *
+     * @param wheelVelocity the velocity of the wheel, in ticks per second, with forward positive.
+     * @param wheelTravel how far the wheel turned, in ticks, with forward positive.
+     */
+    void updateEncoder(double wheelVelocity, double wheelTravel) {
+        velocity = wheelVelocity;
+        position += wheelTravel;
+    }
+
+    @Override
+    public Manufacturer getManufacturer() {
+        return Manufacturer.Other;
+    }
+
+    @Override
+    public String getDeviceName() {
+        return "Simulated Motor";
+    }
+
+    @Override
+    public String getConnectionInfo() {
+        return "simulated; port " + portNumber;
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+
+    @Override
+    public void resetDeviceConfigurationForOpMode() {
+        direction = Direction.FORWARD;
+        zeroPowerBehavior = ZeroPowerBehavior.BRAKE;
+        mode = RunMode.RUN_WITHOUT_ENCODER;
+        enabled = true;
+        power = 0;
+    }
+
+    @Override
+    public void close() {
+        power = 0;
+    }
+
+    @Override
+    public void setDirection(Direction direction) {
+        this.direction = direction;
+    }
+
+    @Override
+    public Direction getDirection() {
+        return direction;
+    }
+
+    /**
+     * This sets the power of the motor. As with a real motor, the power is clamped between -1 and
+     * 1 inclusive. Since the model assumes the direction is set up correctly, this is the power the
+     * wheel is driven forward with.
+     *
+     * @param power the power.
+     */
+    @Override
+    public void setPower(double power) {
+        this.power = Math.max(-1, Math.min(1, power));
+        powerWrites++;
+        if (power == 0) zeroPowerWrites++;
+    }
+
+    /**
+     * This returns how many times a power has been written to this motor, which is how many
+     * hardware writes this would have been on a real robot.
+     *
+     * @return returns the number of power writes.
+     */
+    public long getPowerWriteCount() {
+        return powerWrites;
+    }
+
+    /**
+     * This returns how many times a power of 0 has been written to this motor, since those stop the
+     * wheel even if a power is written again right after.
+     *
+     * @return returns the number of zero power writes.
+     */
+    public long getZeroPowerWriteCount() {
+        return zeroPowerWrites;
+    }
+
+    @Override
+    public double getPower() {
+        return power;
+    }
+
+    @Override
+    public MotorConfigurationType getMotorType() {
+        return motorType;
+    }
+
+    @Override
+    public void setMotorType(MotorConfigurationType motorType) {
+        this.motorType = motorType;
+    }
+
+    /**
+     * This returns null, since a simulated motor isn't plugged into a controller.
+     *
+     * @return returns null.
+     */
+    @Override
+    public DcMotorController getController() {
+        return null;
+    }
+
+    @Override
+    public int getPortNumber() {
+        return portNumber;
+    }
+
+    @Override
+    public void setZeroPowerBehavior(ZeroPowerBehavior zeroPowerBehavior) {
+        if (zeroPowerBehavior == ZeroPowerBehavior.UNKNOWN) return;
+        this.zeroPowerBehavior = zeroPowerBehavior;
+    }
+
+    @Override
+    public ZeroPowerBehavior getZeroPowerBehavior() {
+        return zeroPowerBehavior;
+    }
+
+    @Override
+    @Deprecated
+    public void setPowerFloat() {
+        setZeroPowerBehavior(ZeroPowerBehavior.FLOAT);
+        setPower(0);
+    }
+
+    @Override
+    public boolean getPowerFloat() {
+        return zeroPowerBehavior == ZeroPowerBehavior.FLOAT && power == 0;
+    }
+
+    @Override
+    public void setTargetPosition(int position) {
+        targetPosition = position;
+    }
+
+    @Override
+    public int getTargetPosition() {
+        return targetPosition;
+    }
+
+    @Override
+    public boolean isBusy() {
+        return mode == RunMode.RUN_TO_POSITION && Math.abs(getCurrentPosition() - targetPosition) > targetPositionTolerance;
+    }
+
+    /**
+     * This returns the encoder position of the wheel, in ticks.
+     *
+     * @return returns the encoder position.
+     */
+    @Override
+    public int getCurrentPosition() {
+        return (int) Math.round(position);
+    }
+
+    /**
+     * This sets the run mode of the motor. STOP_AND_RESET_ENCODER resets the encoder to zero and
+     * stops the motor, just like on a real motor.
+     *
+     * @param mode the run mode.
+     */
+    @Override
+    public void setMode(RunMode mode) {
+        if (mode == RunMode.STOP_AND_RESET_ENCODER) {
+            position = 0;
+            power = 0;
+        }
+        this.mode = mode;
+    }
+
+    @Override
+    public RunMode getMode() {
+        return mode;
+    }
+
+    @Override
+    public void setMotorEnable() {
+        enabled = true;
+    }
+
+    @Override
+    public void setMotorDisable() {
+        enabled = false;
+    }
+
+    @Override
+    public boolean isMotorEnabled() {
+        return enabled;
+    }
+
+    /**
+     * This sets the power that would make the unloaded wheel spin at the requested velocity, since
+     * velocity control isn't simulated.
+     *
+     * @param angularRate the velocity, in ticks per second.
+     */
+    @Override
+    public void setVelocity(double angularRate) {
+        setPower(angularRate / (TICKS_PER_REVOLUTION * 312 / 60));
+    }
+
+    @Override
+    public void setVelocity(double angularRate, AngleUnit unit) {
+        setVelocity(unit.toRadians(angularRate) / (2 * Math.PI) * TICKS_PER_REVOLUTION);
+    }
+
+    /**
+     * This returns the velocity of the wheel, in ticks per second.
+     *
+     * @return returns the velocity.
+     */
+    @Override
+    public double getVelocity() {
+        return velocity;
+    }
+
+    @Override
+    public double getVelocity(AngleUnit unit) {
+        return unit.fromRadians(velocity / TICKS_PER_REVOLUTION * 2 * Math.PI);
+    }
+
+    @Override
+    @Deprecated
+    public void setPIDCoefficients(RunMode mode, PIDCoefficients pidCoefficients) {
+        setPIDFCoefficients(mode, new PIDFCoefficients(pidCoefficients.p, pidCoefficients.i, pidCoefficients.d, 0));
+    }
+
+    @Override
+    public void setPIDFCoefficients(RunMode mode, PIDFCoefficients pidfCoefficients) {
+        if (mode == RunMode.RUN_TO_POSITION) {
+            positionPIDFCoefficients = new PIDFCoefficients(pidfCoefficients);
+        } else {
+            velocityPIDFCoefficients = new PIDFCoefficients(pidfCoefficients);
+        }
+    }
+
+    @Override
+    public void setVelocityPIDFCoefficients(double p, double i, double d, double f) {
+        setPIDFCoefficients(RunMode.RUN_USING_ENCODER, new PIDFCoefficients(p, i, d, f));
+    }
+
+    @Override
+    public void setPositionPIDFCoefficients(double p) {
+        setPIDFCoefficients(RunMode.RUN_TO_POSITION, new PIDFCoefficients(p, 0, 0, 0));
+    }
+
+    @Override
+    @Deprecated
+    public PIDCoefficients getPIDCoefficients(RunMode mode) {
+        PIDFCoefficients coefficients = getPIDFCoefficients(mode);
+        return new PIDCoefficients(coefficients.p, coefficients.i, coefficients.d);
+    }
+
+    @Override
+    public PIDFCoefficients getPIDFCoefficients(RunMode mode) {
+        if (mode == RunMode.RUN_TO_POSITION) return new PIDFCoefficients(positionPIDFCoefficients);
+        return new PIDFCoefficients(velocityPIDFCoefficients);
+    }
+
+    @Override
+    public void setTargetPositionTolerance(int tolerance) {
+        targetPositionTolerance = tolerance;
+    }
+
+    @Override
+    public int getTargetPositionTolerance() {
+        return targetPositionTolerance;
+    }
+
+    /**
+     * This returns an estimate of the current the motor is drawing, which goes up the harder the
+     * motor is pushing against the wheel's speed.
+     *
+     * @param unit the unit to return the current in.
+     * @return returns the estimated current.
+     */
+    @Override
+    public double getCurrent(CurrentUnit unit) {
+        return unit.convert(Math.min(Math.abs(model.getWheelForce(portNumber)), 1) * STALL_CURRENT, CurrentUnit.AMPS);
+    }
+
+    @Override
+    public double getCurrentAlert(CurrentUnit unit) {
+        return unit.convert(currentAlert, CurrentUnit.AMPS);
+    }
+
+    @Override
+    public void setCurrentAlert(double current, CurrentUnit unit) {
+        currentAlert = CurrentUnit.AMPS.convert(current, unit);
+    }
+
+    @Override
+    public boolean isOverCurrent() {
+        return getCurrent(CurrentUnit.AMPS) > currentAlert;
+    }
+}
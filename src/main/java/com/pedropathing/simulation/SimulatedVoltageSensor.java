@@ -0,0 +1,66 @@
+package com.pedropathing.simulation;
+
+import com.qualcomm.robotcore.hardware.VoltageSensor;
+
+/**
+ * This is the SimulatedVoltageSensor class. This is a stand-in VoltageSensor for the battery of a
+ * simulated robot. The voltage stays wherever it is set, so a low battery can be simulated to check
+ * the voltage compensation in the Follower.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class SimulatedVoltageSensor implements VoltageSensor {
+    private double voltage;
+
+    /**
+     * This creates a new SimulatedVoltageSensor with a starting voltage.
+     *
+     * @param voltage the voltage of the battery.
+     */
+    public SimulatedVoltageSensor(double voltage) {
+        this.voltage = voltage;
+    }
+
+    /**
+     * This sets the voltage of the simulated battery.
+     *
+     * @param set the voltage.
+     */
+    public void setVoltage(double set) {
+        voltage = set;
+    }
+
+    @Override
+    public double getVoltage() {
+        return voltage;
+    }
+
+    @Override
+    public Manufacturer getManufacturer() {
+        return Manufacturer.Other;
+    }
+
+    @Override
+    public String getDeviceName() {
+        return "Simulated Voltage Sensor";
+    }
+
+    @Override
+    public String getConnectionInfo() {
+        return "simulated";
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+
+    @Override
+    public void resetDeviceConfigurationForOpMode() {
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,275 @@
+package com.pedropathing.simulation;
+
+import static com.pedropathing.follower.FollowerConstants.leftFrontMotorName;
+import static com.pedropathing.follower.FollowerConstants.leftRearMotorName;
+import static com.pedropathing.follower.FollowerConstants.rightFrontMotorName;
+import static com.pedropathing.follower.FollowerConstants.rightRearMotorName;
+
+import com.pedropathing.follower.Follower;
+import com.pedropathing.localization.Pose;
+import com.pedropathing.util.Clock;
+import com.pedropathing.util.Constants;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+
+/**
+ * This is the Simulator class. This class runs a Follower on a simulated robot, without any
+ * hardware. It sets up a HardwareMap with SimulatedMotors, a SimulatedVoltageSensor, and a
+ * SimulatedIMU, all driven by a MecanumDrivetrainModel, and gives the Follower a
+ * SimulatedLocalizer that reads the model's movement.
+ *
+ * Each step moves the model forward by a fixed time step and then updates the Follower once. The
+ * Clock is switched over to simulated time for as long as the Simulator is open, so the Follower's
+ * timers and PIDFs see the simulated time steps instead of how long the step actually took. This
+ * lets the Follower run as fast as the computer can go, which is usually much faster than real time.
+ * The Simulator keeps track of how many loops were run and how long they took, so the throughput of
+ * the Follower can be compared between changes.
+ *
+ * This is meant to be run on a computer, not on the robot. The FTC SDK still has to be on the
+ * classpath, along with something that stands in for android.util.Log, since the Follower logs with
+ * it. Drawing on the Dashboard is turned off while the Simulator is open. Remember to close the
+ * Simulator when done with it, so the Clock goes back to the system time.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class Simulator {
+    // This is the time step the Simulator starts with, in seconds, which is 1000 loops per simulated second
+    private final double DEFAULT_TIME_STEP = 0.001;
+
+    private final MecanumDrivetrainModel model;
+    private final SimulatedIMU imu;
+    private final SimulatedLocalizer localizer;
+    private final HardwareMap hardwareMap;
+    private final Follower follower;
+
+    private final boolean previousDrawOnDashboard;
+
+    private double timeStep = DEFAULT_TIME_STEP;
+    private long loops;
+    private double simulatedTime;
+    private long wallTimeNano;
+
+    /**
+     * This creates a new Simulator, with a simulated robot set up from the constants, and a
+     * Follower to run on it. The simulated robot starts at (0, 0) facing 0 heading.
+     *
+     * @param FConstants the constants for the Follower
+     * @param LConstants the constants for the Localizer
+     */
+    public Simulator(Class<?> FConstants, Class<?> LConstants) {
+        // the constants have to be set before the model reads them
+        Constants.setConstants(FConstants, LConstants);
+        Clock.useSimulatedTime();
+        previousDrawOnDashboard = Follower.drawOnDashboard;
+        Follower.drawOnDashboard = false;
+
+        model = new MecanumDrivetrainModel();
+        imu = new SimulatedIMU(model);
+        localizer = new SimulatedLocalizer(model, imu);
+
+        hardwareMap = new HardwareMap(null, null);
+        String[] motorNames = new String[]{leftFrontMotorName, leftRearMotorName, rightFrontMotorName, rightRearMotorName};
+        for (int i = 0; i < motorNames.length; i++) {
+            hardwareMap.dcMotor.put(motorNames[i], model.getMotor(i));
+            hardwareMap.put(motorNames[i], model.getMotor(i));
+        }
+        hardwareMap.voltageSensor.put("Simulated Battery", model.getVoltageSensor());
+        hardwareMap.put("Simulated Battery", model.getVoltageSensor());
+        hardwareMap.put("imu", imu);
+
+        follower = new Follower(hardwareMap, localizer, FConstants, LConstants);
+    }
+
+    /**
+     * This moves the simulated robot to a pose and sets it as the Follower's starting pose.
+     *
+     * @param pose the starting pose.
+     */
+    public void setStartingPose(Pose pose) {
+        model.setPose(pose);
+        follower.setStartingPose(pose);
+    }
+
+    /**
+     * This sets how far the simulated time moves forward on each step.
+     *
+     * @param seconds the time step, in seconds.
+     */
+    public void setTimeStep(double seconds) {
+        timeStep = seconds;
+    }
+
+    /**
+     * This runs one step of the simulation. The model is moved forward by the time step using the
+     * motor powers from the last step, then the Follower is updated.
+     */
+    public void step() {
+        long startTime = System.nanoTime();
+
+        model.update(timeStep);
+        Clock.advance((long) (timeStep * 1000000000));
+        follower.update();
+
+        wallTimeNano += System.nanoTime() - startTime;
+        simulatedTime += timeStep;
+        loops++;
+    }
+
+    /**
+     * This runs the simulation for a set amount of simulated time.
+     *
+     * @param seconds how long to run for, in simulated seconds.
+     */
+    public void run(double seconds) {
+        double endTime = simulatedTime + seconds;
+        while (simulatedTime < endTime) {
+            step();
+        }
+    }
+
+    /**
+     * This runs the simulation until the Follower is done following, or until the timeout is up.
+     *
+     * @param timeoutSeconds the longest to run for, in simulated seconds.
+     * @return returns true if the Follower finished before the timeout.
+     */
+    public boolean runUntilIdle(double timeoutSeconds) {
+        double endTime = simulatedTime + timeoutSeconds;
+        while (follower.isBusy() && simulatedTime < endTime) {
+            step();
+        }
+        return !follower.isBusy();
+    }
+
+    /**
+     * This resets the loop count and the simulated and wall times.
+     */
+    public void resetStatistics() {
+        loops = 0;
+        simulatedTime = 0;
+        wallTimeNano = 0;
+    }
+
+    /**
+     * This returns the number of steps run since the statistics were last reset.
+     *
+     * @return returns the loop count.
+     */
+    public long getLoopCount() {
+        return loops;
+    }
+
+    /**
+     * This returns how much simulated time has passed since the statistics were last reset.
+     *
+     * @return returns the simulated time, in seconds.
+     */
+    public double getSimulatedTime() {
+        return simulatedTime;
+    }
+
+    /**
+     * This returns how much real time the steps have taken since the statistics were last reset.
+     *
+     * @return returns the wall time, in seconds.
+     */
+    public double getWallTime() {
+        return wallTimeNano / 1e9;
+    }
+
+    /**
+     * This returns how many loops were run per second of real time.
+     *
+     * @return returns the loops per second.
+     */
+    public double getLoopsPerSecond() {
+        if (wallTimeNano == 0) return 0;
+        return loops / getWallTime();
+    }
+
+    /**
+     * This returns how many times faster than real time the simulation is running.
+     *
+     * @return returns the real time factor.
+     */
+    public double getRealTimeFactor() {
+        if (wallTimeNano == 0) return 0;
+        return simulatedTime / getWallTime();
+    }
+
+    /**
+     * This returns a one line summary of the loop throughput.
+     *
+     * @return returns the summary.
+     */
+    public String getReport() {
+        return "loops: " + loops
+                + " | simulated time: " + String.format("%3.3f", simulatedTime) + " s"
+                + " | wall time: " + String.format("%3.3f", getWallTime()) + " s"
+                + " | loops per second: " + String.format("%3.1f", getLoopsPerSecond())
+                + " | real time factor: " + String.format("%3.2f", getRealTimeFactor());
+    }
+
+    /**
+     * This writes out the loop throughput and the true and estimated poses to the Telemetry.
+     *
+     * @param telemetry the Telemetry to write to.
+     */
+    public void telemetryDebug(Telemetry telemetry) {
+        telemetry.addData("loops", loops);
+        telemetry.addData("simulated time", simulatedTime);
+        telemetry.addData("wall time", getWallTime());
+        telemetry.addData("loops per second", getLoopsPerSecond());
+        telemetry.addData("real time factor", getRealTimeFactor());
+        telemetry.addData("true pose", model.getPose());
+        telemetry.addData("estimated pose", follower.getPose());
+    }
+
+    /**
+     * This stops the simulated robot's motors, switches the Clock back to the system time, and
+     * puts drawing on the Dashboard back to how it was.
+     */
+    public void close() {
+        follower.close();
+        Clock.useSystemTime();
+        Follower.drawOnDashboard = previousDrawOnDashboard;
+    }
+
+    /**
+     * This returns the Follower running on the simulated robot.
+     *
+     * @return returns the Follower.
+     */
+    public Follower getFollower() {
+        return follower;
+    }
+
+    /**
+     * This returns the MecanumDrivetrainModel of the simulated robot.
+     *
+     * @return returns the model.
+     */
+    public MecanumDrivetrainModel getModel() {
+        return model;
+    }
+
+    /**
+     * This returns the HardwareMap with the simulated hardware in it.
+     *
+     * @return returns the HardwareMap.
+     */
+    public HardwareMap getHardwareMap() {
+        return hardwareMap;
+    }
+
+    /**
+     * This returns the SimulatedLocalizer the Follower is using.
+     *
+     * @return returns the SimulatedLocalizer.
+     */
+    public SimulatedLocalizer getLocalizer() {
+        return localizer;
+    }
+}
@@ -0,0 +1,294 @@
+package com.pedropathing.util;
+
+import com.qualcomm.hardware.lynx.LynxModule;
+import com.qualcomm.robotcore.hardware.DcMotorEx;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+
+import java.util.List;
+
+/**
+ * This is the BulkReadManager class. This manages the bulk reads of the Lynx modules, or the
+ * Control and Expansion Hubs, so that everything reading from them in one loop shares a single
+ * snapshot of the hub data instead of each read being its own transaction with the hub.
+ *
+ * When managing is turned on, the hubs are put into the manual bulk caching mode and the bulk cache
+ * is cleared once per loop by calling startLoop, which the Follower does at the start of every
+ * update. After that, the first encoder read on each hub does one bulk read, and every other read
+ * on that hub until the next loop comes from the cached data. The Encoders and the Follower's motor
+ * powers go through here, and the number of reads, writes, and estimated hub transactions in each
+ * loop are counted, so it's possible to see how much time the bulk reads save.
+ *
+ * There is one BulkReadManager for each HardwareMap, which can be gotten with the static get method,
+ * so the localizers and the Follower share the same one without having to pass it around. If
+ * anything else reads from the hubs while managing is turned on, it also gets the snapshot from the
+ * start of the loop, so it must be done after the Follower has been updated at least once.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class BulkReadManager {
+    private static BulkReadManager instance;
+
+    private final HardwareMap hardwareMap;
+    private final List<LynxModule> modules;
+    private final LynxModule.BulkCachingMode[] previousModes;
+
+    private boolean managing;
+
+    private int reads;
+    private int writes;
+    private int clears;
+    private int lastLoopReads;
+    private int lastLoopWrites;
+    private int lastLoopClears;
+    private int lastLoopTransactions;
+    private long loops;
+
+    /**
+     * This creates a new BulkReadManager for the Lynx modules in a HardwareMap. This starts off not
+     * managing the modules, so their bulk caching mode is left alone.
+     *
+     * @param hardwareMap the HardwareMap to get the Lynx modules from.
+     */
+    public BulkReadManager(HardwareMap hardwareMap) {
+        this.hardwareMap = hardwareMap;
+        modules = hardwareMap.getAll(LynxModule.class);
+        previousModes = new LynxModule.BulkCachingMode[modules.size()];
+    }
+
+    /**
+     * This returns the BulkReadManager for a HardwareMap, making a new one if this HardwareMap
+     * doesn't have one yet. Only the BulkReadManager of the most recent HardwareMap is kept, since
+     * there is only one HardwareMap in each OpMode.
+     *
+     * @param hardwareMap the HardwareMap.
+     * @return returns the BulkReadManager for the HardwareMap.
+     */
+    public static synchronized BulkReadManager get(HardwareMap hardwareMap) {
+        if (instance == null || instance.hardwareMap != hardwareMap) {
+            instance = new BulkReadManager(hardwareMap);
+        }
+        return instance;
+    }
+
+    /**
+     * This sets whether the Lynx modules are put into the manual bulk caching mode and cleared once
+     * per loop. Turning this on remembers the bulk caching mode each module was in, and turning it
+     * off puts each module back into that mode, so an OpMode that set its own mode keeps it. If
+     * managing is already off, the modules are left alone.
+     *
+     * @param managing whether to manage the bulk caches of the Lynx modules.
+     */
+    public void setManaging(boolean managing) {
+        if (managing == this.managing) {
+            if (managing) clearBulkCaches();
+            return;
+        }
+        this.managing = managing;
+
+        for (int i = 0; i < modules.size(); i++) {
+            LynxModule module = modules.get(i);
+            if (managing) {
+                previousModes[i] = module.getBulkCachingMode();
+                module.setBulkCachingMode(LynxModule.BulkCachingMode.MANUAL);
+            } else {
+                module.setBulkCachingMode(previousModes[i]);
+            }
+        }
+        if (managing) clearBulkCaches();
+    }
+
+    /**
+     * This returns whether the bulk caches of the Lynx modules are being managed.
+     *
+     * @return returns if the bulk caches are being managed.
+     */
+    public boolean isManaging() {
+        return managing;
+    }
+
+    /**
+     * This starts a new loop. The counts of the loop that just ended are saved, and if the bulk
+     * caches are being managed, they are cleared so the next read on each module gets fresh data.
+     * This should be called exactly once at the start of each loop, which the Follower does in
+     * update.
+     */
+    public void startLoop() {
+        lastLoopReads = reads;
+        lastLoopWrites = writes;
+        lastLoopClears = clears;
+        lastLoopTransactions = getTransactionCount();
+        reads = 0;
+        writes = 0;
+        clears = 0;
+        loops++;
+
+        if (managing) clearBulkCaches();
+    }
+
+    /**
+     * This clears the bulk caches of all the Lynx modules.
+     */
+    private void clearBulkCaches() {
+        for (int i = 0; i < modules.size(); i++) {
+            modules.get(i).clearBulkCache();
+        }
+        clears++;
+    }
+
+    /**
+     * This reads the current position of a motor's encoder. When the bulk caches are managed, this
+     * comes from the snapshot taken at the start of the loop.
+     *
+     * @param motor the motor to read from.
+     * @return returns the current position of the encoder, in ticks.
+     */
+    public int getCurrentPosition(DcMotorEx motor) {
+        reads++;
+        return motor.getCurrentPosition();
+    }
+
+    /**
+     * This reads the current position of a motor's encoder from the hub right now, instead of from
+     * the snapshot taken at the start of the loop. This clears the bulk caches if they are being
+     * managed, so it should only be used when a fresh value is actually needed, like right after
+     * resetting an encoder.
+     *
+     * @param motor the motor to read from.
+     * @return returns the current position of the encoder, in ticks.
+     */
+    public int getFreshCurrentPosition(DcMotorEx motor) {
+        if (managing) clearBulkCaches();
+        return getCurrentPosition(motor);
+    }
+
+    /**
+     * This reads the power of a motor.
+     *
+     * @param motor the motor to read from.
+     * @return returns the power of the motor.
+     */
+    public double getPower(DcMotorEx motor) {
+        reads++;
+        return motor.getPower();
+    }
+
+    /**
+     * This sets the power of a motor.
+     *
+     * @param motor the motor to write to.
+     * @param power the power to set.
+     */
+    public void setPower(DcMotorEx motor, double power) {
+        writes++;
+        motor.setPower(power);
+    }
+
+    /**
+     * This returns the number of reads done through this so far in the current loop.
+     *
+     * @return returns the number of reads.
+     */
+    public int getReadCount() {
+        return reads;
+    }
+
+    /**
+     * This returns the number of writes done through this so far in the current loop.
+     *
+     * @return returns the number of writes.
+     */
+    public int getWriteCount() {
+        return writes;
+    }
+
+    /**
+     * This returns the number of times the bulk caches were cleared so far in the current loop.
+     *
+     * @return returns the number of clears.
+     */
+    public int getClearCount() {
+        return clears;
+    }
+
+    /**
+     * This returns an estimate of the number of transactions with the hubs so far in the current
+     * loop. Every write is a transaction. When the bulk caches are managed, the reads after each
+     * clear cost at most one bulk read per module, otherwise every read is a transaction. Since
+     * which module each motor is on isn't known, this is an upper bound.
+     *
+     * @return returns the estimated number of transactions.
+     */
+    public int getTransactionCount() {
+        if (!managing || modules.isEmpty()) return reads + writes;
+        return Math.min(reads, modules.size() * Math.max(1, clears)) + writes;
+    }
+
+    /**
+     * This returns the number of reads done in the last loop.
+     *
+     * @return returns the number of reads.
+     */
+    public int getLastLoopReadCount() {
+        return lastLoopReads;
+    }
+
+    /**
+     * This returns the number of writes done in the last loop.
+     *
+     * @return returns the number of writes.
+     */
+    public int getLastLoopWriteCount() {
+        return lastLoopWrites;
+    }
+
+    /**
+     * This returns the number of times the bulk caches were cleared in the last loop.
+     *
+     * @return returns the number of clears.
+     */
+    public int getLastLoopClearCount() {
+        return lastLoopClears;
+    }
+
+    /**
+     * This returns the estimated number of transactions with the hubs in the last loop.
+     *
+     * @return returns the estimated number of transactions.
+     */
+    public int getLastLoopTransactionCount() {
+        return lastLoopTransactions;
+    }
+
+    /**
+     * This returns the number of loops started so far.
+     *
+     * @return returns the number of loops.
+     */
+    public long getLoopCount() {
+        return loops;
+    }
+
+    /**
+     * This returns the Lynx modules being managed.
+     *
+     * @return returns the Lynx modules.
+     */
+    public List<LynxModule> getModules() {
+        return modules;
+    }
+
+    /**
+     * This writes out the counts from the last loop to the Telemetry.
+     *
+     * @param telemetry the Telemetry to write to.
+     */
+    public void debug(Telemetry telemetry) {
+        telemetry.addData("bulk read managing", managing);
+        telemetry.addData("hub reads per loop", lastLoopReads);
+        telemetry.addData("hub writes per loop", lastLoopWrites);
+        telemetry.addData("hub transactions per loop", lastLoopTransactions);
+    }
+}
@@ -0,0 +1,148 @@
+package com.pedropathing.util;
+
+import com.pedropathing.follower.FollowerConstants;
+
+import java.util.HashSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is the CallbackExecutor class. This runs PathCallbacks off of the control loop, so a
+ * callback that waits on a servo or does a slow sensor read doesn't hold up the Follower.
+ *
+ * The worker pool has a fixed number of threads and a fixed size queue, so a PathChain with a lot
+ * of callbacks can't create an unbounded number of threads. If the queue is full, the callback is
+ * turned away instead of making the control loop wait for room. The worker threads stop themselves
+ * once they have been idle for a little while, so nothing is left running after the OpMode ends.
+ * Callbacks that need a thread to themselves, like ones that run for the whole PathChain, can be
+ * started on a dedicated thread instead.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class CallbackExecutor {
+    // Idle worker threads stop themselves after this long, in milliseconds
+    private static final long WORKER_IDLE_TIMEOUT = 1000;
+
+    private static ThreadPoolExecutor workers;
+    private static int threadCount;
+
+    // The dedicated threads that are still running, so they can be interrupted by shutdown()
+    private static final HashSet<Thread> dedicatedThreads = new HashSet<>();
+
+    /**
+     * This makes sure nobody makes an instance of this class.
+     */
+    private CallbackExecutor() {
+    }
+
+    /**
+     * This returns the worker pool, making it the first time it is needed. The size of the pool and
+     * its queue come from the FollowerConstants.
+     *
+     * @return returns the worker pool.
+     */
+    private static synchronized ThreadPoolExecutor getWorkers() {
+        if (workers == null || workers.isShutdown()) {
+            int threads = Math.max(1, FollowerConstants.callbackWorkerThreads);
+            workers = new ThreadPoolExecutor(threads, threads, WORKER_IDLE_TIMEOUT, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<Runnable>(Math.max(1, FollowerConstants.callbackQueueSize)),
+                    new ThreadFactory() {
+                        @Override
+                        public Thread newThread(Runnable runnable) {
+                            return newCallbackThread(runnable, "Pedro Pathing Callback Worker");
+                        }
+                    });
+            workers.allowCoreThreadTimeOut(true);
+        }
+        return workers;
+    }
+
+    /**
+     * This makes a daemon thread for running callbacks.
+     *
+     * @param runnable what the thread runs.
+     * @param name the start of the thread's name.
+     * @return returns the thread, which hasn't been started.
+     */
+    private static synchronized Thread newCallbackThread(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name + " " + threadCount++);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * This queues a task to run on the worker pool. This never waits.
+     *
+     * @param task the task to run.
+     * @return returns false if the queue was full and the task was turned away.
+     */
+    public static boolean submit(Runnable task) {
+        try {
+            getWorkers().execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * This starts a task on a new thread of its own. The thread is kept track of until the task is
+     * done, so shutdown() can interrupt it.
+     *
+     * @param task the task to run.
+     */
+    public static void startDedicated(final Runnable task) {
+        Thread thread = newCallbackThread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    task.run();
+                } finally {
+                    synchronized (CallbackExecutor.class) {
+                        dedicatedThreads.remove(Thread.currentThread());
+                    }
+                }
+            }
+        }, "Pedro Pathing Callback");
+        synchronized (CallbackExecutor.class) {
+            dedicatedThreads.add(thread);
+        }
+        thread.start();
+    }
+
+    /**
+     * This returns the number of tasks waiting in the worker pool's queue.
+     *
+     * @return returns the number of queued tasks.
+     */
+    public static synchronized int getQueuedTasks() {
+        return workers == null ? 0 : workers.getQueue().size();
+    }
+
+    /**
+     * This stops the worker pool, dropping any tasks that haven't started yet and interrupting the
+     * ones that are running, and interrupts the dedicated threads that are still running. The pool
+     * is made again the next time a task is submitted. The Follower calls this when it is closed.
+     */
+    public static synchronized void shutdown() {
+        for (Thread thread : dedicatedThreads) {
+            thread.interrupt();
+        }
+        dedicatedThreads.clear();
+
+        if (workers != null) {
+            // the dropped tasks are cancelled, so anything waiting on them sees that they are done
+            for (Runnable task : workers.shutdownNow()) {
+                if (task instanceof Future) {
+                    ((Future<?>) task).cancel(false);
+                }
+            }
+            workers = null;
+        }
+    }
+}
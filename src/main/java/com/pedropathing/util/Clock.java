@@ -0,0 +1,80 @@
+package com.pedropathing.util;
+
+/**
+ * This is the Clock class. Everything in Pedro Pathing that measures time, like the Timers and the
+ * PIDF controllers, reads the time from here instead of from System directly. Normally this just
+ * passes through System.nanoTime() and System.currentTimeMillis(), but it can be switched over to a
+ * simulated time that only moves when it is told to. This lets the simulator run the Follower
+ * faster than real time while the controllers still see the time steps the simulated robot sees.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class Clock {
+    private static volatile boolean simulated = false;
+    private static volatile long simulatedTimeNano = 0;
+
+    // The nano time and the wall clock time when simulated time was switched on, so the simulated
+    // milliseconds carry on from the wall clock instead of from the nano time's arbitrary start
+    private static volatile long simulatedStartNano = 0;
+    private static volatile long simulatedStartMillis = 0;
+
+    /**
+     * This returns the current time in nanoseconds. Like System.nanoTime(), this is only useful
+     * for measuring elapsed time.
+     *
+     * @return returns the current time in nanoseconds.
+     */
+    public static long nanoTime() {
+        if (simulated) return simulatedTimeNano;
+        return System.nanoTime();
+    }
+
+    /**
+     * This returns the current time in milliseconds. When using simulated time, this starts at the
+     * wall clock time of the switch and moves forward with the simulated time.
+     *
+     * @return returns the current time in milliseconds.
+     */
+    public static long currentTimeMillis() {
+        if (simulated) return simulatedStartMillis + (simulatedTimeNano - simulatedStartNano) / 1000000;
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * This switches the Clock over to simulated time, starting at the current system time so that
+     * anything timed before the switch doesn't see time jump. This goes for both the nano time and
+     * the millisecond time.
+     */
+    public static void useSimulatedTime() {
+        simulatedStartMillis = System.currentTimeMillis();
+        simulatedStartNano = System.nanoTime();
+        simulatedTimeNano = simulatedStartNano;
+        simulated = true;
+    }
+
+    /**
+     * This switches the Clock back to the system time.
+     */
+    public static void useSystemTime() {
+        simulated = false;
+    }
+
+    /**
+     * This returns whether the Clock is using simulated time.
+     *
+     * @return returns if simulated time is being used.
+     */
+    public static boolean isSimulated() {
+        return simulated;
+    }
+
+    /**
+     * This moves the simulated time forward. This does nothing if simulated time isn't being used.
+     *
+     * @param deltaTimeNano how far to move the simulated time forward, in nanoseconds.
+     */
+    public static void advance(long deltaTimeNano) {
+        if (simulated) simulatedTimeNano += deltaTimeNano;
+    }
+}
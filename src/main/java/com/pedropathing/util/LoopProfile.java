@@ -0,0 +1,171 @@
+package com.pedropathing.util;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+
+/**
+ * This is the LoopProfile class. This keeps track of how long each stage of the Follower's update
+ * takes, so that when the loop time goes up, it's possible to tell which stage is responsible. Each
+ * stage gets its own TimingHistogram, so the median, 99th percentile, and longest time of every
+ * stage can be looked at without the profile growing over time.
+ *
+ * Stages are timed with System.nanoTime, not the Clock, since what matters here is how long the
+ * code actually took to run. When the profile is disabled, starting and recording a stage only
+ * checks a boolean, so leaving the calls in the Follower costs close to nothing.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class LoopProfile {
+    // These are the stages of the loop that are timed
+    public static final int POSE_UPDATE = 0;
+    public static final int LOCALIZER = 1;
+    public static final int CLOSEST_POINT = 2;
+    public static final int CALLBACKS = 3;
+    public static final int CORRECTION_VECTORS = 4;
+    public static final int DRIVE_POWERS = 5;
+    public static final int MOTOR_WRITES = 6;
+    public static final int DASHBOARD = 7;
+    public static final int TOTAL = 8;
+
+    private static final String[] STAGE_NAMES = new String[]{"pose update", "localizer", "closest point",
+            "callbacks", "correction vectors", "drive powers", "motor writes", "dashboard", "total"};
+
+    private final TimingHistogram[] histograms = new TimingHistogram[STAGE_NAMES.length];
+
+    private boolean enabled;
+
+    /**
+     * This creates a new LoopProfile, which starts off disabled.
+     */
+    public LoopProfile() {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new TimingHistogram();
+        }
+    }
+
+    /**
+     * This sets whether the stages are timed. Turning the profile off keeps what has been recorded.
+     *
+     * @param enabled whether to time the stages.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * This returns whether the stages are being timed.
+     *
+     * @return returns whether the profile is enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * This returns the time to start a stage from, which is passed into record once the stage is
+     * done.
+     *
+     * @return returns the current System.nanoTime, or 0 if the profile is disabled.
+     */
+    public long start() {
+        if (!enabled) return 0;
+        return System.nanoTime();
+    }
+
+    /**
+     * This records how long a stage took. The time returned can be used as the start time of the
+     * next stage, so back to back stages only need to read the time once each.
+     *
+     * @param stage the stage, such as LoopProfile.CLOSEST_POINT.
+     * @param startTime the time the stage started, from start or a previous record.
+     * @return returns the time the stage ended, or 0 if the profile is disabled.
+     */
+    public long record(int stage, long startTime) {
+        if (!enabled) return 0;
+        long endTime = System.nanoTime();
+        histograms[stage].record(endTime - startTime);
+        return endTime;
+    }
+
+    /**
+     * This clears everything that has been recorded for every stage.
+     */
+    public void reset() {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i].reset();
+        }
+    }
+
+    /**
+     * This returns the TimingHistogram of a stage.
+     *
+     * @param stage the stage, such as LoopProfile.CLOSEST_POINT.
+     * @return returns the TimingHistogram of the stage.
+     */
+    public TimingHistogram getHistogram(int stage) {
+        return histograms[stage];
+    }
+
+    /**
+     * This returns the name of a stage.
+     *
+     * @param stage the stage, such as LoopProfile.CLOSEST_POINT.
+     * @return returns the name of the stage.
+     */
+    public static String getStageName(int stage) {
+        return STAGE_NAMES[stage];
+    }
+
+    /**
+     * This returns the number of stages that are timed.
+     *
+     * @return returns the number of stages.
+     */
+    public static int getStageCount() {
+        return STAGE_NAMES.length;
+    }
+
+    /**
+     * This returns a one line summary of a stage, with the median, 99th percentile, and longest
+     * time in milliseconds.
+     *
+     * @param stage the stage, such as LoopProfile.CLOSEST_POINT.
+     * @return returns the summary of the stage.
+     */
+    public String getSummary(int stage) {
+        TimingHistogram histogram = histograms[stage];
+        return "p50: " + String.format("%3.3f", histogram.getMedian() / 1e6) + " ms"
+                + " | p99: " + String.format("%3.3f", histogram.getPercentile(99) / 1e6) + " ms"
+                + " | max: " + String.format("%3.3f", histogram.getMaximum() / 1e6) + " ms"
+                + " | count: " + histogram.getCount();
+    }
+
+    /**
+     * This writes out the summary of every stage that has been timed to the Telemetry.
+     *
+     * @param telemetry the Telemetry to write to.
+     */
+    public void debug(Telemetry telemetry) {
+        for (int i = 0; i < histograms.length; i++) {
+            if (histograms[i].getCount() > 0) {
+                telemetry.addData("loop time " + STAGE_NAMES[i], getSummary(i));
+            }
+        }
+    }
+
+    /**
+     * This returns the summaries of every stage that has been timed, one stage per line.
+     *
+     * @return returns the summaries.
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < histograms.length; i++) {
+            if (histograms[i].getCount() > 0) {
+                builder.append(STAGE_NAMES[i]).append(": ").append(getSummary(i)).append("\n");
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -20,10 +20,10 @@ public class NanoTimer {
     }
 
     /**
-     * This resets the NanoTimer's start time to the current time using System.nanoTime().
+     * This resets the NanoTimer's start time to the current time using Clock.nanoTime().
      */
     public void resetTimer() {
-        startTime = System.nanoTime();
+        startTime = Clock.nanoTime();
     }
 
     /**
@@ -32,7 +32,7 @@ public class NanoTimer {
      * @return this returns the elapsed time in nanoseconds.
      */
     public long getElapsedTime() {
-        return System.nanoTime() - startTime;
+        return Clock.nanoTime() - startTime;
     }
 
     /**
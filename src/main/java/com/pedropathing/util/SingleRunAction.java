@@ -44,12 +44,22 @@ public class SingleRunAction {
     public boolean run() {
         if (!hasBeenRun) {
             hasBeenRun = true;
-            runnable.run();
+            execute(runnable);
             return true;
         }
         return false;
     }
 
+    /**
+     * This runs the Runnable when the SingleRunAction is run. By default, it is just run right
+     * away, but subclasses can change how and where it is run.
+     *
+     * @param runnable the Runnable to run.
+     */
+    protected void execute(Runnable runnable) {
+        runnable.run();
+    }
+
     /**
      * This resets the SingleRunAction and makes it able to run again. The SingleRunAction is set
      * to "has not been run", allowing for multiple uses of the Runnable.
@@ -20,10 +20,10 @@ public class Timer {
     }
 
     /**
-     * This resets the Timer's start time to the current time using System.currentTimeMillis().
+     * This resets the Timer's start time to the current time using Clock.currentTimeMillis().
      */
     public void resetTimer() {
-        startTime = System.currentTimeMillis();
+        startTime = Clock.currentTimeMillis();
     }
 
     /**
@@ -32,7 +32,7 @@ public class Timer {
      * @return this returns the elapsed time in milliseconds.
      */
     public long getElapsedTime() {
-        return System.currentTimeMillis() - startTime;
+        return Clock.currentTimeMillis() - startTime;
     }
 
     /**
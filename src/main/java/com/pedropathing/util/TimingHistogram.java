@@ -0,0 +1,163 @@
+package com.pedropathing.util;
+
+/**
+ * This is the TimingHistogram class. This records how long something took, in nanoseconds, into a
+ * histogram that never grows, so it can be recorded into on every loop forever without running out
+ * of memory or slowing down.
+ *
+ * The buckets are laid out like an HDR histogram. Each power of two is split into the same number
+ * of evenly sized buckets, so every recorded time lands in a bucket that is at most about 3% wider
+ * than the time itself. Times under 64 nanoseconds are recorded exactly. Anything longer than about
+ * a second is put in the last bucket, but the longest time is always kept exactly.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class TimingHistogram {
+    // Each power of two is split into 2 ^ SUB_BUCKET_BITS buckets
+    private final int SUB_BUCKET_BITS = 5;
+    private final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    // Times of 2 ^ (MAX_MAGNITUDE + 1) nanoseconds and up, about a second, go in the extra last bucket
+    private final int MAX_MAGNITUDE = 29;
+
+    private final long[] counts = new long[SUB_BUCKET_COUNT * (MAX_MAGNITUDE - SUB_BUCKET_BITS + 2) + 1];
+
+    private long totalCount;
+    private long totalTime;
+    private long minimum;
+    private long maximum;
+
+    /**
+     * This creates a new, empty TimingHistogram.
+     */
+    public TimingHistogram() {
+        reset();
+    }
+
+    /**
+     * This records a time into the histogram. Negative times are recorded as zero.
+     *
+     * @param timeNano the time to record, in nanoseconds.
+     */
+    public void record(long timeNano) {
+        if (timeNano < 0) timeNano = 0;
+        counts[getBucketIndex(timeNano)]++;
+        totalCount++;
+        totalTime += timeNano;
+        if (timeNano < minimum) minimum = timeNano;
+        if (timeNano > maximum) maximum = timeNano;
+    }
+
+    /**
+     * This clears everything that has been recorded.
+     */
+    public void reset() {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = 0;
+        }
+        totalCount = 0;
+        totalTime = 0;
+        minimum = Long.MAX_VALUE;
+        maximum = 0;
+    }
+
+    /**
+     * This returns the time that the specified percentile of the recorded times are at or under.
+     * This is the top of the bucket the percentile falls in, so it can be slightly higher than the
+     * actual time, but never higher than the longest time recorded.
+     *
+     * @param percentile the percentile, from 0 to 100.
+     * @return returns the time at the percentile in nanoseconds, or 0 if nothing has been recorded.
+     */
+    public long getPercentile(double percentile) {
+        if (totalCount == 0) return 0;
+        long target = (long) Math.ceil(Math.max(0, Math.min(100, percentile)) / 100 * totalCount);
+        if (target < 1) target = 1;
+
+        long count = 0;
+        for (int i = 0; i < counts.length; i++) {
+            count += counts[i];
+            if (count >= target) {
+                return Math.max(minimum, Math.min(maximum, getBucketUpperBound(i)));
+            }
+        }
+        return maximum;
+    }
+
+    /**
+     * This returns the median of the recorded times.
+     *
+     * @return returns the median in nanoseconds.
+     */
+    public long getMedian() {
+        return getPercentile(50);
+    }
+
+    /**
+     * This returns the longest time recorded.
+     *
+     * @return returns the longest time in nanoseconds, or 0 if nothing has been recorded.
+     */
+    public long getMaximum() {
+        return maximum;
+    }
+
+    /**
+     * This returns the shortest time recorded.
+     *
+     * @return returns the shortest time in nanoseconds, or 0 if nothing has been recorded.
+     */
+    public long getMinimum() {
+        if (totalCount == 0) return 0;
+        return minimum;
+    }
+
+    /**
+     * This returns the average of the recorded times.
+     *
+     * @return returns the average in nanoseconds, or 0 if nothing has been recorded.
+     */
+    public double getMean() {
+        if (totalCount == 0) return 0;
+        return (double) totalTime / totalCount;
+    }
+
+    /**
+     * This returns how many times have been recorded.
+     *
+     * @return returns the number of times recorded.
+     */
+    public long getCount() {
+        return totalCount;
+    }
+
+    /**
+     * This returns the index of the bucket a time goes in.
+     *
+     * @param timeNano the time, in nanoseconds, which is not negative.
+     * @return returns the bucket index.
+     */
+    private int getBucketIndex(long timeNano) {
+        if (timeNano < SUB_BUCKET_COUNT) return (int) timeNano;
+        int magnitude = 63 - Long.numberOfLeadingZeros(timeNano);
+        if (magnitude > MAX_MAGNITUDE) return counts.length - 1;
+        int shift = magnitude - SUB_BUCKET_BITS;
+        int subBucket = (int) (timeNano >> shift) - SUB_BUCKET_COUNT;
+        return SUB_BUCKET_COUNT * (shift + 1) + subBucket;
+    }
+
+    /**
+     * This returns the longest time that goes in a bucket.
+     *
+     * @param index the bucket index.
+     * @return returns the longest time in the bucket, in nanoseconds.
+     */
+    private long getBucketUpperBound(int index) {
+        if (index < SUB_BUCKET_COUNT) return index;
+        if (index == counts.length - 1) return Long.MAX_VALUE;
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long subBucket = index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
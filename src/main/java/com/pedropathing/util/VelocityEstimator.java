@@ -0,0 +1,392 @@
+package com.pedropathing.util;
+
+import com.pedropathing.pathgen.Vector;
+
+/**
+ * This is the VelocityEstimator class. This smooths out the robot's velocity and estimates its
+ * acceleration from the last few velocity samples, which is used for the on the fly centripetal
+ * correction in teleop, where there is no Path to get the curvature from.
+ *
+ * The samples are kept in a fixed size ring buffer of plain doubles, so memory use never grows and
+ * adding a sample doesn't create anything. There are three ways of estimating, and all of them take
+ * the same amount of work per sample no matter how big the window is:
+ * <p>
+ * MOVING_AVERAGE: the velocity is the average of the newer half of the window, and the acceleration
+ * is the difference between the averages of the newer and older halves over the time between
+ * them. Running sums are kept for both halves.
+ * <p>
+ * SAVITZKY_GOLAY: a parabola is fit through the whole window by least squares, and the velocity and
+ * acceleration are the value and slope of the parabola at the newest sample. This lags less than
+ * the moving average. Running sums of each sample times its age and its age squared are kept, which
+ * can be shifted along by one sample without going back over the window. This assumes the samples
+ * are about evenly spaced in time, and uses the average spacing.
+ * <p>
+ * ALPHA_BETA: an alpha-beta filter, which predicts the velocity from the last acceleration and
+ * then moves the velocity and acceleration toward the new sample by alpha and beta. This only
+ * looks at the newest sample.
+ * <p>
+ * The running sums are recalculated from the window every time the ring buffer wraps around, so
+ * rounding errors can't build up over a match.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class VelocityEstimator {
+    // These are the ways of estimating the velocity and acceleration
+    public static final int MOVING_AVERAGE = 0;
+    public static final int SAVITZKY_GOLAY = 1;
+    public static final int ALPHA_BETA = 2;
+
+    // Below this speed, in inches per second, the direction of the velocity is mostly noise, so there is no curvature
+    private final double MIN_CURVATURE_SPEED = 1;
+
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] times;
+
+    // The index the next sample is written to, and how many samples are stored
+    private int head;
+    private int size;
+
+    private int mode;
+    private double alpha = 0.5;
+    private double beta = 0.1;
+
+    // Sample times are stored in seconds since this time, so they stay small enough to sum exactly
+    private long startTimeNano;
+
+    // Running sums of the newer and older halves of the window, for the moving average
+    private double newerSumX, newerSumY, newerSumTime;
+    private double olderSumX, olderSumY, olderSumTime;
+
+    // Running sums of each sample times its age to the power of 0, 1, and 2, for the Savitzky-Golay fit
+    private double momentX0, momentX1, momentX2;
+    private double momentY0, momentY1, momentY2;
+
+    // The state of the alpha-beta filter
+    private double filterVelocityX, filterVelocityY;
+    private double filterAccelerationX, filterAccelerationY;
+
+    private double velocityX, velocityY;
+    private double accelerationX, accelerationY;
+
+    /**
+     * This creates a new VelocityEstimator.
+     *
+     * @param windowSize how many samples to keep. This has to be at least 2.
+     * @param mode the way of estimating, which is MOVING_AVERAGE, SAVITZKY_GOLAY, or ALPHA_BETA.
+     */
+    public VelocityEstimator(int windowSize, int mode) {
+        if (windowSize < 2) {
+            throw new IllegalArgumentException("A VelocityEstimator needs a window of at least 2 samples");
+        }
+        xs = new double[windowSize];
+        ys = new double[windowSize];
+        times = new double[windowSize];
+        setMode(mode);
+    }
+
+    /**
+     * This sets the way of estimating. The samples that are already stored are kept.
+     *
+     * @param mode the way of estimating, which is MOVING_AVERAGE, SAVITZKY_GOLAY, or ALPHA_BETA.
+     */
+    public void setMode(int mode) {
+        if (mode != MOVING_AVERAGE && mode != SAVITZKY_GOLAY && mode != ALPHA_BETA) {
+            throw new IllegalArgumentException("Unsupported velocity estimator mode");
+        }
+        this.mode = mode;
+        calculate();
+    }
+
+    /**
+     * This returns the way of estimating.
+     *
+     * @return returns MOVING_AVERAGE, SAVITZKY_GOLAY, or ALPHA_BETA.
+     */
+    public int getMode() {
+        return mode;
+    }
+
+    /**
+     * This sets the gains of the alpha-beta filter. Higher values follow the samples more closely,
+     * and lower values smooth them out more.
+     *
+     * @param alpha how far the velocity is moved toward each sample, from 0 to 1.
+     * @param beta how far the acceleration is moved toward what each sample says, from 0 to 1.
+     */
+    public void setAlphaBeta(double alpha, double beta) {
+        this.alpha = alpha;
+        this.beta = beta;
+    }
+
+    /**
+     * This removes every sample and sets the velocity and acceleration back to zero.
+     */
+    public void reset() {
+        head = 0;
+        size = 0;
+        filterVelocityX = 0;
+        filterVelocityY = 0;
+        filterAccelerationX = 0;
+        filterAccelerationY = 0;
+        recalculateSums();
+        calculate();
+    }
+
+    /**
+     * This adds a velocity sample and updates the estimates.
+     *
+     * @param timeNano the time the velocity was measured at, in nanoseconds.
+     * @param velocity the velocity.
+     */
+    public void addSample(long timeNano, Vector velocity) {
+        addSample(timeNano, velocity.getXComponent(), velocity.getYComponent());
+    }
+
+    /**
+     * This adds a velocity sample and updates the estimates.
+     *
+     * @param timeNano the time the velocity was measured at, in nanoseconds.
+     * @param x the x component of the velocity.
+     * @param y the y component of the velocity.
+     */
+    public void addSample(long timeNano, double x, double y) {
+        if (size == 0) startTimeNano = timeNano;
+        double time = (timeNano - startTimeNano) / 1e9;
+        double previousTime = size > 0 ? times[indexOf(0)] : time;
+
+        int capacity = xs.length;
+        int half = capacity / 2;
+
+        // the sample that crosses from the newer half into the older half, and the one that falls out
+        if (size >= half) {
+            int crossing = indexOf(half - 1);
+            newerSumX -= xs[crossing];
+            newerSumY -= ys[crossing];
+            newerSumTime -= times[crossing];
+            olderSumX += xs[crossing];
+            olderSumY += ys[crossing];
+            olderSumTime += times[crossing];
+        }
+        boolean full = size == capacity;
+        if (full) {
+            int oldest = indexOf(capacity - 1);
+            olderSumX -= xs[oldest];
+            olderSumY -= ys[oldest];
+            olderSumTime -= times[oldest];
+        }
+
+        // every sample gets one older, then the oldest one falls out at an age of capacity
+        momentX2 += 2 * momentX1 + momentX0;
+        momentX1 += momentX0;
+        momentY2 += 2 * momentY1 + momentY0;
+        momentY1 += momentY0;
+        if (full) {
+            int oldest = indexOf(capacity - 1);
+            momentX0 -= xs[oldest];
+            momentX1 -= capacity * xs[oldest];
+            momentX2 -= (double) capacity * capacity * xs[oldest];
+            momentY0 -= ys[oldest];
+            momentY1 -= capacity * ys[oldest];
+            momentY2 -= (double) capacity * capacity * ys[oldest];
+        }
+        momentX0 += x;
+        momentY0 += y;
+
+        newerSumX += x;
+        newerSumY += y;
+        newerSumTime += time;
+
+        xs[head] = x;
+        ys[head] = y;
+        times[head] = time;
+        head = (head + 1) % capacity;
+        if (!full) size++;
+        if (head == 0) recalculateSums();
+
+        updateAlphaBeta(x, y, time - previousTime);
+        calculate();
+    }
+
+    /**
+     * This returns the index in the arrays of a sample, counting back from the newest one.
+     *
+     * @param age how many samples back to go, with 0 being the newest sample.
+     * @return returns the index of the sample.
+     */
+    private int indexOf(int age) {
+        return (head - 1 - age + 2 * xs.length) % xs.length;
+    }
+
+    /**
+     * This recalculates all the running sums from the samples in the window.
+     */
+    private void recalculateSums() {
+        newerSumX = newerSumY = newerSumTime = 0;
+        olderSumX = olderSumY = olderSumTime = 0;
+        momentX0 = momentX1 = momentX2 = 0;
+        momentY0 = momentY1 = momentY2 = 0;
+        int half = xs.length / 2;
+        for (int age = 0; age < size; age++) {
+            int index = indexOf(age);
+            if (age < half) {
+                newerSumX += xs[index];
+                newerSumY += ys[index];
+                newerSumTime += times[index];
+            } else {
+                olderSumX += xs[index];
+                olderSumY += ys[index];
+                olderSumTime += times[index];
+            }
+            momentX0 += xs[index];
+            momentX1 += age * xs[index];
+            momentX2 += (double) age * age * xs[index];
+            momentY0 += ys[index];
+            momentY1 += age * ys[index];
+            momentY2 += (double) age * age * ys[index];
+        }
+    }
+
+    /**
+     * This steps the alpha-beta filter forward with a new sample.
+     *
+     * @param x the x component of the velocity.
+     * @param y the y component of the velocity.
+     * @param deltaTime the time since the last sample, in seconds.
+     */
+    private void updateAlphaBeta(double x, double y, double deltaTime) {
+        if (size == 1 || deltaTime <= 0) {
+            filterVelocityX = x;
+            filterVelocityY = y;
+            return;
+        }
+        double predictedX = filterVelocityX + filterAccelerationX * deltaTime;
+        double predictedY = filterVelocityY + filterAccelerationY * deltaTime;
+        double residualX = x - predictedX;
+        double residualY = y - predictedY;
+        filterVelocityX = predictedX + alpha * residualX;
+        filterVelocityY = predictedY + alpha * residualY;
+        filterAccelerationX += beta * residualX / deltaTime;
+        filterAccelerationY += beta * residualY / deltaTime;
+    }
+
+    /**
+     * This calculates the velocity and acceleration with the current way of estimating.
+     */
+    private void calculate() {
+        velocityX = velocityY = accelerationX = accelerationY = 0;
+        if (size == 0) return;
+
+        switch (mode) {
+            case MOVING_AVERAGE:
+                int newerCount = Math.min(size, xs.length / 2);
+                int olderCount = size - newerCount;
+                velocityX = newerSumX / newerCount;
+                velocityY = newerSumY / newerCount;
+                if (olderCount > 0) {
+                    double deltaTime = newerSumTime / newerCount - olderSumTime / olderCount;
+                    if (deltaTime > 0) {
+                        accelerationX = (velocityX - olderSumX / olderCount) / deltaTime;
+                        accelerationY = (velocityY - olderSumY / olderCount) / deltaTime;
+                    }
+                }
+                break;
+            case SAVITZKY_GOLAY:
+                calculateSavitzkyGolay();
+                break;
+            case ALPHA_BETA:
+                velocityX = filterVelocityX;
+                velocityY = filterVelocityY;
+                accelerationX = filterAccelerationX;
+                accelerationY = filterAccelerationY;
+                break;
+        }
+    }
+
+    /**
+     * This fits a parabola over sample age through the window by least squares, and finds its value
+     * and slope at the newest sample. A straight line is used while there are only two samples.
+     */
+    private void calculateSavitzkyGolay() {
+        double n = size;
+        if (size < 3) {
+            velocityX = xs[indexOf(0)];
+            velocityY = ys[indexOf(0)];
+            if (size == 2) {
+                double deltaTime = times[indexOf(0)] - times[indexOf(1)];
+                if (deltaTime > 0) {
+                    accelerationX = (xs[indexOf(0)] - xs[indexOf(1)]) / deltaTime;
+                    accelerationY = (ys[indexOf(0)] - ys[indexOf(1)]) / deltaTime;
+                }
+            }
+            return;
+        }
+
+        // sums of age to the power of 0 through 4, over ages 0 to n - 1
+        double s1 = n * (n - 1) / 2;
+        double s2 = (n - 1) * n * (2 * n - 1) / 6;
+        double s3 = s1 * s1;
+        double s4 = (n - 1) * n * (2 * n - 1) * (3 * (n - 1) * (n - 1) + 3 * (n - 1) - 1) / 30;
+
+        // the normal equations are symmetric, so only the first two rows of the inverse are needed
+        double c00 = s2 * s4 - s3 * s3;
+        double c01 = s2 * s3 - s1 * s4;
+        double c02 = s1 * s3 - s2 * s2;
+        double c11 = n * s4 - s2 * s2;
+        double c12 = s1 * s2 - n * s3;
+        double determinant = n * c00 + s1 * c01 + s2 * c02;
+
+        double averageSpacing = (times[indexOf(0)] - times[indexOf(size - 1)]) / (size - 1);
+        velocityX = (c00 * momentX0 + c01 * momentX1 + c02 * momentX2) / determinant;
+        velocityY = (c00 * momentY0 + c01 * momentY1 + c02 * momentY2) / determinant;
+        if (averageSpacing > 0) {
+            // age goes up going back in time, so the slope over time is the opposite of the slope over age
+            accelerationX = -(c01 * momentX0 + c11 * momentX1 + c12 * momentX2) / determinant / averageSpacing;
+            accelerationY = -(c01 * momentY0 + c11 * momentY1 + c12 * momentY2) / determinant / averageSpacing;
+        }
+    }
+
+    /**
+     * This returns how many samples are stored.
+     *
+     * @return returns the number of samples.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * This puts the estimated velocity into the specified Vector.
+     *
+     * @param out the Vector to put the velocity into.
+     * @return returns the Vector passed in, which now holds the velocity.
+     */
+    public Vector getVelocityInto(Vector out) {
+        out.setOrthogonalComponents(velocityX, velocityY);
+        return out;
+    }
+
+    /**
+     * This puts the estimated acceleration into the specified Vector.
+     *
+     * @param out the Vector to put the acceleration into.
+     * @return returns the Vector passed in, which now holds the acceleration.
+     */
+    public Vector getAccelerationInto(Vector out) {
+        out.setOrthogonalComponents(accelerationX, accelerationY);
+        return out;
+    }
+
+    /**
+     * This returns the curvature of the path the robot is driving along, from the estimated
+     * velocity and acceleration. Positive curvature is turning counter clockwise.
+     *
+     * @return returns the curvature, in 1 / inches, or NaN if the robot is moving too slowly to tell.
+     */
+    public double getCurvature() {
+        double speed = Math.hypot(velocityX, velocityY);
+        if (size < 2 || speed < MIN_CURVATURE_SPEED) return Double.NaN;
+        return (velocityX * accelerationY - velocityY * accelerationX) / (speed * speed * speed);
+    }
+}
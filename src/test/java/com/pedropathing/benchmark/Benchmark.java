@@ -0,0 +1,186 @@
+package com.pedropathing.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+
+/**
+ * This is the Benchmark class. This is one operation to time, like getting a Point on a
+ * BezierCurve, along with what is needed to time it. The operation is run for a while first so the
+ * JIT compiler has finished with it, and then it is run in batches that each take about the same
+ * time. The median time per operation across the batches is reported, along with how many bytes
+ * each operation allocated, which is read from the JVM's count of the bytes this thread has
+ * allocated.
+ *
+ * The benchmarks are run as unit tests, so they run on the same classpath as the tests, but they
+ * take a while, so they are skipped unless the pedro.benchmark system property is true. With
+ * Gradle, that is done by passing -Pbenchmark=true when running the unit tests.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public abstract class Benchmark {
+    // This is the system property that turns the benchmarks on
+    public static final String ENABLED_PROPERTY = "pedro.benchmark";
+
+    // The iteration passed into run counts up to this and starts over
+    public static final int CYCLE = 1024;
+
+    private static final long WARMUP_NANOS = 1000000000L;
+    private static final long BATCH_NANOS = 100000000L;
+    private static final int BATCHES = 10;
+
+    // The results of the operations are added into this, so the JIT can't skip the work being timed
+    private static volatile double sink;
+
+    private final String name;
+
+    /**
+     * This creates a new Benchmark.
+     *
+     * @param name the name to report the results under.
+     */
+    public Benchmark(String name) {
+        this.name = name;
+    }
+
+    /**
+     * This runs the operation being timed once. Anything the operation needs should be set up
+     * before this, so only the operation itself is timed.
+     *
+     * @param iteration which run this is, from 0 up to CYCLE - 1, which can be used to vary the input.
+     * @return returns something calculated from the result, so the work can't be skipped.
+     */
+    public abstract double run(int iteration);
+
+    /**
+     * This returns whether the benchmarks were turned on with the pedro.benchmark system property.
+     *
+     * @return returns if the benchmarks should run.
+     */
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(ENABLED_PROPERTY);
+    }
+
+    /**
+     * This returns the name the results are reported under.
+     *
+     * @return returns the name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * This warms up the operation, and then times it in batches.
+     *
+     * @return returns the Result.
+     */
+    public Result measure() {
+        double total = 0;
+        int iteration = 0;
+        long operations = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            total += run(iteration);
+            iteration = (iteration + 1) % CYCLE;
+            operations++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < WARMUP_NANOS);
+
+        long batchOperations = Math.max(1, operations * BATCH_NANOS / elapsed);
+        double[] nanosPerOperation = new double[BATCHES];
+        long allocatedBefore = getAllocatedBytes();
+        for (int batch = 0; batch < BATCHES; batch++) {
+            long batchStart = System.nanoTime();
+            for (long i = 0; i < batchOperations; i++) {
+                total += run(iteration);
+                iteration = (iteration + 1) % CYCLE;
+            }
+            nanosPerOperation[batch] = (System.nanoTime() - batchStart) / (double) batchOperations;
+        }
+        long allocated = getAllocatedBytes() - allocatedBefore;
+        sink += total;
+
+        Arrays.sort(nanosPerOperation);
+        double bytesPerOperation = allocatedBefore < 0 ? Double.NaN : allocated / (double) (BATCHES * batchOperations);
+        return new Result(name, nanosPerOperation[BATCHES / 2], bytesPerOperation);
+    }
+
+    /**
+     * This measures some Benchmarks and prints out their results, one per line.
+     *
+     * @param title the title to print above the results.
+     * @param benchmarks the Benchmarks to measure.
+     * @return returns the Results, in the same order as the Benchmarks.
+     */
+    public static Result[] report(String title, Benchmark... benchmarks) {
+        System.out.println(title);
+        Result[] results = new Result[benchmarks.length];
+        for (int i = 0; i < benchmarks.length; i++) {
+            results[i] = benchmarks[i].measure();
+            System.out.println("  " + results[i]);
+        }
+        return results;
+    }
+
+    /**
+     * This returns the number of bytes the current thread has allocated so far.
+     *
+     * @return returns the allocated bytes, or -1 if the JVM doesn't count them.
+     */
+    private static long getAllocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    /**
+     * This is the Result class. This holds how long one operation of a Benchmark took and how much
+     * it allocated.
+     */
+    public static class Result {
+        private final String name;
+        private final double nanosPerOperation;
+        private final double bytesPerOperation;
+
+        /**
+         * This creates a new Result.
+         *
+         * @param name the name of the Benchmark.
+         * @param nanosPerOperation the median time per operation, in nanoseconds.
+         * @param bytesPerOperation the bytes allocated per operation.
+         */
+        public Result(String name, double nanosPerOperation, double bytesPerOperation) {
+            this.name = name;
+            this.nanosPerOperation = nanosPerOperation;
+            this.bytesPerOperation = bytesPerOperation;
+        }
+
+        /**
+         * This returns the median time per operation.
+         *
+         * @return returns the time per operation, in nanoseconds.
+         */
+        public double getNanosPerOperation() {
+            return nanosPerOperation;
+        }
+
+        /**
+         * This returns the bytes allocated per operation.
+         *
+         * @return returns the bytes per operation, or NaN if the JVM doesn't count them.
+         */
+        public double getBytesPerOperation() {
+            return bytesPerOperation;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-48s %12.1f ns/op %10.1f B/op", name, nanosPerOperation, bytesPerOperation);
+        }
+    }
+}
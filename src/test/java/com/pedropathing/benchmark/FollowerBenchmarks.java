@@ -0,0 +1,77 @@
+package com.pedropathing.benchmark;
+
+import static org.junit.Assume.assumeTrue;
+
+import com.pedropathing.follower.DriveVectorScaler;
+import com.pedropathing.follower.Follower;
+import com.pedropathing.localization.Pose;
+import com.pedropathing.pathgen.BezierCurve;
+import com.pedropathing.pathgen.Path;
+import com.pedropathing.pathgen.Point;
+import com.pedropathing.pathgen.Vector;
+import com.pedropathing.simulation.Simulator;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This is the FollowerBenchmarks class. This times turning the Follower's vectors into wheel
+ * powers, and one whole Follower update while following a BezierCurve on the Simulator's fake
+ * hardware.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class FollowerBenchmarks {
+    public static class FConstants {
+    }
+
+    public static class LConstants {
+    }
+
+    @Before
+    public void onlyWhenEnabled() {
+        assumeTrue(Benchmark.isEnabled());
+    }
+
+    @Test
+    public void drivePowers() {
+        final DriveVectorScaler scaler = new DriveVectorScaler(new Vector(1, Math.PI / 4));
+        final Vector corrective = new Vector();
+        final Vector heading = new Vector();
+        final Vector pathing = new Vector();
+        Benchmark.report("Drive powers", new Benchmark("DriveVectorScaler.getDrivePowers") {
+            @Override
+            public double run(int iteration) {
+                double angle = iteration * 2 * Math.PI / CYCLE;
+                corrective.setOrthogonalComponents(0.1 * Math.cos(angle), 0.1 * Math.sin(angle));
+                heading.setComponents(0.2, angle);
+                pathing.setComponents(0.8, angle / 2);
+                return scaler.getDrivePowers(corrective, heading, pathing, angle)[0];
+            }
+        });
+    }
+
+    @Test
+    public void followerUpdate() {
+        final Simulator simulator = new Simulator(FConstants.class, LConstants.class);
+        try {
+            final Follower follower = simulator.getFollower();
+            final Path path = new Path(new BezierCurve(new Point(0, 0, Point.CARTESIAN), new Point(36, 0, Point.CARTESIAN), new Point(48, 36, Point.CARTESIAN)));
+            path.setLinearHeadingInterpolation(0, Math.PI / 2);
+            Benchmark.report("Follower update", new Benchmark("Simulator.step, following a BezierCurve") {
+                @Override
+                public double run(int iteration) {
+                    if (!follower.isBusy()) {
+                        simulator.setStartingPose(new Pose(0, 0, 0));
+                        follower.followPath(path, false);
+                    }
+                    simulator.step();
+                    return simulator.getSimulatedTime();
+                }
+            });
+        } finally {
+            simulator.close();
+        }
+    }
+}
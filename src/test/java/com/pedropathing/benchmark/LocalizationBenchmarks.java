@@ -0,0 +1,130 @@
+package com.pedropathing.benchmark;
+
+import static org.junit.Assume.assumeTrue;
+
+import com.pedropathing.localization.Matrix;
+import com.pedropathing.localization.OdometryKernel;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This is the LocalizationBenchmarks class. This times the math the wheel localizers use to turn
+ * the robot's own movement into movement on the field, with the Matrix math they used to do, both
+ * making new Matrices for every product and putting the products into Matrices that are reused,
+ * and with the OdometryKernel they use now.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class LocalizationBenchmarks {
+
+    @Before
+    public void onlyWhenEnabled() {
+        assumeTrue(Benchmark.isEnabled());
+    }
+
+    /**
+     * This returns the heading used on an iteration.
+     *
+     * @param iteration the iteration.
+     * @return returns the heading, in radians.
+     */
+    static double heading(int iteration) {
+        return iteration * 2 * Math.PI / Benchmark.CYCLE;
+    }
+
+    /**
+     * This returns the change in heading used on an iteration, which is sometimes small enough to
+     * use the series expansion.
+     *
+     * @param iteration the iteration.
+     * @return returns the change in heading, in radians.
+     */
+    static double deltaHeading(int iteration) {
+        return (iteration % 4 == 0 ? 0.0005 : 0.02) * (iteration % 2 == 0 ? 1 : -1);
+    }
+
+    /**
+     * This fills in the rotation Matrix for a heading, like the wheel localizers do.
+     *
+     * @param rotation the 3x3 Matrix to fill in.
+     * @param heading the heading, in radians.
+     */
+    static void setRotation(Matrix rotation, double heading) {
+        rotation.set(0, 0, Math.cos(heading));
+        rotation.set(0, 1, -Math.sin(heading));
+        rotation.set(1, 0, Math.sin(heading));
+        rotation.set(1, 1, Math.cos(heading));
+        rotation.set(2, 2, 1.0);
+    }
+
+    /**
+     * This fills in the transformation Matrix of the pose exponential for a change in heading.
+     *
+     * @param transformation the 3x3 Matrix to fill in.
+     * @param deltaHeading the change in heading, in radians.
+     */
+    static void setTransformation(Matrix transformation, double deltaHeading) {
+        if (Math.abs(deltaHeading) < 0.001) {
+            transformation.set(0, 0, 1.0 - (Math.pow(deltaHeading, 2) / 6.0));
+            transformation.set(0, 1, -deltaHeading / 2.0);
+            transformation.set(1, 0, deltaHeading / 2.0);
+            transformation.set(1, 1, 1.0 - (Math.pow(deltaHeading, 2) / 6.0));
+        } else {
+            transformation.set(0, 0, Math.sin(deltaHeading) / deltaHeading);
+            transformation.set(0, 1, (Math.cos(deltaHeading) - 1.0) / deltaHeading);
+            transformation.set(1, 0, (1.0 - Math.cos(deltaHeading)) / deltaHeading);
+            transformation.set(1, 1, Math.sin(deltaHeading) / deltaHeading);
+        }
+        transformation.set(2, 2, 1.0);
+    }
+
+    @Test
+    public void matrixMultiply() {
+        Benchmark allocating = new Benchmark("Matrix.multiply, new Matrices") {
+            @Override
+            public double run(int iteration) {
+                Matrix robotDeltas = new Matrix(3, 1);
+                robotDeltas.set(0, 0, 0.3);
+                robotDeltas.set(1, 0, -0.1);
+                robotDeltas.set(2, 0, deltaHeading(iteration));
+                Matrix rotation = new Matrix(3, 3);
+                setRotation(rotation, heading(iteration));
+                Matrix transformation = new Matrix(3, 3);
+                setTransformation(transformation, deltaHeading(iteration));
+                return Matrix.multiply(Matrix.multiply(rotation, transformation), robotDeltas).get(0, 0);
+            }
+        };
+
+        final Matrix robotDeltas = new Matrix(3, 1);
+        final Matrix rotation = new Matrix(3, 3);
+        final Matrix transformation = new Matrix(3, 3);
+        final Matrix product = new Matrix(3, 3);
+        final Matrix globalDeltas = new Matrix(3, 1);
+        Benchmark reused = new Benchmark("Matrix.multiply, reused Matrices") {
+            @Override
+            public double run(int iteration) {
+                robotDeltas.set(0, 0, 0.3);
+                robotDeltas.set(1, 0, -0.1);
+                robotDeltas.set(2, 0, deltaHeading(iteration));
+                setRotation(rotation, heading(iteration));
+                setTransformation(transformation, deltaHeading(iteration));
+                Matrix.multiply(rotation, transformation, product);
+                Matrix.multiply(product, robotDeltas, globalDeltas);
+                return globalDeltas.get(0, 0);
+            }
+        };
+
+        final OdometryKernel kernel = new OdometryKernel();
+        Benchmark closedForm = new Benchmark("OdometryKernel") {
+            @Override
+            public double run(int iteration) {
+                kernel.calculateGlobalDeltas(heading(iteration), 0.3, -0.1, deltaHeading(iteration));
+                return kernel.getDeltaX();
+            }
+        };
+
+        Benchmark.report("Wheel localizer pose exponential", allocating, reused, closedForm);
+    }
+}
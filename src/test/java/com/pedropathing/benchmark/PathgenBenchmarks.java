@@ -0,0 +1,173 @@
+package com.pedropathing.benchmark;
+
+import static org.junit.Assume.assumeTrue;
+
+import com.pedropathing.follower.FollowerConstants;
+import com.pedropathing.localization.Pose;
+import com.pedropathing.pathgen.BezierCurve;
+import com.pedropathing.pathgen.BezierCurveCoefficients;
+import com.pedropathing.pathgen.BezierLine;
+import com.pedropathing.pathgen.MathFunctions;
+import com.pedropathing.pathgen.Path;
+import com.pedropathing.pathgen.Point;
+import com.pedropathing.pathgen.Vector;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * This is the PathgenBenchmarks class. This times getting Points and derivatives on BezierCurves,
+ * setting up a BezierCurve, which finds its length and the Points to draw on the Dashboard, and
+ * finding the closest point on Paths made from lines and curves with 4 to 9 control points. The
+ * BezierCurve evaluation is also compared against summing the Bernstein basis polynomials from
+ * BezierCurveCoefficients, which is how getPoint and getDerivative used to work.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class PathgenBenchmarks {
+    private static final int MIN_DEGREE = 3;
+    private static final int MAX_DEGREE = 8;
+
+    @Before
+    public void onlyWhenEnabled() {
+        assumeTrue(Benchmark.isEnabled());
+    }
+
+    /**
+     * This returns random control points for a BezierCurve on the field.
+     *
+     * @param degree the degree of the BezierCurve, which is one less than the number of control points.
+     * @param random the Random to use.
+     * @return returns the control points.
+     */
+    static ArrayList<Point> randomControlPoints(int degree, Random random) {
+        ArrayList<Point> controlPoints = new ArrayList<>();
+        for (int i = 0; i <= degree; i++) {
+            controlPoints.add(new Point(random.nextDouble() * 144, random.nextDouble() * 144, Point.CARTESIAN));
+        }
+        return controlPoints;
+    }
+
+    /**
+     * This returns a Benchmark that finds the closest point on a Path to poses that move along it,
+     * a little off to the side, like the robot would while following it.
+     *
+     * @param name the name to report the results under.
+     * @param curve the BezierCurve to make the Path from.
+     * @return returns the Benchmark.
+     */
+    private static Benchmark closestPoint(String name, BezierCurve curve) {
+        final Path path = new Path(curve);
+        final Pose[] poses = new Pose[Benchmark.CYCLE];
+        for (int i = 0; i < poses.length; i++) {
+            Point point = curve.getPoint(i / (double) (poses.length - 1));
+            poses[i] = new Pose(point.getX() + 2 * Math.sin(i * 0.1), point.getY() + 2 * Math.cos(i * 0.1), 0);
+        }
+        final Pose closest = new Pose();
+        final int searchLimit = FollowerConstants.BEZIER_CURVE_SEARCH_LIMIT;
+        return new Benchmark(name) {
+            @Override
+            public double run(int iteration) {
+                return path.getClosestPoint(poses[iteration], searchLimit, closest).getX();
+            }
+        };
+    }
+
+    @Test
+    public void curveEvaluation() {
+        Random random = new Random(1);
+        Benchmark[] benchmarks = new Benchmark[2 * (MAX_DEGREE - MIN_DEGREE + 1)];
+        for (int degree = MIN_DEGREE; degree <= MAX_DEGREE; degree++) {
+            final BezierCurve curve = new BezierCurve(randomControlPoints(degree, random));
+            benchmarks[2 * (degree - MIN_DEGREE)] = new Benchmark("BezierCurve.getPoint, degree " + degree) {
+                @Override
+                public double run(int iteration) {
+                    return curve.getPoint(iteration / (double) (CYCLE - 1)).getX();
+                }
+            };
+            benchmarks[2 * (degree - MIN_DEGREE) + 1] = new Benchmark("BezierCurve.getDerivative, degree " + degree) {
+                @Override
+                public double run(int iteration) {
+                    return curve.getDerivative(iteration / (double) (CYCLE - 1)).getXComponent();
+                }
+            };
+        }
+        Benchmark.report("BezierCurve evaluation", benchmarks);
+    }
+
+    @Test
+    public void evaluationAgainstBernsteinBasis() {
+        Random random = new Random(4);
+        Benchmark[] benchmarks = new Benchmark[2 * 9];
+        for (int degree = 2; degree <= 10; degree++) {
+            final ArrayList<Point> controlPoints = randomControlPoints(degree, random);
+            final BezierCurve curve = new BezierCurve(controlPoints);
+            final ArrayList<BezierCurveCoefficients> coefficients = new ArrayList<>();
+            for (int i = 0; i <= degree; i++) {
+                coefficients.add(new BezierCurveCoefficients(degree, i));
+            }
+
+            benchmarks[2 * (degree - 2)] = new Benchmark("Bernstein point and derivative, degree " + degree) {
+                @Override
+                public double run(int iteration) {
+                    double t = iteration / (double) (CYCLE - 1);
+                    double x = 0;
+                    double y = 0;
+                    for (int i = 0; i < controlPoints.size(); i++) {
+                        x += coefficients.get(i).getValue(t) * controlPoints.get(i).getX();
+                        y += coefficients.get(i).getValue(t) * controlPoints.get(i).getY();
+                    }
+                    Vector derivative = new Vector();
+                    double dx = 0;
+                    double dy = 0;
+                    for (int i = 0; i < controlPoints.size() - 1; i++) {
+                        dx += coefficients.get(i).getDerivativeValue(t) * MathFunctions.subtractPoints(controlPoints.get(i + 1), controlPoints.get(i)).getX();
+                        dy += coefficients.get(i).getDerivativeValue(t) * MathFunctions.subtractPoints(controlPoints.get(i + 1), controlPoints.get(i)).getY();
+                    }
+                    derivative.setOrthogonalComponents(dx, dy);
+                    return new Point(x, y, Point.CARTESIAN).getX() + derivative.getXComponent();
+                }
+            };
+            benchmarks[2 * (degree - 2) + 1] = new Benchmark("Horner point and derivative, degree " + degree) {
+                @Override
+                public double run(int iteration) {
+                    double t = iteration / (double) (CYCLE - 1);
+                    return curve.getPoint(t).getX() + curve.getDerivative(t).getXComponent();
+                }
+            };
+        }
+        Benchmark.report("BezierCurve evaluation, Bernstein basis against Horner's method", benchmarks);
+    }
+
+    @Test
+    public void curveInitialization() {
+        Random random = new Random(2);
+        Benchmark[] benchmarks = new Benchmark[MAX_DEGREE - MIN_DEGREE + 1];
+        for (int degree = MIN_DEGREE; degree <= MAX_DEGREE; degree++) {
+            final BezierCurve curve = new BezierCurve(randomControlPoints(degree, random));
+            benchmarks[degree - MIN_DEGREE] = new Benchmark("BezierCurve.initialize, degree " + degree) {
+                @Override
+                public double run(int iteration) {
+                    curve.initialize();
+                    return curve.length();
+                }
+            };
+        }
+        Benchmark.report("BezierCurve initialization", benchmarks);
+    }
+
+    @Test
+    public void closestPoint() {
+        Random random = new Random(3);
+        Benchmark[] benchmarks = new Benchmark[MAX_DEGREE - MIN_DEGREE + 2];
+        benchmarks[0] = closestPoint("Path.getClosestPoint, line", new BezierLine(new Point(10, 20, Point.CARTESIAN), new Point(110, 90, Point.CARTESIAN)));
+        for (int degree = MIN_DEGREE; degree <= MAX_DEGREE; degree++) {
+            benchmarks[degree - MIN_DEGREE + 1] = closestPoint("Path.getClosestPoint, degree " + degree, new BezierCurve(randomControlPoints(degree, random)));
+        }
+        Benchmark.report("Path closest point", benchmarks);
+    }
+}
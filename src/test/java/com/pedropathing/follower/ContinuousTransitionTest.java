@@ -0,0 +1,183 @@
+package com.pedropathing.follower;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.pedropathing.localization.Pose;
+import com.pedropathing.pathgen.BezierLine;
+import com.pedropathing.pathgen.PathBuilder;
+import com.pedropathing.pathgen.PathChain;
+import com.pedropathing.pathgen.Point;
+import com.pedropathing.simulation.MecanumDrivetrainModel;
+import com.pedropathing.simulation.Simulator;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * This is the ContinuousTransitionTest class. This follows a PathChain of three straight Paths in a
+ * line in the Simulator and checks the wheel powers over the loops around where the Follower moves
+ * on to the second Path. With continuous PathChain transitions on, every wheel keeps driving with no
+ * jump in power and without a single zero power write, and with them off, the Follower stops the
+ * motors there like it does at the start of a PathChain.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class ContinuousTransitionTest {
+    public static class FConstants {
+    }
+
+    public static class LConstants {
+    }
+
+    // This is how many loops before and after the transition loop are looked at
+    private static final int WINDOW = 25;
+    private static final int MAXIMUM_LOOPS = 2000;
+
+    private final boolean defaultContinuousTransitions = FollowerConstants.useContinuousPathChainTransitions;
+
+    @After
+    public void restoreConstants() {
+        FollowerConstants.useContinuousPathChainTransitions = defaultContinuousTransitions;
+    }
+
+    /**
+     * This is the Transition class. This holds the wheel powers on each loop around the loop where
+     * the Follower moved on to the second Path, and how many zero power writes happened then.
+     */
+    private static class Transition {
+        // powers[WINDOW] is the transition loop
+        final double[][] powers = new double[2 * WINDOW + 1][4];
+        long zeroPowerWrites;
+
+        /**
+         * This returns the largest wheel power magnitude on a loop.
+         *
+         * @param loop the index of the loop in the window.
+         * @return returns the largest wheel power magnitude.
+         */
+        double largestPower(int loop) {
+            double power = 0;
+            for (int motor = 0; motor < 4; motor++) {
+                power = Math.max(power, Math.abs(powers[loop][motor]));
+            }
+            return power;
+        }
+
+        /**
+         * This returns the smallest wheel power magnitude on a loop.
+         *
+         * @param loop the index of the loop in the window.
+         * @return returns the smallest wheel power magnitude.
+         */
+        double smallestPower(int loop) {
+            double power = Double.POSITIVE_INFINITY;
+            for (int motor = 0; motor < 4; motor++) {
+                power = Math.min(power, Math.abs(powers[loop][motor]));
+            }
+            return power;
+        }
+
+        /**
+         * This returns the largest change in any wheel's power from one loop to the next.
+         *
+         * @param loop the index of the later loop in the window.
+         * @return returns the largest change in power.
+         */
+        double largestChange(int loop) {
+            double change = 0;
+            for (int motor = 0; motor < 4; motor++) {
+                change = Math.max(change, Math.abs(powers[loop][motor] - powers[loop - 1][motor]));
+            }
+            return change;
+        }
+    }
+
+    /**
+     * This returns the total number of zero power writes to all of the simulated motors.
+     *
+     * @param model the MecanumDrivetrainModel with the motors.
+     * @return returns the number of zero power writes.
+     */
+    private static long zeroPowerWrites(MecanumDrivetrainModel model) {
+        long writes = 0;
+        for (int motor = 0; motor < 4; motor++) {
+            writes += model.getMotor(motor).getZeroPowerWriteCount();
+        }
+        return writes;
+    }
+
+    /**
+     * This follows the PathChain in the Simulator and records the wheel powers on every loop from
+     * WINDOW loops before the Follower moved on to the second Path until WINDOW loops after.
+     *
+     * @param continuous whether to use continuous PathChain transitions.
+     * @return returns the wheel powers and zero power writes around the transition.
+     */
+    private static Transition followAcrossTransition(boolean continuous) {
+        FollowerConstants.useContinuousPathChainTransitions = continuous;
+        Simulator simulator = new Simulator(FConstants.class, LConstants.class);
+        try {
+            simulator.setStartingPose(new Pose(0, 0, 0));
+            PathChain chain = new PathBuilder()
+                    .addPath(new BezierLine(new Point(0, 0, Point.CARTESIAN), new Point(30, 0, Point.CARTESIAN)))
+                    .setConstantHeadingInterpolation(0)
+                    .addPath(new BezierLine(new Point(30, 0, Point.CARTESIAN), new Point(60, 0, Point.CARTESIAN)))
+                    .setConstantHeadingInterpolation(0)
+                    .addPath(new BezierLine(new Point(60, 0, Point.CARTESIAN), new Point(90, 0, Point.CARTESIAN)))
+                    .setConstantHeadingInterpolation(0)
+                    .build();
+            Follower follower = simulator.getFollower();
+            MecanumDrivetrainModel model = simulator.getModel();
+            follower.followPath(chain, false);
+
+            double[][] powers = new double[MAXIMUM_LOOPS][4];
+            long[] zeroPowerWrites = new long[MAXIMUM_LOOPS];
+            int transitionLoop = -1;
+            for (int i = 0; i < MAXIMUM_LOOPS; i++) {
+                simulator.step();
+                for (int motor = 0; motor < 4; motor++) {
+                    powers[i][motor] = model.getMotor(motor).getPower();
+                }
+                zeroPowerWrites[i] = zeroPowerWrites(model);
+
+                if (transitionLoop < 0 && follower.getCurrentPathNumber() == 1) transitionLoop = i;
+                if (transitionLoop >= 0 && i == transitionLoop + WINDOW) {
+                    assertTrue("the Path ended too soon after the transition", follower.isBusy());
+                    assertTrue("the transition came too soon after the start", transitionLoop > WINDOW);
+
+                    Transition transition = new Transition();
+                    for (int loop = 0; loop <= 2 * WINDOW; loop++) {
+                        transition.powers[loop] = powers[transitionLoop - WINDOW + loop];
+                    }
+                    transition.zeroPowerWrites = zeroPowerWrites[i] - zeroPowerWrites[transitionLoop - WINDOW - 1];
+                    return transition;
+                }
+            }
+            throw new AssertionError("the Follower never moved on to the second Path");
+        } finally {
+            simulator.close();
+        }
+    }
+
+    @Test
+    public void wheelsKeepDrivingAcrossTheBoundary() {
+        Transition transition = followAcrossTransition(true);
+        assertEquals(0, transition.zeroPowerWrites);
+
+        for (int loop = 0; loop <= 2 * WINDOW; loop++) {
+            assertTrue("a wheel slowed down on loop " + (loop - WINDOW), transition.smallestPower(loop) > 0.9);
+            if (loop > 0) {
+                assertTrue("a wheel's power jumped on loop " + (loop - WINDOW), transition.largestChange(loop) < 0.05);
+            }
+        }
+    }
+
+    @Test
+    public void wheelsStopAtTheBoundaryWhenOff() {
+        Transition transition = followAcrossTransition(false);
+        assertTrue(transition.zeroPowerWrites > 0);
+        assertEquals(0, transition.largestPower(WINDOW), 0);
+    }
+}
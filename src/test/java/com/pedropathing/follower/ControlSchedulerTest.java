@@ -0,0 +1,249 @@
+package com.pedropathing.follower;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.pedropathing.simulation.Simulator;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This is the ControlSchedulerTest class. This checks that posted commands run on the control
+ * thread in the order they were posted, that only the newest teleop movement vectors are used, that
+ * stopping waits for the thread and hands the Follower back, and that a failure on the control
+ * thread stops the thread, runs what was still posted, and is thrown again from Follower.update.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class ControlSchedulerTest {
+    private static final long TIMEOUT_MILLIS = 2000;
+
+    public static class FConstants {
+    }
+
+    public static class LConstants {
+    }
+
+    /**
+     * This is a Follower that records the teleop movement vectors it is given on the control thread.
+     */
+    private static class RecordingFollower extends Follower {
+        private final List<double[]> teleopVectors = Collections.synchronizedList(new ArrayList<double[]>());
+
+        /**
+         * This creates a new RecordingFollower on the Simulator's hardware.
+         *
+         * @param simulator the Simulator to get the hardware from.
+         */
+        RecordingFollower(Simulator simulator) {
+            super(simulator.getHardwareMap(), simulator.getLocalizer(), FConstants.class, LConstants.class);
+        }
+
+        @Override
+        public void setTeleOpMovementVectors(double forwardDrive, double lateralDrive, double heading, boolean robotCentric) {
+            ControlScheduler scheduler = getControlScheduler();
+            if (scheduler != null && scheduler.isControlThread()) {
+                teleopVectors.add(new double[]{forwardDrive, lateralDrive, heading, robotCentric ? 1 : 0});
+            }
+            super.setTeleOpMovementVectors(forwardDrive, lateralDrive, heading, robotCentric);
+        }
+    }
+
+    private Simulator simulator;
+
+    @Before
+    public void setUp() {
+        simulator = new Simulator(FConstants.class, LConstants.class);
+    }
+
+    @After
+    public void tearDown() {
+        simulator.getFollower().stopControlScheduler();
+        simulator.close();
+    }
+
+    /**
+     * This waits for the ControlScheduler's thread to stop.
+     *
+     * @param scheduler the ControlScheduler to wait for.
+     */
+    private static void waitUntilStopped(ControlScheduler scheduler) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MILLIS);
+        while (scheduler.isRunning()) {
+            if (System.nanoTime() > deadline) {
+                fail("the control thread never stopped");
+            }
+            LockSupport.parkNanos(1000000);
+        }
+    }
+
+    /**
+     * This returns a command that holds the control thread until it is released.
+     *
+     * @param holding counted down once the control thread is being held.
+     * @param released set to let the control thread go.
+     * @return returns the command.
+     */
+    private static Runnable hold(final CountDownLatch holding, final AtomicBoolean released) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                holding.countDown();
+                while (!released.get()) {
+                    LockSupport.parkNanos(100000);
+                }
+            }
+        };
+    }
+
+    @Test
+    public void commandsRunInOrderOnTheControlThread() throws InterruptedException {
+        final ControlScheduler scheduler = simulator.getFollower().startControlScheduler(1000);
+        final List<Integer> order = Collections.synchronizedList(new ArrayList<Integer>());
+        final AtomicBoolean offThread = new AtomicBoolean();
+        final CountDownLatch done = new CountDownLatch(1);
+
+        for (int i = 0; i < 100; i++) {
+            final int index = i;
+            scheduler.post(new Runnable() {
+                @Override
+                public void run() {
+                    if (!scheduler.isControlThread()) {
+                        offThread.set(true);
+                    }
+                    order.add(index);
+                    if (index == 99) {
+                        done.countDown();
+                    }
+                }
+            });
+        }
+
+        assertTrue(done.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+        assertFalse(offThread.get());
+        assertEquals(100, order.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, (int) order.get(i));
+        }
+    }
+
+    @Test
+    public void onlyTheNewestTeleopVectorsAreUsed() throws InterruptedException {
+        RecordingFollower follower = new RecordingFollower(simulator);
+        ControlScheduler scheduler = follower.startControlScheduler(1000);
+        try {
+            CountDownLatch holding = new CountDownLatch(1);
+            AtomicBoolean released = new AtomicBoolean();
+            scheduler.post(hold(holding, released));
+            assertTrue(holding.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+
+            follower.setTeleOpMovementVectors(0.1, 0, 0, true);
+            follower.setTeleOpMovementVectors(0.2, 0, 0, true);
+            follower.setTeleOpMovementVectors(0.3, 0.4, 0.5, false);
+            assertTrue(follower.teleopVectors.isEmpty());
+            released.set(true);
+
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MILLIS);
+            while (follower.teleopVectors.isEmpty() && System.nanoTime() < deadline) {
+                LockSupport.parkNanos(1000000);
+            }
+            // give the thread a few more updates to show the older values never come through
+            Thread.sleep(20);
+
+            assertEquals(1, follower.teleopVectors.size());
+            double[] vectors = follower.teleopVectors.get(0);
+            assertEquals(0.3, vectors[0], 0);
+            assertEquals(0.4, vectors[1], 0);
+            assertEquals(0.5, vectors[2], 0);
+            assertEquals(0, vectors[3], 0);
+        } finally {
+            follower.stopControlScheduler();
+        }
+    }
+
+    @Test
+    public void stopWaitsForTheThreadAndHandsTheFollowerBack() {
+        ControlScheduler scheduler = simulator.getFollower().startControlScheduler(1000);
+        final AtomicBoolean ran = new AtomicBoolean();
+        scheduler.post(new Runnable() {
+            @Override
+            public void run() {
+                ran.set(true);
+            }
+        });
+
+        simulator.getFollower().stopControlScheduler();
+        assertFalse(scheduler.isRunning());
+        assertTrue(ran.get());
+        long updates = scheduler.getUpdateCount();
+
+        final Thread testThread = Thread.currentThread();
+        final AtomicBoolean ranInline = new AtomicBoolean();
+        scheduler.post(new Runnable() {
+            @Override
+            public void run() {
+                ranInline.set(Thread.currentThread() == testThread);
+            }
+        });
+        assertTrue(ranInline.get());
+
+        simulator.step();
+        assertEquals(updates, scheduler.getUpdateCount());
+    }
+
+    @Test
+    public void failureStopsTheThreadAndIsThrownFromUpdate() throws InterruptedException {
+        Follower follower = simulator.getFollower();
+        ControlScheduler scheduler = follower.startControlScheduler(1000);
+        final RuntimeException exception = new RuntimeException("test failure");
+        final CountDownLatch holding = new CountDownLatch(1);
+        final AtomicBoolean released = new AtomicBoolean();
+        final Runnable hold = hold(holding, released);
+        scheduler.post(new Runnable() {
+            @Override
+            public void run() {
+                hold.run();
+                throw exception;
+            }
+        });
+        assertTrue(holding.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+
+        final AtomicBoolean leftoverRan = new AtomicBoolean();
+        scheduler.post(new Runnable() {
+            @Override
+            public void run() {
+                leftoverRan.set(true);
+            }
+        });
+        released.set(true);
+        waitUntilStopped(scheduler);
+
+        assertTrue(leftoverRan.get());
+        assertSame(exception, scheduler.getFailure());
+        try {
+            follower.update();
+            fail("update should throw the failure again");
+        } catch (RuntimeException e) {
+            assertSame(exception, e.getCause());
+        }
+
+        follower.stopControlScheduler();
+        assertNull(scheduler.getFailure());
+        follower.update();
+    }
+}
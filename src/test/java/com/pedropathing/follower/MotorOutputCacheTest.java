@@ -0,0 +1,134 @@
+package com.pedropathing.follower;
+
+import static org.junit.Assert.assertEquals;
+
+import com.pedropathing.util.BulkReadManager;
+import com.pedropathing.util.Clock;
+import com.pedropathing.util.CountingMotor;
+import com.qualcomm.robotcore.hardware.DcMotorEx;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This is the MotorOutputCacheTest class. This checks that the MotorOutputCache only writes the
+ * motors whose powers changed enough, or that are due for a refresh, by counting the writes that
+ * reach fake motors.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class MotorOutputCacheTest {
+    private CountingMotor[] motors;
+    private BulkReadManager bulkReadManager;
+    private MotorOutputCache cache;
+
+    @Before
+    public void setUp() {
+        Clock.useSimulatedTime();
+        motors = new CountingMotor[4];
+        List<DcMotorEx> list = new ArrayList<>();
+        for (int i = 0; i < motors.length; i++) {
+            motors[i] = new CountingMotor();
+            list.add(motors[i].getMotor());
+        }
+        bulkReadManager = new BulkReadManager(new HardwareMap(null, null));
+        cache = new MotorOutputCache(list, bulkReadManager);
+        cache.setThreshold(0.01);
+        cache.setRefreshInterval(0.5);
+    }
+
+    @After
+    public void tearDown() {
+        Clock.useSystemTime();
+    }
+
+    /**
+     * This adds up the power writes that reached the fake motors.
+     *
+     * @return returns the total number of writes.
+     */
+    private int totalMotorWrites() {
+        int writes = 0;
+        for (CountingMotor motor : motors) {
+            writes += motor.getPowerWrites();
+        }
+        return writes;
+    }
+
+    @Test
+    public void firstPowersAreAlwaysWritten() {
+        assertEquals(4, cache.setPowers(new double[]{0, 0, 0, 0}, 1));
+        assertEquals(4, totalMotorWrites());
+    }
+
+    @Test
+    public void unchangedPowersAreSkipped() {
+        cache.setPowers(new double[]{0.5, 0.5, -0.5, -0.5}, 1);
+        Clock.advance(20000000);
+        assertEquals(0, cache.setPowers(new double[]{0.5, 0.505, -0.5, -0.5}, 1));
+        assertEquals(4, totalMotorWrites());
+        assertEquals(4, cache.getTotalSkips());
+    }
+
+    @Test
+    public void onlyChangedPowersAreWritten() {
+        cache.setPowers(new double[]{0.5, 0.5, -0.5, -0.5}, 1);
+        Clock.advance(20000000);
+        assertEquals(1, cache.setPowers(new double[]{0.5, 0.8, -0.5, -0.5}, 1));
+        assertEquals(2, motors[1].getPowerWrites());
+        assertEquals(0.8, motors[1].getPower(), 0);
+        assertEquals(1, motors[0].getPowerWrites());
+        assertEquals(5, bulkReadManager.getWriteCount());
+    }
+
+    @Test
+    public void voltageScalingIsAppliedBeforeTheThreshold() {
+        cache.setPowers(new double[]{0.5, 0.5, 0.5, 0.5}, 1);
+        assertEquals(4, cache.setPowers(new double[]{0.5, 0.5, 0.5, 0.5}, 1.2));
+        assertEquals(0.6, motors[2].getPower(), 1e-12);
+    }
+
+    @Test
+    public void stalePowersAreRefreshed() {
+        cache.setPowers(new double[]{0.5, 0.5, 0.5, 0.5}, 1);
+        Clock.advance(400000000);
+        assertEquals(0, cache.setPowers(new double[]{0.5, 0.5, 0.5, 0.5}, 1));
+        Clock.advance(200000000);
+        assertEquals(4, cache.setPowers(new double[]{0.5, 0.5, 0.5, 0.5}, 1));
+        assertEquals(8, totalMotorWrites());
+    }
+
+    @Test
+    public void negativeRefreshIntervalNeverRefreshes() {
+        cache.setRefreshInterval(-1);
+        cache.setPowers(new double[]{0.5, 0.5, 0.5, 0.5}, 1);
+        Clock.advance(10000000000L);
+        assertEquals(0, cache.setPowers(new double[]{0.5, 0.5, 0.5, 0.5}, 1));
+    }
+
+    @Test
+    public void stopAndInvalidateWriteEveryMotor() {
+        cache.setPowers(new double[]{0, 0, 0, 0}, 1);
+        cache.stop();
+        assertEquals(8, totalMotorWrites());
+        cache.invalidate();
+        assertEquals(4, cache.setPowers(new double[]{0, 0, 0, 0}, 1));
+        assertEquals(0, cache.getLastPower(0), 0);
+        assertEquals(12, totalMotorWrites());
+    }
+
+    @Test
+    public void powersAreNeverReadBack() {
+        cache.setPowers(new double[]{0.1, 0.2, 0.3, 0.4}, 1);
+        cache.setPowers(new double[]{0.4, 0.3, 0.2, 0.1}, 1);
+        for (CountingMotor motor : motors) {
+            assertEquals(0, motor.getPowerReads());
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.pedropathing.localization;
+
+import com.pedropathing.util.Clock;
+import com.qualcomm.robotcore.hardware.IMU;
+
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+import org.firstinspires.ftc.robotcore.external.navigation.YawPitchRollAngles;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This is the FakeIMU class. This is a fake IMU whose yaw is set by the test, and which can be made
+ * to throw, to take a while to read, or to hold each read until the test lets it through, so the
+ * test decides exactly when each sample is taken. Everything else the IMU is asked for returns a
+ * default value.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class FakeIMU implements InvocationHandler {
+    private final IMU imu;
+    private final Semaphore permits = new Semaphore(0);
+    private final AtomicInteger reads = new AtomicInteger();
+
+    private volatile double yaw;
+    private volatile boolean failing;
+    private volatile long delayNanos;
+    private volatile boolean gated;
+    private volatile boolean waiting;
+
+    /**
+     * This creates a new FakeIMU with a yaw of zero.
+     */
+    public FakeIMU() {
+        imu = (IMU) Proxy.newProxyInstance(IMU.class.getClassLoader(), new Class<?>[]{IMU.class}, this);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        String name = method.getName();
+        if (name.equals("getRobotYawPitchRollAngles")) {
+            return read();
+        } else if (name.equals("resetYaw")) {
+            yaw = 0;
+            return null;
+        } else if (name.equals("hashCode")) {
+            return System.identityHashCode(proxy);
+        } else if (name.equals("equals")) {
+            return proxy == args[0];
+        } else if (name.equals("toString")) {
+            return "FakeIMU@" + Integer.toHexString(System.identityHashCode(proxy));
+        }
+
+        Class<?> type = method.getReturnType();
+        if (type == boolean.class) return false;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == double.class) return 0.0;
+        if (type == float.class) return 0f;
+        return null;
+    }
+
+    /**
+     * This does one read of the fake IMU, waiting for the test to let it through if it is gated.
+     *
+     * @return returns the yaw, pitch, and roll, with the yaw the test set.
+     */
+    private YawPitchRollAngles read() {
+        if (gated) {
+            waiting = true;
+            try {
+                while (!permits.tryAcquire(1, TimeUnit.MILLISECONDS)) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new RuntimeException("interrupted while waiting for the test");
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("interrupted while waiting for the test");
+            } finally {
+                waiting = false;
+            }
+        }
+        if (delayNanos > 0) {
+            LockSupport.parkNanos(delayNanos);
+        }
+        reads.incrementAndGet();
+        if (failing) {
+            throw new RuntimeException("fake I2C failure");
+        }
+        return new YawPitchRollAngles(AngleUnit.RADIANS, yaw, 0, 0, Clock.nanoTime());
+    }
+
+    /**
+     * This returns the fake IMU.
+     *
+     * @return returns the IMU.
+     */
+    public IMU getIMU() {
+        return imu;
+    }
+
+    /**
+     * This sets the yaw the fake IMU reads.
+     *
+     * @param yaw the yaw, in radians.
+     */
+    public void setYaw(double yaw) {
+        this.yaw = yaw;
+    }
+
+    /**
+     * This sets whether reads throw.
+     *
+     * @param failing whether reads throw.
+     */
+    public void setFailing(boolean failing) {
+        this.failing = failing;
+    }
+
+    /**
+     * This sets how long each read takes.
+     *
+     * @param delayNanos the time each read takes, in nanoseconds.
+     */
+    public void setDelay(long delayNanos) {
+        this.delayNanos = delayNanos;
+    }
+
+    /**
+     * This sets whether each read waits for the test to let it through with release.
+     *
+     * @param gated whether reads wait for the test.
+     */
+    public void setGated(boolean gated) {
+        this.gated = gated;
+    }
+
+    /**
+     * This lets one gated read through.
+     */
+    public void release() {
+        permits.release();
+    }
+
+    /**
+     * This waits until a read is waiting to be let through.
+     *
+     * @param timeoutMillis the longest to wait for, in milliseconds.
+     * @return returns whether a read is waiting.
+     */
+    public boolean awaitWaitingRead(long timeoutMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (!waiting || permits.availablePermits() > 0) {
+            if (System.nanoTime() > deadline) return false;
+            LockSupport.parkNanos(100000);
+        }
+        return true;
+    }
+
+    /**
+     * This returns the number of reads that got past the gate and the delay.
+     *
+     * @return returns the number of reads.
+     */
+    public int getReads() {
+        return reads.get();
+    }
+}
@@ -0,0 +1,191 @@
+package com.pedropathing.localization;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import com.qualcomm.robotcore.hardware.I2cDeviceSynchSimple;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * This is the GoBildaPinpointDriverTest class. This checks that the GoBildaPinpointDriver decodes
+ * every field of its bulk reads, only reads as many bytes as the chosen read needs, and keeps its
+ * last values when a read comes back short, using a fake I2cDeviceSynchSimple that returns canned
+ * bytes.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class GoBildaPinpointDriverTest {
+    private static final float HEADING_ONLY_VALUE = 2.5f;
+
+    private ByteBuffer bulkRead;
+    private int lastReadLength;
+    // When this isn't negative, reads come back with only this many bytes
+    private int shortReadLength = -1;
+    private GoBildaPinpointDriver driver;
+
+    @Before
+    public void setUp() {
+        bulkRead = ByteBuffer.allocate(40).order(ByteOrder.LITTLE_ENDIAN);
+        writeBulkRead(1, 800, 1234, -55, 254, -508, 1.5f, 25.4f, 50.8f, 0.25f);
+
+        I2cDeviceSynchSimple device = (I2cDeviceSynchSimple) Proxy.newProxyInstance(I2cDeviceSynchSimple.class.getClassLoader(),
+                new Class<?>[]{I2cDeviceSynchSimple.class}, new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        if (method.getName().equals("read") && args != null && args.length == 2) {
+                            return read((Integer) args[0], (Integer) args[1]);
+                        }
+                        Class<?> type = method.getReturnType();
+                        if (type == boolean.class) return false;
+                        if (type == int.class) return 0;
+                        return null;
+                    }
+                });
+        driver = new GoBildaPinpointDriver(device, true);
+    }
+
+    /**
+     * This fills in the canned bulk read, in the order the Pinpoint sends it. Distances are in
+     * millimeters and angles are in radians.
+     *
+     * @param status the device status.
+     * @param loopTime the loop time, in microseconds.
+     * @param xEncoder the x encoder value, in ticks.
+     * @param yEncoder the y encoder value, in ticks.
+     * @param x the x position.
+     * @param y the y position.
+     * @param heading the heading.
+     * @param xVelocity the x velocity.
+     * @param yVelocity the y velocity.
+     * @param headingVelocity the heading velocity.
+     */
+    private void writeBulkRead(int status, int loopTime, int xEncoder, int yEncoder, float x, float y, float heading,
+                               float xVelocity, float yVelocity, float headingVelocity) {
+        bulkRead.clear();
+        bulkRead.putInt(status).putInt(loopTime).putInt(xEncoder).putInt(yEncoder)
+                .putFloat(x).putFloat(y).putFloat(heading)
+                .putFloat(xVelocity).putFloat(yVelocity).putFloat(headingVelocity);
+    }
+
+    /**
+     * This is what the fake device returns for a read. A four byte read is the heading register,
+     * and anything else is the start of the bulk read.
+     *
+     * @param register the register read from.
+     * @param length the number of bytes read.
+     * @return returns a new array, like the SDK does.
+     */
+    private byte[] read(int register, int length) {
+        lastReadLength = length;
+        byte[] bytes = new byte[length];
+        if (length == 4) {
+            ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putFloat(HEADING_ONLY_VALUE);
+        } else {
+            System.arraycopy(bulkRead.array(), 0, bytes, 0, length);
+        }
+        if (shortReadLength >= 0 && shortReadLength < length) {
+            byte[] shortBytes = new byte[shortReadLength];
+            System.arraycopy(bytes, 0, shortBytes, 0, shortReadLength);
+            return shortBytes;
+        }
+        return bytes;
+    }
+
+    @Test
+    public void fullReadDecodesEveryField() {
+        driver.update();
+
+        assertEquals(40, lastReadLength);
+        assertEquals(GoBildaPinpointDriver.DeviceStatus.READY, driver.getDeviceStatus());
+        assertEquals(800, driver.getLoopTime());
+        assertEquals(1234, driver.getEncoderX());
+        assertEquals(-55, driver.getEncoderY());
+
+        Pose position = new Pose();
+        assertSame(position, driver.getPositionInto(position));
+        assertEquals(10, position.getX(), 1e-6);
+        assertEquals(-20, position.getY(), 1e-6);
+        assertEquals(1.5, position.getHeading(), 1e-6);
+
+        Pose velocity = driver.getVelocityInto(new Pose());
+        assertEquals(1, velocity.getX(), 1e-6);
+        assertEquals(2, velocity.getY(), 1e-6);
+        assertEquals(0.25, velocity.getHeading(), 1e-6);
+    }
+
+    @Test
+    public void intoAccessorsMatchTheOldOnes() {
+        driver.update();
+        Pose position = driver.getPositionInto(new Pose());
+        Pose velocity = driver.getVelocityInto(new Pose());
+        assertEquals(driver.getPosition().getX(), position.getX(), 0);
+        assertEquals(driver.getPosition().getY(), position.getY(), 0);
+        assertEquals(driver.getPosition().getHeading(), position.getHeading(), 0);
+        assertEquals(driver.getVelocity().getX(), velocity.getX(), 0);
+        assertEquals(driver.getVelocity().getY(), velocity.getY(), 0);
+        assertEquals(driver.getVelocity().getHeading(), velocity.getHeading(), 0);
+    }
+
+    @Test
+    public void positionOnlyReadSkipsTheVelocity() {
+        driver.update();
+        writeBulkRead(1, 900, 1, 2, 508, 762, 0.5f, 127, 127, 1);
+        driver.setBulkReadData(GoBildaPinpointDriver.readData.ONLY_UPDATE_POSITION);
+        driver.update();
+
+        assertEquals(28, lastReadLength);
+        assertEquals(900, driver.getLoopTime());
+        assertEquals(20, driver.getPositionInto(new Pose()).getX(), 1e-6);
+        assertEquals(30, driver.getPositionInto(new Pose()).getY(), 1e-6);
+        assertEquals(1, driver.getVelocityInto(new Pose()).getX(), 1e-6);
+    }
+
+    @Test
+    public void headingOnlyReadOnlyChangesTheHeading() {
+        driver.update();
+        driver.update(GoBildaPinpointDriver.readData.ONLY_UPDATE_HEADING);
+
+        assertEquals(4, lastReadLength);
+        assertEquals(HEADING_ONLY_VALUE, driver.getHeading(), 1e-6);
+        assertEquals(1234, driver.getEncoderX());
+        assertEquals(10, driver.getPositionInto(new Pose()).getX(), 1e-6);
+    }
+
+    @Test
+    public void shortReadsKeepTheLastValues() {
+        driver.update();
+        writeBulkRead(1, 900, 1, 2, 508, 762, 0.5f, 127, 127, 1);
+
+        shortReadLength = 12;
+        driver.update();
+        assertEquals(800, driver.getLoopTime());
+        assertEquals(1234, driver.getEncoderX());
+        assertEquals(10, driver.getPositionInto(new Pose()).getX(), 1e-6);
+        assertEquals(1, driver.getVelocityInto(new Pose()).getX(), 1e-6);
+
+        driver.setBulkReadData(GoBildaPinpointDriver.readData.ONLY_UPDATE_POSITION);
+        driver.update();
+        assertEquals(1234, driver.getEncoderX());
+        assertEquals(-20, driver.getPositionInto(new Pose()).getY(), 1e-6);
+
+        shortReadLength = 2;
+        driver.update(GoBildaPinpointDriver.readData.ONLY_UPDATE_HEADING);
+        assertEquals(1.5, driver.getHeading(), 1e-6);
+
+        shortReadLength = -1;
+        driver.setBulkReadData(GoBildaPinpointDriver.readData.UPDATE_POSITION_AND_VELOCITY);
+        driver.update();
+        assertEquals(900, driver.getLoopTime());
+        assertEquals(20, driver.getPositionInto(new Pose()).getX(), 1e-6);
+        assertEquals(5, driver.getVelocityInto(new Pose()).getX(), 1e-6);
+    }
+}
@@ -0,0 +1,143 @@
+package com.pedropathing.localization;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This is the IMUSamplerTest class. This reads a FakeIMU through an IMUSampler and checks the yaw
+ * and total yaw it publishes, that a reset doesn't change the total yaw, and that an IMU that keeps
+ * failing leaves the last sample in place with a failure flag instead of making the reader wait on
+ * the IMU, even when the thread has to be started again.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class IMUSamplerTest {
+    private static final long TIMEOUT_MILLIS = 2000;
+
+    private FakeIMU fakeIMU;
+    private IMUSampler sampler;
+
+    @Before
+    public void setUp() {
+        fakeIMU = new FakeIMU();
+        sampler = new IMUSampler(fakeIMU.getIMU(), 1000);
+    }
+
+    @After
+    public void tearDown() {
+        fakeIMU.setDelay(0);
+        sampler.stop();
+    }
+
+    /**
+     * This waits until the sampler has taken at least some number of samples.
+     *
+     * @param count the number of samples to wait for.
+     */
+    private void waitForSamples(long count) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MILLIS);
+        while (sampler.getSampleCount() < count) {
+            if (System.nanoTime() > deadline) {
+                fail("the sampler never took " + count + " samples");
+            }
+            LockSupport.parkNanos(100000);
+        }
+    }
+
+    /**
+     * This waits until the sampler is or isn't failing.
+     *
+     * @param failing whether to wait for the sampler to be failing.
+     */
+    private void waitForFailing(boolean failing) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MILLIS);
+        while ((sampler.getFailure() != null) != failing) {
+            if (System.nanoTime() > deadline) {
+                fail(failing ? "the sampler never started failing" : "the sampler never recovered");
+            }
+            LockSupport.parkNanos(100000);
+        }
+    }
+
+    @Test
+    public void startTakesTheFirstSample() {
+        fakeIMU.setYaw(0.5);
+        sampler.start();
+
+        IMUSample sample = sampler.read(new IMUSample());
+        assertTrue(sample.getSampleCount() >= 1);
+        assertEquals(0.5, sample.getYaw(), 0);
+        assertEquals(0, sample.getTotalYaw(), 0);
+        assertFalse(sample.isFailing());
+    }
+
+    @Test
+    public void totalYawKeepsCountingAcrossTheWrap() {
+        fakeIMU.setYaw(3);
+        sampler.start();
+        fakeIMU.setYaw(-3);
+        // the sample after the next one was started after the yaw changed
+        waitForSamples(sampler.getSampleCount() + 2);
+
+        IMUSample sample = sampler.read(new IMUSample());
+        assertEquals(-3, sample.getYaw(), 0);
+        assertEquals(2 * Math.PI - 6, sample.getTotalYaw(), 1e-12);
+    }
+
+    @Test
+    public void resetDoesNotChangeTheTotalYaw() {
+        sampler.start();
+        fakeIMU.setYaw(1);
+        waitForSamples(sampler.getSampleCount() + 2);
+        sampler.resetYaw();
+        waitForSamples(sampler.getSampleCount() + 2);
+
+        IMUSample sample = sampler.read(new IMUSample());
+        assertEquals(0, sample.getYaw(), 0);
+        assertEquals(1, sample.getTotalYaw(), 1e-12);
+    }
+
+    @Test
+    public void failingIMUKeepsTheLastSampleWithoutBlocking() {
+        fakeIMU.setYaw(0.7);
+        sampler.start();
+        waitForSamples(2);
+        fakeIMU.setFailing(true);
+        waitForFailing(true);
+
+        IMUSample sample = sampler.read(new IMUSample());
+        assertTrue(sample.isFailing());
+        assertNotNull(sampler.getFailure());
+        assertEquals(0.7, sample.getYaw(), 0);
+        long lastGoodCount = sample.getSampleCount();
+
+        // starting the thread again must not read the slow, broken IMU on the reading thread
+        sampler.stop();
+        fakeIMU.setDelay(TimeUnit.MILLISECONDS.toNanos(500));
+        long start = System.nanoTime();
+        sampler.read(sample);
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(100));
+        assertTrue(sampler.isRunning());
+        assertTrue(sample.isFailing());
+        assertEquals(lastGoodCount, sample.getSampleCount());
+
+        fakeIMU.setDelay(0);
+        fakeIMU.setFailing(false);
+        waitForFailing(false);
+        waitForSamples(lastGoodCount + 1);
+        sampler.read(sample);
+        assertFalse(sample.isFailing());
+        assertEquals(0.7, sample.getYaw(), 0);
+    }
+}
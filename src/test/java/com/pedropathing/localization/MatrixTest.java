@@ -0,0 +1,232 @@
+package com.pedropathing.localization;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * This is the MatrixTest class. This checks the Matrix operations against straightforward 2D Array
+ * math, including when the output is one of the inputs, and checks the solves and inverses by
+ * multiplying their results back out.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class MatrixTest {
+    private static final double TOLERANCE = 1e-9;
+
+    /**
+     * This makes a Matrix with random elements between -1 and 1.
+     *
+     * @param random the random number generator.
+     * @param rows the number of rows.
+     * @param columns the number of columns.
+     * @return returns the Matrix.
+     */
+    private static Matrix random(Random random, int rows, int columns) {
+        Matrix matrix = new Matrix(rows, columns);
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                matrix.set(i, j, random.nextDouble() * 2 - 1);
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * This makes a random symmetric positive definite Matrix, like a covariance.
+     *
+     * @param random the random number generator.
+     * @param size the number of rows and columns.
+     * @return returns the Matrix.
+     */
+    private static Matrix randomPositiveDefinite(Random random, int size) {
+        Matrix a = random(random, size, size);
+        Matrix output = new Matrix();
+        Matrix.multiplyTransposed(a, a, output);
+        output.add(Matrix.identity(size));
+        return output;
+    }
+
+    /**
+     * This multiplies two 2D Arrays the long way.
+     *
+     * @param one the first Array.
+     * @param two the second Array.
+     * @return returns the product.
+     */
+    private static double[][] multiply(double[][] one, double[][] two) {
+        double[][] product = new double[one.length][two[0].length];
+        for (int i = 0; i < one.length; i++) {
+            for (int j = 0; j < two[0].length; j++) {
+                for (int k = 0; k < two.length; k++) {
+                    product[i][j] += one[i][k] * two[k][j];
+                }
+            }
+        }
+        return product;
+    }
+
+    /**
+     * This checks that a Matrix has the same size and elements as a 2D Array.
+     *
+     * @param expected the expected elements.
+     * @param actual the Matrix.
+     */
+    private static void assertMatrixEquals(double[][] expected, Matrix actual) {
+        assertEquals(expected.length, actual.getRows());
+        assertEquals(expected[0].length, actual.getColumns());
+        for (int i = 0; i < expected.length; i++) {
+            for (int j = 0; j < expected[0].length; j++) {
+                assertEquals(expected[i][j], actual.get(i, j), TOLERANCE);
+            }
+        }
+    }
+
+    @Test
+    public void multiplyMatchesArrayMath() {
+        Random random = new Random(1);
+        Matrix one = random(random, 3, 5);
+        Matrix two = random(random, 5, 2);
+        double[][] expected = multiply(one.getMatrix(), two.getMatrix());
+
+        assertMatrixEquals(expected, Matrix.multiply(one, two));
+        Matrix output = new Matrix();
+        assertTrue(Matrix.multiply(one, two, output));
+        assertMatrixEquals(expected, output);
+    }
+
+    @Test
+    public void multiplyIntoAnInput() {
+        Random random = new Random(2);
+        Matrix one = random(random, 4, 4);
+        Matrix two = random(random, 4, 3);
+        double[][] expected = multiply(one.getMatrix(), two.getMatrix());
+
+        assertTrue(Matrix.multiply(one, two, two));
+        assertMatrixEquals(expected, two);
+
+        Matrix three = random(random, 3, 3);
+        expected = multiply(three.getMatrix(), three.getMatrix());
+        assertTrue(three.multiply(three));
+        assertMatrixEquals(expected, three);
+    }
+
+    @Test
+    public void multiplyTransposedMatchesMultiplyingTheTranspose() {
+        Random random = new Random(3);
+        Matrix one = random(random, 3, 4);
+        Matrix two = random(random, 5, 4);
+        Matrix transposed = new Matrix();
+        Matrix.transpose(two, transposed);
+        double[][] expected = multiply(one.getMatrix(), transposed.getMatrix());
+
+        Matrix output = new Matrix();
+        assertTrue(Matrix.multiplyTransposed(one, two, output));
+        assertMatrixEquals(expected, output);
+        assertTrue(Matrix.multiplyTransposed(one, one, one));
+        assertEquals(3, one.getRows());
+        assertEquals(3, one.getColumns());
+    }
+
+    @Test
+    public void transposeInPlace() {
+        Matrix matrix = new Matrix(new double[][]{{1, 2, 3}, {4, 5, 6}});
+        assertTrue(matrix.transpose());
+        assertMatrixEquals(new double[][]{{1, 4}, {2, 5}, {3, 6}}, matrix);
+    }
+
+    @Test
+    public void mismatchedSizesAreRejected() {
+        Matrix one = new Matrix(2, 3);
+        Matrix two = new Matrix(2, 2);
+        Matrix output = new Matrix();
+        assertFalse(Matrix.add(one, two, output));
+        assertFalse(Matrix.subtract(one, two, output));
+        assertFalse(Matrix.multiply(one, two, output));
+        assertFalse(Matrix.multiplyTransposed(one, new Matrix(2, 2), output));
+        assertFalse(two.solve(new Matrix(3, 1), output));
+    }
+
+    @Test
+    public void addAndSubtractElementwise() {
+        Matrix one = new Matrix(new double[][]{{1, 2}, {3, 4}});
+        Matrix two = new Matrix(new double[][]{{10, 20}, {30, 40}});
+        Matrix output = new Matrix();
+        assertTrue(Matrix.add(one, two, output));
+        assertMatrixEquals(new double[][]{{11, 22}, {33, 44}}, output);
+        assertTrue(two.subtract(one));
+        assertMatrixEquals(new double[][]{{9, 18}, {27, 36}}, two);
+        assertTrue(two.flipSigns());
+        assertMatrixEquals(new double[][]{{-9, -18}, {-27, -36}}, two);
+    }
+
+    @Test
+    public void solveUndoesMultiply() {
+        Random random = new Random(4);
+        for (int size = 1; size <= 6; size++) {
+            Matrix a = random(random, size, size);
+            Matrix x = random(random, size, 2);
+            Matrix b = Matrix.multiply(a, x);
+
+            Matrix solved = new Matrix();
+            assertTrue(a.solve(b, solved));
+            assertMatrixEquals(x.getMatrix(), solved);
+            assertTrue(a.solve(b, b));
+            assertMatrixEquals(x.getMatrix(), b);
+        }
+    }
+
+    @Test
+    public void solveNeedsPivoting() {
+        Matrix a = new Matrix(new double[][]{{0, 1}, {1, 0}});
+        Matrix output = new Matrix();
+        assertTrue(a.solve(new Matrix(new double[][]{{2}, {3}}), output));
+        assertMatrixEquals(new double[][]{{3}, {2}}, output);
+    }
+
+    @Test
+    public void singularMatricesAreRejected() {
+        Matrix singular = new Matrix(new double[][]{{1, 2}, {2, 4}});
+        Matrix output = new Matrix();
+        assertFalse(singular.solve(new Matrix(2, 1), output));
+        assertFalse(singular.invert(output));
+        assertFalse(new Matrix(new double[][]{{1, 0}, {0, -1}}).choleskySolve(new Matrix(2, 1), output));
+    }
+
+    @Test
+    public void inverseTimesMatrixIsIdentity() {
+        Random random = new Random(5);
+        Matrix a = random(random, 5, 5);
+        Matrix inverse = new Matrix();
+        assertTrue(a.invert(inverse));
+        assertMatrixEquals(Matrix.identity(5).getMatrix(), Matrix.multiply(inverse, a));
+
+        Matrix copy = new Matrix(a);
+        assertTrue(copy.invert(copy));
+        assertMatrixEquals(inverse.getMatrix(), copy);
+    }
+
+    @Test
+    public void choleskyMatchesLU() {
+        Random random = new Random(6);
+        for (int size = 1; size <= 6; size++) {
+            Matrix a = randomPositiveDefinite(random, size);
+            Matrix b = random(random, size, 3);
+
+            Matrix lu = new Matrix();
+            Matrix cholesky = new Matrix();
+            assertTrue(a.solve(b, lu));
+            assertTrue(a.choleskySolve(b, cholesky));
+            assertMatrixEquals(lu.getMatrix(), cholesky);
+
+            Matrix inverse = new Matrix();
+            assertTrue(a.choleskyInvert(inverse));
+            assertMatrixEquals(Matrix.identity(size).getMatrix(), Matrix.multiply(a, inverse));
+        }
+    }
+}
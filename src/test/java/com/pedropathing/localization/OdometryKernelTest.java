@@ -0,0 +1,181 @@
+package com.pedropathing.localization;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * This is the OdometryKernelTest class. This checks the OdometryKernel's pose exponential against
+ * the rotation and transformation Matrices the wheel localizers used to multiply together, for
+ * small and large turns in both directions and on both sides of the series expansion, and checks
+ * which way the results point on the field.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class OdometryKernelTest {
+    private static final double TOLERANCE = 1e-12;
+    private static final double SMALL_ANGLE = 0.001;
+
+    private final OdometryKernel kernel = new OdometryKernel();
+
+    /**
+     * This finds the movement on the field the way the wheel localizers used to, by multiplying the
+     * rotation Matrix of the heading, the transformation Matrix of the change in heading, and the
+     * robot's own movement.
+     *
+     * @param heading the heading of the robot before it moved, in radians.
+     * @param robotDeltaX how far the robot moved forward, in inches.
+     * @param robotDeltaY how far the robot moved to the left, in inches.
+     * @param robotDeltaHeading how much the robot turned, in radians.
+     * @return returns a 3x1 Matrix of the movement on the field.
+     */
+    private static Matrix reference(double heading, double robotDeltaX, double robotDeltaY, double robotDeltaHeading) {
+        Matrix rotation = new Matrix(3, 3);
+        rotation.set(0, 0, Math.cos(heading));
+        rotation.set(0, 1, -Math.sin(heading));
+        rotation.set(1, 0, Math.sin(heading));
+        rotation.set(1, 1, Math.cos(heading));
+        rotation.set(2, 2, 1.0);
+
+        Matrix transformation = new Matrix(3, 3);
+        if (Math.abs(robotDeltaHeading) < SMALL_ANGLE) {
+            transformation.set(0, 0, 1.0 - (Math.pow(robotDeltaHeading, 2) / 6.0));
+            transformation.set(0, 1, -robotDeltaHeading / 2.0);
+            transformation.set(1, 0, robotDeltaHeading / 2.0);
+            transformation.set(1, 1, 1.0 - (Math.pow(robotDeltaHeading, 2) / 6.0));
+        } else {
+            transformation.set(0, 0, Math.sin(robotDeltaHeading) / robotDeltaHeading);
+            transformation.set(0, 1, (Math.cos(robotDeltaHeading) - 1.0) / robotDeltaHeading);
+            transformation.set(1, 0, (1.0 - Math.cos(robotDeltaHeading)) / robotDeltaHeading);
+            transformation.set(1, 1, Math.sin(robotDeltaHeading) / robotDeltaHeading);
+        }
+        transformation.set(2, 2, 1.0);
+
+        Matrix robotDeltas = new Matrix(3, 1);
+        robotDeltas.set(0, 0, robotDeltaX);
+        robotDeltas.set(1, 0, robotDeltaY);
+        robotDeltas.set(2, 0, robotDeltaHeading);
+        return Matrix.multiply(Matrix.multiply(rotation, transformation), robotDeltas);
+    }
+
+    /**
+     * This runs the OdometryKernel and checks it against the Matrix reference.
+     *
+     * @param heading the heading of the robot before it moved, in radians.
+     * @param robotDeltaX how far the robot moved forward, in inches.
+     * @param robotDeltaY how far the robot moved to the left, in inches.
+     * @param robotDeltaHeading how much the robot turned, in radians.
+     */
+    private void assertMatchesReference(double heading, double robotDeltaX, double robotDeltaY, double robotDeltaHeading) {
+        kernel.calculateGlobalDeltas(heading, robotDeltaX, robotDeltaY, robotDeltaHeading);
+        Matrix expected = reference(heading, robotDeltaX, robotDeltaY, robotDeltaHeading);
+        String message = "heading " + heading + ", deltas " + robotDeltaX + ", " + robotDeltaY + ", " + robotDeltaHeading;
+        assertEquals(message, expected.get(0, 0), kernel.getDeltaX(), TOLERANCE);
+        assertEquals(message, expected.get(1, 0), kernel.getDeltaY(), TOLERANCE);
+        assertEquals(message, expected.get(2, 0), kernel.getDeltaHeading(), 0);
+    }
+
+    @Test
+    public void matchesTheMatricesForSmallTurns() {
+        double[] turns = {0, 1e-9, -1e-9, 0.0001, -0.0001, 0.0005, -0.0005, 0.000999, -0.000999};
+        for (double turn : turns) {
+            for (int i = 0; i < 16; i++) {
+                double heading = i * Math.PI / 8 - Math.PI;
+                assertMatchesReference(heading, 0.3, -0.1, turn);
+                assertMatchesReference(heading, -1.5, 2.0, turn);
+            }
+        }
+    }
+
+    @Test
+    public void matchesTheMatricesForLargeTurns() {
+        double[] turns = {0.001, -0.001, 0.02, -0.02, 0.5, -0.5, Math.PI / 2, -Math.PI / 2, 3, -3, Math.PI, -Math.PI, 2 * Math.PI - 0.1};
+        for (double turn : turns) {
+            for (int i = 0; i < 16; i++) {
+                double heading = i * Math.PI / 8 - Math.PI;
+                assertMatchesReference(heading, 0.3, -0.1, turn);
+                assertMatchesReference(heading, -1.5, 2.0, turn);
+            }
+        }
+    }
+
+    @Test
+    public void matchesTheMatricesForRandomMovement() {
+        Random random = new Random(15);
+        for (int i = 0; i < 1000; i++) {
+            double heading = (random.nextDouble() * 2 - 1) * 2 * Math.PI;
+            double turn = random.nextBoolean() ? (random.nextDouble() * 2 - 1) * 0.002 : (random.nextDouble() * 2 - 1) * Math.PI;
+            assertMatchesReference(heading, (random.nextDouble() * 2 - 1) * 5, (random.nextDouble() * 2 - 1) * 5, turn);
+        }
+    }
+
+    @Test
+    public void isContinuousAcrossTheSeriesExpansion() {
+        kernel.calculateGlobalDeltas(0.7, 2, 1, SMALL_ANGLE - 1e-12);
+        double belowX = kernel.getDeltaX();
+        double belowY = kernel.getDeltaY();
+        kernel.calculateGlobalDeltas(0.7, 2, 1, SMALL_ANGLE);
+        assertEquals(belowX, kernel.getDeltaX(), 1e-10);
+        assertEquals(belowY, kernel.getDeltaY(), 1e-10);
+    }
+
+    @Test
+    public void forwardAndLeftFollowTheHeading() {
+        kernel.calculateGlobalDeltas(0, 1, 0, 0);
+        assertEquals(1, kernel.getDeltaX(), TOLERANCE);
+        assertEquals(0, kernel.getDeltaY(), TOLERANCE);
+
+        kernel.calculateGlobalDeltas(0, 0, 1, 0);
+        assertEquals(0, kernel.getDeltaX(), TOLERANCE);
+        assertEquals(1, kernel.getDeltaY(), TOLERANCE);
+
+        kernel.calculateGlobalDeltas(Math.PI / 2, 1, 0, 0);
+        assertEquals(0, kernel.getDeltaX(), TOLERANCE);
+        assertEquals(1, kernel.getDeltaY(), TOLERANCE);
+
+        kernel.calculateGlobalDeltas(Math.PI / 2, 0, 1, 0);
+        assertEquals(-1, kernel.getDeltaX(), TOLERANCE);
+        assertEquals(0, kernel.getDeltaY(), TOLERANCE);
+    }
+
+    @Test
+    public void turnsMoveAlongAnArc() {
+        // a quarter of a circle with a radius of 1, turning left, ends up 1 forward and 1 to the left
+        kernel.calculateGlobalDeltas(0, Math.PI / 2, 0, Math.PI / 2);
+        assertEquals(1, kernel.getDeltaX(), TOLERANCE);
+        assertEquals(1, kernel.getDeltaY(), TOLERANCE);
+        assertEquals(Math.PI / 2, kernel.getDeltaHeading(), 0);
+
+        // the same arc turning right ends up to the right
+        kernel.calculateGlobalDeltas(0, Math.PI / 2, 0, -Math.PI / 2);
+        assertEquals(1, kernel.getDeltaX(), TOLERANCE);
+        assertEquals(-1, kernel.getDeltaY(), TOLERANCE);
+
+        // half of a circle ends up 2 to the left, with no forward movement
+        kernel.calculateGlobalDeltas(0, Math.PI, 0, Math.PI);
+        assertEquals(0, kernel.getDeltaX(), TOLERANCE);
+        assertEquals(2, kernel.getDeltaY(), TOLERANCE);
+
+        // a small left turn still bends the movement to the left
+        kernel.calculateGlobalDeltas(0, 1, 0, 0.0005);
+        assertEquals(0.00025, kernel.getDeltaY(), 1e-9);
+    }
+
+    @Test
+    public void integrateAddsTheMovementAndSetsTheVelocity() {
+        Pose displacement = new Pose(1, 2, 0.5);
+        Pose velocity = new Pose();
+        kernel.calculateGlobalDeltas(0, Math.PI / 2, 0, Math.PI / 2);
+        kernel.integrate(displacement, velocity, 500000000L);
+
+        assertEquals(2, displacement.getX(), TOLERANCE);
+        assertEquals(3, displacement.getY(), TOLERANCE);
+        assertEquals(0.5 + Math.PI / 2, displacement.getHeading(), TOLERANCE);
+        assertEquals(2, velocity.getX(), TOLERANCE);
+        assertEquals(2, velocity.getY(), TOLERANCE);
+        assertEquals(Math.PI, velocity.getHeading(), TOLERANCE);
+    }
+}
@@ -0,0 +1,145 @@
+package com.pedropathing.localization;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * This is the PoseHistoryTest class. This checks the PoseHistory's lookups and ring buffer, and
+ * applies a synthetic delayed measurement to odometry that is off by a fixed rigid transform, which
+ * should put the current pose right back onto the true pose.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class PoseHistoryTest {
+    private static final long STEP_NANO = 10000000;
+    private static final double TOLERANCE = 1e-9;
+
+    /**
+     * This returns where the robot truly is at a time on a made up drive that curves and turns.
+     *
+     * @param step the number of steps since the start.
+     * @return returns the true pose.
+     */
+    private static Pose truePose(int step) {
+        double time = step * STEP_NANO / 1e9;
+        return new Pose(20 * Math.sin(0.5 * time) + 3 * time, 15 * (1 - Math.cos(0.5 * time)), 0.4 * time + 0.2);
+    }
+
+    /**
+     * This returns what odometry that is off by a fixed rotation and offset would read for a pose.
+     * The movement between any two poses is still measured correctly.
+     *
+     * @param truth the true pose.
+     * @return returns the odometry pose.
+     */
+    private static Pose odometryPose(Pose truth) {
+        double rotation = -0.3;
+        double cos = Math.cos(rotation);
+        double sin = Math.sin(rotation);
+        return new Pose(cos * truth.getX() - sin * truth.getY() + 4, sin * truth.getX() + cos * truth.getY() - 7, truth.getHeading() + rotation);
+    }
+
+    /**
+     * This checks that two poses are the same, with the headings compared around the circle.
+     *
+     * @param expected the expected pose.
+     * @param actual the actual pose.
+     */
+    private static void assertPoseEquals(Pose expected, Pose actual) {
+        assertEquals(expected.getX(), actual.getX(), TOLERANCE);
+        assertEquals(expected.getY(), actual.getY(), TOLERANCE);
+        assertEquals(0, PoseHistory.getHeadingChange(expected.getHeading(), actual.getHeading()), TOLERANCE);
+    }
+
+    @Test
+    public void getPoseAtInterpolatesBetweenPoses() {
+        PoseHistory history = new PoseHistory(10);
+        history.add(100, new Pose(0, 0, 0.5));
+        history.add(200, new Pose(10, 20, 1.5));
+
+        Pose out = new Pose();
+        assertTrue(history.getPoseAt(125, out));
+        assertPoseEquals(new Pose(2.5, 5, 0.75), out);
+        assertTrue(history.getPoseAt(100, out));
+        assertPoseEquals(new Pose(0, 0, 0.5), out);
+        assertTrue(history.getPoseAt(500, out));
+        assertPoseEquals(new Pose(10, 20, 1.5), out);
+    }
+
+    @Test
+    public void getPoseAtInterpolatesHeadingAcrossZero() {
+        PoseHistory history = new PoseHistory(10);
+        history.add(0, new Pose(0, 0, 2 * Math.PI - 0.1));
+        history.add(100, new Pose(0, 0, 0.1));
+
+        Pose out = new Pose();
+        assertTrue(history.getPoseAt(50, out));
+        assertPoseEquals(new Pose(0, 0, 0), out);
+    }
+
+    @Test
+    public void timesBeforeTheOldestPoseAreRejected() {
+        PoseHistory history = new PoseHistory(10);
+        Pose out = new Pose(1, 2, 3);
+        assertFalse(history.getPoseAt(0, out));
+
+        history.add(100, new Pose());
+        assertFalse(history.getPoseAt(99, out));
+        assertPoseEquals(new Pose(1, 2, 3), out);
+    }
+
+    @Test
+    public void fullHistoryOverwritesTheOldestPose() {
+        PoseHistory history = new PoseHistory(3);
+        for (int i = 0; i < 5; i++) {
+            history.add(i * 100, new Pose(i, 0, 0));
+        }
+        assertEquals(3, history.size());
+        assertEquals(3, history.getCapacity());
+
+        Pose out = new Pose();
+        assertFalse(history.getPoseAt(150, out));
+        assertTrue(history.getPoseAt(250, out));
+        assertEquals(2.5, out.getX(), TOLERANCE);
+
+        history.clear();
+        assertEquals(0, history.size());
+        assertFalse(history.getPoseAt(400, out));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void capacityHasToBePositive() {
+        new PoseHistory(0);
+    }
+
+    @Test
+    public void delayedMeasurementRemovesOdometryError() {
+        PoseHistory history = new PoseHistory(200);
+        int steps = 150;
+        for (int step = 0; step <= steps; step++) {
+            history.add(step * STEP_NANO, odometryPose(truePose(step)));
+        }
+
+        // the camera frame was captured 100 steps ago and only just showed up
+        int captureStep = steps - 100;
+        Pose historical = new Pose();
+        assertTrue(history.getPoseAt(captureStep * STEP_NANO, historical));
+        Pose corrected = truePose(captureStep);
+
+        Pose current = PoseHistory.applyCorrection(odometryPose(truePose(steps)), historical, corrected);
+        assertPoseEquals(truePose(steps), current);
+
+        history.correct(captureStep * STEP_NANO, historical, corrected);
+        Pose out = new Pose();
+        for (int step = captureStep + 1; step <= steps; step += 7) {
+            assertTrue(history.getPoseAt(step * STEP_NANO, out));
+            assertPoseEquals(truePose(step), out);
+        }
+        assertTrue(history.getPoseAt(captureStep * STEP_NANO, out));
+        assertPoseEquals(historical, out);
+    }
+}
@@ -0,0 +1,112 @@
+package com.pedropathing.localization;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.pedropathing.pathgen.Vector;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * This is the PoseSnapshotBufferTest class. This checks that a read always gets every value from
+ * the same write, by having one thread write snapshots whose values are all tied to a counter as
+ * fast as it can while other threads read them and check that the values still match up.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class PoseSnapshotBufferTest {
+    private static final int READERS = 3;
+    private static final long RUN_TIME_MILLIS = 500;
+
+    /**
+     * This returns the heading written with a counter value. This is kept between 0 and 1, since
+     * Poses wrap their headings.
+     *
+     * @param i the counter value.
+     * @return returns the heading.
+     */
+    private static double heading(long i) {
+        return (i % 1000) / 1000.0;
+    }
+
+    @Test
+    public void readReturnsTheLastWrite() {
+        PoseSnapshotBuffer buffer = new PoseSnapshotBuffer();
+        Vector velocity = new Vector();
+        velocity.setOrthogonalComponents(4, 5);
+        buffer.write(new Pose(1, 2, 3), velocity, 6);
+
+        Pose pose = new Pose();
+        Vector readVelocity = new Vector();
+        assertEquals(6, buffer.read(pose, readVelocity));
+        assertEquals(1, pose.getX(), 0);
+        assertEquals(2, pose.getY(), 0);
+        assertEquals(3, pose.getHeading(), 0);
+        assertEquals(4, readVelocity.getXComponent(), 1e-12);
+        assertEquals(5, readVelocity.getYComponent(), 1e-12);
+        assertEquals(1, buffer.getWriteCount());
+    }
+
+    @Test
+    public void readsAreNeverTorn() throws InterruptedException {
+        final PoseSnapshotBuffer buffer = new PoseSnapshotBuffer();
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final AtomicReference<String> tornRead = new AtomicReference<>();
+        final AtomicLong reads = new AtomicLong();
+
+        Thread writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                Pose pose = new Pose();
+                Vector velocity = new Vector();
+                for (long i = 1; running.get(); i++) {
+                    pose.set(i, 2 * i, heading(i));
+                    velocity.setOrthogonalComponents(4 * i, 5 * i);
+                    buffer.write(pose, velocity, i);
+                }
+            }
+        });
+
+        Thread[] readers = new Thread[READERS];
+        for (int r = 0; r < READERS; r++) {
+            readers[r] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    Pose pose = new Pose();
+                    Vector velocity = new Vector();
+                    long last = 0;
+                    while (running.get()) {
+                        long i = buffer.read(pose, velocity);
+                        reads.incrementAndGet();
+                        if (i == 0) continue;
+                        if (pose.getX() != i || pose.getY() != 2 * i || pose.getHeading() != heading(i)
+                                || Math.abs(velocity.getXComponent() - 4 * i) > 1e-6 * i
+                                || Math.abs(velocity.getYComponent() - 5 * i) > 1e-6 * i) {
+                            tornRead.compareAndSet(null, "write " + i + " read as " + pose + " " + velocity.getXComponent() + ", " + velocity.getYComponent());
+                        }
+                        if (i < last) {
+                            tornRead.compareAndSet(null, "read write " + i + " after write " + last);
+                        }
+                        last = i;
+                    }
+                }
+            });
+        }
+
+        writer.start();
+        for (Thread reader : readers) reader.start();
+        Thread.sleep(RUN_TIME_MILLIS);
+        running.set(false);
+        writer.join();
+        for (Thread reader : readers) reader.join();
+
+        assertEquals(null, tornRead.get());
+        assertTrue(reads.get() > 0);
+        assertTrue(buffer.getWriteCount() > 0);
+    }
+}
@@ -0,0 +1,234 @@
+package com.pedropathing.localization.localizers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.pedropathing.localization.Localizer;
+import com.pedropathing.localization.Pose;
+import com.pedropathing.pathgen.MathFunctions;
+import com.pedropathing.pathgen.Vector;
+import com.pedropathing.simulation.MecanumDrivetrainModel;
+import com.pedropathing.util.Clock;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * This is the FusionLocalizerTest class. This drives a MecanumDrivetrainModel around with changing
+ * motor powers, feeds a FusionLocalizer odometry that has scale errors and noise, and checks the
+ * FusionLocalizer's pose against the model's ground truth pose with and without absolute pose and
+ * heading measurements.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class FusionLocalizerTest {
+    private static final double TIME_STEP = 0.005;
+    private static final int STEPS = 6000;
+
+    /**
+     * This is an odometry Localizer that measures how far the model moved relative to the robot,
+     * like dead wheels would, but with scale errors and some noise, so it drifts away from the
+     * ground truth over time.
+     */
+    private static class DriftingOdometry extends Localizer {
+        private final MecanumDrivetrainModel model;
+        private final Random random = new Random(3);
+        private final Pose pose = new Pose();
+        private final Pose previousTruth = new Pose();
+        private final Pose truth = new Pose();
+        private double totalHeading;
+
+        DriftingOdometry(MecanumDrivetrainModel model) {
+            this.model = model;
+            model.getPoseInto(previousTruth);
+            pose.set(previousTruth);
+        }
+
+        @Override
+        public Pose getPose() {
+            return pose.copy();
+        }
+
+        @Override
+        public Pose getVelocity() {
+            return new Pose();
+        }
+
+        @Override
+        public Vector getVelocityVector() {
+            return new Vector();
+        }
+
+        @Override
+        public void setStartPose(Pose setStart) {
+        }
+
+        @Override
+        public void setPose(Pose setPose) {
+            pose.set(setPose);
+        }
+
+        @Override
+        public void update() {
+            model.getPoseInto(truth);
+            double deltaHeading = angleDifference(truth.getHeading(), previousTruth.getHeading());
+            double middleHeading = previousTruth.getHeading() + deltaHeading / 2;
+            double deltaX = truth.getX() - previousTruth.getX();
+            double deltaY = truth.getY() - previousTruth.getY();
+            double forward = Math.cos(middleHeading) * deltaX + Math.sin(middleHeading) * deltaY;
+            double lateral = -Math.sin(middleHeading) * deltaX + Math.cos(middleHeading) * deltaY;
+
+            forward = forward * 1.02 + random.nextGaussian() * 0.002;
+            lateral = lateral * 0.97 + random.nextGaussian() * 0.002;
+            deltaHeading = deltaHeading * 1.015 + random.nextGaussian() * 0.0005;
+
+            middleHeading = pose.getHeading() + deltaHeading / 2;
+            pose.set(pose.getX() + Math.cos(middleHeading) * forward - Math.sin(middleHeading) * lateral,
+                    pose.getY() + Math.sin(middleHeading) * forward + Math.cos(middleHeading) * lateral,
+                    pose.getHeading() + deltaHeading);
+            totalHeading += deltaHeading;
+            previousTruth.set(truth);
+        }
+
+        @Override
+        public double getTotalHeading() {
+            return totalHeading;
+        }
+
+        @Override
+        public double getForwardMultiplier() {
+            return 1;
+        }
+
+        @Override
+        public double getLateralMultiplier() {
+            return 1;
+        }
+
+        @Override
+        public double getTurningMultiplier() {
+            return 1;
+        }
+
+        @Override
+        public void resetIMU() {
+        }
+
+        @Override
+        public boolean isNAN() {
+            return false;
+        }
+    }
+
+    /**
+     * This holds the errors of a run against the ground truth.
+     */
+    private static class Errors {
+        double rmsPosition;
+        double maxPosition;
+        double rmsHeading;
+    }
+
+    /**
+     * This returns the signed difference between two angles, between -pi and pi.
+     *
+     * @param one the first angle.
+     * @param two the second angle.
+     * @return returns one - two, wrapped.
+     */
+    private static double angleDifference(double one, double two) {
+        return Math.atan2(Math.sin(one - two), Math.cos(one - two));
+    }
+
+    @Before
+    public void setUp() {
+        Clock.useSimulatedTime();
+    }
+
+    @After
+    public void tearDown() {
+        Clock.useSystemTime();
+    }
+
+    /**
+     * This drives the model around and compares a Localizer's pose to the model's pose every loop.
+     *
+     * @param fused whether to run the odometry through a FusionLocalizer.
+     * @param poseMeasurements whether to give the FusionLocalizer a noisy ground truth pose every 20 loops.
+     * @param headingMeasurements whether to give the FusionLocalizer the ground truth heading every loop.
+     * @return returns the errors.
+     */
+    private static Errors drive(boolean fused, boolean poseMeasurements, boolean headingMeasurements) {
+        MecanumDrivetrainModel model = new MecanumDrivetrainModel();
+        DriftingOdometry odometry = new DriftingOdometry(model);
+        FusionLocalizer fusion = fused ? new FusionLocalizer(odometry) : null;
+        Localizer localizer = fused ? fusion : odometry;
+        Random random = new Random(11);
+
+        Pose estimate = new Pose();
+        Pose truth = new Pose();
+        double positionSquared = 0;
+        double headingSquared = 0;
+        Errors errors = new Errors();
+        for (int step = 0; step < STEPS; step++) {
+            double time = step * TIME_STEP;
+            model.getMotor(0).setPower(0.7 * Math.sin(time * 0.4));
+            model.getMotor(1).setPower(0.6 * Math.cos(time * 0.3));
+            model.getMotor(2).setPower(0.5 * Math.sin(time * 0.5 + 1));
+            model.getMotor(3).setPower(0.7 * Math.cos(time * 0.35 + 2));
+            model.update(TIME_STEP);
+            Clock.advance((long) (TIME_STEP * 1e9));
+
+            localizer.update();
+            model.getPoseInto(truth);
+            if (poseMeasurements && step % 20 == 0) {
+                fusion.addPoseMeasurement(new Pose(truth.getX() + random.nextGaussian() * 0.5,
+                        truth.getY() + random.nextGaussian() * 0.5, truth.getHeading() + random.nextGaussian() * 0.03), 0.5, 0.03);
+            }
+            if (headingMeasurements) {
+                fusion.addHeadingMeasurement(MathFunctions.normalizeAngle(truth.getHeading() + random.nextGaussian() * 0.01), 0.01);
+            }
+
+            localizer.getPoseInto(estimate);
+            double position = Math.hypot(estimate.getX() - truth.getX(), estimate.getY() - truth.getY());
+            double heading = angleDifference(estimate.getHeading(), truth.getHeading());
+            positionSquared += position * position;
+            headingSquared += heading * heading;
+            errors.maxPosition = Math.max(errors.maxPosition, position);
+        }
+        errors.rmsPosition = Math.sqrt(positionSquared / STEPS);
+        errors.rmsHeading = Math.sqrt(headingSquared / STEPS);
+        return errors;
+    }
+
+    @Test
+    public void odometryAloneMatchesTheOdometry() {
+        Errors odometry = drive(false, false, false);
+        Errors fused = drive(true, false, false);
+        assertEquals(odometry.rmsPosition, fused.rmsPosition, 0.05);
+        assertEquals(odometry.rmsHeading, fused.rmsHeading, 0.005);
+    }
+
+    @Test
+    public void poseMeasurementsBoundTheDrift() {
+        Errors odometry = drive(false, false, false);
+        Errors fused = drive(true, true, false);
+        assertTrue("the odometry should drift for this test to mean anything", odometry.maxPosition > 2);
+        assertTrue("rms position error " + fused.rmsPosition, fused.rmsPosition < 1);
+        assertTrue("max position error " + fused.maxPosition, fused.maxPosition < 2);
+        assertTrue("rms heading error " + fused.rmsHeading, fused.rmsHeading < 0.05);
+    }
+
+    @Test
+    public void headingMeasurementsCorrectTheHeading() {
+        Errors odometry = drive(false, false, false);
+        Errors fused = drive(true, false, true);
+        assertTrue("rms heading error " + fused.rmsHeading, fused.rmsHeading < 0.02);
+        assertTrue(fused.rmsHeading < odometry.rmsHeading / 3);
+        assertTrue(fused.rmsPosition < odometry.rmsPosition);
+    }
+}
@@ -0,0 +1,181 @@
+package com.pedropathing.localization.localizers;
+
+import static org.junit.Assert.assertEquals;
+
+import com.pedropathing.localization.GoBildaPinpointDriver;
+import com.pedropathing.localization.Pose;
+import com.pedropathing.localization.constants.PinpointConstants;
+import com.pedropathing.util.Clock;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+import com.qualcomm.robotcore.hardware.I2cDeviceSynchSimple;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * This is the PinpointLocalizerTest class. This runs a PinpointLocalizer on a fake
+ * I2cDeviceSynchSimple, like the one in GoBildaPinpointDriverTest, on simulated time, and checks
+ * that reads within one Pinpoint loop of the last one are skipped, and that the velocity found
+ * from the change in pose uses the Pinpoint's loop time instead of the time between reads.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class PinpointLocalizerTest {
+    private static final int LOOP_TIME_MICROS = 1000;
+    private static final long MICROS = 1000;
+
+    private final boolean defaultSkipStaleReads = PinpointConstants.skipStaleReads;
+    private final boolean defaultUseDeviceVelocity = PinpointConstants.useDeviceVelocity;
+
+    private final ByteBuffer bulkRead = ByteBuffer.allocate(40).order(ByteOrder.LITTLE_ENDIAN);
+    private int bulkReads;
+    private PinpointLocalizer localizer;
+
+    @Before
+    public void setUp() {
+        PinpointConstants.skipStaleReads = true;
+        PinpointConstants.useDeviceVelocity = false;
+        Clock.useSimulatedTime();
+        writeBulkRead(0, 0, 0, 0, 0);
+
+        I2cDeviceSynchSimple device = (I2cDeviceSynchSimple) Proxy.newProxyInstance(I2cDeviceSynchSimple.class.getClassLoader(),
+                new Class<?>[]{I2cDeviceSynchSimple.class}, new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        if (method.getName().equals("read") && args != null && args.length == 2) {
+                            return read((Integer) args[1]);
+                        }
+                        Class<?> type = method.getReturnType();
+                        if (type == boolean.class) return false;
+                        if (type == int.class) return 0;
+                        return null;
+                    }
+                });
+        HardwareMap hardwareMap = new HardwareMap(null, null);
+        hardwareMap.put(PinpointConstants.hardwareMapName, new GoBildaPinpointDriver(device, true));
+        localizer = new PinpointLocalizer(hardwareMap);
+    }
+
+    @After
+    public void tearDown() {
+        Clock.useSystemTime();
+        PinpointConstants.skipStaleReads = defaultSkipStaleReads;
+        PinpointConstants.useDeviceVelocity = defaultUseDeviceVelocity;
+    }
+
+    /**
+     * This fills in the canned bulk read with a ready status and the test's loop time.
+     *
+     * @param x the x position, in inches.
+     * @param y the y position, in inches.
+     * @param xVelocity the x velocity, in inches per second.
+     * @param yVelocity the y velocity, in inches per second.
+     * @param headingVelocity the heading velocity, in radians per second.
+     */
+    private void writeBulkRead(double x, double y, double xVelocity, double yVelocity, double headingVelocity) {
+        bulkRead.clear();
+        bulkRead.putInt(1).putInt(LOOP_TIME_MICROS).putInt(0).putInt(0)
+                .putFloat((float) (x * 25.4)).putFloat((float) (y * 25.4)).putFloat(0)
+                .putFloat((float) (xVelocity * 25.4)).putFloat((float) (yVelocity * 25.4)).putFloat((float) headingVelocity);
+    }
+
+    /**
+     * This is what the fake device returns for a read, which is the start of the bulk read.
+     *
+     * @param length the number of bytes read.
+     * @return returns a new array, like the SDK does.
+     */
+    private byte[] read(int length) {
+        bulkReads++;
+        byte[] bytes = new byte[length];
+        System.arraycopy(bulkRead.array(), 0, bytes, 0, Math.min(length, bulkRead.capacity()));
+        return bytes;
+    }
+
+    @Test
+    public void readsWithinOnePinpointLoopAreSkipped() {
+        localizer.update();
+        int reads = bulkReads;
+
+        Clock.advance(500 * MICROS);
+        localizer.update();
+        assertEquals(reads, bulkReads);
+        assertEquals(1, localizer.getSkippedReadCount());
+
+        Clock.advance(600 * MICROS);
+        localizer.update();
+        assertEquals(reads + 1, bulkReads);
+        assertEquals(1, localizer.getSkippedReadCount());
+    }
+
+    @Test
+    public void readsAreNotSkippedWhenTurnedOff() {
+        PinpointConstants.skipStaleReads = false;
+        localizer.update();
+        int reads = bulkReads;
+
+        Clock.advance(500 * MICROS);
+        localizer.update();
+        assertEquals(reads + 1, bulkReads);
+        assertEquals(0, localizer.getSkippedReadCount());
+    }
+
+    @Test
+    public void velocityFallbackUsesThePinpointLoopTime() {
+        localizer.update();
+
+        // the same sample again doesn't change the velocity
+        Clock.advance(1200 * MICROS);
+        localizer.update();
+        assertEquals(0, localizer.getVelocity().getX(), 0);
+
+        // 2.4 ms of reads is two Pinpoint loops, so this moved an inch in 2 ms
+        Clock.advance(1200 * MICROS);
+        writeBulkRead(1, 0, 0, 0, 0);
+        localizer.update();
+        assertEquals(500, localizer.getVelocity().getX(), 1e-3);
+        assertEquals(1, localizer.getPose().getX(), 1e-6);
+
+        // that sample was taken at 2 ms, so this one, read 1 ms later, is one Pinpoint loop after it
+        Clock.advance(1000 * MICROS);
+        writeBulkRead(2, -1, 0, 0, 0);
+        localizer.update();
+        assertEquals(1000, localizer.getVelocity().getX(), 1e-3);
+        assertEquals(-1000, localizer.getVelocity().getY(), 1e-3);
+    }
+
+    @Test
+    public void velocityFallsToZeroOnceTheSamplesStopChanging() {
+        localizer.update();
+        Clock.advance(1000 * MICROS);
+        writeBulkRead(1, 0, 0, 0, 0);
+        localizer.update();
+        assertEquals(1000, localizer.getVelocity().getX(), 1e-3);
+
+        for (int i = 0; i < 4; i++) {
+            Clock.advance(1000 * MICROS);
+            localizer.update();
+        }
+        assertEquals(0, localizer.getVelocity().getX(), 0);
+    }
+
+    @Test
+    public void deviceVelocityIsUsedWhenItIsRead() {
+        PinpointConstants.useDeviceVelocity = true;
+        writeBulkRead(0, 0, 3, -4, 0.5);
+        localizer.update();
+
+        Pose velocity = localizer.getVelocity();
+        assertEquals(3, velocity.getX(), 1e-5);
+        assertEquals(-4, velocity.getY(), 1e-5);
+        assertEquals(0.5, velocity.getHeading(), 1e-6);
+    }
+}
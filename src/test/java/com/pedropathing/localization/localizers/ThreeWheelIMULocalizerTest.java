@@ -0,0 +1,132 @@
+package com.pedropathing.localization.localizers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.pedropathing.localization.Encoder;
+import com.pedropathing.localization.FakeIMU;
+import com.pedropathing.localization.constants.ThreeWheelIMUConstants;
+import com.pedropathing.util.Clock;
+import com.pedropathing.util.CountingMotor;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This is the ThreeWheelIMULocalizerTest class. This checks the heading correction the
+ * ThreeWheelIMULocalizer makes when it reads the IMU on its own thread. The IMU sample is taken
+ * halfway between two updates while the encoders undercount the turn, and the heading after the
+ * next update has to be the IMU's heading at the sample plus what the encoders turned after it,
+ * which is only right if the encoder heading is interpolated to the time of the sample.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class ThreeWheelIMULocalizerTest {
+    private static final long TIMEOUT_MILLIS = 2000;
+    private static final long LOOP_NANOS = 10000000;
+
+    private final double defaultTurnTicksToInches = ThreeWheelIMUConstants.turnTicksToInches;
+    private final double defaultLeftEncoderDirection = ThreeWheelIMUConstants.leftEncoderDirection;
+    private final double defaultRightEncoderDirection = ThreeWheelIMUConstants.rightEncoderDirection;
+    private final boolean defaultUseAsyncIMU = ThreeWheelIMUConstants.useAsyncIMU;
+
+    private final FakeIMU fakeIMU = new FakeIMU();
+    private final CountingMotor left = new CountingMotor();
+    private final CountingMotor right = new CountingMotor();
+    private ThreeWheelIMULocalizer localizer;
+
+    @Before
+    public void setUp() {
+        ThreeWheelIMUConstants.turnTicksToInches = 0.001;
+        ThreeWheelIMUConstants.leftEncoderDirection = Encoder.FORWARD;
+        ThreeWheelIMUConstants.rightEncoderDirection = Encoder.FORWARD;
+        ThreeWheelIMUConstants.useAsyncIMU = true;
+        Clock.useSimulatedTime();
+
+        HardwareMap hardwareMap = new HardwareMap(null, null);
+        hardwareMap.put(ThreeWheelIMUConstants.IMU_HardwareMapName, fakeIMU.getIMU());
+        hardwareMap.put(ThreeWheelIMUConstants.leftEncoder_HardwareMapName, left.getMotor());
+        hardwareMap.put(ThreeWheelIMUConstants.rightEncoder_HardwareMapName, right.getMotor());
+        hardwareMap.put(ThreeWheelIMUConstants.strafeEncoder_HardwareMapName, new CountingMotor().getMotor());
+        localizer = new ThreeWheelIMULocalizer(hardwareMap);
+    }
+
+    @After
+    public void tearDown() {
+        fakeIMU.setGated(false);
+        fakeIMU.release();
+        localizer.getIMUSampler().stop();
+        Clock.useSystemTime();
+        ThreeWheelIMUConstants.turnTicksToInches = defaultTurnTicksToInches;
+        ThreeWheelIMUConstants.leftEncoderDirection = defaultLeftEncoderDirection;
+        ThreeWheelIMUConstants.rightEncoderDirection = defaultRightEncoderDirection;
+        ThreeWheelIMUConstants.useAsyncIMU = defaultUseAsyncIMU;
+    }
+
+    /**
+     * This lets one IMU read through and waits for the sample to be published.
+     */
+    private void takeSample() {
+        long count = localizer.getIMUSampler().getSampleCount();
+        assertTrue(fakeIMU.awaitWaitingRead(TIMEOUT_MILLIS));
+        fakeIMU.release();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MILLIS);
+        while (localizer.getIMUSampler().getSampleCount() == count && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(100000);
+        }
+        assertTrue(localizer.getIMUSampler().getSampleCount() > count);
+    }
+
+    /**
+     * This sets the encoder positions so the encoders say the robot turned by some amount in total.
+     *
+     * @param heading the total heading the encoders should say, in radians.
+     */
+    private void setEncoderHeading(double heading) {
+        // the turn is turnTicksToInches * (right - left) / (leftY - rightY), with leftY - rightY = 2
+        int ticks = (int) Math.round(heading / 0.001);
+        left.setPosition(-ticks);
+        right.setPosition(ticks);
+    }
+
+    @Test
+    public void headingIsCorrectedToTheIMUAtTheSampleTime() {
+        // hold the IMU thread, and let the localizer see every sample from before the turn
+        fakeIMU.setGated(true);
+        assertTrue(fakeIMU.awaitWaitingRead(TIMEOUT_MILLIS));
+        Clock.advance(LOOP_NANOS);
+        localizer.update();
+        assertEquals(0, localizer.getTotalHeading(), 1e-12);
+
+        // the robot turns 0.1 radians over one loop, and the encoders only see 90% of it
+        Clock.advance(LOOP_NANOS / 2);
+        fakeIMU.setYaw(0.05);
+        takeSample();
+        Clock.advance(LOOP_NANOS / 2);
+        setEncoderHeading(0.09);
+        localizer.update();
+
+        // the encoders said 0.045 at the sample, so they turned 0.045 more after the IMU saw 0.05
+        assertEquals(0.095, localizer.getTotalHeading(), 1e-9);
+        assertEquals(0.095, localizer.getPose().getHeading(), 1e-9);
+    }
+
+    @Test
+    public void encodersCarryTheHeadingBetweenSamples() {
+        fakeIMU.setGated(true);
+        assertTrue(fakeIMU.awaitWaitingRead(TIMEOUT_MILLIS));
+        Clock.advance(LOOP_NANOS);
+        localizer.update();
+
+        Clock.advance(LOOP_NANOS);
+        setEncoderHeading(0.02);
+        localizer.update();
+        assertEquals(0.02, localizer.getTotalHeading(), 1e-9);
+    }
+}
@@ -0,0 +1,106 @@
+package com.pedropathing.pathgen;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * This is the BezierCurveArcLengthTest class. This checks the BezierCurve's arc length table
+ * against a brute force polyline length, and checks that getTAtArcLength undoes getArcLength,
+ * including at the ends and on curves whose speed drops to zero.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class BezierCurveArcLengthTest {
+
+    /**
+     * This finds the arc length up to a t-value by adding up a lot of short line segments.
+     *
+     * @param curve the BezierCurve.
+     * @param t the t-value.
+     * @return returns the arc length.
+     */
+    private static double polylineLength(BezierCurve curve, double t) {
+        int steps = 200000;
+        double length = 0;
+        Point previous = curve.getPoint(0);
+        for (int i = 1; i <= steps; i++) {
+            Point point = curve.getPoint(t * i / steps);
+            length += Math.hypot(point.getX() - previous.getX(), point.getY() - previous.getY());
+            previous = point;
+        }
+        return length;
+    }
+
+    @Test
+    public void arcLengthMatchesPolyline() {
+        Random random = new Random(5);
+        for (int controlPoints = 3; controlPoints <= 6; controlPoints++) {
+            BezierCurve curve = BezierCurveTest.randomCurve(random, controlPoints);
+            assertEquals(polylineLength(curve, 1), curve.length(), 1e-4);
+            assertEquals(polylineLength(curve, 0.37), curve.getArcLength(0.37), 1e-4);
+        }
+    }
+
+    @Test
+    public void tAtArcLengthUndoesArcLength() {
+        Random random = new Random(6);
+        for (int controlPoints = 3; controlPoints <= 6; controlPoints++) {
+            BezierCurve curve = BezierCurveTest.randomCurve(random, controlPoints);
+            for (int i = 0; i <= 200; i++) {
+                double arcLength = curve.length() * i / 200;
+                assertEquals(arcLength, curve.getArcLength(curve.getTAtArcLength(arcLength)), 1e-6);
+            }
+        }
+    }
+
+    @Test
+    public void endsMapToZeroAndOne() {
+        BezierCurve curve = BezierCurveTest.randomCurve(new Random(7), 4);
+        assertEquals(0, curve.getTAtArcLength(0), 0);
+        assertEquals(1, curve.getTAtArcLength(curve.length()), 0);
+        assertEquals(0, curve.getTAtArcLength(-5), 0);
+        assertEquals(1, curve.getTAtArcLength(curve.length() + 5), 0);
+    }
+
+    @Test
+    public void repeatedControlPointsAtTheEnds() {
+        // repeating the first or last control point makes the speed zero there, so Newton steps
+        // can't be taken at that end of the curve
+        Random random = new Random(1);
+        for (int k = 0; k < 100; k++) {
+            int controlPoints = 3 + random.nextInt(4);
+            Point[] points = new Point[controlPoints];
+            for (int i = 0; i < controlPoints; i++) {
+                points[i] = new Point(random.nextDouble() * 100, random.nextDouble() * 100, Point.CARTESIAN);
+            }
+            if (k % 2 == 0) {
+                points[controlPoints - 1] = new Point(points[controlPoints - 2].getX(), points[controlPoints - 2].getY(), Point.CARTESIAN);
+            } else {
+                points[1] = new Point(points[0].getX(), points[0].getY(), Point.CARTESIAN);
+            }
+            BezierCurve curve = new BezierCurve(points);
+
+            assertEquals(1, curve.getTAtArcLength(curve.length()), 0);
+            for (int i = 0; i <= 50; i++) {
+                double arcLength = curve.length() * i / 50;
+                double t = curve.getTAtArcLength(arcLength);
+                assertTrue(t >= 0 && t <= 1);
+                assertEquals(arcLength, curve.getArcLength(t), 1e-6);
+            }
+        }
+    }
+
+    @Test
+    public void remainingDistanceIsLengthMinusArcLength() {
+        BezierCurve curve = BezierCurveTest.randomCurve(new Random(8), 5);
+        for (int i = 0; i <= 10; i++) {
+            double t = i / 10.0;
+            assertEquals(curve.length() - curve.getArcLength(t), curve.getRemainingDistance(t), 1e-9);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.pedropathing.pathgen;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * This is the BezierCurveTest class. This checks the power basis and Horner's method evaluation of
+ * the BezierCurve against de Casteljau's algorithm run straight on the control points, for curves
+ * of every degree the Follower is likely to see.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class BezierCurveTest {
+    private static final double TOLERANCE = 1e-9;
+
+    /**
+     * This makes a BezierCurve with random control points.
+     *
+     * @param random the Random to use.
+     * @param controlPoints the number of control points.
+     * @return returns the BezierCurve.
+     */
+    static BezierCurve randomCurve(Random random, int controlPoints) {
+        Point[] points = new Point[controlPoints];
+        for (int i = 0; i < controlPoints; i++) {
+            points[i] = new Point(random.nextDouble() * 144 - 72, random.nextDouble() * 144 - 72, Point.CARTESIAN);
+        }
+        return new BezierCurve(points);
+    }
+
+    /**
+     * This runs de Casteljau's algorithm on some coordinates.
+     *
+     * @param coordinates the coordinates of the control points.
+     * @param t the t-value.
+     * @return returns the coordinate of the curve at the t-value.
+     */
+    private static double deCasteljau(double[] coordinates, double t) {
+        double[] work = coordinates.clone();
+        for (int level = work.length - 1; level > 0; level--) {
+            for (int i = 0; i < level; i++) {
+                work[i] = (1 - t) * work[i] + t * work[i + 1];
+            }
+        }
+        return work[0];
+    }
+
+    /**
+     * This returns the control point coordinates of the derivative of a curve.
+     *
+     * @param coordinates the coordinates of the control points.
+     * @return returns the coordinates of the derivative's control points.
+     */
+    private static double[] differences(double[] coordinates) {
+        int degree = coordinates.length - 1;
+        double[] derivative = new double[Math.max(1, degree)];
+        for (int i = 0; i < degree; i++) {
+            derivative[i] = degree * (coordinates[i + 1] - coordinates[i]);
+        }
+        return derivative;
+    }
+
+    /**
+     * This returns one coordinate of every control point of a curve.
+     *
+     * @param curve the BezierCurve.
+     * @param x whether to return the x coordinates instead of the y coordinates.
+     * @return returns the coordinates.
+     */
+    private static double[] coordinates(BezierCurve curve, boolean x) {
+        ArrayList<Point> controlPoints = curve.getControlPoints();
+        double[] coordinates = new double[controlPoints.size()];
+        for (int i = 0; i < coordinates.length; i++) {
+            coordinates[i] = x ? controlPoints.get(i).getX() : controlPoints.get(i).getY();
+        }
+        return coordinates;
+    }
+
+    @Test
+    public void pointsMatchDeCasteljau() {
+        Random random = new Random(1);
+        for (int controlPoints = 3; controlPoints <= 11; controlPoints++) {
+            BezierCurve curve = randomCurve(random, controlPoints);
+            double[] xs = coordinates(curve, true);
+            double[] ys = coordinates(curve, false);
+            for (int i = 0; i <= 100; i++) {
+                double t = i / 100.0;
+                Point point = curve.getPoint(t);
+                assertEquals(deCasteljau(xs, t), point.getX(), TOLERANCE);
+                assertEquals(deCasteljau(ys, t), point.getY(), TOLERANCE);
+            }
+        }
+    }
+
+    @Test
+    public void derivativesMatchDeCasteljau() {
+        Random random = new Random(2);
+        for (int controlPoints = 3; controlPoints <= 11; controlPoints++) {
+            BezierCurve curve = randomCurve(random, controlPoints);
+            double[] dxs = differences(coordinates(curve, true));
+            double[] dys = differences(coordinates(curve, false));
+            double[] ddxs = differences(dxs);
+            double[] ddys = differences(dys);
+            for (int i = 0; i <= 100; i++) {
+                double t = i / 100.0;
+                Vector derivative = curve.getDerivative(t);
+                Vector secondDerivative = curve.getSecondDerivative(t);
+                assertEquals(deCasteljau(dxs, t), derivative.getXComponent(), TOLERANCE);
+                assertEquals(deCasteljau(dys, t), derivative.getYComponent(), TOLERANCE);
+                assertEquals(deCasteljau(ddxs, t), secondDerivative.getXComponent(), TOLERANCE);
+                assertEquals(deCasteljau(ddys, t), secondDerivative.getYComponent(), TOLERANCE);
+            }
+        }
+    }
+
+    @Test
+    public void sampleMatchesSeparateCalls() {
+        Random random = new Random(3);
+        CurveSample sample = new CurveSample();
+        for (int controlPoints = 3; controlPoints <= 11; controlPoints++) {
+            BezierCurve curve = randomCurve(random, controlPoints);
+            for (int i = 0; i <= 50; i++) {
+                double t = i / 50.0;
+                curve.sample(t, sample);
+                Point point = curve.getPoint(t);
+                Vector derivative = curve.getDerivative(t);
+                Vector secondDerivative = curve.getSecondDerivative(t);
+                assertEquals(point.getX(), sample.getX(), TOLERANCE);
+                assertEquals(point.getY(), sample.getY(), TOLERANCE);
+                assertEquals(derivative.getXComponent(), sample.getDerivativeX(), TOLERANCE);
+                assertEquals(derivative.getYComponent(), sample.getDerivativeY(), TOLERANCE);
+                assertEquals(secondDerivative.getXComponent(), sample.getSecondDerivativeX(), TOLERANCE);
+                assertEquals(curve.getCurvature(t), sample.getCurvature(), TOLERANCE);
+            }
+        }
+    }
+
+    @Test
+    public void endpointsAreTheFirstAndLastControlPoints() {
+        BezierCurve curve = randomCurve(new Random(4), 6);
+        assertEquals(curve.getFirstControlPoint().getX(), curve.getPoint(0).getX(), TOLERANCE);
+        assertEquals(curve.getFirstControlPoint().getY(), curve.getPoint(0).getY(), TOLERANCE);
+        assertEquals(curve.getLastControlPoint().getX(), curve.getPoint(1).getX(), TOLERANCE);
+        assertEquals(curve.getLastControlPoint().getY(), curve.getPoint(1).getY(), TOLERANCE);
+    }
+}
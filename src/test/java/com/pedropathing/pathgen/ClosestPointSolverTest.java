@@ -0,0 +1,152 @@
+package com.pedropathing.pathgen;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.pedropathing.localization.Pose;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * This is the ClosestPointSolverTest class. This checks each ClosestPointSolver against a brute
+ * force search over densely sampled t-values, for poses both near and far from the curve, and
+ * checks that the CurveSample it fills in is the sample at the t-value it returns. This also checks
+ * that searching near a t-value on a Path stays on that part of a curve that crosses over itself.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class ClosestPointSolverTest {
+    private static final int SEARCH_LIMIT = 10;
+
+    /**
+     * This finds the distance from a pose to the closest of a lot of evenly spaced points on a curve.
+     *
+     * @param curve the BezierCurve.
+     * @param pose the pose.
+     * @return returns the smallest distance found.
+     */
+    private static double bruteForceDistance(BezierCurve curve, Pose pose) {
+        int steps = 100000;
+        double best = Double.POSITIVE_INFINITY;
+        for (int i = 0; i <= steps; i++) {
+            Point point = curve.getPoint((double) i / steps);
+            best = Math.min(best, Math.hypot(point.getX() - pose.getX(), point.getY() - pose.getY()));
+        }
+        return best;
+    }
+
+    /**
+     * This solves for the closest point to a lot of random poses and checks that none of them are
+     * farther than the brute force search found.
+     *
+     * @param curve the BezierCurve.
+     * @param random the random number generator for the poses.
+     */
+    private static void checkAgainstBruteForce(BezierCurve curve, Random random) {
+        ClosestPointSolver solver = curve.createClosestPointSolver();
+        CurveSample sample = new CurveSample();
+        for (int i = 0; i < 20; i++) {
+            Pose pose = new Pose(random.nextDouble() * 200 - 100, random.nextDouble() * 200 - 100, 0);
+            double t = solver.solve(pose, SEARCH_LIMIT, sample);
+            assertTrue(t >= 0 && t <= 1);
+
+            Point point = curve.getPoint(t);
+            double distance = Math.hypot(point.getX() - pose.getX(), point.getY() - pose.getY());
+            assertEquals(bruteForceDistance(curve, pose), distance, 1e-3);
+
+            assertEquals(t, sample.getT(), 0);
+            assertEquals(point.getX(), sample.getX(), 1e-9);
+            assertEquals(point.getY(), sample.getY(), 1e-9);
+        }
+    }
+
+    @Test
+    public void lineSolverMatchesBruteForce() {
+        Random random = new Random(11);
+        for (int i = 0; i < 5; i++) {
+            BezierLine line = new BezierLine(new Point(random.nextDouble() * 144 - 72, random.nextDouble() * 144 - 72, Point.CARTESIAN),
+                    new Point(random.nextDouble() * 144 - 72, random.nextDouble() * 144 - 72, Point.CARTESIAN));
+            assertTrue(line.createClosestPointSolver() instanceof LineClosestPointSolver);
+            checkAgainstBruteForce(line, random);
+        }
+    }
+
+    @Test
+    public void polynomialSolverMatchesBruteForce() {
+        Random random = new Random(12);
+        for (int controlPoints = 3; controlPoints <= 4; controlPoints++) {
+            for (int i = 0; i < 10; i++) {
+                BezierCurve curve = BezierCurveTest.randomCurve(random, controlPoints);
+                assertTrue(curve.createClosestPointSolver() instanceof PolynomialClosestPointSolver);
+                checkAgainstBruteForce(curve, random);
+            }
+        }
+    }
+
+    @Test
+    public void newtonSolverMatchesBruteForce() {
+        Random random = new Random(13);
+        for (int controlPoints = 5; controlPoints <= 7; controlPoints++) {
+            for (int i = 0; i < 10; i++) {
+                BezierCurve curve = BezierCurveTest.randomCurve(random, controlPoints);
+                assertTrue(curve.createClosestPointSolver() instanceof NewtonClosestPointSolver);
+                checkAgainstBruteForce(curve, random);
+            }
+        }
+    }
+
+    @Test
+    public void pointSolverAlwaysReturnsTheEnd() {
+        BezierPoint point = new BezierPoint(new Point(3, 4, Point.CARTESIAN));
+        CurveSample sample = new CurveSample();
+        double t = point.createClosestPointSolver().solve(new Pose(-10, 20, 0), SEARCH_LIMIT, sample);
+        assertEquals(3, sample.getX(), 1e-12);
+        assertEquals(4, sample.getY(), 1e-12);
+        assertEquals(t, sample.getT(), 0);
+    }
+
+    @Test
+    public void searchingNearATValueStaysOnThatPartOfTheCurve() {
+        // this curve crosses over itself at about (20, 17.1), at t-values of about 0.17 and 0.83
+        Path path = new Path(new BezierCurve(new Point(0, 0, Point.CARTESIAN), new Point(60, 40, Point.CARTESIAN),
+                new Point(-20, 40, Point.CARTESIAN), new Point(40, 0, Point.CARTESIAN)));
+        Pose pose = new Pose(20.6, 16.33, 0);
+
+        path.getClosestPoint(pose, SEARCH_LIMIT, new Pose());
+        assertEquals(0.837, path.getClosestPointTValue(), 1e-3);
+
+        Pose closest = path.getClosestPointNear(pose, 0.15, SEARCH_LIMIT, new Pose());
+        assertEquals(0.170, path.getClosestPointTValue(), 1e-3);
+        assertEquals(0.971, Math.hypot(closest.getX() - pose.getX(), closest.getY() - pose.getY()), 1e-3);
+
+        path.getClosestPointNear(pose, 0.8, SEARCH_LIMIT, new Pose());
+        assertEquals(0.837, path.getClosestPointTValue(), 1e-3);
+    }
+
+    @Test
+    public void searchingNearATValueMatchesTheSolverNearby() {
+        Random random = new Random(14);
+        for (int controlPoints = 2; controlPoints <= 6; controlPoints++) {
+            for (int i = 0; i < 10; i++) {
+                BezierCurve curve = controlPoints == 2
+                        ? new BezierLine(new Point(random.nextDouble() * 144 - 72, random.nextDouble() * 144 - 72, Point.CARTESIAN),
+                        new Point(random.nextDouble() * 144 - 72, random.nextDouble() * 144 - 72, Point.CARTESIAN))
+                        : BezierCurveTest.randomCurve(random, controlPoints);
+                Path path = new Path(curve);
+                double t = random.nextDouble();
+                Point point = curve.getPoint(t);
+                Pose pose = new Pose(point.getX() + random.nextDouble() - 0.5, point.getY() + random.nextDouble() - 0.5, 0);
+
+                Pose solved = path.getClosestPoint(pose, SEARCH_LIMIT, new Pose());
+                double solvedTValue = path.getClosestPointTValue();
+                Pose near = path.getClosestPointNear(pose, solvedTValue + 0.01, SEARCH_LIMIT, new Pose());
+                assertEquals(solvedTValue, path.getClosestPointTValue(), 1e-3);
+                assertEquals(solved.getX(), near.getX(), 1e-2);
+                assertEquals(solved.getY(), near.getY(), 1e-2);
+            }
+        }
+    }
+}
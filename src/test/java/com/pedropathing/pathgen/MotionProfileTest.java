@@ -0,0 +1,172 @@
+package com.pedropathing.pathgen;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.pedropathing.follower.FollowerConstants;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This is the MotionProfileTest class. This checks that MotionProfiles stay within every limit,
+ * start and end at rest, carry their velocity across the Paths of a PathChain, and take as long as
+ * a trapezoidal profile on a straight line.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class MotionProfileTest {
+    private static final double MAX_VELOCITY = 50;
+    private static final double MAX_ACCELERATION = 40;
+    private static final double MAX_DECELERATION = 25;
+    private static final double MAX_CENTRIPETAL_ACCELERATION = 30;
+    private static final double SAMPLE_SPACING = 0.5;
+    private static final double TOLERANCE = 1e-9;
+
+    private double defaultMaxVelocity;
+    private double defaultMaxAcceleration;
+    private double defaultMaxDeceleration;
+    private double defaultMaxCentripetalAcceleration;
+    private double defaultSampleSpacing;
+
+    @Before
+    public void setUp() {
+        defaultMaxVelocity = FollowerConstants.motionProfileMaxVelocity;
+        defaultMaxAcceleration = FollowerConstants.motionProfileMaxAcceleration;
+        defaultMaxDeceleration = FollowerConstants.motionProfileMaxDeceleration;
+        defaultMaxCentripetalAcceleration = FollowerConstants.motionProfileMaxCentripetalAcceleration;
+        defaultSampleSpacing = FollowerConstants.motionProfileSampleSpacing;
+
+        FollowerConstants.motionProfileMaxVelocity = MAX_VELOCITY;
+        FollowerConstants.motionProfileMaxAcceleration = MAX_ACCELERATION;
+        FollowerConstants.motionProfileMaxDeceleration = MAX_DECELERATION;
+        FollowerConstants.motionProfileMaxCentripetalAcceleration = MAX_CENTRIPETAL_ACCELERATION;
+        FollowerConstants.motionProfileSampleSpacing = SAMPLE_SPACING;
+    }
+
+    @After
+    public void tearDown() {
+        FollowerConstants.motionProfileMaxVelocity = defaultMaxVelocity;
+        FollowerConstants.motionProfileMaxAcceleration = defaultMaxAcceleration;
+        FollowerConstants.motionProfileMaxDeceleration = defaultMaxDeceleration;
+        FollowerConstants.motionProfileMaxCentripetalAcceleration = defaultMaxCentripetalAcceleration;
+        FollowerConstants.motionProfileSampleSpacing = defaultSampleSpacing;
+    }
+
+    /**
+     * This makes a Point in cartesian coordinates.
+     *
+     * @param x the x coordinate.
+     * @param y the y coordinate.
+     * @return returns the Point.
+     */
+    private static Point point(double x, double y) {
+        return new Point(x, y, Point.CARTESIAN);
+    }
+
+    /**
+     * This checks that a MotionProfile stays within the velocity, acceleration, and centripetal
+     * acceleration limits at every sample.
+     *
+     * @param path the Path the MotionProfile was made for.
+     * @param profile the MotionProfile.
+     */
+    private static void assertWithinLimits(Path path, MotionProfile profile) {
+        double spacing = profile.getLength() / (profile.size() - 1);
+        double previous = profile.getVelocity(0);
+        for (int i = 0; i < profile.size(); i++) {
+            double arcLength = i * spacing;
+            double velocity = profile.getVelocity(arcLength);
+            assertTrue(velocity <= MAX_VELOCITY + TOLERANCE);
+
+            double curvature = Math.abs(path.getCurvature(path.getTAtArcLength(arcLength)));
+            assertTrue(velocity * velocity * curvature <= MAX_CENTRIPETAL_ACCELERATION + 1e-6);
+
+            double change = velocity * velocity - previous * previous;
+            if (i > 0) {
+                assertTrue(change <= 2 * MAX_ACCELERATION * spacing + 1e-6);
+                assertTrue(-change <= 2 * MAX_DECELERATION * spacing + 1e-6);
+            }
+            previous = velocity;
+        }
+    }
+
+    @Test
+    public void straightLineIsATrapezoid() {
+        Path path = new Path(new BezierLine(point(0, 0), point(100, 0)));
+        MotionProfile profile = MotionProfile.generate(path);
+
+        assertEquals(100, profile.getLength(), 1e-9);
+        assertEquals(0, profile.getStartVelocity(), 0);
+        assertEquals(0, profile.getEndVelocity(), 0);
+        assertEquals(MAX_VELOCITY, profile.getVelocity(50), TOLERANCE);
+        assertEquals(MAX_ACCELERATION, profile.getAcceleration(5), 1e-6);
+        assertEquals(-MAX_DECELERATION, profile.getAcceleration(98), 1e-6);
+        assertWithinLimits(path, profile);
+
+        double accelerationDistance = MAX_VELOCITY * MAX_VELOCITY / (2 * MAX_ACCELERATION);
+        double decelerationDistance = MAX_VELOCITY * MAX_VELOCITY / (2 * MAX_DECELERATION);
+        double expected = MAX_VELOCITY / MAX_ACCELERATION + MAX_VELOCITY / MAX_DECELERATION
+                + (100 - accelerationDistance - decelerationDistance) / MAX_VELOCITY;
+        assertEquals(expected, profile.getDuration(), 0.02);
+    }
+
+    @Test
+    public void velocityBetweenSamplesHasConstantAcceleration() {
+        Path path = new Path(new BezierLine(point(0, 0), point(100, 0)));
+        MotionProfile profile = MotionProfile.generate(path);
+        double start = 10 * SAMPLE_SPACING;
+        double startVelocity = profile.getVelocity(start);
+        double acceleration = profile.getAcceleration(start);
+        for (double distance = 0; distance < SAMPLE_SPACING; distance += 0.1) {
+            double expected = Math.sqrt(startVelocity * startVelocity + 2 * acceleration * distance);
+            assertEquals(expected, profile.getVelocity(start + distance), 1e-9);
+        }
+    }
+
+    @Test
+    public void tightCurvesAreSlowerThanStraights() {
+        Path path = new Path(new BezierCurve(point(0, 0), point(60, 0), point(60, 60), point(120, 60)));
+        MotionProfile profile = MotionProfile.generate(path);
+        assertWithinLimits(path, profile);
+
+        double slowest = Double.POSITIVE_INFINITY;
+        for (double arcLength = 20; arcLength < profile.getLength() - 20; arcLength += SAMPLE_SPACING) {
+            slowest = Math.min(slowest, profile.getVelocity(arcLength));
+        }
+        assertTrue(slowest < MAX_VELOCITY);
+    }
+
+    @Test
+    public void pathChainCarriesVelocityAcrossPaths() {
+        Path first = new Path(new BezierLine(point(0, 0), point(40, 0)));
+        Path second = new Path(new BezierCurve(point(40, 0), point(80, 0), point(80, 40)));
+        Path third = new Path(new BezierLine(point(80, 40), point(80, 100)));
+        PathChain chain = new PathChain(first, second, third);
+
+        assertEquals(0, chain.getMotionProfile(0).getStartVelocity(), 0);
+        for (int i = 0; i < chain.size() - 1; i++) {
+            double end = chain.getMotionProfile(i).getEndVelocity();
+            assertTrue(end > 0);
+            assertEquals(end, chain.getMotionProfile(i + 1).getStartVelocity(), TOLERANCE);
+        }
+        assertEquals(0, chain.getMotionProfile(chain.size() - 1).getEndVelocity(), 0);
+        for (int i = 0; i < chain.size(); i++) {
+            assertWithinLimits(chain.getPath(i), chain.getMotionProfile(i));
+        }
+    }
+
+    @Test
+    public void pathChainProfilesAreMadeWhenFirstAskedFor() {
+        PathChain chain = new PathChain(new Path(new BezierLine(point(0, 0), point(200, 0))));
+        FollowerConstants.motionProfileMaxVelocity = 20;
+        assertEquals(20, chain.getMotionProfile(0).getVelocity(100), TOLERANCE);
+
+        FollowerConstants.motionProfileMaxVelocity = 30;
+        assertEquals(20, chain.getMotionProfile(0).getVelocity(100), TOLERANCE);
+        chain.generateMotionProfiles();
+        assertEquals(30, chain.getMotionProfile(0).getVelocity(100), TOLERANCE);
+    }
+}
@@ -0,0 +1,181 @@
+package com.pedropathing.pathgen;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is the PathCallbackSchedulerTest class. This checks that the PathCallbackScheduler runs
+ * parametric callbacks in t-value order on their own Path, runs temporal callbacks in the order
+ * they are due, and only holds the Follower up for callbacks that have started and aren't done.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class PathCallbackSchedulerTest {
+    private final List<Integer> ran = new ArrayList<>();
+
+    /**
+     * This makes a Runnable that records its id when it runs.
+     *
+     * @param id the id to record.
+     * @return returns the Runnable.
+     */
+    private Runnable record(final int id) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                ran.add(id);
+            }
+        };
+    }
+
+    @Test
+    public void parametricCallbacksRunInOrderOnTheirPath() {
+        List<PathCallback> callbacks = new ArrayList<>();
+        callbacks.add(new PathCallback(0.8, record(3), PathCallback.PARAMETRIC, 0));
+        callbacks.add(new PathCallback(0.2, record(1), PathCallback.PARAMETRIC, 0));
+        callbacks.add(new PathCallback(0.5, record(2), PathCallback.PARAMETRIC, 0));
+        callbacks.add(new PathCallback(0.1, record(4), PathCallback.PARAMETRIC, 1));
+        callbacks.add(new PathCallback(0.1, record(5), PathCallback.PARAMETRIC, 2));
+        PathCallbackScheduler scheduler = new PathCallbackScheduler(callbacks, 2);
+
+        scheduler.update(0, 0.1, 0);
+        assertTrue(ran.isEmpty());
+        scheduler.update(0, 0.6, 0);
+        assertEquals(Arrays.asList(1, 2), ran);
+        scheduler.update(0, 1, 0);
+        scheduler.update(0, 1, 0);
+        assertEquals(Arrays.asList(1, 2, 3), ran);
+
+        scheduler.update(1, 0.5, 0);
+        scheduler.update(2, 0.5, 0);
+        assertEquals(Arrays.asList(1, 2, 3, 4), ran);
+    }
+
+    @Test
+    public void temporalCallbacksWaitFromTheStartOfTheirPath() {
+        List<PathCallback> callbacks = new ArrayList<>();
+        callbacks.add(new PathCallback(100, record(1), PathCallback.TIME, 0));
+        callbacks.add(new PathCallback(50, record(2), PathCallback.TIME, 1));
+        PathCallbackScheduler scheduler = new PathCallbackScheduler(callbacks, 2);
+
+        scheduler.startPath(0, 1000);
+        assertEquals(1, scheduler.getWaitingTemporalCallbacks());
+        scheduler.update(0, 0, 1100);
+        assertTrue(ran.isEmpty());
+
+        scheduler.startPath(1, 1080);
+        scheduler.update(1, 0, 1101);
+        assertEquals(Arrays.asList(1), ran);
+        scheduler.update(1, 0, 1131);
+        assertEquals(Arrays.asList(1, 2), ran);
+        assertEquals(0, scheduler.getWaitingTemporalCallbacks());
+    }
+
+    @Test
+    public void temporalCallbacksRunInTheOrderTheyAreDue() {
+        Random random = new Random(9);
+        int pathCount = 4;
+        List<PathCallback> callbacks = new ArrayList<>();
+        final long[] dueTimes = new long[60];
+        long[] startTimes = {0, 130, 260, 390};
+        for (int i = 0; i < dueTimes.length; i++) {
+            int index = random.nextInt(pathCount);
+            long wait = random.nextInt(1000);
+            dueTimes[i] = startTimes[index] + wait;
+            callbacks.add(new PathCallback(wait, record(i), PathCallback.TIME, index));
+        }
+        PathCallbackScheduler scheduler = new PathCallbackScheduler(callbacks, pathCount);
+
+        for (long time = 0; time <= 1500; time++) {
+            for (int index = 0; index < pathCount; index++) {
+                if (startTimes[index] == time) scheduler.startPath(index, time);
+            }
+            scheduler.update(pathCount - 1, 0, time);
+        }
+
+        assertEquals(dueTimes.length, ran.size());
+        for (int i = 1; i < ran.size(); i++) {
+            assertTrue(dueTimes[ran.get(i - 1)] <= dueTimes[ran.get(i)]);
+        }
+    }
+
+    @Test
+    public void resetLetsCallbacksRunAgain() {
+        List<PathCallback> callbacks = new ArrayList<>();
+        callbacks.add(new PathCallback(0.5, record(1), PathCallback.PARAMETRIC, 0));
+        callbacks.add(new PathCallback(10, record(2), PathCallback.TIME, 0));
+        PathCallbackScheduler scheduler = new PathCallbackScheduler(callbacks, 1);
+
+        scheduler.startPath(0, 0);
+        scheduler.update(0, 1, 20);
+        scheduler.reset();
+        assertEquals(0, scheduler.getWaitingTemporalCallbacks());
+        scheduler.startPath(0, 100);
+        scheduler.update(0, 1, 120);
+        assertEquals(Arrays.asList(1, 2, 1, 2), ran);
+    }
+
+    @Test
+    public void restartPathsOnlyRestartsCallbacksThatHaveNotRun() {
+        List<PathCallback> callbacks = new ArrayList<>();
+        callbacks.add(new PathCallback(10, record(1), PathCallback.TIME, 0));
+        callbacks.add(new PathCallback(100, record(2), PathCallback.TIME, 0));
+        callbacks.add(new PathCallback(10, record(3), PathCallback.TIME, 1));
+        PathCallbackScheduler scheduler = new PathCallbackScheduler(callbacks, 2);
+
+        scheduler.startPath(0, 0);
+        scheduler.update(0, 0, 20);
+        assertEquals(Arrays.asList(1), ran);
+
+        // following was paused at 50 and resumed at 500 on the second Path
+        scheduler.restartPaths(1, 500);
+        assertEquals(2, scheduler.getWaitingTemporalCallbacks());
+        scheduler.update(1, 0, 511);
+        assertEquals(Arrays.asList(1, 3), ran);
+        scheduler.update(1, 0, 601);
+        assertEquals(Arrays.asList(1, 3, 2), ran);
+    }
+
+    @Test
+    public void onlyStartedCallbacksHoldTheFollowerUp() throws InterruptedException {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch finished = new CountDownLatch(1);
+        List<PathCallback> callbacks = new ArrayList<>();
+        callbacks.add(new PathCallback(0.5, new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                finished.countDown();
+            }
+        }, PathCallback.PARAMETRIC, 1, PathCallback.DEDICATED_THREAD, true));
+        PathCallbackScheduler scheduler = new PathCallbackScheduler(callbacks, 2);
+
+        assertFalse(scheduler.isWaitingForCallbacks(1));
+        scheduler.update(1, 0.6, 0);
+        assertFalse(scheduler.isWaitingForCallbacks(0));
+        assertTrue(scheduler.isWaitingForCallbacks(1));
+
+        release.countDown();
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        PathCallback callback = callbacks.get(0);
+        for (int i = 0; i < 500 && !callback.isDone(); i++) {
+            Thread.sleep(1);
+        }
+        assertFalse(scheduler.isWaitingForCallbacks(1));
+    }
+}
@@ -0,0 +1,254 @@
+package com.pedropathing.pathgen;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.pedropathing.follower.FollowerConstants;
+import com.pedropathing.util.CallbackExecutor;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * This is the PathCallbackTest class. This checks that each execution policy runs a PathCallback
+ * where it says it does, that a callback is turned away when the worker pool's queue is full, that
+ * CallbackExecutor.shutdown() cancels the callbacks that haven't started yet, and that an execution
+ * policy that isn't one of the constants is refused. The worker pool is set up with one thread and
+ * room for one queued task, so it can be filled up on purpose.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class PathCallbackTest {
+    private static final long TIMEOUT_MILLIS = 2000;
+
+    private final int defaultWorkerThreads = FollowerConstants.callbackWorkerThreads;
+    private final int defaultQueueSize = FollowerConstants.callbackQueueSize;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Before
+    public void setUp() {
+        FollowerConstants.callbackWorkerThreads = 1;
+        FollowerConstants.callbackQueueSize = 1;
+        CallbackExecutor.shutdown();
+    }
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        CallbackExecutor.shutdown();
+        FollowerConstants.callbackWorkerThreads = defaultWorkerThreads;
+        FollowerConstants.callbackQueueSize = defaultQueueSize;
+    }
+
+    /**
+     * This makes a Runnable that records the thread it ran on and then waits until the test
+     * releases it.
+     *
+     * @param thread where to record the thread the Runnable ran on.
+     * @param started counted down once the Runnable has started.
+     * @return returns the Runnable.
+     */
+    private Runnable blocking(final AtomicReference<Thread> thread, final CountDownLatch started) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                thread.set(Thread.currentThread());
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+    }
+
+    /**
+     * This waits for a latch, failing the test if it takes too long.
+     *
+     * @param latch the latch to wait for.
+     * @throws InterruptedException if the test is interrupted.
+     */
+    private static void await(CountDownLatch latch) throws InterruptedException {
+        if (!latch.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) fail("timed out waiting for a callback");
+    }
+
+    @Test
+    public void inlineCallbacksRunOnTheCallingThread() {
+        final AtomicReference<Thread> thread = new AtomicReference<>();
+        PathCallback callback = new PathCallback(0, new Runnable() {
+            @Override
+            public void run() {
+                thread.set(Thread.currentThread());
+            }
+        }, PathCallback.PARAMETRIC, 0);
+
+        assertEquals(PathCallback.INLINE, callback.getExecutionPolicy());
+        assertTrue(callback.run());
+        assertSame(Thread.currentThread(), thread.get());
+        assertTrue(callback.isDone());
+        assertTrue(callback.getRunTime() >= 0);
+    }
+
+    @Test
+    public void inlineCallbacksThrowFromRun() {
+        final IllegalStateException thrown = new IllegalStateException("callback failed");
+        PathCallback callback = new PathCallback(0, new Runnable() {
+            @Override
+            public void run() {
+                throw thrown;
+            }
+        }, PathCallback.PARAMETRIC, 0);
+
+        try {
+            callback.run();
+            fail("the inline callback's exception wasn't thrown");
+        } catch (IllegalStateException e) {
+            assertSame(thrown, e);
+        }
+        assertTrue(callback.isDone());
+        assertSame(thrown, callback.getFailure());
+    }
+
+    @Test
+    public void workerCallbacksRunOnTheWorkerPool() throws Exception {
+        AtomicReference<Thread> thread = new AtomicReference<>();
+        CountDownLatch started = new CountDownLatch(1);
+        PathCallback callback = new PathCallback(0, blocking(thread, started), PathCallback.PARAMETRIC, 0, PathCallback.WORKER, false);
+
+        assertTrue(callback.run());
+        await(started);
+        assertNotSame(Thread.currentThread(), thread.get());
+        assertTrue(thread.get().getName().startsWith("Pedro Pathing Callback Worker"));
+        assertTrue(thread.get().isDaemon());
+        assertFalse(callback.isDone());
+
+        release.countDown();
+        callback.getFuture().get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        assertTrue(callback.isDone());
+        assertFalse(callback.isRejected());
+        assertTrue(callback.getStartLatency() >= 0);
+    }
+
+    @Test
+    public void dedicatedCallbacksRunOnTheirOwnThread() throws Exception {
+        AtomicReference<Thread> worker = new AtomicReference<>();
+        CountDownLatch workerStarted = new CountDownLatch(1);
+        new PathCallback(0, blocking(worker, workerStarted), PathCallback.PARAMETRIC, 0, PathCallback.WORKER, false).run();
+        await(workerStarted);
+
+        // the only worker is busy, but a dedicated callback doesn't wait for it
+        AtomicReference<Thread> thread = new AtomicReference<>();
+        CountDownLatch started = new CountDownLatch(1);
+        PathCallback callback = new PathCallback(0, blocking(thread, started), PathCallback.PARAMETRIC, 0, PathCallback.DEDICATED_THREAD, true);
+        assertTrue(callback.run());
+        await(started);
+        assertNotSame(worker.get(), thread.get());
+        assertTrue(thread.get().getName().startsWith("Pedro Pathing Callback"));
+        assertFalse(thread.get().getName().startsWith("Pedro Pathing Callback Worker"));
+        assertTrue(callback.isWaitForCompletion());
+
+        release.countDown();
+        callback.getFuture().get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        assertTrue(callback.isDone());
+    }
+
+    @Test
+    public void callbacksAreTurnedAwayWhenTheQueueIsFull() throws Exception {
+        AtomicReference<Thread> thread = new AtomicReference<>();
+        CountDownLatch started = new CountDownLatch(1);
+        PathCallback running = new PathCallback(0, blocking(thread, started), PathCallback.PARAMETRIC, 0, PathCallback.WORKER, false);
+        running.run();
+        await(started);
+
+        PathCallback queued = new PathCallback(0, blocking(new AtomicReference<Thread>(), new CountDownLatch(1)), PathCallback.PARAMETRIC, 0, PathCallback.WORKER, false);
+        queued.run();
+        assertEquals(1, CallbackExecutor.getQueuedTasks());
+        assertFalse(queued.isRejected());
+
+        PathCallback rejected = new PathCallback(0, blocking(new AtomicReference<Thread>(), new CountDownLatch(1)), PathCallback.PARAMETRIC, 0, PathCallback.WORKER, false);
+        assertTrue(rejected.run());
+        assertTrue(rejected.isRejected());
+        assertTrue(rejected.isDone());
+        assertTrue(rejected.getFuture().isCancelled());
+        assertEquals(-1, rejected.getStartLatency());
+
+        release.countDown();
+        queued.getFuture().get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        assertTrue(running.isDone());
+        assertTrue(queued.isDone());
+    }
+
+    @Test
+    public void shutdownCancelsCallbacksThatHaveNotStarted() throws Exception {
+        AtomicReference<Thread> worker = new AtomicReference<>();
+        CountDownLatch workerStarted = new CountDownLatch(1);
+        PathCallback running = new PathCallback(0, blocking(worker, workerStarted), PathCallback.PARAMETRIC, 0, PathCallback.WORKER, false);
+        running.run();
+        await(workerStarted);
+
+        final CountDownLatch queuedRan = new CountDownLatch(1);
+        PathCallback queued = new PathCallback(0, new Runnable() {
+            @Override
+            public void run() {
+                queuedRan.countDown();
+            }
+        }, PathCallback.PARAMETRIC, 0, PathCallback.WORKER, false);
+        queued.run();
+
+        AtomicReference<Thread> dedicated = new AtomicReference<>();
+        CountDownLatch dedicatedStarted = new CountDownLatch(1);
+        PathCallback dedicatedCallback = new PathCallback(0, blocking(dedicated, dedicatedStarted), PathCallback.PARAMETRIC, 0, PathCallback.DEDICATED_THREAD, false);
+        dedicatedCallback.run();
+        await(dedicatedStarted);
+
+        CallbackExecutor.shutdown();
+        assertTrue(queued.getFuture().isCancelled());
+        assertTrue(queued.isDone());
+        assertEquals(0, CallbackExecutor.getQueuedTasks());
+
+        // the running callbacks are interrupted, so they finish without being released
+        running.getFuture().get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        dedicatedCallback.getFuture().get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        assertFalse(queuedRan.await(100, TimeUnit.MILLISECONDS));
+
+        // the worker pool is made again for the next callback
+        final CountDownLatch nextRan = new CountDownLatch(1);
+        new PathCallback(0, new Runnable() {
+            @Override
+            public void run() {
+                nextRan.countDown();
+            }
+        }, PathCallback.PARAMETRIC, 0, PathCallback.WORKER, false).run();
+        await(nextRan);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownExecutionPoliciesAreRefused() {
+        new PathCallback(0, new Runnable() {
+            @Override
+            public void run() {
+            }
+        }, PathCallback.PARAMETRIC, 0, 3, false);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeExecutionPoliciesAreRefused() {
+        new PathCallback(0, new Runnable() {
+            @Override
+            public void run() {
+            }
+        }, PathCallback.PARAMETRIC, 0, -1, false);
+    }
+}
@@ -0,0 +1,67 @@
+package com.pedropathing.simulation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.pedropathing.follower.Follower;
+import com.pedropathing.localization.Pose;
+import com.pedropathing.pathgen.BezierCurve;
+import com.pedropathing.pathgen.MathFunctions;
+import com.pedropathing.pathgen.Path;
+import com.pedropathing.pathgen.Point;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This is the SimulatorTest class. This follows a BezierCurve to its end in the Simulator and
+ * checks that the Follower finishes the Path close to where the Path ends, both on the drivetrain
+ * model and in its own Pose estimate.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class SimulatorTest {
+    public static class FConstants {
+    }
+
+    public static class LConstants {
+    }
+
+    private Simulator simulator;
+
+    @Before
+    public void setUp() {
+        simulator = new Simulator(FConstants.class, LConstants.class);
+        simulator.setStartingPose(new Pose(0, 0, 0));
+    }
+
+    @After
+    public void tearDown() {
+        simulator.close();
+    }
+
+    @Test
+    public void followsABezierCurveToItsEnd() {
+        Path path = new Path(new BezierCurve(new Point(0, 0, Point.CARTESIAN), new Point(36, 0, Point.CARTESIAN), new Point(48, 36, Point.CARTESIAN)));
+        path.setLinearHeadingInterpolation(0, Math.PI / 2);
+        Follower follower = simulator.getFollower();
+        follower.followPath(path, false);
+
+        assertTrue(follower.isBusy());
+        assertTrue(simulator.runUntilIdle(10));
+        assertFalse(follower.isBusy());
+
+        Pose truePose = simulator.getModel().getPose();
+        assertEquals(48, truePose.getX(), 1);
+        assertEquals(36, truePose.getY(), 1);
+        assertEquals(0, MathFunctions.getSmallestAngleDifference(truePose.getHeading(), Math.PI / 2), Math.toRadians(2));
+
+        Pose estimate = follower.getPose();
+        assertEquals(truePose.getX(), estimate.getX(), 1e-6);
+        assertEquals(truePose.getY(), estimate.getY(), 1e-6);
+        assertEquals(0, MathFunctions.getSmallestAngleDifference(truePose.getHeading(), estimate.getHeading()), 1e-6);
+    }
+}
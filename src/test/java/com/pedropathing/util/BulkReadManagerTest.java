@@ -0,0 +1,85 @@
+package com.pedropathing.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+import org.junit.Test;
+
+/**
+ * This is the BulkReadManagerTest class. This checks the BulkReadManager's per loop counts against
+ * the calls a fake motor actually sees, and that there is one BulkReadManager per HardwareMap.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class BulkReadManagerTest {
+
+    @Test
+    public void countsMatchTheCallsTheMotorSees() {
+        BulkReadManager manager = new BulkReadManager(new HardwareMap(null, null));
+        CountingMotor left = new CountingMotor();
+        CountingMotor right = new CountingMotor();
+        left.setPosition(42);
+
+        manager.startLoop();
+        assertEquals(42, manager.getCurrentPosition(left.getMotor()));
+        manager.getCurrentPosition(right.getMotor());
+        manager.setPower(left.getMotor(), 0.5);
+        manager.setPower(right.getMotor(), -0.5);
+        manager.setPower(right.getMotor(), -0.25);
+        assertEquals(0.5, manager.getPower(left.getMotor()), 0);
+
+        assertEquals(1, left.getPositionReads());
+        assertEquals(1, right.getPositionReads());
+        assertEquals(1, left.getPowerWrites());
+        assertEquals(2, right.getPowerWrites());
+        assertEquals(-0.25, right.getPower(), 0);
+
+        assertEquals(3, manager.getReadCount());
+        assertEquals(3, manager.getWriteCount());
+        assertEquals(6, manager.getTransactionCount());
+    }
+
+    @Test
+    public void startLoopSavesTheCountsOfTheLastLoop() {
+        BulkReadManager manager = new BulkReadManager(new HardwareMap(null, null));
+        CountingMotor motor = new CountingMotor();
+
+        manager.startLoop();
+        manager.getCurrentPosition(motor.getMotor());
+        manager.getCurrentPosition(motor.getMotor());
+        manager.setPower(motor.getMotor(), 1);
+        manager.startLoop();
+
+        assertEquals(2, manager.getLastLoopReadCount());
+        assertEquals(1, manager.getLastLoopWriteCount());
+        assertEquals(3, manager.getLastLoopTransactionCount());
+        assertEquals(0, manager.getReadCount());
+        assertEquals(0, manager.getWriteCount());
+        assertEquals(2, manager.getLoopCount());
+    }
+
+    @Test
+    public void freshReadsGoToTheMotor() {
+        BulkReadManager manager = new BulkReadManager(new HardwareMap(null, null));
+        manager.setManaging(true);
+        CountingMotor motor = new CountingMotor();
+
+        manager.startLoop();
+        motor.setPosition(7);
+        assertEquals(7, manager.getFreshCurrentPosition(motor.getMotor()));
+        assertEquals(1, motor.getPositionReads());
+        assertEquals(1, manager.getReadCount());
+    }
+
+    @Test
+    public void oneManagerPerHardwareMap() {
+        HardwareMap first = new HardwareMap(null, null);
+        HardwareMap second = new HardwareMap(null, null);
+        assertSame(BulkReadManager.get(first), BulkReadManager.get(first));
+        assertNotSame(BulkReadManager.get(first), BulkReadManager.get(second));
+    }
+}
@@ -0,0 +1,121 @@
+package com.pedropathing.util;
+
+import com.qualcomm.robotcore.hardware.DcMotorEx;
+import com.qualcomm.robotcore.hardware.DcMotorSimple;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * This is the CountingMotor class. This is a fake DcMotorEx that stands in for a motor on a hub and
+ * counts the calls that would each be a transaction with the hub, so tests can check how many
+ * times the hub would actually be talked to. Everything else the motor is asked for returns a
+ * default value.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class CountingMotor implements InvocationHandler {
+    private final DcMotorEx motor;
+
+    private double power;
+    private int position;
+
+    private int powerWrites;
+    private int powerReads;
+    private int positionReads;
+
+    /**
+     * This creates a new CountingMotor with zero power and the encoder at zero.
+     */
+    public CountingMotor() {
+        motor = (DcMotorEx) Proxy.newProxyInstance(DcMotorEx.class.getClassLoader(), new Class<?>[]{DcMotorEx.class}, this);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        String name = method.getName();
+        if (name.equals("setPower")) {
+            powerWrites++;
+            power = (Double) args[0];
+            return null;
+        } else if (name.equals("getPower")) {
+            powerReads++;
+            return power;
+        } else if (name.equals("getCurrentPosition")) {
+            positionReads++;
+            return position;
+        } else if (name.equals("getDirection")) {
+            return DcMotorSimple.Direction.FORWARD;
+        } else if (name.equals("hashCode")) {
+            return System.identityHashCode(proxy);
+        } else if (name.equals("equals")) {
+            return proxy == args[0];
+        } else if (name.equals("toString")) {
+            return "CountingMotor@" + Integer.toHexString(System.identityHashCode(proxy));
+        }
+
+        Class<?> type = method.getReturnType();
+        if (type == boolean.class) return false;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == double.class) return 0.0;
+        if (type == float.class) return 0f;
+        return null;
+    }
+
+    /**
+     * This returns the fake motor.
+     *
+     * @return returns the DcMotorEx.
+     */
+    public DcMotorEx getMotor() {
+        return motor;
+    }
+
+    /**
+     * This sets the position the encoder reads.
+     *
+     * @param set the position, in ticks.
+     */
+    public void setPosition(int set) {
+        position = set;
+    }
+
+    /**
+     * This returns the last power written to the motor.
+     *
+     * @return returns the power.
+     */
+    public double getPower() {
+        return power;
+    }
+
+    /**
+     * This returns the number of times the power was written.
+     *
+     * @return returns the number of power writes.
+     */
+    public int getPowerWrites() {
+        return powerWrites;
+    }
+
+    /**
+     * This returns the number of times the power was read.
+     *
+     * @return returns the number of power reads.
+     */
+    public int getPowerReads() {
+        return powerReads;
+    }
+
+    /**
+     * This returns the number of times the encoder position was read.
+     *
+     * @return returns the number of position reads.
+     */
+    public int getPositionReads() {
+        return positionReads;
+    }
+}
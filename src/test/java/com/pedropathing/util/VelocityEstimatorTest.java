@@ -0,0 +1,174 @@
+package com.pedropathing.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.pedropathing.localization.Matrix;
+import com.pedropathing.pathgen.Vector;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * This is the VelocityEstimatorTest class. This checks each way of estimating on velocities whose
+ * acceleration is known exactly, checks the running sums against fitting the whole window from
+ * scratch after the ring buffer has wrapped many times, and checks the curvature of a circle.
+ *
+ * @author agent - Pedro Pathing
+ * @version 1.0, 10/17/2026
+ */
+public class VelocityEstimatorTest {
+    private static final long STEP_NANO = 10000000;
+    private static final double STEP_SECONDS = STEP_NANO / 1e9;
+
+    /**
+     * This fits a parabola over sample age through the newest samples from scratch, by solving the
+     * least squares normal equations.
+     *
+     * @param values the samples, oldest first.
+     * @param count how many of the newest samples to fit.
+     * @return returns the value and the slope over age of the parabola at the newest sample.
+     */
+    private static double[] fitParabola(double[] values, int count) {
+        Matrix normal = new Matrix(3, 3);
+        Matrix right = new Matrix(3, 1);
+        for (int age = 0; age < count; age++) {
+            double value = values[values.length - 1 - age];
+            double[] powers = {1, age, (double) age * age};
+            for (int i = 0; i < 3; i++) {
+                for (int j = 0; j < 3; j++) {
+                    normal.set(i, j, normal.get(i, j) + powers[i] * powers[j]);
+                }
+                right.set(i, 0, right.get(i, 0) + powers[i] * value);
+            }
+        }
+        Matrix solution = new Matrix();
+        assertTrue(normal.solve(right, solution));
+        return new double[]{solution.get(0, 0), solution.get(1, 0)};
+    }
+
+    @Test
+    public void constantVelocityHasNoAcceleration() {
+        for (int mode = VelocityEstimator.MOVING_AVERAGE; mode <= VelocityEstimator.ALPHA_BETA; mode++) {
+            VelocityEstimator estimator = new VelocityEstimator(8, mode);
+            for (int i = 0; i < 20; i++) {
+                estimator.addSample(i * STEP_NANO, 12, -5);
+            }
+            Vector velocity = estimator.getVelocityInto(new Vector());
+            Vector acceleration = estimator.getAccelerationInto(new Vector());
+            assertEquals(12, velocity.getXComponent(), 1e-9);
+            assertEquals(-5, velocity.getYComponent(), 1e-9);
+            assertEquals(0, acceleration.getMagnitude(), 1e-6);
+        }
+    }
+
+    @Test
+    public void constantAccelerationIsFoundExactly() {
+        VelocityEstimator movingAverage = new VelocityEstimator(10, VelocityEstimator.MOVING_AVERAGE);
+        VelocityEstimator savitzkyGolay = new VelocityEstimator(10, VelocityEstimator.SAVITZKY_GOLAY);
+        for (int i = 0; i < 25; i++) {
+            double time = i * STEP_SECONDS;
+            movingAverage.addSample(i * STEP_NANO, 3 + 40 * time, -20 * time);
+            savitzkyGolay.addSample(i * STEP_NANO, 3 + 40 * time, -20 * time);
+        }
+        double newestTime = 24 * STEP_SECONDS;
+
+        Vector acceleration = movingAverage.getAccelerationInto(new Vector());
+        assertEquals(40, acceleration.getXComponent(), 1e-6);
+        assertEquals(-20, acceleration.getYComponent(), 1e-6);
+
+        // the moving average is the velocity at the middle of the newer half of the window
+        double middleTime = newestTime - 2 * STEP_SECONDS;
+        assertEquals(3 + 40 * middleTime, movingAverage.getVelocityInto(new Vector()).getXComponent(), 1e-9);
+
+        assertEquals(3 + 40 * newestTime, savitzkyGolay.getVelocityInto(new Vector()).getXComponent(), 1e-9);
+        acceleration = savitzkyGolay.getAccelerationInto(new Vector());
+        assertEquals(40, acceleration.getXComponent(), 1e-6);
+        assertEquals(-20, acceleration.getYComponent(), 1e-6);
+    }
+
+    @Test
+    public void alphaBetaSettlesOnTheAcceleration() {
+        VelocityEstimator estimator = new VelocityEstimator(4, VelocityEstimator.ALPHA_BETA);
+        for (int i = 0; i < 500; i++) {
+            estimator.addSample(i * STEP_NANO, 15 * i * STEP_SECONDS, 0);
+        }
+        assertEquals(15, estimator.getAccelerationInto(new Vector()).getXComponent(), 1e-3);
+        assertEquals(15 * 499 * STEP_SECONDS, estimator.getVelocityInto(new Vector()).getXComponent(), 1e-3);
+    }
+
+    @Test
+    public void runningSumsMatchAFitFromScratch() {
+        int window = 9;
+        Random random = new Random(7);
+        VelocityEstimator savitzkyGolay = new VelocityEstimator(window, VelocityEstimator.SAVITZKY_GOLAY);
+        VelocityEstimator movingAverage = new VelocityEstimator(window, VelocityEstimator.MOVING_AVERAGE);
+        double[] xs = new double[1000];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = 50 * Math.sin(i * 0.05) + random.nextGaussian();
+            savitzkyGolay.addSample(i * STEP_NANO, xs[i], 0);
+            movingAverage.addSample(i * STEP_NANO, xs[i], 0);
+        }
+
+        double[] fit = fitParabola(xs, window);
+        assertEquals(fit[0], savitzkyGolay.getVelocityInto(new Vector()).getXComponent(), 1e-8);
+        assertEquals(-fit[1] / STEP_SECONDS, savitzkyGolay.getAccelerationInto(new Vector()).getXComponent(), 1e-5);
+
+        double newerSum = 0;
+        for (int age = 0; age < window / 2; age++) {
+            newerSum += xs[xs.length - 1 - age];
+        }
+        assertEquals(newerSum / (window / 2), movingAverage.getVelocityInto(new Vector()).getXComponent(), 1e-9);
+        assertEquals(window, savitzkyGolay.size());
+    }
+
+    @Test
+    public void circleCurvature() {
+        double radius = 30;
+        double angularVelocity = 2;
+        VelocityEstimator estimator = new VelocityEstimator(5, VelocityEstimator.SAVITZKY_GOLAY);
+        for (int i = 0; i < 50; i++) {
+            double angle = angularVelocity * i * STEP_SECONDS;
+            double speed = radius * angularVelocity;
+            estimator.addSample(i * STEP_NANO, -speed * Math.sin(angle), speed * Math.cos(angle));
+        }
+        assertEquals(1 / radius, estimator.getCurvature(), 1e-4);
+    }
+
+    @Test
+    public void slowOrEmptyHasNoCurvature() {
+        VelocityEstimator estimator = new VelocityEstimator(5, VelocityEstimator.SAVITZKY_GOLAY);
+        assertTrue(Double.isNaN(estimator.getCurvature()));
+        for (int i = 0; i < 10; i++) {
+            estimator.addSample(i * STEP_NANO, 0.1, 0.1 * i);
+        }
+        assertTrue(Double.isNaN(estimator.getCurvature()));
+    }
+
+    @Test
+    public void resetForgetsEverything() {
+        VelocityEstimator estimator = new VelocityEstimator(5, VelocityEstimator.ALPHA_BETA);
+        for (int i = 0; i < 10; i++) {
+            estimator.addSample(i * STEP_NANO, 5 * i, 0);
+        }
+        estimator.reset();
+        assertEquals(0, estimator.size());
+        assertEquals(0, estimator.getVelocityInto(new Vector()).getMagnitude(), 0);
+        assertEquals(0, estimator.getAccelerationInto(new Vector()).getMagnitude(), 0);
+
+        estimator.addSample(100 * STEP_NANO, 7, 0);
+        assertEquals(7, estimator.getVelocityInto(new Vector()).getXComponent(), 1e-12);
+        assertEquals(0, estimator.getAccelerationInto(new Vector()).getMagnitude(), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void windowHasToHoldTwoSamples() {
+        new VelocityEstimator(1, VelocityEstimator.MOVING_AVERAGE);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownModesAreRejected() {
+        new VelocityEstimator(4, 7);
+    }
+}